@@ -9,6 +9,7 @@ import StatsScreen from './src/screens/statsScreen.js';
 import SettingsNavigator from './src/screens/settingsScreen.js';
 import OnboardingScreen from './src/screens/onboarding';
 import HealthDataService from './src/services/healthDataService';
+import performanceService from './src/services/performanceService';
 import {AppProvider} from './src/utils/appContext';
 import {ThemeProvider} from './src/utils/themeContext';
 import {HealthDataProvider, useHealthData} from './src/contexts/HealthDataContext';
@@ -57,6 +58,14 @@ function AppContent() {
     checkOnboardingStatus();
   }, []);
 
+  // First real screen is about to render: close the cold-start timeline and log it
+  useEffect(() => {
+    if (isOnboarded !== null) {
+      performanceService.markStartupPhase('firstScreen');
+      performanceService.reportStartupTimings();
+    }
+  }, [isOnboarded]);
+
   const checkOnboardingStatus = async () => {
     try {
       const onboardingCompleted = await AsyncStorage.getItem(
@@ -0,0 +1,239 @@
+package com.minakamiappfinal;
+
+/**
+ * Classifies the phone's motion into still / walking / running / vehicle from the accelerometer and
+ * step detector, one fixed window at a time. Each window is reduced to a few features (mean and spread
+ * of the acceleration magnitude, oscillation frequency, step cadence) and classified by thresholds.
+ * A new activity only takes over after it has won several windows in a row, and only those changes are
+ * reported, so a listener sees a handful of transitions per hour instead of the raw stream.
+ *
+ * Not thread-safe; feed it from the sensor thread.
+ */
+public class ActivityClassifier {
+    public static final String STILL = "still";
+    public static final String WALKING = "walking";
+    public static final String RUNNING = "running";
+    public static final String VEHICLE = "vehicle";
+    public static final String UNKNOWN = "unknown";
+
+    public static final long DEFAULT_WINDOW_MILLIS = 5000;
+    private static final double GRAVITY = 9.80665;
+
+    // Windows an activity has to win in a row before it is reported; vehicle looks like fidgeting at first
+    private static final int CONFIRM_WINDOWS = 2;
+    private static final int VEHICLE_CONFIRM_WINDOWS = 6;
+    // Fewer samples than this means the sensor was paused (FIFO overflow, doze); the window is skipped
+    private static final int MIN_WINDOW_SAMPLES = 20;
+
+    // Thresholds on the standard deviation of the magnitude (m/s^2) and the cadence (steps/min)
+    private static final double STILL_MAX_DEVIATION = 0.15;
+    private static final double VEHICLE_MAX_DEVIATION = 1.5;
+    private static final double WALKING_MIN_CADENCE = 40;
+    private static final double RUNNING_MIN_CADENCE = 140;
+    private static final double WALKING_MIN_DEVIATION = 1.0;
+    private static final double RUNNING_MIN_DEVIATION = 3.5;
+    // Oscillation band of the magnitude (Hz) for gait when the step detector is missing
+    private static final double GAIT_MIN_HZ = 1.2;
+    private static final double RUNNING_MIN_HZ = 2.2;
+    private static final double GAIT_MAX_HZ = 3.5;
+    // Dead band around the mean for counting oscillations, so sensor noise does not count as crossings
+    private static final double CROSSING_BAND = 0.5;
+
+    public interface Listener {
+        void onTransition(Transition transition);
+    }
+
+    /**
+     * A reported change of activity, dated back to the first window of the new activity
+     */
+    public static final class Transition {
+        public String activity;
+        public String previous;
+        public long startTime;
+        public long previousStartTime;
+        // Steps taken during the previous activity
+        public long previousSteps;
+        public Features features;
+    }
+
+    /**
+     * Features of one window
+     */
+    public static final class Features {
+        public int samples;
+        public double meanMagnitude;
+        public double deviation;
+        public double oscillationHz;
+        public double cadence;
+    }
+
+    private final long windowMillis;
+    private final Listener listener;
+
+    // Current window
+    private long windowStart = -1;
+    private int count;
+    private double mean;
+    private double m2;
+    private int crossings;
+    private int side;
+    private int windowSteps;
+    private double baseline = GRAVITY;
+
+    // Reported activity and the run of windows that may replace it
+    private String activity = UNKNOWN;
+    private long activityStart;
+    private long activitySteps;
+    private String candidate;
+    private long candidateStart;
+    private long candidateSteps;
+    private int candidateWindows;
+
+    public ActivityClassifier(long windowMillis, Listener listener) {
+        this.windowMillis = windowMillis;
+        this.listener = listener;
+    }
+
+    public String activity() {
+        return activity;
+    }
+
+    public long activityStart() {
+        return activityStart;
+    }
+
+    public long activitySteps() {
+        return activitySteps + candidateSteps + windowSteps;
+    }
+
+    /**
+     * Adds an accelerometer sample (m/s^2, wall-clock millis); samples must arrive in time order
+     */
+    public void addAcceleration(long timeMillis, float x, float y, float z) {
+        advance(timeMillis);
+        double magnitude = Math.sqrt((double) x * x + (double) y * y + (double) z * z);
+        count++;
+        double delta = magnitude - mean;
+        mean += delta / count;
+        m2 += delta * (magnitude - mean);
+
+        // Oscillations around the previous window's mean, counted once per excursion out of the dead band
+        int current = magnitude > baseline + CROSSING_BAND ? 1 : magnitude < baseline - CROSSING_BAND ? -1 : 0;
+        if (current != 0) {
+            if (side != 0 && current != side) {
+                crossings++;
+            }
+            side = current;
+        }
+    }
+
+    public void addStep(long timeMillis) {
+        advance(timeMillis);
+        windowSteps++;
+    }
+
+    /**
+     * Closes the open window, e.g. when the sensors stop
+     */
+    public void flush() {
+        if (windowStart >= 0) {
+            closeWindow();
+            windowStart = -1;
+        }
+    }
+
+    private void advance(long timeMillis) {
+        if (windowStart < 0) {
+            windowStart = timeMillis;
+            return;
+        }
+        if (timeMillis - windowStart < windowMillis) {
+            return;
+        }
+        closeWindow();
+        // After a gap longer than a window, start fresh at this sample instead of emitting empty windows
+        long elapsed = timeMillis - windowStart;
+        windowStart = elapsed < 2 * windowMillis ? windowStart + windowMillis : timeMillis;
+    }
+
+    private void closeWindow() {
+        Features features = new Features();
+        features.samples = count;
+        features.meanMagnitude = mean;
+        features.deviation = count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+        features.oscillationHz = crossings / 2.0 / (windowMillis / 1000.0);
+        features.cadence = windowSteps * 60000.0 / windowMillis;
+
+        String label = count >= MIN_WINDOW_SAMPLES ? classify(features) : null;
+        if (count > 0) {
+            baseline = mean;
+        }
+        long steps = windowSteps;
+        long start = windowStart;
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        crossings = 0;
+        side = 0;
+        windowSteps = 0;
+
+        if (label == null || UNKNOWN.equals(label) || label.equals(activity)) {
+            // The current activity held, or the window was inconclusive; a pending challenger loses its run
+            activitySteps += candidateSteps + steps;
+            candidate = null;
+            candidateSteps = 0;
+            candidateWindows = 0;
+            return;
+        }
+        if (!label.equals(candidate)) {
+            activitySteps += candidateSteps;
+            candidate = label;
+            candidateStart = start;
+            candidateSteps = 0;
+            candidateWindows = 0;
+        }
+        candidateSteps += steps;
+        candidateWindows++;
+
+        int needed = VEHICLE.equals(label) ? VEHICLE_CONFIRM_WINDOWS : CONFIRM_WINDOWS;
+        if (candidateWindows >= needed || UNKNOWN.equals(activity)) {
+            Transition transition = new Transition();
+            transition.activity = label;
+            transition.previous = activity;
+            transition.startTime = candidateStart;
+            transition.previousStartTime = activityStart;
+            transition.previousSteps = activitySteps;
+            transition.features = features;
+
+            activity = label;
+            activityStart = candidateStart;
+            activitySteps = candidateSteps;
+            candidate = null;
+            candidateSteps = 0;
+            candidateWindows = 0;
+            listener.onTransition(transition);
+        }
+    }
+
+    static String classify(Features features) {
+        double deviation = features.deviation;
+        double hz = features.oscillationHz;
+        boolean gait = hz >= GAIT_MIN_HZ && hz <= GAIT_MAX_HZ;
+
+        if (features.cadence >= RUNNING_MIN_CADENCE
+                || (deviation >= RUNNING_MIN_DEVIATION && hz >= RUNNING_MIN_HZ && hz <= GAIT_MAX_HZ)) {
+            return RUNNING;
+        }
+        if (features.cadence >= WALKING_MIN_CADENCE || (deviation >= WALKING_MIN_DEVIATION && gait)) {
+            return WALKING;
+        }
+        if (deviation < STILL_MAX_DEVIATION) {
+            return STILL;
+        }
+        if (deviation <= VEHICLE_MAX_DEVIATION) {
+            return VEHICLE;
+        }
+        // Strong motion without a gait rhythm: handling the phone, cycling over rough ground
+        return UNKNOWN;
+    }
+}
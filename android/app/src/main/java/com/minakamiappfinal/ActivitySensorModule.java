@@ -0,0 +1,189 @@
+package com.minakamiappfinal;
+
+import android.content.Context;
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.hardware.SensorEventListener;
+import android.hardware.SensorManager;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+/**
+ * Activity detection on the device: the accelerometer and step detector are registered with a long
+ * max report latency, so the sensor hub buffers samples in its FIFO and delivers them in batches while
+ * the application processor sleeps. Batches are classified on a sensor thread (see ActivityClassifier)
+ * and only activity transitions reach JS; the sample stream never crosses the bridge.
+ */
+public class ActivitySensorModule extends ReactContextBaseJavaModule implements SensorEventListener, ActivityClassifier.Listener {
+    public static final String NAME = "ActivitySensorModule";
+    public static final String EVENT_ACTIVITY_TRANSITION = "ActivityTransition";
+    private static final String TAG = "ActivitySensorModule";
+
+    private static final int DEFAULT_SAMPLING_HZ = 25;
+    private static final int DEFAULT_MAX_REPORT_LATENCY_SECONDS = 10;
+
+    private final NativeMetrics metrics = NativeMetrics.getInstance();
+    private final ActivityClassifier classifier = new ActivityClassifier(ActivityClassifier.DEFAULT_WINDOW_MILLIS, this);
+    private SensorManager sensorManager;
+    private HandlerThread sensorThread;
+    // Sensor event timestamps are nanoseconds of elapsed realtime; this turns them into wall-clock millis
+    private long clockOffsetMillis;
+
+    public ActivitySensorModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Starts classification. options: { samplingHz = 25, maxReportLatencySeconds = 10 }.
+     * Resolves with what the device offers: { stepDetector, fifoMaxEventCount, batching }.
+     */
+    @ReactMethod
+    public void start(ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("activitySensors.start", promise);
+        int samplingHz = options != null && options.hasKey("samplingHz") ? options.getInt("samplingHz") : DEFAULT_SAMPLING_HZ;
+        int latencySeconds = options != null && options.hasKey("maxReportLatencySeconds")
+                ? options.getInt("maxReportLatencySeconds")
+                : DEFAULT_MAX_REPORT_LATENCY_SECONDS;
+
+        synchronized (this) {
+            SensorManager manager = (SensorManager) getReactApplicationContext().getSystemService(Context.SENSOR_SERVICE);
+            Sensor accelerometer = manager != null ? manager.getDefaultSensor(Sensor.TYPE_ACCELEROMETER) : null;
+            if (accelerometer == null) {
+                call.reject("SENSOR_UNAVAILABLE", "No accelerometer on this device");
+                return;
+            }
+            Sensor stepDetector = manager.getDefaultSensor(Sensor.TYPE_STEP_DETECTOR);
+
+            stopSensors();
+            sensorManager = manager;
+            sensorThread = new HandlerThread("activity-sensors");
+            sensorThread.start();
+            Handler handler = new Handler(sensorThread.getLooper());
+            clockOffsetMillis = System.currentTimeMillis() - SystemClock.elapsedRealtime();
+
+            int periodMicros = 1_000_000 / Math.max(1, samplingHz);
+            int latencyMicros = Math.max(0, latencySeconds) * 1_000_000;
+            manager.registerListener(this, accelerometer, periodMicros, latencyMicros, handler);
+            if (stepDetector != null) {
+                manager.registerListener(this, stepDetector, SensorManager.SENSOR_DELAY_NORMAL, latencyMicros, handler);
+            }
+
+            WritableMap result = Arguments.createMap();
+            result.putBoolean("stepDetector", stepDetector != null);
+            result.putInt("fifoMaxEventCount", accelerometer.getFifoMaxEventCount());
+            result.putBoolean("batching", accelerometer.getFifoMaxEventCount() > 0 && latencyMicros > 0);
+            Log.d(TAG, "Started at " + samplingHz + " Hz, FIFO " + accelerometer.getFifoMaxEventCount() + " events");
+            call.resolve(result);
+        }
+    }
+
+    @ReactMethod
+    public void stop(Promise promise) {
+        MeasuredPromise call = metrics.track("activitySensors.stop", promise);
+        synchronized (this) {
+            stopSensors();
+        }
+        call.resolve(true);
+    }
+
+    /**
+     * { activity, startTime, steps } of the activity in progress
+     */
+    @ReactMethod
+    public void getCurrentActivity(Promise promise) {
+        MeasuredPromise call = metrics.track("activitySensors.getCurrentActivity", promise);
+        WritableMap result = Arguments.createMap();
+        synchronized (classifier) {
+            result.putString("activity", classifier.activity());
+            result.putDouble("startTime", classifier.activityStart());
+            result.putDouble("steps", classifier.activitySteps());
+        }
+        call.resolve(result);
+    }
+
+    // Required by NativeEventEmitter on the JS side
+    @ReactMethod
+    public void addListener(String eventName) {
+    }
+
+    @ReactMethod
+    public void removeListeners(double count) {
+    }
+
+    @Override
+    public void onSensorChanged(SensorEvent event) {
+        long time = clockOffsetMillis + event.timestamp / 1_000_000;
+        synchronized (classifier) {
+            if (event.sensor.getType() == Sensor.TYPE_ACCELEROMETER) {
+                classifier.addAcceleration(time, event.values[0], event.values[1], event.values[2]);
+            } else if (event.sensor.getType() == Sensor.TYPE_STEP_DETECTOR) {
+                classifier.addStep(time);
+            }
+        }
+    }
+
+    @Override
+    public void onAccuracyChanged(Sensor sensor, int accuracy) {
+    }
+
+    @Override
+    public void onTransition(ActivityClassifier.Transition transition) {
+        WritableMap event = Arguments.createMap();
+        event.putString("activity", transition.activity);
+        event.putString("previous", transition.previous);
+        event.putDouble("startTime", transition.startTime);
+        event.putDouble("previousStartTime", transition.previousStartTime);
+        event.putDouble("previousSteps", transition.previousSteps);
+        WritableMap features = Arguments.createMap();
+        features.putDouble("meanMagnitude", transition.features.meanMagnitude);
+        features.putDouble("deviation", transition.features.deviation);
+        features.putDouble("oscillationHz", transition.features.oscillationHz);
+        features.putDouble("cadence", transition.features.cadence);
+        event.putMap("features", features);
+
+        Log.d(TAG, "Activity " + transition.previous + " -> " + transition.activity);
+        if (getReactApplicationContext().hasActiveReactInstance()) {
+            getReactApplicationContext()
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(EVENT_ACTIVITY_TRANSITION, event);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (this) {
+            stopSensors();
+        }
+        super.invalidate();
+    }
+
+    private void stopSensors() {
+        if (sensorManager != null) {
+            sensorManager.unregisterListener(this);
+            sensorManager = null;
+        }
+        if (sensorThread != null) {
+            sensorThread.quitSafely();
+            sensorThread = null;
+        }
+        synchronized (classifier) {
+            classifier.flush();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.TurboReactPackage;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ActivitySensorPackage extends TurboReactPackage {
+
+    @Override
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (ActivitySensorModule.NAME.equals(name)) {
+            return new ActivitySensorModule(reactContext);
+        }
+        return null;
+    }
+
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+            moduleInfos.put(ActivitySensorModule.NAME, new ReactModuleInfo(
+                    ActivitySensorModule.NAME,
+                    ActivitySensorModule.class.getName(),
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    false // isTurboModule
+            ));
+            return moduleInfos;
+        };
+    }
+}
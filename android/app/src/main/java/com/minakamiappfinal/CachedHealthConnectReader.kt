@@ -0,0 +1,209 @@
+package com.minakamiappfinal
+
+import androidx.health.connect.client.records.ActiveCaloriesBurnedRecord
+import androidx.health.connect.client.records.DistanceRecord
+import androidx.health.connect.client.records.HeartRateRecord
+import androidx.health.connect.client.records.InstantaneousRecord
+import androidx.health.connect.client.records.IntervalRecord
+import androidx.health.connect.client.records.Record
+import androidx.health.connect.client.records.StepsRecord
+import androidx.health.connect.client.time.TimeRangeFilter
+import com.facebook.react.bridge.ReadableMap
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+import java.util.TreeMap
+import kotlin.reflect.KClass
+
+/**
+ * Read-through cache in front of HealthConnectReader at (record type, local day) granularity.
+ * Ranges are split into local days; cached days are served from HealthRecordCache and every
+ * consecutive run of missing days is fetched with a single paged read, then split back into days.
+ * Like Health Connect's own TimeRangeFilter, a record belongs to every day it overlaps (last night's
+ * sleep session to both days), and results keep every record overlapping the range, once.
+ * Concurrent reads of the same record type share in-flight provider reads through DayRangeSingleFlight,
+ * so a burst of identical dashboard queries costs one Health Connect read.
+ * When a snapshot is given, fetching today's steps, distance or active calories also refreshes
+ * the totals the synchronous getters serve.
+ */
+class CachedHealthConnectReader(
+    private val reader: HealthConnectReader,
+    private val cache: HealthRecordCache = HealthRecordCache.getInstance(),
+    private val zone: ZoneId = ZoneId.systemDefault(),
+    private val snapshot: HealthStateSnapshot? = null,
+    private val singleFlight: DayRangeSingleFlight = DayRangeSingleFlight()
+) {
+
+    suspend fun <T : Record> read(recordClass: KClass<T>, timeRange: ReadableMap): List<T> {
+        return read(
+            recordClass,
+            HealthConnectReader.parseInstant(timeRange, "startTime"),
+            HealthConnectReader.parseInstant(timeRange, "endTime")
+        )
+    }
+
+    suspend fun <T : Record> read(recordClass: KClass<T>, start: Instant, end: Instant): List<T> {
+        if (!end.isAfter(start)) {
+            return emptyList()
+        }
+
+        val cacheKey = cacheKeyFor(recordClass)
+        val now = System.currentTimeMillis()
+        val today = LocalDate.now(zone)
+        val firstDay = start.atZone(zone).toLocalDate()
+        val lastDay = end.minusMillis(1).atZone(zone).toLocalDate()
+
+        val byDay = TreeMap<LocalDate, List<T>>()
+        var missingFrom: LocalDate? = null
+        var day = firstDay
+        while (!day.isAfter(lastDay)) {
+            @Suppress("UNCHECKED_CAST")
+            val cached = cache.get(cacheKey, day, now) as List<T>?
+            if (cached != null) {
+                missingFrom?.let { fetchDays(recordClass, cacheKey, it, day.minusDays(1), today, now, byDay) }
+                missingFrom = null
+                byDay[day] = cached
+            } else if (missingFrom == null) {
+                missingFrom = day
+            }
+            day = day.plusDays(1)
+        }
+        missingFrom?.let { fetchDays(recordClass, cacheKey, it, lastDay, today, now, byDay) }
+
+        val result = ArrayList<T>()
+        val seen = HashSet<String>()
+        for (records in byDay.values) {
+            for (record in records) {
+                if (overlaps(record, start, end) && seen.add(record.metadata.id)) {
+                    result.add(record)
+                }
+            }
+        }
+        return result
+    }
+
+    fun invalidate(recordClass: KClass<out Record>) {
+        cache.invalidateType(cacheKeyFor(recordClass))
+    }
+
+    private suspend fun <T : Record> fetchDays(
+        recordClass: KClass<T>,
+        cacheKey: String,
+        from: LocalDate,
+        to: LocalDate,
+        today: LocalDate,
+        now: Long,
+        into: MutableMap<LocalDate, List<T>>
+    ) {
+        val days = singleFlight.fetch(cacheKey, from, to) { loadFrom, loadTo ->
+            loadDays(recordClass, cacheKey, loadFrom, loadTo, today, now)
+        }
+
+        var day = from
+        while (!day.isAfter(to)) {
+            @Suppress("UNCHECKED_CAST")
+            into[day] = (days[day] ?: emptyList()) as List<T>
+            day = day.plusDays(1)
+        }
+    }
+
+    /**
+     * One paged provider read for [from, to], split into the days each record overlaps and written to the cache
+     */
+    private suspend fun <T : Record> loadDays(
+        recordClass: KClass<T>,
+        cacheKey: String,
+        from: LocalDate,
+        to: LocalDate,
+        today: LocalDate,
+        now: Long
+    ): Map<LocalDate, List<Record>> {
+        val filter = TimeRangeFilter.between(
+            from.atStartOfDay(zone).toInstant(),
+            to.plusDays(1).atStartOfDay(zone).toInstant()
+        )
+
+        val grouped = HashMap<LocalDate, MutableList<T>>()
+        reader.readPages(recordClass, filter) { page, _ ->
+            for (record in page) {
+                val recordStart = startOf(record) ?: continue
+                val recordEnd = endOf(record) ?: continue
+                val startDay = recordStart.atZone(zone).toLocalDate()
+                // The end is exclusive; a record ending at midnight does not touch the next day
+                val endDay = (if (recordEnd.isAfter(recordStart)) recordEnd.minusMillis(1) else recordEnd)
+                    .atZone(zone).toLocalDate()
+                var recordDay = if (startDay.isBefore(from)) from else startDay
+                val lastDay = if (endDay.isAfter(to)) to else endDay
+                while (!recordDay.isAfter(lastDay)) {
+                    grouped.getOrPut(recordDay) { ArrayList() }.add(record)
+                    recordDay = recordDay.plusDays(1)
+                }
+            }
+        }
+
+        val byDay = HashMap<LocalDate, List<Record>>()
+        var day = from
+        while (!day.isAfter(to)) {
+            val records: List<T> = grouped[day] ?: emptyList()
+            val samples = records.sumOf { if (it is HeartRateRecord) it.samples.size.toLong() else 0L }
+            cache.put(cacheKey, day, records, samples, !day.isBefore(today), now)
+            byDay[day] = records
+            if (day == today) {
+                recordTodayTotal(recordClass, today, records)
+            }
+            day = day.plusDays(1)
+        }
+        return byDay
+    }
+
+    private fun recordTodayTotal(recordClass: KClass<out Record>, today: LocalDate, dayRecords: List<Record>) {
+        val target = snapshot ?: return
+        // Totals count records toward the day they start in, like the aggregates
+        val records = dayRecords.filter { startOf(it)?.atZone(zone)?.toLocalDate() == today }
+        when (recordClass) {
+            StepsRecord::class -> target.putTodayTotal(
+                today, "steps", records.sumOf { (it as StepsRecord).count }.toDouble()
+            )
+            DistanceRecord::class -> target.putTodayTotal(
+                today, "distanceMeters", records.sumOf { (it as DistanceRecord).distance.inMeters }
+            )
+            ActiveCaloriesBurnedRecord::class -> target.putTodayTotal(
+                today, "activeCalories", records.sumOf { (it as ActiveCaloriesBurnedRecord).energy.inKilocalories }
+            )
+            else -> Unit
+        }
+    }
+
+    private fun cacheKeyFor(recordClass: KClass<out Record>): String {
+        return recordClass.java.simpleName
+    }
+
+    private fun startOf(record: Record): Instant? {
+        return when (record) {
+            is IntervalRecord -> record.startTime
+            is InstantaneousRecord -> record.time
+            else -> null
+        }
+    }
+
+    private fun endOf(record: Record): Instant? {
+        return when (record) {
+            is IntervalRecord -> record.endTime
+            is InstantaneousRecord -> record.time
+            else -> null
+        }
+    }
+
+    /**
+     * Whether [record] overlaps [start, end): interval records by their span, instantaneous ones by their time
+     */
+    private fun overlaps(record: Record, start: Instant, end: Instant): Boolean {
+        val recordStart = startOf(record) ?: return false
+        val recordEnd = endOf(record) ?: return false
+        return if (recordEnd.isAfter(recordStart)) {
+            recordStart.isBefore(end) && recordEnd.isAfter(start)
+        } else {
+            !recordStart.isBefore(start) && recordStart.isBefore(end)
+        }
+    }
+}
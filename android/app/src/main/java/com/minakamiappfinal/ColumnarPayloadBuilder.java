@@ -0,0 +1,304 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the opt-in columnar response ({ format: 'columnar' } in the time range map).
+ * Instead of one map per record, every field becomes one parallel array:
+ *
+ * <pre>
+ * {
+ *   format: 'columnar',
+ *   length: 1440,
+ *   columns: { startTime: [ms, ...], count: [...], device: [0, 0, ...], ... },
+ *   timeColumns: ['startTime', 'endTime'],
+ *   dictionaryColumns: ['device', 'source'],
+ *   dictionary: ['Galaxy Watch6', 'Health Connect']
+ * }
+ * </pre>
+ *
+ * Times are epoch millis, dictionary columns hold indexes into the shared dictionary,
+ * and a field missing from a record comes through as null. src/utils/columnarRecords.js reads it.
+ */
+public class ColumnarPayloadBuilder implements HealthRecordWriter {
+    public static final String FORMAT_KEY = "format";
+    public static final String FORMAT_COLUMNAR = "columnar";
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+    private int length = 0;
+    private long valueBytes = 0;
+    private long valuesWritten = 0;
+
+    public static boolean isRequested(ReadableMap options) {
+        return options != null
+            && options.hasKey(FORMAT_KEY)
+            && !options.isNull(FORMAT_KEY)
+            && FORMAT_COLUMNAR.equals(options.getString(FORMAT_KEY));
+    }
+
+    public int size() {
+        return length;
+    }
+
+    @Override
+    public void beginRecord() {
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        column(key, StringColumn.class).set(length, value);
+        written(PayloadSize.string(value));
+    }
+
+    @Override
+    public void putDictionaryString(String key, String value) {
+        column(key, DictionaryColumn.class).set(length, value == null ? -1 : dictionaryIndexOf(value));
+        written(PayloadSize.DICTIONARY_INDEX);
+    }
+
+    @Override
+    public void putTime(String key, long epochMillis) {
+        column(key, TimeColumn.class).set(length, epochMillis);
+        written(PayloadSize.EPOCH_MILLIS);
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        column(key, NumberColumn.class).set(length, value);
+        written(PayloadSize.NUMBER);
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        column(key, NumberColumn.class).set(length, value);
+        written(PayloadSize.NUMBER);
+    }
+
+    @Override
+    public void putArray(String key, WritableArray value) {
+        column(key, ArrayColumn.class).set(length, value);
+        written(PayloadSize.array(value));
+    }
+
+    @Override
+    public void endRecord() {
+        length++;
+    }
+
+    /**
+     * Keys and dictionary entries count once, cells never written count as nulls
+     */
+    @Override
+    public long estimatedBytes() {
+        long bytes = valueBytes + (length * (long) columns.size() - valuesWritten) * PayloadSize.NULL;
+        for (String key : columns.keySet()) {
+            bytes += PayloadSize.key(key) + PayloadSize.OBJECT;
+        }
+        for (String value : dictionary) {
+            bytes += PayloadSize.string(value);
+        }
+        return bytes;
+    }
+
+    public WritableMap build() {
+        WritableMap columnMaps = Arguments.createMap();
+        WritableArray timeColumns = Arguments.createArray();
+        WritableArray dictionaryColumns = Arguments.createArray();
+
+        for (Map.Entry<String, Column> entry : columns.entrySet()) {
+            Column column = entry.getValue();
+            columnMaps.putArray(entry.getKey(), column.toArray(length));
+            if (column instanceof TimeColumn) {
+                timeColumns.pushString(entry.getKey());
+            } else if (column instanceof DictionaryColumn) {
+                dictionaryColumns.pushString(entry.getKey());
+            }
+        }
+
+        WritableArray dictionaryArray = Arguments.createArray();
+        for (String value : dictionary) {
+            dictionaryArray.pushString(value);
+        }
+
+        WritableMap payload = Arguments.createMap();
+        payload.putString(FORMAT_KEY, FORMAT_COLUMNAR);
+        payload.putInt("length", length);
+        payload.putMap("columns", columnMaps);
+        payload.putArray("timeColumns", timeColumns);
+        payload.putArray("dictionaryColumns", dictionaryColumns);
+        payload.putArray("dictionary", dictionaryArray);
+        return payload;
+    }
+
+    private void written(int bytes) {
+        valueBytes += bytes;
+        valuesWritten++;
+    }
+
+    private int dictionaryIndexOf(String value) {
+        Integer index = dictionaryIndex.get(value);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.add(value);
+            dictionaryIndex.put(value, index);
+        }
+        return index;
+    }
+
+    private <C extends Column> C column(String key, Class<C> type) {
+        Column column = columns.get(key);
+        if (column == null) {
+            column = newColumn(type);
+            columns.put(key, column);
+        } else if (!type.isInstance(column)) {
+            throw new IllegalStateException("Column " + key + " written as both " +
+                column.getClass().getSimpleName() + " and " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    private static Column newColumn(Class<? extends Column> type) {
+        if (type == StringColumn.class) return new StringColumn();
+        if (type == DictionaryColumn.class) return new DictionaryColumn();
+        if (type == TimeColumn.class) return new TimeColumn();
+        if (type == NumberColumn.class) return new NumberColumn();
+        return new ArrayColumn();
+    }
+
+    private abstract static class Column {
+        abstract WritableArray toArray(int length);
+    }
+
+    private static class NumberColumn extends Column {
+        double[] values = newValues(INITIAL_CAPACITY);
+
+        void set(int row, double value) {
+            if (row >= values.length) {
+                int oldLength = values.length;
+                values = Arrays.copyOf(values, Math.max(row + 1, oldLength * 2));
+                Arrays.fill(values, oldLength, values.length, Double.NaN);
+            }
+            values[row] = value;
+        }
+
+        @Override
+        WritableArray toArray(int length) {
+            WritableArray array = Arguments.createArray();
+            for (int i = 0; i < length; i++) {
+                double value = i < values.length ? values[i] : Double.NaN;
+                if (Double.isNaN(value)) {
+                    array.pushNull();
+                } else {
+                    array.pushDouble(value);
+                }
+            }
+            return array;
+        }
+
+        private static double[] newValues(int capacity) {
+            double[] values = new double[capacity];
+            Arrays.fill(values, Double.NaN);
+            return values;
+        }
+    }
+
+    private static class TimeColumn extends NumberColumn {
+    }
+
+    private static class DictionaryColumn extends Column {
+        int[] indexes = newIndexes(INITIAL_CAPACITY);
+
+        void set(int row, int index) {
+            if (row >= indexes.length) {
+                int oldLength = indexes.length;
+                indexes = Arrays.copyOf(indexes, Math.max(row + 1, oldLength * 2));
+                Arrays.fill(indexes, oldLength, indexes.length, -1);
+            }
+            indexes[row] = index;
+        }
+
+        @Override
+        WritableArray toArray(int length) {
+            WritableArray array = Arguments.createArray();
+            for (int i = 0; i < length; i++) {
+                int index = i < indexes.length ? indexes[i] : -1;
+                if (index < 0) {
+                    array.pushNull();
+                } else {
+                    array.pushInt(index);
+                }
+            }
+            return array;
+        }
+
+        private static int[] newIndexes(int capacity) {
+            int[] indexes = new int[capacity];
+            Arrays.fill(indexes, -1);
+            return indexes;
+        }
+    }
+
+    private static class StringColumn extends Column {
+        final List<String> values = new ArrayList<>();
+
+        void set(int row, String value) {
+            while (values.size() <= row) {
+                values.add(null);
+            }
+            values.set(row, value);
+        }
+
+        @Override
+        WritableArray toArray(int length) {
+            WritableArray array = Arguments.createArray();
+            for (int i = 0; i < length; i++) {
+                String value = i < values.size() ? values.get(i) : null;
+                if (value == null) {
+                    array.pushNull();
+                } else {
+                    array.pushString(value);
+                }
+            }
+            return array;
+        }
+    }
+
+    private static class ArrayColumn extends Column {
+        final List<WritableArray> values = new ArrayList<>();
+
+        void set(int row, WritableArray value) {
+            while (values.size() <= row) {
+                values.add(null);
+            }
+            values.set(row, value);
+        }
+
+        @Override
+        WritableArray toArray(int length) {
+            WritableArray array = Arguments.createArray();
+            for (int i = 0; i < length; i++) {
+                WritableArray value = i < values.size() ? values.get(i) : null;
+                if (value == null) {
+                    array.pushNull();
+                } else {
+                    array.pushArray(value);
+                }
+            }
+            return array;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.minakamiappfinal
+
+import androidx.health.connect.client.records.Record
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import java.time.LocalDate
+
+/**
+ * Single-flight registry for provider reads over runs of local days, keyed by record type.
+ * A read whose days are already being fetched joins the in-flight read instead of issuing its own;
+ * a wider in-flight read is sliced to the requested days, and only the days nobody is fetching yet
+ * are loaded. If a joined read fails (or its caller is cancelled) the joiner loads those days itself,
+ * so one caller's failure never fails another's request.
+ */
+class DayRangeSingleFlight(private val metrics: NativeMetrics = NativeMetrics.getInstance()) {
+
+    companion object {
+        const val COUNTER_COALESCED_READS = "coalescedReads"
+        const val COUNTER_COALESCED_DAYS = "coalescedDays"
+    }
+
+    private class Flight(val from: LocalDate, val to: LocalDate) {
+        val result = CompletableDeferred<Map<LocalDate, List<Record>>>()
+
+        fun covers(day: LocalDate) = !day.isBefore(from) && !day.isAfter(to)
+    }
+
+    // A contiguous part of the requested range, served either by an existing flight or by a new one we own
+    private class Segment(val from: LocalDate, val to: LocalDate, val flight: Flight, val owned: Boolean)
+
+    private val flights = HashMap<String, MutableList<Flight>>()
+
+    /**
+     * Records per day for every day in [from, to]; [load] is only called for days no other caller is reading
+     */
+    suspend fun fetch(
+        key: String,
+        from: LocalDate,
+        to: LocalDate,
+        load: suspend (from: LocalDate, to: LocalDate) -> Map<LocalDate, List<Record>>
+    ): Map<LocalDate, List<Record>> {
+        val segments = plan(key, from, to)
+        val byDay = HashMap<LocalDate, List<Record>>()
+
+        coroutineScope {
+            val owned = segments.filter { it.owned }.map { segment ->
+                async { runOwned(key, segment, load) }
+            }
+            for (segment in segments.filter { !it.owned }) {
+                val days = try {
+                    segment.flight.result.await()
+                } catch (e: Exception) {
+                    currentCoroutineContext().ensureActive()
+                    load(segment.from, segment.to)
+                }
+                copyDays(days, segment.from, segment.to, byDay)
+            }
+            for (deferred in owned) {
+                byDay.putAll(deferred.await())
+            }
+        }
+        return byDay
+    }
+
+    private fun plan(key: String, from: LocalDate, to: LocalDate): List<Segment> {
+        val segments = ArrayList<Segment>()
+        synchronized(flights) {
+            val active = flights.getOrPut(key) { ArrayList() }
+            var day = from
+            while (!day.isAfter(to)) {
+                val existing = active.firstOrNull { it.covers(day) }
+                if (existing != null) {
+                    val end = if (existing.to.isBefore(to)) existing.to else to
+                    segments.add(Segment(day, end, existing, owned = false))
+                    metrics.increment(COUNTER_COALESCED_READS, 1)
+                    metrics.increment(COUNTER_COALESCED_DAYS, daysBetween(day, end))
+                    day = end.plusDays(1)
+                } else {
+                    // Extend up to the next day some other flight already covers
+                    var end = day
+                    while (end.isBefore(to) && active.none { it.covers(end.plusDays(1)) }) {
+                        end = end.plusDays(1)
+                    }
+                    val flight = Flight(day, end)
+                    active.add(flight)
+                    segments.add(Segment(day, end, flight, owned = true))
+                    day = end.plusDays(1)
+                }
+            }
+        }
+        return segments
+    }
+
+    private suspend fun runOwned(
+        key: String,
+        segment: Segment,
+        load: suspend (LocalDate, LocalDate) -> Map<LocalDate, List<Record>>
+    ): Map<LocalDate, List<Record>> {
+        try {
+            val days = load(segment.from, segment.to)
+            segment.flight.result.complete(days)
+            return days
+        } catch (e: Throwable) {
+            segment.flight.result.completeExceptionally(
+                if (e is CancellationException) IllegalStateException("Owning read was cancelled", e) else e
+            )
+            throw e
+        } finally {
+            synchronized(flights) {
+                flights[key]?.let { active ->
+                    active.remove(segment.flight)
+                    if (active.isEmpty()) {
+                        flights.remove(key)
+                    }
+                }
+            }
+        }
+    }
+
+    private fun copyDays(
+        source: Map<LocalDate, List<Record>>,
+        from: LocalDate,
+        to: LocalDate,
+        into: MutableMap<LocalDate, List<Record>>
+    ) {
+        var day = from
+        while (!day.isAfter(to)) {
+            into[day] = source[day] ?: emptyList()
+            day = day.plusDays(1)
+        }
+    }
+
+    private fun daysBetween(from: LocalDate, to: LocalDate): Long {
+        return to.toEpochDay() - from.toEpochDay() + 1
+    }
+}
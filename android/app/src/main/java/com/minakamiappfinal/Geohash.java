@@ -0,0 +1,116 @@
+package com.minakamiappfinal;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Geohash encoding for the locations table. A geohash interleaves longitude and latitude bits into a
+ * base-32 string, so nearby fixes share a prefix and a proximity query becomes a few range scans on an
+ * ordinary index: the cell around the point and its eight neighbours, at a length whose cells are at
+ * least as large as the radius.
+ */
+public final class Geohash {
+    public static final int STORED_PRECISION = 9; // cells of about 5 x 5 m
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double METERS_PER_DEGREE_LATITUDE = 110_574;
+    private static final double METERS_PER_DEGREE_LONGITUDE = 111_320;
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLatitude = -90;
+        double maxLatitude = 90;
+        double minLongitude = -180;
+        double maxLongitude = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        for (int c = 0; c < precision; ) {
+            if (evenBit) {
+                double middle = (minLongitude + maxLongitude) / 2;
+                if (longitude >= middle) {
+                    index = index * 2 + 1;
+                    minLongitude = middle;
+                } else {
+                    index = index * 2;
+                    maxLongitude = middle;
+                }
+            } else {
+                double middle = (minLatitude + maxLatitude) / 2;
+                if (latitude >= middle) {
+                    index = index * 2 + 1;
+                    minLatitude = middle;
+                } else {
+                    index = index * 2;
+                    maxLatitude = middle;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash[c++] = BASE32.charAt(index);
+                bit = 0;
+                index = 0;
+            }
+        }
+        return new String(hash);
+    }
+
+    /**
+     * Cell height and width in degrees at [precision]
+     */
+    static double[] cellSize(int precision) {
+        int bits = precision * 5;
+        int longitudeBits = (bits + 1) / 2;
+        int latitudeBits = bits / 2;
+        return new double[]{180.0 / (1L << latitudeBits), 360.0 / (1L << longitudeBits)};
+    }
+
+    /**
+     * Longest prefix whose cells are at least [radiusMeters] in both directions at [latitude]
+     */
+    public static int precisionForRadius(double radiusMeters, double latitude) {
+        double longitudeScale = METERS_PER_DEGREE_LONGITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        for (int precision = STORED_PRECISION; precision > 1; precision--) {
+            double[] size = cellSize(precision);
+            if (size[0] * METERS_PER_DEGREE_LATITUDE >= radiusMeters && size[1] * longitudeScale >= radiusMeters) {
+                return precision;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * The cell containing the point and its eight neighbours, at [precision]; together they cover every
+     * point within one cell size of it
+     */
+    public static Set<String> neighbourhood(double latitude, double longitude, int precision) {
+        double[] size = cellSize(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (int dy = -1; dy <= 1; dy++) {
+            double cellLatitude = latitude + dy * size[0];
+            if (cellLatitude < -90 || cellLatitude > 90) {
+                continue;
+            }
+            for (int dx = -1; dx <= 1; dx++) {
+                double cellLongitude = longitude + dx * size[1];
+                if (cellLongitude < -180) {
+                    cellLongitude += 360;
+                } else if (cellLongitude >= 180) {
+                    cellLongitude -= 360;
+                }
+                cells.add(encode(cellLatitude, cellLongitude, precision));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Exclusive upper bound of the range of hashes starting with [prefix]
+     */
+    public static String prefixEnd(String prefix) {
+        // '{' sorts right after 'z', the last base-32 digit
+        return prefix + '{';
+    }
+}
@@ -0,0 +1,626 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Native analytics over health data already in the app database or handed over as columns,
+ * so reconciliation work runs on primitive arrays instead of JS object graphs.
+ * All work happens on one background thread; results are columnar maps.
+ */
+public class HealthAnalyticsModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "HealthAnalyticsModule";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "health-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final NativeMetrics metrics = NativeMetrics.getInstance();
+
+    // Built interval indexes by id; the oldest is dropped past MAX_INDEXES in case JS never releases one
+    private static final int MAX_INDEXES = 8;
+    private final Map<Integer, IntervalIndex> indexes = new LinkedHashMap<Integer, IntervalIndex>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, IntervalIndex> eldest) {
+            return size() > MAX_INDEXES;
+        }
+    };
+    private int nextIndexId = 1;
+
+    public HealthAnalyticsModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Merges interval columns from several sources into one non-overlapping timeline (see IntervalMergeEngine).
+     * sources: [{ source, start: number[], end: number[], value?: number[] }], priority: source names, best first.
+     */
+    @ReactMethod
+    public void mergeIntervals(ReadableArray sources, ReadableArray priority, Promise promise) {
+        MeasuredPromise call = metrics.track("mergeIntervals", promise);
+        executor.execute(() -> {
+            try {
+                IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch();
+                for (int s = 0; s < sources.size(); s++) {
+                    ReadableMap source = sources.getMap(s);
+                    int sourceId = batch.sourceId(source.getString("source"));
+                    ReadableArray starts = source.getArray("start");
+                    ReadableArray ends = source.getArray("end");
+                    ReadableArray values = source.hasKey("value") ? source.getArray("value") : null;
+                    if (starts.size() != ends.size() || (values != null && values.size() != starts.size())) {
+                        throw new IllegalArgumentException("Columns of " + source.getString("source") + " differ in length");
+                    }
+                    for (int i = 0; i < starts.size(); i++) {
+                        batch.add(sourceId, (long) starts.getDouble(i), (long) ends.getDouble(i),
+                                values != null ? values.getDouble(i) : 0);
+                    }
+                }
+                call.addRecords(batch.size());
+                call.mark(NativeMetrics.PHASE_CONVERT);
+                resolveMerge(batch, priority, call);
+            } catch (Exception e) {
+                call.reject("MERGE_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Same merge over activities of one type read straight from the database, e.g. the steps written by
+     * Health Connect imports (per data origin), Strava and the in-app tracker for one day.
+     */
+    @ReactMethod
+    public void mergeActivityIntervals(String type, double startTime, double endTime, ReadableArray priority, Promise promise) {
+        MeasuredPromise call = metrics.track("mergeActivityIntervals", promise);
+        executor.execute(() -> {
+            try {
+                IntervalMergeEngine.Batch batch = HealthDatabaseWriter.getInstance(getReactApplicationContext())
+                        .loadIntervals(type, (long) startTime, (long) endTime);
+                call.addRecords(batch.size());
+                call.mark(NativeMetrics.PHASE_PROVIDER);
+                resolveMerge(batch, priority, call);
+            } catch (Exception e) {
+                call.reject("MERGE_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Builds an IntervalIndex over event columns { start: number[], end?: number[], type: string[] }
+     * (end defaults to start, i.e. point events). Resolves { indexId, size }; release it when done.
+     */
+    @ReactMethod
+    public void buildIntervalIndex(ReadableMap columns, Promise promise) {
+        MeasuredPromise call = metrics.track("buildIntervalIndex", promise);
+        executor.execute(() -> {
+            try {
+                ReadableArray startColumn = columns.getArray("start");
+                ReadableArray endColumn = columns.hasKey("end") ? columns.getArray("end") : null;
+                ReadableArray typeColumn = columns.getArray("type");
+                int n = startColumn.size();
+                if (typeColumn.size() != n || (endColumn != null && endColumn.size() != n)) {
+                    throw new IllegalArgumentException("Index columns differ in length");
+                }
+
+                long[] starts = new long[n];
+                long[] ends = new long[n];
+                String[] types = new String[n];
+                for (int i = 0; i < n; i++) {
+                    starts[i] = (long) startColumn.getDouble(i);
+                    ends[i] = endColumn != null && !endColumn.isNull(i) ? (long) endColumn.getDouble(i) : starts[i];
+                    types[i] = typeColumn.getString(i);
+                }
+                call.addRecords(n);
+                call.mark(NativeMetrics.PHASE_CONVERT);
+
+                IntervalIndex index = IntervalIndex.build(starts, ends, types);
+                int indexId;
+                synchronized (indexes) {
+                    indexId = nextIndexId++;
+                    indexes.put(indexId, index);
+                }
+
+                WritableMap result = Arguments.createMap();
+                result.putInt("indexId", indexId);
+                result.putInt("size", index.size());
+                call.resolve(result);
+            } catch (Exception e) {
+                call.reject("INDEX_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Runs a batch of window queries against an index. Each query is either
+     * { op: 'overlaps', start, end, type? } or { op: 'follows', time, within, type? }.
+     * Resolves one array of input event indexes per query, in query order.
+     */
+    @ReactMethod
+    public void queryIntervalIndex(int indexId, ReadableArray queries, Promise promise) {
+        MeasuredPromise call = metrics.track("queryIntervalIndex", promise);
+        executor.execute(() -> {
+            try {
+                IntervalIndex index = requireIndex(indexId);
+                WritableArray results = Arguments.createArray();
+                for (int q = 0; q < queries.size(); q++) {
+                    ReadableMap query = queries.getMap(q);
+                    String type = query.hasKey("type") && !query.isNull("type") ? query.getString("type") : null;
+                    String op = query.getString("op");
+                    int[] matches;
+                    if ("overlaps".equals(op)) {
+                        matches = index.overlapping((long) query.getDouble("start"), (long) query.getDouble("end"), type);
+                    } else if ("follows".equals(op)) {
+                        matches = index.following((long) query.getDouble("time"), (long) query.getDouble("within"), type);
+                    } else {
+                        throw new IllegalArgumentException("Unknown query op: " + op);
+                    }
+                    results.pushArray(toArray(matches));
+                    call.addRecords(matches.length);
+                }
+                call.resolve(results);
+            } catch (Exception e) {
+                call.reject("INDEX_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Matches correlation rules [{ name, events: string[], window }] against an index in one pass.
+     * Resolves { [name]: number[][] } with the input event indexes of every matching chain.
+     */
+    @ReactMethod
+    public void matchEventSequences(int indexId, ReadableArray rules, Promise promise) {
+        MeasuredPromise call = metrics.track("matchEventSequences", promise);
+        executor.execute(() -> {
+            try {
+                IntervalIndex index = requireIndex(indexId);
+                WritableMap results = Arguments.createMap();
+                for (int r = 0; r < rules.size(); r++) {
+                    ReadableMap rule = rules.getMap(r);
+                    ReadableArray events = rule.getArray("events");
+                    String[] sequence = new String[events.size()];
+                    for (int k = 0; k < sequence.length; k++) {
+                        sequence[k] = events.getString(k);
+                    }
+
+                    WritableArray chains = Arguments.createArray();
+                    for (int[] chain : index.matchSequences(sequence, (long) rule.getDouble("window"))) {
+                        chains.pushArray(toArray(chain));
+                    }
+                    results.putArray(rule.getString("name"), chains);
+                }
+                call.resolve(results);
+            } catch (Exception e) {
+                call.reject("INDEX_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    @ReactMethod
+    public void releaseIntervalIndex(int indexId) {
+        synchronized (indexes) {
+            indexes.remove(indexId);
+        }
+    }
+
+    /**
+     * Rolling statistics, z-score anomalies and lagged correlations over evenly spaced series handed over
+     * as { [name]: number[] } (null for a missing sample), e.g. daily values aggregated from Health Connect.
+     * options: { window = 7, minSamples = 3, zThreshold = 2.5, minLag = 0, maxLag = 1, pairs?: [x, y][] };
+     * without pairs every pair of series is correlated. See resolveSeries for the result shape.
+     */
+    @ReactMethod
+    public void analyzeSeries(ReadableMap series, ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("analyzeSeries", promise);
+        executor.execute(() -> {
+            try {
+                Map<String, double[]> columns = new LinkedHashMap<>();
+                ReadableMapKeySetIterator names = series.keySetIterator();
+                while (names.hasNextKey()) {
+                    String name = names.nextKey();
+                    ReadableArray values = series.getArray(name);
+                    double[] column = new double[values.size()];
+                    for (int i = 0; i < column.length; i++) {
+                        column[i] = values.isNull(i) ? Double.NaN : values.getDouble(i);
+                    }
+                    columns.put(name, column);
+                    call.addRecords(column.length);
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT);
+                resolveSeries(columns, options, false, call);
+            } catch (Exception e) {
+                call.reject("SERIES_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Same analysis over one value per local day for [days] days from the day containing [startTime],
+     * loaded straight from the database. Types: steps, distance, calories, total_calories (sums), exercise
+     * and sleep (minutes), heart_rate (mean bpm). Cumulative types are reconciled across sources with
+     * IntervalMergeEngine first (options.priority, best first), so overlapping sources are not double counted.
+     * Sleep counts toward the day it ends on, so lag 1 pairs a night with the day after waking.
+     */
+    @ReactMethod
+    public void analyzeDailySeries(ReadableArray types, double startTime, int days, ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("analyzeDailySeries", promise);
+        executor.execute(() -> {
+            try {
+                ZoneId zone = ZoneId.systemDefault();
+                LocalDate firstDay = Instant.ofEpochMilli((long) startTime).atZone(zone).toLocalDate();
+                long[] dayStarts = new long[days + 1];
+                for (int day = 0; day <= days; day++) {
+                    dayStarts[day] = firstDay.plusDays(day).atStartOfDay(zone).toInstant().toEpochMilli();
+                }
+                List<String> order = new ArrayList<>();
+                ReadableArray priority = options != null && options.hasKey("priority") ? options.getArray("priority") : null;
+                if (priority != null) {
+                    for (int i = 0; i < priority.size(); i++) {
+                        order.add(priority.getString(i));
+                    }
+                }
+
+                HealthDatabaseWriter database = HealthDatabaseWriter.getInstance(getReactApplicationContext());
+                Map<String, double[]> columns = new LinkedHashMap<>();
+                for (int t = 0; t < types.size(); t++) {
+                    String type = types.getString(t);
+                    columns.put(type, loadDailySeries(database, type, dayStarts, order, call));
+                }
+                call.mark(NativeMetrics.PHASE_PROVIDER);
+                resolveSeries(columns, options, true, call);
+            } catch (Exception e) {
+                call.reject("SERIES_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    private double[] loadDailySeries(HealthDatabaseWriter database, String type, long[] dayStarts,
+                                     List<String> priority, MeasuredPromise call) {
+        if ("heart_rate".equals(type)) {
+            return database.loadDailyHeartRate(dayStarts);
+        }
+        boolean minutes = "sleep".equals(type) || "exercise".equals(type);
+        int days = dayStarts.length - 1;
+        // A night ending on the first day starts the evening before
+        long from = "sleep".equals(type) ? dayStarts[0] - 24 * 60 * 60 * 1000L : dayStarts[0];
+        IntervalMergeEngine.Batch batch = database.loadIntervals(type, from, dayStarts[days]);
+        call.addRecords(batch.size());
+        IntervalMergeEngine.Result merged = IntervalMergeEngine.merge(batch, priority);
+
+        double[] totals = new double[days];
+        boolean[] seen = new boolean[days];
+        for (int i = 0; i < merged.size; i++) {
+            int day = HealthDatabaseWriter.dayIndex(dayStarts, "sleep".equals(type) ? merged.ends[i] - 1 : merged.starts[i]);
+            if (day >= 0) {
+                totals[day] += minutes ? (merged.ends[i] - merged.starts[i]) / 60000.0 : merged.values[i];
+                seen[day] = true;
+            }
+        }
+        // No rows means no data for that day rather than a zero
+        for (int day = 0; day < days; day++) {
+            if (!seen[day]) {
+                totals[day] = Double.NaN;
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Places visited in range { startTime, endTime }: locations rows clustered within radiusMeters
+     * (see PlaceClusterer). options: { minPoints = 3, visitGapMinutes = 30 }. Resolves columns in order of
+     * first visit: { length, noise, latitude, longitude, geohash, fixes, visits, firstVisit, lastVisit, dwellMs, radius }.
+     */
+    @ReactMethod
+    public void visitedPlaces(ReadableMap range, double radiusMeters, ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("visitedPlaces", promise);
+        executor.execute(() -> {
+            try {
+                HealthDatabaseWriter.LocationColumns locations = HealthDatabaseWriter.getInstance(getReactApplicationContext())
+                        .loadLocations((long) range.getDouble("startTime"), (long) range.getDouble("endTime"));
+                call.addRecords(locations.size);
+                call.mark(NativeMetrics.PHASE_PROVIDER);
+
+                int minPoints = intOption(options, "minPoints", PlaceClusterer.DEFAULT_MIN_POINTS);
+                long visitGap = options != null && options.hasKey("visitGapMinutes")
+                        ? (long) (options.getDouble("visitGapMinutes") * 60 * 1000)
+                        : PlaceClusterer.DEFAULT_VISIT_GAP_MILLIS;
+                PlaceClusterer.Places places = new PlaceClusterer(radiusMeters, minPoints, visitGap).cluster(
+                        locations.latitudes, locations.longitudes, locations.timestamps, locations.geohashes, locations.size);
+
+                WritableArray latitude = Arguments.createArray();
+                WritableArray longitude = Arguments.createArray();
+                WritableArray geohash = Arguments.createArray();
+                WritableArray fixes = Arguments.createArray();
+                WritableArray visits = Arguments.createArray();
+                WritableArray firstVisit = Arguments.createArray();
+                WritableArray lastVisit = Arguments.createArray();
+                WritableArray dwell = Arguments.createArray();
+                WritableArray radius = Arguments.createArray();
+                for (int k = 0; k < places.size; k++) {
+                    latitude.pushDouble(places.latitudes[k]);
+                    longitude.pushDouble(places.longitudes[k]);
+                    geohash.pushString(places.geohashes[k]);
+                    fixes.pushInt(places.fixes[k]);
+                    visits.pushInt(places.visits[k]);
+                    firstVisit.pushDouble(places.firstTimes[k]);
+                    lastVisit.pushDouble(places.lastTimes[k]);
+                    dwell.pushDouble(places.dwellMillis[k]);
+                    radius.pushDouble(places.radiusMeters[k]);
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT);
+
+                WritableMap result = Arguments.createMap();
+                result.putInt("length", places.size);
+                result.putInt("noise", places.noise);
+                result.putArray("latitude", latitude);
+                result.putArray("longitude", longitude);
+                result.putArray("geohash", geohash);
+                result.putArray("fixes", fixes);
+                result.putArray("visits", visits);
+                result.putArray("firstVisit", firstVisit);
+                result.putArray("lastVisit", lastVisit);
+                result.putArray("dwellMs", dwell);
+                result.putArray("radius", radius);
+                call.resolve(result);
+            } catch (Exception e) {
+                call.reject("PLACES_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * locations rows within radiusMeters of a point, nearest first, found through the geohash index.
+     * Resolves columns { length, id, latitude, longitude, timestamp, name, distance }.
+     */
+    @ReactMethod
+    public void nearby(double latitude, double longitude, double radiusMeters, Promise promise) {
+        MeasuredPromise call = metrics.track("nearby", promise);
+        executor.execute(() -> {
+            try {
+                HealthDatabaseWriter.LocationColumns locations = HealthDatabaseWriter.getInstance(getReactApplicationContext())
+                        .loadLocationsNear(latitude, longitude, radiusMeters);
+                call.addRecords(locations.size);
+                call.mark(NativeMetrics.PHASE_PROVIDER);
+
+                double[] distances = new double[locations.size];
+                long[] keys = new long[locations.size];
+                for (int i = 0; i < locations.size; i++) {
+                    distances[i] = StayPointDetector.distanceMeters(latitude, longitude, locations.latitudes[i], locations.longitudes[i]);
+                    // Millimetres in the high bits, the row in the low 24: sorting the keys sorts by distance
+                    keys[i] = ((long) (distances[i] * 1000) << 24) | i;
+                }
+                Arrays.sort(keys);
+
+                WritableArray id = Arguments.createArray();
+                WritableArray latitudeArray = Arguments.createArray();
+                WritableArray longitudeArray = Arguments.createArray();
+                WritableArray timestamp = Arguments.createArray();
+                WritableArray name = Arguments.createArray();
+                WritableArray distance = Arguments.createArray();
+                for (long key : keys) {
+                    int i = (int) (key & 0xFFFFFF);
+                    id.pushDouble(locations.ids[i]);
+                    latitudeArray.pushDouble(locations.latitudes[i]);
+                    longitudeArray.pushDouble(locations.longitudes[i]);
+                    timestamp.pushDouble(locations.timestamps[i]);
+                    if (locations.names[i] != null) {
+                        name.pushString(locations.names[i]);
+                    } else {
+                        name.pushNull();
+                    }
+                    distance.pushDouble(distances[i]);
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT);
+
+                WritableMap result = Arguments.createMap();
+                result.putInt("length", locations.size);
+                result.putArray("id", id);
+                result.putArray("latitude", latitudeArray);
+                result.putArray("longitude", longitudeArray);
+                result.putArray("timestamp", timestamp);
+                result.putArray("name", name);
+                result.putArray("distance", distance);
+                call.resolve(result);
+            } catch (Exception e) {
+                call.reject("PLACES_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Resolves { length, series: { [name]: { values?, mean, variance, zScore, anomalies: number[] } },
+     * correlations: [{ x, y, lag, pairs, pearson, spearman }] } with null wherever a statistic is undefined
+     */
+    private void resolveSeries(Map<String, double[]> columns, ReadableMap options, boolean includeValues, MeasuredPromise call) {
+        int window = intOption(options, "window", 7);
+        int minSamples = intOption(options, "minSamples", 3);
+        int minLag = intOption(options, "minLag", 0);
+        int maxLag = intOption(options, "maxLag", 1);
+        double zThreshold = options != null && options.hasKey("zThreshold") ? options.getDouble("zThreshold") : 2.5;
+
+        int length = 0;
+        WritableMap seriesResults = Arguments.createMap();
+        for (Map.Entry<String, double[]> column : columns.entrySet()) {
+            double[] values = column.getValue();
+            length = Math.max(length, values.length);
+            SeriesStatistics.Rolling rolling = SeriesStatistics.rolling(values, window, minSamples);
+
+            WritableMap stats = Arguments.createMap();
+            if (includeValues) {
+                stats.putArray("values", toNullableArray(values));
+            }
+            stats.putArray("mean", toNullableArray(rolling.mean));
+            stats.putArray("variance", toNullableArray(rolling.variance));
+            stats.putArray("zScore", toNullableArray(rolling.zScore));
+            stats.putArray("anomalies", toArray(rolling.anomalies(zThreshold)));
+            seriesResults.putMap(column.getKey(), stats);
+        }
+
+        List<String[]> pairs = new ArrayList<>();
+        if (options != null && options.hasKey("pairs")) {
+            ReadableArray requested = options.getArray("pairs");
+            for (int p = 0; p < requested.size(); p++) {
+                ReadableArray pair = requested.getArray(p);
+                pairs.add(new String[]{pair.getString(0), pair.getString(1)});
+            }
+        } else {
+            List<String> names = new ArrayList<>(columns.keySet());
+            for (int a = 0; a < names.size(); a++) {
+                for (int b = a + 1; b < names.size(); b++) {
+                    pairs.add(new String[]{names.get(a), names.get(b)});
+                }
+            }
+        }
+
+        WritableArray correlations = Arguments.createArray();
+        for (String[] pair : pairs) {
+            double[] x = columns.get(pair[0]);
+            double[] y = columns.get(pair[1]);
+            if (x == null || y == null) {
+                throw new IllegalArgumentException("Unknown series in pair " + pair[0] + "/" + pair[1]);
+            }
+            for (SeriesStatistics.Correlation correlation : SeriesStatistics.laggedCorrelations(x, y, minLag, maxLag)) {
+                WritableMap entry = Arguments.createMap();
+                entry.putString("x", pair[0]);
+                entry.putString("y", pair[1]);
+                entry.putInt("lag", correlation.lag);
+                entry.putInt("pairs", correlation.pairs);
+                putNullable(entry, "pearson", correlation.pearson);
+                putNullable(entry, "spearman", correlation.spearman);
+                correlations.pushMap(entry);
+            }
+        }
+        call.mark(NativeMetrics.PHASE_CONVERT);
+
+        WritableMap result = Arguments.createMap();
+        result.putInt("length", length);
+        result.putMap("series", seriesResults);
+        result.putArray("correlations", correlations);
+        call.resolve(result);
+    }
+
+    private static int intOption(ReadableMap options, String key, int fallback) {
+        return options != null && options.hasKey(key) && !options.isNull(key) ? options.getInt(key) : fallback;
+    }
+
+    private static void putNullable(WritableMap map, String key, double value) {
+        if (Double.isNaN(value)) {
+            map.putNull(key);
+        } else {
+            map.putDouble(key, value);
+        }
+    }
+
+    private static WritableArray toNullableArray(double[] values) {
+        WritableArray array = Arguments.createArray();
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                array.pushNull();
+            } else {
+                array.pushDouble(value);
+            }
+        }
+        return array;
+    }
+
+    private IntervalIndex requireIndex(int indexId) {
+        synchronized (indexes) {
+            IntervalIndex index = indexes.get(indexId);
+            if (index == null) {
+                throw new IllegalArgumentException("Unknown or released interval index " + indexId);
+            }
+            return index;
+        }
+    }
+
+    private static WritableArray toArray(int[] values) {
+        WritableArray array = Arguments.createArray();
+        for (int value : values) {
+            array.pushInt(value);
+        }
+        return array;
+    }
+
+    private void resolveMerge(IntervalMergeEngine.Batch batch, ReadableArray priority, MeasuredPromise call) {
+        List<String> order = new ArrayList<>();
+        if (priority != null) {
+            for (int i = 0; i < priority.size(); i++) {
+                order.add(priority.getString(i));
+            }
+        }
+
+        long mergeStart = System.nanoTime();
+        IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, order);
+        long mergeMicros = (System.nanoTime() - mergeStart) / 1000;
+        call.mark(NativeMetrics.PHASE_CONVERT);
+
+        WritableArray start = Arguments.createArray();
+        WritableArray end = Arguments.createArray();
+        WritableArray value = Arguments.createArray();
+        WritableArray source = Arguments.createArray();
+        for (int i = 0; i < result.size; i++) {
+            start.pushDouble(result.starts[i]);
+            end.pushDouble(result.ends[i]);
+            value.pushDouble(result.values[i]);
+            source.pushInt(result.sources[i]);
+        }
+        WritableMap segments = Arguments.createMap();
+        segments.putArray("start", start);
+        segments.putArray("end", end);
+        segments.putArray("value", value);
+        segments.putArray("source", source);
+
+        WritableArray sourceNames = Arguments.createArray();
+        WritableMap attribution = Arguments.createMap();
+        for (int s = 0; s < result.sourceNames.length; s++) {
+            sourceNames.pushString(result.sourceNames[s]);
+            WritableMap perSource = Arguments.createMap();
+            perSource.putInt("records", result.recordsBySource[s]);
+            perSource.putDouble("kept", result.keptBySource[s]);
+            perSource.putDouble("suppressed", result.suppressedBySource[s]);
+            perSource.putDouble("durationMs", result.durationBySource[s]);
+            attribution.putMap(result.sourceNames[s], perSource);
+        }
+
+        WritableMap map = Arguments.createMap();
+        map.putInt("count", result.size);
+        map.putMap("segments", segments);
+        map.putArray("sources", sourceNames);
+        map.putMap("attribution", attribution);
+        map.putDouble("rawTotal", result.rawTotal);
+        map.putDouble("mergedTotal", result.mergedTotal);
+        map.putInt("skippedRecords", result.skippedRecords);
+        map.putDouble("mergeMicros", mergeMicros);
+        call.resolve(map);
+    }
+
+    @Override
+    public void invalidate() {
+        executor.shutdownNow();
+        super.invalidate();
+    }
+}
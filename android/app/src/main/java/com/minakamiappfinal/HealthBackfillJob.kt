@@ -0,0 +1,320 @@
+package com.minakamiappfinal
+
+import android.content.Context
+import android.util.Log
+import androidx.health.connect.client.time.TimeRangeFilter
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import org.json.JSONArray
+import org.json.JSONObject
+import java.time.Instant
+import java.time.ZoneId
+import java.util.UUID
+
+/**
+ * Resumable historical import on top of HealthConnectIngestor.
+ * The requested range is split into windows of whole local days, newest first, and every record type
+ * walks its windows in order while at most [Plan.parallelism] windows are ingested at once.
+ * Each finished window is checkpointed to disk before the next one starts, so after process death
+ * the same plan picks up where it stopped; a window that was cut off halfway is simply ingested again,
+ * which HealthDatabaseWriter tolerates because it replaces rows of the same record span.
+ *
+ * Plans are snapped to whole local days, so importing "up to now" again on the same day resumes the
+ * same job; a later plan that covers a pending one supersedes it, see [superseded].
+ */
+class HealthBackfillJob(
+    context: Context,
+    private val ingestor: HealthConnectIngestor,
+    private val zone: ZoneId = ZoneId.systemDefault()
+) {
+
+    companion object {
+        const val TAG = "HealthBackfillJob"
+        const val PREFS_NAME = "health_backfill_checkpoints"
+        const val DEFAULT_WINDOW_DAYS = 7
+        const val DEFAULT_PARALLELISM = 2
+        const val MAX_PARALLELISM = 4
+
+        /**
+         * Stable id for a plan, so issuing the same import again resumes it instead of starting over
+         */
+        fun jobIdFor(recordTypes: List<String>, start: Instant, end: Instant, windowDays: Int): String {
+            val key = "${recordTypes.sorted().joinToString(",")}|${start.toEpochMilli()}|${end.toEpochMilli()}|$windowDays"
+            return UUID.nameUUIDFromBytes(key.toByteArray()).toString()
+        }
+    }
+
+    data class Plan(
+        val jobId: String,
+        val recordTypes: List<String>,
+        val start: Instant,
+        val end: Instant,
+        val windowDays: Int,
+        val parallelism: Int
+    )
+
+    data class Window(val index: Int, val start: Instant, val end: Instant)
+
+    data class Progress(
+        val jobId: String,
+        val recordType: String,
+        val window: Window,
+        val windowsDone: Int,
+        val windowsTotal: Int,
+        val inserted: Int,
+        val recordsPerSecond: Double,
+        val etaSeconds: Double?
+    )
+
+    data class Result(
+        val jobId: String,
+        val windowsDone: Int,
+        val windowsTotal: Int,
+        val inserted: Int,
+        val dateKeys: Set<String>,
+        val errors: Map<String, String>,
+        val resumed: Boolean
+    ) {
+        val completed: Boolean get() = windowsDone == windowsTotal
+    }
+
+    private val prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+
+    /**
+     * [start] is moved back to the start of its local day and [end] forward to the start of the next one,
+     * before the job id is derived from them
+     */
+    fun plan(recordTypes: List<String>, start: Instant, end: Instant, windowDays: Int, parallelism: Int): Plan {
+        val days = windowDays.coerceAtLeast(1)
+        val dayStart = start.atZone(zone).toLocalDate().atStartOfDay(zone).toInstant()
+        val endDay = end.atZone(zone).toLocalDate()
+        val dayEnd = endDay.atStartOfDay(zone).toInstant().let {
+            if (it == end) it else endDay.plusDays(1).atStartOfDay(zone).toInstant()
+        }
+        return Plan(
+            jobIdFor(recordTypes, dayStart, dayEnd, days),
+            recordTypes.distinct(),
+            dayStart,
+            dayEnd,
+            days,
+            parallelism.coerceIn(1, MAX_PARALLELISM)
+        )
+    }
+
+    /**
+     * Windows of [Plan.windowDays] local days from the end of the range backwards; the oldest is clipped to the start
+     */
+    fun windows(plan: Plan): List<Window> {
+        val windows = ArrayList<Window>()
+        var windowEnd = plan.end
+        var day = plan.end.atZone(zone).toLocalDate()
+        if (day.atStartOfDay(zone).toInstant() == plan.end) {
+            day = day.minusDays(1)
+        }
+        while (windowEnd.isAfter(plan.start)) {
+            val dayStart = day.minusDays((plan.windowDays - 1).toLong()).atStartOfDay(zone).toInstant()
+            val windowStart = if (dayStart.isBefore(plan.start)) plan.start else dayStart
+            windows.add(Window(windows.size, windowStart, windowEnd))
+            windowEnd = windowStart
+            day = day.minusDays(plan.windowDays.toLong())
+        }
+        return windows
+    }
+
+    /**
+     * Ingests every window of [plan] that is not checkpointed yet; [onProgress] is called after each window
+     */
+    suspend fun run(plan: Plan, onProgress: (Progress) -> Unit): Result {
+        val windows = windows(plan)
+        val checkpoint = load(plan.jobId)?.takeIf { it.matches(plan) } ?: Checkpoint.create(plan)
+        val resumed = checkpoint.windowsDone() > 0
+        save(checkpoint)
+
+        val windowsTotal = windows.size * plan.recordTypes.size
+        val windowsAtStart = checkpoint.windowsDone()
+        val startedAt = System.nanoTime()
+        val total = HealthDatabaseWriter.IngestResult()
+        val errors = HashMap<String, String>()
+        val permits = Semaphore(plan.parallelism)
+
+        if (resumed) {
+            Log.d(TAG, "Resuming backfill ${plan.jobId}: $windowsAtStart/$windowsTotal windows already done")
+        }
+
+        coroutineScope {
+            plan.recordTypes.map { recordType ->
+                async {
+                    for (window in windows) {
+                        if (checkpoint.isDone(recordType, window.index)) {
+                            continue
+                        }
+                        val ingested = try {
+                            permits.withPermit {
+                                ingestor.ingest(recordType, TimeRangeFilter.between(window.start, window.end))
+                            }
+                        } catch (e: CancellationException) {
+                            throw e
+                        } catch (e: Exception) {
+                            // Leave the rest of this type for the next run; the other types carry on
+                            Log.w(TAG, "Backfill of $recordType window ${window.index} failed", e)
+                            synchronized(errors) { errors[recordType] = e.message ?: e.javaClass.simpleName }
+                            break
+                        }
+
+                        // A cancelled job may have been discarded, so it must not write its checkpoint back
+                        ensureActive()
+                        val progress = synchronized(checkpoint) {
+                            checkpoint.markDone(recordType, window.index, ingested.inserted)
+                            save(checkpoint)
+                            synchronized(total) { total.add(ingested) }
+                            progressOf(plan, checkpoint, recordType, window, windowsTotal, windowsAtStart, startedAt)
+                        }
+                        onProgress(progress)
+                    }
+                }
+            }.awaitAll()
+        }
+
+        val windowsDone = checkpoint.windowsDone()
+        if (windowsDone == windowsTotal) {
+            prefs.edit().remove(plan.jobId).commit()
+        }
+        Log.d(TAG, "Backfill ${plan.jobId}: $windowsDone/$windowsTotal windows, ${checkpoint.inserted} rows, ${errors.size} failed types")
+        return Result(plan.jobId, windowsDone, windowsTotal, checkpoint.inserted, total.dateKeys, errors, resumed)
+    }
+
+    /**
+     * Plans with checkpoints on disk that have not finished yet
+     */
+    fun pending(): List<Pair<Plan, Int>> {
+        return prefs.all.keys.mapNotNull { jobId ->
+            val checkpoint = load(jobId) ?: return@mapNotNull null
+            checkpoint.plan to checkpoint.windowsDone()
+        }
+    }
+
+    fun pendingPlan(jobId: String): Plan? = load(jobId)?.plan
+
+    /**
+     * Pending plans that [plan] makes redundant: other jobs over no more types and a range inside its own.
+     * Their windows line up differently, so they are ingested again under [plan] rather than resumed.
+     */
+    fun superseded(plan: Plan): List<Plan> {
+        return pending().map { it.first }.filter {
+            it.jobId != plan.jobId &&
+                plan.recordTypes.containsAll(it.recordTypes) &&
+                !it.start.isBefore(plan.start) && !it.end.isAfter(plan.end)
+        }
+    }
+
+    /**
+     * Drops the checkpoint of [jobId]; false when there was none
+     */
+    fun discard(jobId: String): Boolean {
+        if (!prefs.contains(jobId)) {
+            return false
+        }
+        prefs.edit().remove(jobId).commit()
+        return true
+    }
+
+    private fun progressOf(
+        plan: Plan,
+        checkpoint: Checkpoint,
+        recordType: String,
+        window: Window,
+        windowsTotal: Int,
+        windowsAtStart: Int,
+        startedAt: Long
+    ): Progress {
+        val windowsDone = checkpoint.windowsDone()
+        val doneThisRun = windowsDone - windowsAtStart
+        val elapsedSeconds = (System.nanoTime() - startedAt) / 1_000_000_000.0
+        val insertedThisRun = checkpoint.inserted - checkpoint.insertedAtStart
+        val recordsPerSecond = if (elapsedSeconds > 0) insertedThisRun / elapsedSeconds else 0.0
+        // Windows vary in size far less than records per window, so the ETA is paced by windows
+        val etaSeconds = if (doneThisRun > 0) (windowsTotal - windowsDone) * elapsedSeconds / doneThisRun else null
+        return Progress(plan.jobId, recordType, window, windowsDone, windowsTotal, checkpoint.inserted, recordsPerSecond, etaSeconds)
+    }
+
+    private fun load(jobId: String): Checkpoint? {
+        val json = prefs.getString(jobId, null) ?: return null
+        return try {
+            Checkpoint.fromJson(JSONObject(json))
+        } catch (e: Exception) {
+            Log.w(TAG, "Dropping unreadable backfill checkpoint $jobId", e)
+            discard(jobId)
+            null
+        }
+    }
+
+    // commit() rather than apply(): the checkpoint has to be on disk before the next window starts
+    private fun save(checkpoint: Checkpoint) {
+        prefs.edit().putString(checkpoint.plan.jobId, checkpoint.toJson().toString()).commit()
+    }
+
+    private class Checkpoint(val plan: Plan, private val done: MutableMap<String, MutableSet<Int>>, var inserted: Int) {
+        val insertedAtStart = inserted
+
+        companion object {
+            fun create(plan: Plan) = Checkpoint(plan, HashMap(), 0)
+
+            fun fromJson(json: JSONObject): Checkpoint {
+                val types = json.getJSONArray("recordTypes")
+                val plan = Plan(
+                    json.getString("jobId"),
+                    (0 until types.length()).map { types.getString(it) },
+                    Instant.ofEpochMilli(json.getLong("start")),
+                    Instant.ofEpochMilli(json.getLong("end")),
+                    json.getInt("windowDays"),
+                    json.optInt("parallelism", DEFAULT_PARALLELISM)
+                )
+                val doneJson = json.getJSONObject("done")
+                val done = HashMap<String, MutableSet<Int>>()
+                for (recordType in doneJson.keys()) {
+                    val indexes = doneJson.getJSONArray(recordType)
+                    done[recordType] = (0 until indexes.length()).mapTo(HashSet()) { indexes.getInt(it) }
+                }
+                return Checkpoint(plan, done, json.optInt("inserted", 0))
+            }
+        }
+
+        fun matches(other: Plan): Boolean {
+            return plan.recordTypes.toSet() == other.recordTypes.toSet() &&
+                plan.start == other.start && plan.end == other.end && plan.windowDays == other.windowDays
+        }
+
+        fun isDone(recordType: String, index: Int): Boolean = synchronized(this) {
+            done[recordType]?.contains(index) == true
+        }
+
+        fun markDone(recordType: String, index: Int, rows: Int) {
+            done.getOrPut(recordType) { HashSet() }.add(index)
+            inserted += rows
+        }
+
+        fun windowsDone(): Int = synchronized(this) { done.values.sumOf { it.size } }
+
+        fun toJson(): JSONObject {
+            val doneJson = JSONObject()
+            for ((recordType, indexes) in done) {
+                doneJson.put(recordType, JSONArray(indexes.sorted()))
+            }
+            return JSONObject().apply {
+                put("jobId", plan.jobId)
+                put("recordTypes", JSONArray(plan.recordTypes))
+                put("start", plan.start.toEpochMilli())
+                put("end", plan.end.toEpochMilli())
+                put("windowDays", plan.windowDays)
+                put("parallelism", plan.parallelism)
+                put("done", doneJson)
+                put("inserted", inserted)
+            }
+        }
+    }
+}
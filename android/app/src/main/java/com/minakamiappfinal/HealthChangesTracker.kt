@@ -0,0 +1,99 @@
+package com.minakamiappfinal
+
+import android.content.Context
+import android.util.Log
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.changes.DeletionChange
+import androidx.health.connect.client.changes.UpsertionChange
+import androidx.health.connect.client.records.Record
+import androidx.health.connect.client.request.ChangesTokenRequest
+import androidx.health.connect.client.time.TimeRangeFilter
+import kotlin.reflect.KClass
+
+/**
+ * Delta sync on top of Health Connect changes tokens.
+ * One token per record type is persisted natively; later syncs only return what changed since then,
+ * with a full re-read of the fallback range when there is no token yet or the token expired.
+ * A token only moves forward for its own consumer, so each consumer keeps its tokens under its own [prefsName].
+ */
+class HealthChangesTracker(
+    context: Context,
+    private val client: HealthConnectClient,
+    private val reader: HealthConnectReader,
+    private val scheduler: HealthReadScheduler = HealthReadScheduler.getInstance(),
+    prefsName: String = PREFS_NAME
+) {
+
+    companion object {
+        const val TAG = "HealthChangesTracker"
+        const val PREFS_NAME = "health_connect_changes_tokens"
+    }
+
+    data class SyncResult(
+        val mode: String,
+        val reason: String?,
+        val upserted: List<Record>,
+        val deletedIds: List<String>
+    )
+
+    private val prefs = context.getSharedPreferences(prefsName, Context.MODE_PRIVATE)
+
+    suspend fun sync(recordType: String, recordClass: KClass<out Record>, fallbackFilter: TimeRangeFilter): SyncResult {
+        val token = prefs.getString(recordType, null)
+            ?: return fullResync(recordType, recordClass, fallbackFilter, "initial")
+
+        val upserted = ArrayList<Record>()
+        val deletedIds = ArrayList<String>()
+        var nextToken: String = token
+
+        try {
+            do {
+                val response = scheduler.run(HealthReadScheduler.Priority.PREFETCH) { client.getChanges(nextToken) }
+                if (response.changesTokenExpired) {
+                    Log.w(TAG, "Changes token for $recordType expired, falling back to full re-read")
+                    return fullResync(recordType, recordClass, fallbackFilter, "expired")
+                }
+
+                for (change in response.changes) {
+                    when (change) {
+                        is UpsertionChange -> upserted.add(change.record)
+                        is DeletionChange -> deletedIds.add(change.recordId)
+                    }
+                }
+                nextToken = response.nextChangesToken
+            } while (response.hasMore)
+        } catch (e: IllegalArgumentException) {
+            // Token no longer accepted by the provider (e.g. after a Health Connect data reset)
+            Log.w(TAG, "Changes token for $recordType rejected, falling back to full re-read", e)
+            return fullResync(recordType, recordClass, fallbackFilter, "invalid")
+        }
+
+        prefs.edit().putString(recordType, nextToken).apply()
+        Log.d(TAG, "Delta sync for $recordType: ${upserted.size} upserted, ${deletedIds.size} deleted")
+        return SyncResult("delta", null, upserted, deletedIds)
+    }
+
+    fun reset(recordType: String? = null) {
+        if (recordType == null) {
+            prefs.edit().clear().apply()
+        } else {
+            prefs.edit().remove(recordType).apply()
+        }
+    }
+
+    private suspend fun fullResync(
+        recordType: String,
+        recordClass: KClass<out Record>,
+        filter: TimeRangeFilter,
+        reason: String
+    ): SyncResult {
+        // Take the token before reading so changes written during the read are picked up next time
+        val token = scheduler.run(HealthReadScheduler.Priority.PREFETCH) {
+            client.getChangesToken(ChangesTokenRequest(recordTypes = setOf(recordClass)))
+        }
+        val records = reader.readAll(recordClass, filter, HealthReadScheduler.Priority.PREFETCH)
+        prefs.edit().putString(recordType, token).apply()
+        Log.d(TAG, "Full re-read for $recordType ($reason): ${records.size} records")
+        return SyncResult("full", reason, records, emptyList())
+    }
+}
@@ -0,0 +1,176 @@
+package com.minakamiappfinal
+
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.aggregate.AggregateMetric
+import androidx.health.connect.client.aggregate.AggregationResult
+import androidx.health.connect.client.records.*
+import androidx.health.connect.client.request.AggregateGroupByDurationRequest
+import androidx.health.connect.client.request.AggregateGroupByPeriodRequest
+import androidx.health.connect.client.time.TimeRangeFilter
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.WritableArray
+import com.facebook.react.bridge.WritableMap
+import java.time.DayOfWeek
+import java.time.Duration
+import java.time.Instant
+import java.time.Period
+import java.time.ZoneId
+import java.time.ZonedDateTime
+import java.time.temporal.ChronoUnit
+
+/**
+ * Bucketed totals straight from Health Connect's grouped aggregate queries.
+ * One provider call returns every bucket, so no raw records cross the bridge.
+ */
+class HealthConnectAggregator(
+    private val client: HealthConnectClient,
+    private val scheduler: HealthReadScheduler = HealthReadScheduler.getInstance()
+) {
+
+    companion object {
+        val SUPPORTED_PERIODS = setOf("hour", "day", "week", "month")
+
+        fun metricsFor(recordType: String): Set<AggregateMetric<*>> {
+            return when (recordType) {
+                "Steps" -> setOf(StepsRecord.COUNT_TOTAL)
+                "HeartRate" -> setOf(
+                    HeartRateRecord.BPM_AVG,
+                    HeartRateRecord.BPM_MIN,
+                    HeartRateRecord.BPM_MAX,
+                    HeartRateRecord.MEASUREMENTS_COUNT
+                )
+                "Distance" -> setOf(DistanceRecord.DISTANCE_TOTAL)
+                "Calories", "ActiveCaloriesBurned" -> setOf(ActiveCaloriesBurnedRecord.ACTIVE_CALORIES_TOTAL)
+                "TotalCaloriesBurned" -> setOf(TotalCaloriesBurnedRecord.ENERGY_TOTAL)
+                "Exercise", "ExerciseSession" -> setOf(ExerciseSessionRecord.EXERCISE_DURATION_TOTAL)
+                "Sleep", "SleepSession" -> setOf(SleepSessionRecord.SLEEP_DURATION_TOTAL)
+                else -> emptySet()
+            }
+        }
+
+        /**
+         * Start of the [period] containing [start] in [zone]: the hour, the day, Monday of the week or the
+         * 1st of the month, the same boundaries the demo module buckets by
+         */
+        fun periodStart(start: Instant, period: String, zone: ZoneId): ZonedDateTime {
+            val time = start.atZone(zone)
+            return when (period) {
+                "hour" -> time.truncatedTo(ChronoUnit.HOURS)
+                "week" -> time.truncatedTo(ChronoUnit.DAYS).with(DayOfWeek.MONDAY)
+                "month" -> time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1)
+                else -> time.truncatedTo(ChronoUnit.DAYS)
+            }
+        }
+
+        private fun periodSlicer(period: String): Period {
+            return when (period) {
+                "week" -> Period.ofWeeks(1)
+                "month" -> Period.ofMonths(1)
+                else -> Period.ofDays(1)
+            }
+        }
+    }
+
+    /**
+     * Returns one map per bucket with the requested record types filled in.
+     * "hour" buckets are sliced by duration, the calendar periods by local date in [zone]; either way the
+     * first bucket starts at the period boundary before [start], not at [start] itself.
+     */
+    suspend fun aggregateByPeriod(
+        recordTypes: List<String>,
+        start: Instant,
+        end: Instant,
+        period: String,
+        zone: ZoneId
+    ): WritableArray {
+        val metrics = recordTypes.flatMap { metricsFor(it) }.toSet()
+        val buckets = Arguments.createArray()
+        if (metrics.isEmpty()) {
+            return buckets
+        }
+
+        val bucketStart = periodStart(start, period, zone)
+        if (period == "hour") {
+            val groups = scheduler.run(HealthReadScheduler.Priority.INTERACTIVE) {
+                client.aggregateGroupByDuration(
+                    AggregateGroupByDurationRequest(
+                        metrics = metrics,
+                        timeRangeFilter = TimeRangeFilter.between(bucketStart.toInstant(), end),
+                        timeRangeSlicer = Duration.ofHours(1)
+                    )
+                )
+            }
+            for (group in groups) {
+                buckets.pushMap(bucketToMap(recordTypes, group.result, group.startTime, group.endTime, zone))
+            }
+        } else {
+            val localStart = bucketStart.toLocalDateTime()
+            val localEnd = end.atZone(zone).toLocalDateTime()
+            val groups = scheduler.run(HealthReadScheduler.Priority.INTERACTIVE) {
+                client.aggregateGroupByPeriod(
+                    AggregateGroupByPeriodRequest(
+                        metrics = metrics,
+                        timeRangeFilter = TimeRangeFilter.between(localStart, localEnd),
+                        timeRangeSlicer = periodSlicer(period)
+                    )
+                )
+            }
+            for (group in groups) {
+                buckets.pushMap(
+                    bucketToMap(
+                        recordTypes,
+                        group.result,
+                        group.startTime.atZone(zone).toInstant(),
+                        group.endTime.atZone(zone).toInstant(),
+                        zone
+                    )
+                )
+            }
+        }
+
+        return buckets
+    }
+
+    private fun bucketToMap(
+        recordTypes: List<String>,
+        result: AggregationResult,
+        bucketStart: Instant,
+        bucketEnd: Instant,
+        zone: ZoneId
+    ): WritableMap {
+        return Arguments.createMap().apply {
+            putString("startTime", bucketStart.toString())
+            putString("endTime", bucketEnd.toString())
+            putString("date", bucketStart.atZone(zone).toLocalDate().toString())
+
+            for (recordType in recordTypes) {
+                when (recordType) {
+                    "Steps" -> putDouble("steps", (result[StepsRecord.COUNT_TOTAL] ?: 0L).toDouble())
+                    "HeartRate" -> putMap("heartRate", Arguments.createMap().apply {
+                        putDouble("average", (result[HeartRateRecord.BPM_AVG] ?: 0L).toDouble())
+                        putDouble("min", (result[HeartRateRecord.BPM_MIN] ?: 0L).toDouble())
+                        putDouble("max", (result[HeartRateRecord.BPM_MAX] ?: 0L).toDouble())
+                        putDouble("count", (result[HeartRateRecord.MEASUREMENTS_COUNT] ?: 0L).toDouble())
+                    })
+                    "Distance" -> putDouble("distanceMeters", result[DistanceRecord.DISTANCE_TOTAL]?.inMeters ?: 0.0)
+                    "Calories", "ActiveCaloriesBurned" -> putDouble(
+                        "activeCalories",
+                        result[ActiveCaloriesBurnedRecord.ACTIVE_CALORIES_TOTAL]?.inKilocalories ?: 0.0
+                    )
+                    "TotalCaloriesBurned" -> putDouble(
+                        "totalCalories",
+                        result[TotalCaloriesBurnedRecord.ENERGY_TOTAL]?.inKilocalories ?: 0.0
+                    )
+                    "Exercise", "ExerciseSession" -> putDouble(
+                        "exerciseMinutes",
+                        (result[ExerciseSessionRecord.EXERCISE_DURATION_TOTAL]?.toMinutes() ?: 0L).toDouble()
+                    )
+                    "Sleep", "SleepSession" -> putDouble(
+                        "sleepMinutes",
+                        (result[SleepSessionRecord.SLEEP_DURATION_TOTAL]?.toMinutes() ?: 0L).toDouble()
+                    )
+                }
+            }
+        }
+    }
+}
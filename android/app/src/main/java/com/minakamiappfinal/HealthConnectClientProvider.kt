@@ -0,0 +1,119 @@
+package com.minakamiappfinal
+
+import android.content.Context
+import android.util.Log
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.permission.HealthPermission
+import androidx.health.connect.client.records.*
+import kotlinx.coroutines.runBlocking
+
+/**
+ * Process-wide Health Connect client. The startup orchestrator creates it (and refreshes the
+ * availability and permission snapshot) off the main thread, so the module's first bridge call
+ * finds it ready instead of paying for the SDK status check and client creation itself.
+ * An unavailable SDK isn't cached: the next call checks again, e.g. after the provider is installed.
+ */
+object HealthConnectClientProvider {
+    private const val TAG = "HealthConnectClientProvider"
+
+    @Volatile
+    private var client: HealthConnectClient? = null
+
+    @JvmStatic
+    fun get(context: Context): HealthConnectClient? {
+        client?.let { return it }
+        synchronized(this) {
+            client?.let { return it }
+            val appContext = context.applicationContext
+            client = create(appContext)
+            return client
+        }
+    }
+
+    /**
+     * Startup task: resolves the client and replaces the granted record types in the snapshot
+     * with what Health Connect currently reports. A failed check leaves the snapshot as it was.
+     */
+    @JvmStatic
+    fun warmUp(context: Context) {
+        val trace = StartupTrace.getInstance()
+        trace.begin("healthConnect.client")
+        val healthClient = try {
+            get(context)
+        } finally {
+            trace.end("healthConnect.client")
+        }
+        if (healthClient == null) {
+            return
+        }
+
+        trace.begin("healthConnect.permissions")
+        try {
+            val granted = runBlocking { healthClient.permissionController.getGrantedPermissions() }
+            val recordTypes = granted.mapNotNull { recordTypeForPermission(it) }.toSet()
+            val snapshot = HealthStateSnapshot.getInstance(context)
+            if (recordTypes.isEmpty() && granted.isNotEmpty() && snapshot.getGrantedRecordTypes().isNotEmpty()) {
+                // Permissions are granted but none maps to a record type; keep the last good snapshot
+                Log.w(TAG, "No record type among ${granted.size} granted permissions, keeping snapshot")
+            } else {
+                snapshot.replaceGrantedRecordTypes(recordTypes)
+            }
+        } catch (e: Exception) {
+            Log.w(TAG, "Permission snapshot refresh failed", e)
+        } finally {
+            trace.end("healthConnect.permissions")
+        }
+    }
+
+    // Read permission strings ("android.permission.health.READ_STEPS") to the record type names used over the bridge
+    private val recordTypesByPermission: Map<String, String> by lazy {
+        mapOf(
+            HealthPermission.getReadPermission(StepsRecord::class) to "Steps",
+            HealthPermission.getReadPermission(HeartRateRecord::class) to "HeartRate",
+            HealthPermission.getReadPermission(ExerciseSessionRecord::class) to "Exercise",
+            HealthPermission.getReadPermission(DistanceRecord::class) to "Distance",
+            HealthPermission.getReadPermission(ActiveCaloriesBurnedRecord::class) to "ActiveCaloriesBurned",
+            HealthPermission.getReadPermission(TotalCaloriesBurnedRecord::class) to "TotalCaloriesBurned",
+            HealthPermission.getReadPermission(SleepSessionRecord::class) to "Sleep",
+            HealthPermission.getReadPermission(WeightRecord::class) to "Weight",
+            HealthPermission.getReadPermission(HeightRecord::class) to "Height",
+            HealthPermission.getReadPermission(BloodPressureRecord::class) to "BloodPressure",
+            HealthPermission.getReadPermission(OxygenSaturationRecord::class) to "OxygenSaturation"
+        )
+    }
+
+    /**
+     * Record type for a read permission, or null for write permissions and the ones not tied to a
+     * record type (background and history reads)
+     */
+    @JvmStatic
+    fun recordTypeForPermission(permission: String): String? {
+        return recordTypesByPermission[permission]
+    }
+
+    private fun create(context: Context): HealthConnectClient? {
+        return try {
+            val status = HealthConnectClient.getSdkStatus(context, RealHealthConnectModule.HEALTH_CONNECT_PACKAGE)
+            HealthStateSnapshot.getInstance(context)
+                .setAvailability(status, status == HealthConnectClient.SDK_AVAILABLE)
+            when (status) {
+                HealthConnectClient.SDK_AVAILABLE -> {
+                    HealthConnectClient.getOrCreate(context).also {
+                        Log.d(TAG, "Health Connect client initialized successfully")
+                    }
+                }
+                HealthConnectClient.SDK_UNAVAILABLE_PROVIDER_UPDATE_REQUIRED -> {
+                    Log.w(TAG, "Health Connect provider update required")
+                    null
+                }
+                else -> {
+                    Log.w(TAG, "Health Connect SDK unavailable")
+                    null
+                }
+            }
+        } catch (e: Exception) {
+            Log.e(TAG, "Failed to initialize Health Connect client", e)
+            null
+        }
+    }
+}
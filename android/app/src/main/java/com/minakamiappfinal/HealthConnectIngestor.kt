@@ -0,0 +1,83 @@
+package com.minakamiappfinal
+
+import android.util.Log
+import androidx.health.connect.client.records.Record
+import androidx.health.connect.client.records.StepsRecord
+import androidx.health.connect.client.time.TimeRangeFilter
+import java.time.ZoneId
+
+/**
+ * Reads Health Connect pages and writes them straight into the app database.
+ * Records never become bridge maps, so a large backfill stays off the JS heap.
+ * Reads run at backfill priority, so an import yields to UI reads and keeps clear of the read quota.
+ * With a [store], the individual samples of dense types (heart rate, steps) also go to the time-series
+ * store, since the activities rows only keep a per-record summary. Samples are kept per data origin,
+ * so overlapping sources (a watch and the phone both counting steps) are never summed.
+ */
+class HealthConnectIngestor(
+    private val reader: HealthConnectReader,
+    private val writer: HealthDatabaseWriter,
+    private val store: TimeSeriesStore? = null,
+    private val zone: ZoneId = ZoneId.systemDefault()
+) {
+
+    companion object {
+        const val TAG = "HealthConnectIngestor"
+    }
+
+    suspend fun ingest(recordType: String, filter: TimeRangeFilter): HealthDatabaseWriter.IngestResult {
+        val recordClass = HealthConnectReader.recordClassFor(recordType)
+            ?: throw IllegalArgumentException("Unsupported record type: $recordType")
+
+        val pages = PageWriter(recordType)
+        reader.readPages(recordClass, filter, priority = HealthReadScheduler.Priority.BACKFILL) { page, _ ->
+            pages.write(page)
+        }
+        return pages.finish(recordClass == StepsRecord::class)
+    }
+
+    /**
+     * Applies one delta of Health Connect changes: [upserted] records replace their rows, rows of
+     * [deletedIds] are removed. Samples already in the time-series store stay, since it has no deletes.
+     */
+    fun ingestChanges(recordType: String, upserted: List<Record>, deletedIds: List<String>): HealthDatabaseWriter.IngestResult {
+        val pages = PageWriter(recordType)
+        upserted.chunked(HealthConnectReader.DEFAULT_PAGE_SIZE).forEach { pages.write(it) }
+        pages.result.add(writer.deleteActivities(deletedIds, zone))
+        return pages.finish(HealthConnectReader.recordClassFor(recordType) == StepsRecord::class)
+    }
+
+    /**
+     * Writes pages of one record type to the database and, for dense types, to the time-series store
+     */
+    private inner class PageWriter(private val recordType: String) {
+        val result = HealthDatabaseWriter.IngestResult()
+        private val series = TimeSeriesStore.seriesFor(recordType)
+        private val samplesByOrigin = HashMap<String, TimeSeriesStore.Samples>()
+        private var stored = 0
+
+        fun write(page: List<Record>) {
+            val rows = page.mapNotNull { HealthRecordConverter.toActivityRow(it) }
+            result.add(writer.insertActivities(rows, HealthDatabaseWriter.SOURCE_HEALTH_CONNECT, zone))
+
+            if (store != null && series != null) {
+                samplesByOrigin.values.forEach { it.clear() }
+                page.forEach {
+                    val origin = it.metadata.dataOrigin.packageName
+                    HealthRecordConverter.addPoints(it, samplesByOrigin.getOrPut(origin) { TimeSeriesStore.Samples() })
+                }
+                for ((origin, samples) in samplesByOrigin) {
+                    stored += store.append(TimeSeriesStore.originSeries(series, origin), samples)
+                }
+            }
+        }
+
+        fun finish(steps: Boolean): HealthDatabaseWriter.IngestResult {
+            if (steps) {
+                writer.refreshDailyStepTotals(result.dateKeys, HealthDatabaseWriter.SOURCE_HEALTH_CONNECT, zone)
+            }
+            Log.d(TAG, "Ingested ${result.inserted} $recordType records (${result.deleted} deleted), $stored new samples stored")
+            return result
+        }
+    }
+}
@@ -18,21 +18,38 @@ import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import java.time.DayOfWeek;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.UUID;
 
 public class HealthConnectModule extends ReactContextBaseJavaModule {
     private static final String TAG = "HealthConnectModule";
     private static final String HEALTH_CONNECT_PACKAGE = "com.google.android.apps.healthdata";
+    private static final String EVENT_RECORDS_CHUNK = "HealthConnectRecordsChunk";
+    private static final String EVENT_RECORDS_COMPLETE = "HealthConnectRecordsComplete";
+    private static final String DEMO_DEVICE = "demo_device";
+    private static final Set<String> AGGREGATE_PERIODS = new HashSet<>(Arrays.asList("hour", "day", "week", "month"));
+    private static final String[] MOCK_RECORD_TYPES = {
+            "Steps", "HeartRate", "Distance", "ActiveCaloriesBurned", "TotalCaloriesBurned", "ExerciseSession", "SleepSession"
+    };
     
     // HealthConnectClient healthConnectClient; // Will be added in real implementation
     private ReactApplicationContext reactContext;
+    private final NativeMetrics metrics = NativeMetrics.getInstance();
+    private volatile SyntheticHealthDataGenerator generator = new SyntheticHealthDataGenerator(new SyntheticHealthDataGenerator.Config());
 
     public HealthConnectModule(ReactApplicationContext reactContext) {
         super(reactContext);
@@ -57,6 +74,7 @@ public class HealthConnectModule extends ReactContextBaseJavaModule {
 
     @ReactMethod
     public void isHealthConnectAvailable(Promise promise) {
+        MeasuredPromise call = metrics.track("isHealthConnectAvailable", promise);
         try {
             // Check if Health Connect app is installed
             PackageManager pm = reactContext.getPackageManager();
@@ -75,15 +93,91 @@ public class HealthConnectModule extends ReactContextBaseJavaModule {
             boolean available = isInstalled && sdkAvailable;
             Log.d(TAG, "Health Connect availability: " + available + " (installed: " + isInstalled + ", sdk: " + sdkAvailable + ")");
             
-            promise.resolve(available);
+            call.resolve(available);
         } catch (Exception e) {
             Log.e(TAG, "Error checking Health Connect availability", e);
-            promise.resolve(false);
+            call.resolve(false);
         }
     }
 
+    // Mirrors the synchronous getters of RealHealthConnectModule; the mock has no persisted state,
+    // so everything is derived from the package check and the synthetic generator
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public boolean isHealthConnectAvailableSync() {
+        long start = System.nanoTime();
+        try {
+            return isHealthConnectInstalled();
+        } finally {
+            metrics.recordCall("isHealthConnectAvailableSync", start);
+        }
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableArray getGrantedRecordTypesSync() {
+        long start = System.nanoTime();
+        try {
+            return mockRecordTypes();
+        } finally {
+            metrics.recordCall("getGrantedRecordTypesSync", start);
+        }
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getStateSnapshotSync() {
+        long start = System.nanoTime();
+        try {
+            return stateSnapshot();
+        } finally {
+            metrics.recordCall("getStateSnapshotSync", start);
+        }
+    }
+
+    private boolean isHealthConnectInstalled() {
+        try {
+            reactContext.getPackageManager().getPackageInfo(HEALTH_CONNECT_PACKAGE, PackageManager.GET_ACTIVITIES);
+            return true;
+        } catch (PackageManager.NameNotFoundException e) {
+            return false;
+        }
+    }
+
+    private WritableArray mockRecordTypes() {
+        WritableArray types = Arguments.createArray();
+        for (String type : MOCK_RECORD_TYPES) {
+            types.pushString(type);
+        }
+        return types;
+    }
+
+    private WritableMap stateSnapshot() {
+        boolean available = isHealthConnectInstalled();
+        WritableMap availability = Arguments.createMap();
+        availability.putBoolean("available", available);
+        availability.putInt("sdkStatus", available ? 3 : 1);
+        availability.putDouble("checkedAt", System.currentTimeMillis());
+
+        long now = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        long steps = generator.totalSteps(today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli(), now);
+        WritableMap todayMap = Arguments.createMap();
+        todayMap.putString("date", today.toString());
+        todayMap.putDouble("updatedAt", now);
+        todayMap.putDouble("steps", steps);
+        todayMap.putDouble("distanceMeters", steps * 0.75);
+        todayMap.putDouble("activeCalories", steps * 0.045);
+
+        WritableMap snapshot = Arguments.createMap();
+        snapshot.putMap("availability", availability);
+        snapshot.putArray("grantedRecordTypes", mockRecordTypes());
+        snapshot.putMap("sync", Arguments.createMap());
+        snapshot.putMap("today", todayMap);
+        return snapshot;
+    }
+
     @ReactMethod
     public void requestPermissions(ReadableArray permissionRequests, Promise promise) {
+        MeasuredPromise call = metrics.track("requestPermissions", promise);
         try {
             Log.d(TAG, "Mock permissions request for demo mode");
             
@@ -107,259 +201,641 @@ public class HealthConnectModule extends ReactContextBaseJavaModule {
             result.putArray("denied", denied);
             
             Log.d(TAG, "Mock permissions granted: " + permissionRequests.size() + " permissions");
-            promise.resolve(result);
+            call.resolve(result);
             
         } catch (Exception e) {
             Log.e(TAG, "Error requesting permissions", e);
-            promise.reject("PERMISSION_ERROR", e.getMessage());
+            call.reject("PERMISSION_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readStepsRecords(ReadableMap timeRangeFilter, Promise promise) {
+        MeasuredPromise call = metrics.track("readStepsRecords", promise);
         try {
             Log.d(TAG, "Reading steps records (demo mode)");
 
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
             // Parse time for demo data generation
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
             // For demo purposes, generate mock data
             // In real implementation, this would query Health Connect
-            WritableArray records = Arguments.createArray();
-            
-            // Generate demo steps data
-            long currentTime = startTime;
-            long oneDay = 24 * 60 * 60 * 1000;
-            
-            while (currentTime < endTime) {
-                WritableMap record = Arguments.createMap();
-                record.putString("recordId", "steps_" + currentTime);
-                record.putString("startTime", Instant.ofEpochMilli(currentTime).toString());
-                record.putString("endTime", Instant.ofEpochMilli(currentTime + oneDay).toString());
-                record.putInt("count", 8000 + (int)(Math.random() * 4000));
-                record.putString("device", "demo_device");
-                
-                records.pushMap(record);
-                currentTime += oneDay;
-            }
-            
-            Log.d(TAG, "Generated " + records.size() + " steps records");
-            promise.resolve(records);
-            
+            call.resolve(generatePayload("Steps", timeRangeFilter, startTime, endTime, call));
+
         } catch (Exception e) {
             Log.e(TAG, "Error reading steps records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            call.reject("READ_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readHeartRateRecords(ReadableMap timeRangeFilter, Promise promise) {
+        MeasuredPromise call = metrics.track("readHeartRateRecords", promise);
         try {
             Log.d(TAG, "Reading heart rate records (demo mode)");
 
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
-            // Generate demo heart rate data
-            WritableArray records = Arguments.createArray();
-            
-            // Generate some sample heart rate readings
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            long interval = 3600000; // 1 hour intervals
-            
-            for (long time = startTime; time < endTime; time += interval) {
-                WritableMap record = Arguments.createMap();
-                record.putString("recordId", "hr_" + time);
-                record.putString("time", Instant.ofEpochMilli(time).toString());
-                record.putInt("beatsPerMinute", 60 + (int)(Math.random() * 40));
-                record.putString("device", "demo_device");
-                
-                records.pushMap(record);
-            }
-            
-            Log.d(TAG, "Generated " + records.size() + " heart rate records");
-            promise.resolve(records);
-            
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            call.resolve(generatePayload("HeartRate", timeRangeFilter, startTime, endTime, call));
+
         } catch (Exception e) {
             Log.e(TAG, "Error reading heart rate records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            call.reject("READ_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Every heart rate sample in the range as packed time/BPM arrays, or reduced to
+     * fixed buckets when options.bucketSeconds is set. See HeartRateSeries for the shapes.
+     */
+    @ReactMethod
+    public void readHeartRateSamples(ReadableMap timeRangeFilter, ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("readHeartRateSamples", promise);
+        try {
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            HeartRateSeries series = new HeartRateSeries();
+            generator.forEachHeartRate(startTime, endTime, series::add);
+            Log.d(TAG, "Generated " + series.size() + " heart rate samples");
+            call.addRecords(series.size());
+            call.mark(NativeMetrics.PHASE_PROVIDER);
+
+            int bucketSeconds = options != null && options.hasKey("bucketSeconds") ? options.getInt("bucketSeconds") : 0;
+            call.resolve(bucketSeconds > 0
+                ? series.toBucketPayload(startTime, bucketSeconds * 1000L)
+                : series.toSamplesPayload());
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading heart rate samples", e);
+            call.reject("READ_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readExerciseRecords(ReadableMap timeRangeFilter, Promise promise) {
+        MeasuredPromise call = metrics.track("readExerciseRecords", promise);
         try {
             Log.d(TAG, "Reading exercise records (demo mode)");
 
-            // Generate demo exercise data
-            WritableArray records = Arguments.createArray();
-            
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            long oneDay = 24 * 60 * 60 * 1000;
-            
-            String[] exerciseTypes = {"RUNNING", "WALKING", "CYCLING", "SWIMMING", "YOGA", "STRENGTH_TRAINING"};
-            
-            for (long time = startTime; time < endTime; time += oneDay) {
-                // 30% chance of workout per day
-                if (Math.random() < 0.3) {
-                    WritableMap record = Arguments.createMap();
-                    record.putString("recordId", "exercise_" + time);
-                    
-                    long workoutStart = time + (long)(Math.random() * 16 * 3600000); // Random time during day
-                    int duration = 30 + (int)(Math.random() * 60); // 30-90 minutes
-                    long workoutEnd = workoutStart + (duration * 60000);
-                    
-                    record.putString("startTime", Instant.ofEpochMilli(workoutStart).toString());
-                    record.putString("endTime", Instant.ofEpochMilli(workoutEnd).toString());
-                    record.putString("exerciseType", exerciseTypes[(int)(Math.random() * exerciseTypes.length)]);
-                    record.putString("title", "Demo Workout");
-                    record.putInt("totalActiveCalories", duration * 8);
-                    record.putDouble("totalDistance", duration * 0.2);
-                    
-                    records.pushMap(record);
-                }
-            }
-            
-            Log.d(TAG, "Generated " + records.size() + " exercise records");
-            promise.resolve(records);
-            
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            call.resolve(generatePayload("Exercise", timeRangeFilter, startTime, endTime, call));
+
         } catch (Exception e) {
             Log.e(TAG, "Error reading exercise records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            call.reject("READ_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readSleepRecords(ReadableMap timeRangeFilter, Promise promise) {
+        MeasuredPromise call = metrics.track("readSleepRecords", promise);
         try {
             Log.d(TAG, "Reading sleep records (demo mode)");
 
-            // Generate demo sleep data
-            WritableArray records = Arguments.createArray();
-            
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            long oneDay = 24 * 60 * 60 * 1000;
-            
-            for (long time = startTime; time < endTime; time += oneDay) {
-                WritableMap record = Arguments.createMap();
-                record.putString("recordId", "sleep_" + time);
-                
-                // Sleep from 11 PM to 7 AM (with some variation)
-                long sleepStart = time + (23 * 3600000) + (long)(Math.random() * 3600000); // 11 PM ± 1 hour
-                int sleepDuration = 420 + (int)(Math.random() * 120); // 7-9 hours
-                long sleepEnd = sleepStart + (sleepDuration * 60000);
-                
-                record.putString("startTime", Instant.ofEpochMilli(sleepStart).toString());
-                record.putString("endTime", Instant.ofEpochMilli(sleepEnd).toString());
-                record.putString("notes", "Demo sleep session");
-                
-                records.pushMap(record);
-            }
-            
-            Log.d(TAG, "Generated " + records.size() + " sleep records");
-            promise.resolve(records);
-            
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            call.resolve(generatePayload("Sleep", timeRangeFilter, startTime, endTime, call));
+
         } catch (Exception e) {
             Log.e(TAG, "Error reading sleep records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            call.reject("READ_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readDistanceRecords(ReadableMap timeRangeFilter, Promise promise) {
+        MeasuredPromise call = metrics.track("readDistanceRecords", promise);
         try {
             Log.d(TAG, "Reading distance records (demo mode)");
 
-            // Generate demo distance data
-            WritableArray records = Arguments.createArray();
-            
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            long oneDay = 24 * 60 * 60 * 1000;
-            
-            for (long time = startTime; time < endTime; time += oneDay) {
-                WritableMap record = Arguments.createMap();
-                record.putString("recordId", "distance_" + time);
-                record.putString("startTime", Instant.ofEpochMilli(time).toString());
-                record.putString("endTime", Instant.ofEpochMilli(time + oneDay).toString());
-                record.putDouble("distance", 5000 + (Math.random() * 5000)); // 5-10 km in meters
-                record.putString("device", "demo_device");
-                
-                records.pushMap(record);
-            }
-            
-            Log.d(TAG, "Generated " + records.size() + " distance records");
-            promise.resolve(records);
-            
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            call.resolve(generatePayload("Distance", timeRangeFilter, startTime, endTime, call));
+
         } catch (Exception e) {
             Log.e(TAG, "Error reading distance records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            call.reject("READ_ERROR", e.getMessage());
         }
     }
 
     @ReactMethod
     public void readActiveCaloriesRecords(ReadableMap timeRangeFilter, Promise promise) {
-        readCaloriesRecords(timeRangeFilter, promise, "active");
+        MeasuredPromise call = metrics.track("readActiveCaloriesRecords", promise);
+        readCaloriesRecords(timeRangeFilter, call, "active");
     }
 
     @ReactMethod
     public void readTotalCaloriesRecords(ReadableMap timeRangeFilter, Promise promise) {
-        readCaloriesRecords(timeRangeFilter, promise, "total");
+        MeasuredPromise call = metrics.track("readTotalCaloriesRecords", promise);
+        readCaloriesRecords(timeRangeFilter, call, "total");
     }
 
-    private void readCaloriesRecords(ReadableMap timeRangeFilter, Promise promise, String type) {
+    private void readCaloriesRecords(ReadableMap timeRangeFilter, MeasuredPromise call, String type) {
         try {
             Log.d(TAG, "Reading " + type + " calories records (demo mode)");
 
-            // Generate demo calories data
-            WritableArray records = Arguments.createArray();
-            
-            String startTimeStr = timeRangeFilter.getString("startTime");
-            String endTimeStr = timeRangeFilter.getString("endTime");
-            
-            long startTime = Instant.parse(startTimeStr).toEpochMilli();
-            long endTime = Instant.parse(endTimeStr).toEpochMilli();
-            long oneDay = 24 * 60 * 60 * 1000;
-            
-            for (long time = startTime; time < endTime; time += oneDay) {
-                WritableMap record = Arguments.createMap();
-                record.putString("recordId", type + "_calories_" + time);
-                record.putString("startTime", Instant.ofEpochMilli(time).toString());
-                record.putString("endTime", Instant.ofEpochMilli(time + oneDay).toString());
-                
-                if ("active".equals(type)) {
-                    record.putInt("energy", 300 + (int)(Math.random() * 500)); // 300-800 active calories
-                } else {
-                    record.putInt("energy", 1800 + (int)(Math.random() * 600)); // 1800-2400 total calories
+            long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+            String recordType = "active".equals(type) ? "ActiveCaloriesBurned" : "TotalCaloriesBurned";
+            call.resolve(generatePayload(recordType, timeRangeFilter, startTime, endTime, call));
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading " + type + " calories records", e);
+            call.reject("READ_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads several record types in one bridge call and returns them keyed by type.
+     * A failing type is reported under "errors" without failing the others.
+     */
+    @ReactMethod
+    public void readRecordsBatch(ReadableArray types, ReadableMap timeRange, Promise promise) {
+        MeasuredPromise call = metrics.track("readRecordsBatch", promise);
+        try {
+            Log.d(TAG, "Reading " + types.size() + " record types in one batch (demo mode)");
+
+            long startTime = Instant.parse(timeRange.getString("startTime")).toEpochMilli();
+            long endTime = Instant.parse(timeRange.getString("endTime")).toEpochMilli();
+
+            WritableMap results = Arguments.createMap();
+            WritableMap errors = Arguments.createMap();
+
+            for (int i = 0; i < types.size(); i++) {
+                String recordType = types.getString(i);
+                try {
+                    Object records = generatePayload(recordType, timeRange, startTime, endTime, call);
+                    if (records == null) {
+                        errors.putString(recordType, "Unsupported record type: " + recordType);
+                    } else if (records instanceof WritableMap) {
+                        results.putMap(recordType, (WritableMap) records);
+                    } else {
+                        results.putArray(recordType, (WritableArray) records);
+                    }
+                } catch (Exception e) {
+                    Log.e(TAG, "Error reading " + recordType + " in batch", e);
+                    errors.putString(recordType, e.getMessage());
                 }
-                
-                record.putString("device", "demo_device");
-                
-                records.pushMap(record);
             }
-            
-            Log.d(TAG, "Generated " + records.size() + " " + type + " calories records");
-            promise.resolve(records);
-            
+
+            WritableMap result = Arguments.createMap();
+            result.putMap("results", results);
+            result.putMap("errors", errors);
+            call.resolve(result);
+
         } catch (Exception e) {
-            Log.e(TAG, "Error reading " + type + " calories records", e);
-            promise.reject("READ_ERROR", e.getMessage());
+            Log.e(TAG, "Error reading record batch", e);
+            call.reject("READ_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Switches the demo data generator. Every option is optional:
+     * seed, density ("demo" | "high"), stepBucketSeconds, heartRateMinIntervalSeconds,
+     * heartRateMaxIntervalSeconds, sleepStages, exerciseProbability, zoneId.
+     * Resolves with the effective configuration.
+     */
+    @ReactMethod
+    public void configureSyntheticData(ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("configureSyntheticData", promise);
+        try {
+            long seed = options.hasKey("seed") ? (long) options.getDouble("seed") : generator.getConfig().seed;
+            SyntheticHealthDataGenerator.Config config = options.hasKey("density") && "high".equals(options.getString("density"))
+                ? SyntheticHealthDataGenerator.Config.highDensity(seed)
+                : new SyntheticHealthDataGenerator.Config();
+            config.seed = seed;
+
+            if (options.hasKey("stepBucketSeconds")) {
+                config.stepBucketSeconds = options.getInt("stepBucketSeconds");
+            }
+            if (options.hasKey("heartRateMinIntervalSeconds")) {
+                config.heartRateMinIntervalSeconds = options.getInt("heartRateMinIntervalSeconds");
+            }
+            if (options.hasKey("heartRateMaxIntervalSeconds")) {
+                config.heartRateMaxIntervalSeconds = options.getInt("heartRateMaxIntervalSeconds");
+            }
+            if (options.hasKey("sleepStages")) {
+                config.sleepStages = options.getBoolean("sleepStages");
+            }
+            if (options.hasKey("exerciseProbability")) {
+                config.exerciseProbability = options.getDouble("exerciseProbability");
+            }
+            if (options.hasKey("zoneId")) {
+                config.zone = ZoneId.of(options.getString("zoneId"));
+            }
+
+            generator = new SyntheticHealthDataGenerator(config);
+            Log.d(TAG, "Synthetic data configured (seed " + config.seed + ", steps every " + config.stepBucketSeconds + "s)");
+
+            WritableMap result = Arguments.createMap();
+            result.putDouble("seed", config.seed);
+            result.putInt("stepBucketSeconds", config.stepBucketSeconds);
+            result.putInt("heartRateMinIntervalSeconds", config.heartRateMinIntervalSeconds);
+            result.putInt("heartRateMaxIntervalSeconds", config.heartRateMaxIntervalSeconds);
+            result.putBoolean("sleepStages", config.sleepStages);
+            result.putDouble("exerciseProbability", config.exerciseProbability);
+            result.putString("zoneId", config.zone.getId());
+            call.resolve(result);
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error configuring synthetic data", e);
+            call.reject("CONFIG_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Streams generated records in pages through HealthConnectRecordsChunk events, mirroring
+     * RealHealthConnectModule.readRecordsStream. Records are generated lazily page by page,
+     * so a year of high-density data never sits in memory at once.
+     */
+    @ReactMethod
+    public void readRecordsStream(String recordType, ReadableMap timeRangeFilter, ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("readRecordsStream", promise);
+        new Thread(() -> {
+            long startedAt = System.currentTimeMillis();
+            String streamId = options != null && options.hasKey("streamId") ? options.getString("streamId") : UUID.randomUUID().toString();
+            int pageSize = options != null && options.hasKey("pageSize") ? options.getInt("pageSize") : 1000;
+
+            try {
+                long startTime = Instant.parse(timeRangeFilter.getString("startTime")).toEpochMilli();
+                long endTime = Instant.parse(timeRangeFilter.getString("endTime")).toEpochMilli();
+
+                PageEmitter pages = new PageEmitter(streamId, recordType, Math.max(1, pageSize));
+                MapRecordWriter writer = new MapRecordWriter(pages);
+                if (!generateRecords(recordType, startTime, endTime, writer)) {
+                    call.reject("INVALID_RECORD_TYPE", "Unsupported record type: " + recordType);
+                    return;
+                }
+                pages.flush();
+                call.addRecords(pages.total);
+                call.addPayloadBytes(writer.estimatedBytes());
+                call.mark(NativeMetrics.PHASE_PROVIDER);
+
+                WritableMap completion = streamCompletion(streamId, recordType, pages.total, pages.pageIndex, System.currentTimeMillis() - startedAt);
+                sendEvent(EVENT_RECORDS_COMPLETE, completion);
+                call.resolve(streamCompletion(streamId, recordType, pages.total, pages.pageIndex, System.currentTimeMillis() - startedAt));
+
+            } catch (Exception e) {
+                Log.e(TAG, "Error streaming " + recordType + " records", e);
+                call.reject("READ_ERROR", e.getMessage());
+            }
+        }, "HealthConnectMockStream").start();
+    }
+
+    // Required by NativeEventEmitter on the JS side
+    @ReactMethod
+    public void addListener(String eventName) {
+    }
+
+    @ReactMethod
+    public void removeListeners(Integer count) {
+    }
+
+    private class PageEmitter implements MapRecordWriter.Sink {
+        private final String streamId;
+        private final String recordType;
+        private final int pageSize;
+        private WritableArray page = Arguments.createArray();
+        private int pageCount = 0;
+        int pageIndex = 0;
+        int total = 0;
+
+        PageEmitter(String streamId, String recordType, int pageSize) {
+            this.streamId = streamId;
+            this.recordType = recordType;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public void add(WritableMap record) {
+            page.pushMap(record);
+            pageCount++;
+            total++;
+            if (pageCount >= pageSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pageCount == 0 && pageIndex > 0) {
+                return;
+            }
+            WritableMap chunk = Arguments.createMap();
+            chunk.putString("streamId", streamId);
+            chunk.putString("recordType", recordType);
+            chunk.putInt("page", pageIndex);
+            chunk.putArray("records", page);
+            sendEvent(EVENT_RECORDS_CHUNK, chunk);
+
+            page = Arguments.createArray();
+            pageCount = 0;
+            pageIndex++;
+        }
+    }
+
+    private WritableMap streamCompletion(String streamId, String recordType, int total, int pages, long durationMs) {
+        WritableMap completion = Arguments.createMap();
+        completion.putString("streamId", streamId);
+        completion.putString("recordType", recordType);
+        completion.putBoolean("success", true);
+        completion.putInt("totalRecords", total);
+        completion.putInt("pages", pages);
+        completion.putDouble("durationMs", durationMs);
+        return completion;
+    }
+
+    private void sendEvent(String eventName, WritableMap params) {
+        reactContext
+            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+            .emit(eventName, params);
+    }
+
+    /**
+     * Generated records as a plain array, or as a columnar payload when the time range asks for
+     * format: 'columnar'. Null for unsupported types. Generation writes straight into the payload,
+     * so the mock reports it all as the "provider" phase, with the columnar build() as "convert".
+     */
+    private Object generatePayload(String recordType, ReadableMap timeRangeFilter, long startTime, long endTime, MeasuredPromise call) {
+        if (ColumnarPayloadBuilder.isRequested(timeRangeFilter)) {
+            ColumnarPayloadBuilder columns = new ColumnarPayloadBuilder();
+            if (!generateRecords(recordType, startTime, endTime, columns)) {
+                return null;
+            }
+            Log.d(TAG, "Generated " + columns.size() + " " + recordType + " records (columnar)");
+            call.addRecords(columns.size());
+            call.addPayloadBytes(columns.estimatedBytes());
+            call.mark(NativeMetrics.PHASE_PROVIDER);
+            WritableMap payload = columns.build();
+            call.mark(NativeMetrics.PHASE_CONVERT);
+            return payload;
+        }
+
+        WritableArray records = Arguments.createArray();
+        MapRecordWriter writer = MapRecordWriter.into(records);
+        if (!generateRecords(recordType, startTime, endTime, writer)) {
+            return null;
+        }
+        Log.d(TAG, "Generated " + records.size() + " " + recordType + " records");
+        call.addRecords(records.size());
+        call.addPayloadBytes(writer.estimatedBytes());
+        call.mark(NativeMetrics.PHASE_PROVIDER);
+        return records;
+    }
+
+    /**
+     * Feeds generated records for [startTime, endTime) into the writer; false for unsupported types
+     */
+    private boolean generateRecords(String recordType, long startTime, long endTime, HealthRecordWriter writer) {
+        switch (recordType) {
+            case "Steps":
+                generateStepsRecords(startTime, endTime, writer);
+                return true;
+            case "HeartRate":
+                generateHeartRateRecords(startTime, endTime, writer);
+                return true;
+            case "Exercise":
+            case "ExerciseSession":
+                generateExerciseRecords(startTime, endTime, writer);
+                return true;
+            case "Sleep":
+            case "SleepSession":
+                generateSleepRecords(startTime, endTime, writer);
+                return true;
+            case "Distance":
+                generateDistanceRecords(startTime, endTime, writer);
+                return true;
+            case "Calories":
+            case "ActiveCaloriesBurned":
+                generateCaloriesRecords(startTime, endTime, "active", writer);
+                return true;
+            case "TotalCaloriesBurned":
+                generateCaloriesRecords(startTime, endTime, "total", writer);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void generateStepsRecords(long startTime, long endTime, HealthRecordWriter writer) {
+        generator.forEachSteps(startTime, endTime, (start, end, count) -> {
+            HealthRecordFields.steps(writer, "steps_" + start, start, end, count, DEMO_DEVICE, null);
+        });
+    }
+
+    private void generateHeartRateRecords(long startTime, long endTime, HealthRecordWriter writer) {
+        generator.forEachHeartRate(startTime, endTime, (time, bpm) -> {
+            HealthRecordFields.heartRate(writer, "hr_" + time, time, bpm, DEMO_DEVICE, null);
+        });
+    }
+
+    private void generateExerciseRecords(long startTime, long endTime, HealthRecordWriter writer) {
+        generator.forEachExercise(startTime, endTime, (start, end, typeIndex) -> {
+            int duration = (int) ((end - start) / 60000);
+
+            writer.beginRecord();
+            writer.putString("recordId", "exercise_" + start);
+            writer.putTime("startTime", start);
+            writer.putTime("endTime", end);
+            writer.putDictionaryString("exerciseType", SyntheticHealthDataGenerator.EXERCISE_TYPES[typeIndex]);
+            writer.putDictionaryString("title", "Demo Workout");
+            writer.putInt("totalActiveCalories", duration * 8);
+            writer.putDouble("totalDistance", duration * 0.2);
+            writer.endRecord();
+        });
+    }
+
+    private void generateSleepRecords(long startTime, long endTime, HealthRecordWriter writer) {
+        boolean withStages = generator.getConfig().sleepStages;
+        generator.forEachSleepSession(startTime, endTime, (start, end, unused) -> {
+            writer.beginRecord();
+            writer.putString("recordId", "sleep_" + start);
+            writer.putTime("startTime", start);
+            writer.putTime("endTime", end);
+            writer.putDictionaryString("notes", "Demo sleep session");
+
+            if (withStages) {
+                WritableArray stages = Arguments.createArray();
+                generator.forEachSleepStage(start, start + 1, (stageStart, stageEnd, stage) -> {
+                    WritableMap stageMap = Arguments.createMap();
+                    stageMap.putString("startTime", Instant.ofEpochMilli(stageStart).toString());
+                    stageMap.putString("endTime", Instant.ofEpochMilli(stageEnd).toString());
+                    stageMap.putInt("stage", stage);
+                    stages.pushMap(stageMap);
+                });
+                writer.putArray("stages", stages);
+            }
+            writer.endRecord();
+        });
+    }
+
+    private void generateDistanceRecords(long startTime, long endTime, HealthRecordWriter writer) {
+        // Distance follows the generated steps at roughly 0.75 m per step
+        generator.forEachSteps(startTime, endTime, (start, end, count) -> {
+            writer.beginRecord();
+            writer.putString("recordId", "distance_" + start);
+            writer.putTime("startTime", start);
+            writer.putTime("endTime", end);
+            writer.putDouble("distance", count * 0.75);
+            writer.putDictionaryString("device", DEMO_DEVICE);
+            writer.endRecord();
+        });
+    }
+
+    private void generateCaloriesRecords(long startTime, long endTime, String type, HealthRecordWriter writer) {
+        generator.forEachSteps(startTime, endTime, (start, end, count) -> {
+            writer.beginRecord();
+            writer.putString("recordId", type + "_calories_" + start);
+            writer.putTime("startTime", start);
+            writer.putTime("endTime", end);
+
+            double activeCalories = count * 0.045;
+            if ("active".equals(type)) {
+                writer.putInt("energy", (int) Math.round(activeCalories));
+            } else {
+                // Resting burn of ~1650 kcal a day on top of the active part
+                writer.putInt("energy", (int) Math.round(activeCalories + 1650.0 * (end - start) / 86400000.0));
+            }
+
+            writer.putDictionaryString("device", DEMO_DEVICE);
+            writer.endRecord();
+        });
+    }
+
+    @ReactMethod
+    public void aggregateByPeriod(ReadableArray recordTypes, ReadableMap range, String period, String zoneId, Promise promise) {
+        MeasuredPromise call = metrics.track("aggregateByPeriod", promise);
+        try {
+            if (!AGGREGATE_PERIODS.contains(period)) {
+                call.reject("INVALID_PERIOD", "Unsupported period: " + period);
+                return;
+            }
+            Log.d(TAG, "Aggregating " + period + " buckets (demo mode)");
+
+            ZoneId zone = (zoneId == null || zoneId.isEmpty()) ? ZoneId.systemDefault() : ZoneId.of(zoneId);
+            Instant start = Instant.parse(range.getString("startTime"));
+            Instant end = Instant.parse(range.getString("endTime"));
+
+            WritableArray buckets = Arguments.createArray();
+            ZonedDateTime bucketStart = truncateToPeriod(start.atZone(zone), period);
+
+            while (bucketStart.toInstant().isBefore(end)) {
+                ZonedDateTime bucketEnd = nextPeriod(bucketStart, period);
+                WritableMap bucket = Arguments.createMap();
+                bucket.putString("startTime", bucketStart.toInstant().toString());
+                bucket.putString("endTime", bucketEnd.toInstant().toString());
+                bucket.putString("date", bucketStart.toLocalDate().toString());
+
+                long from = bucketStart.toInstant().toEpochMilli();
+                long to = bucketEnd.toInstant().toEpochMilli();
+
+                for (int i = 0; i < recordTypes.size(); i++) {
+                    String recordType = recordTypes.getString(i);
+                    putAggregate(bucket, recordType, from, to);
+                }
+
+                buckets.pushMap(bucket);
+                bucketStart = bucketEnd;
+            }
+
+            WritableMap result = Arguments.createMap();
+            result.putString("period", period);
+            result.putString("zoneId", zone.getId());
+            result.putArray("buckets", buckets);
+
+            Log.d(TAG, "Generated " + buckets.size() + " aggregate buckets");
+            call.resolve(result);
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error aggregating records", e);
+            call.reject("AGGREGATE_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Totals for one bucket, summed from the same generator the read methods use
+     */
+    private void putAggregate(WritableMap bucket, String recordType, long from, long to) {
+        switch (recordType) {
+            case "Steps":
+                bucket.putDouble("steps", generator.totalSteps(from, to));
+                break;
+            case "HeartRate": {
+                long[] stats = {Long.MAX_VALUE, Long.MIN_VALUE, 0, 0};
+                generator.forEachHeartRate(from, to, (time, bpm) -> {
+                    stats[0] = Math.min(stats[0], bpm);
+                    stats[1] = Math.max(stats[1], bpm);
+                    stats[2] += bpm;
+                    stats[3]++;
+                });
+                WritableMap heartRate = Arguments.createMap();
+                heartRate.putDouble("average", stats[3] > 0 ? (double) stats[2] / stats[3] : 0);
+                heartRate.putDouble("min", stats[3] > 0 ? stats[0] : 0);
+                heartRate.putDouble("max", stats[3] > 0 ? stats[1] : 0);
+                heartRate.putDouble("count", stats[3]);
+                bucket.putMap("heartRate", heartRate);
+                break;
+            }
+            case "Distance":
+                bucket.putDouble("distanceMeters", generator.totalSteps(from, to) * 0.75);
+                break;
+            case "Calories":
+            case "ActiveCaloriesBurned":
+                bucket.putDouble("activeCalories", generator.totalSteps(from, to) * 0.045);
+                break;
+            case "TotalCaloriesBurned":
+                bucket.putDouble("totalCalories", generator.totalSteps(from, to) * 0.045
+                    + 1650.0 * (to - from) / 86400000.0);
+                break;
+            case "Exercise":
+            case "ExerciseSession": {
+                long[] minutes = {0};
+                generator.forEachExercise(from, to, (start, end, type) -> minutes[0] += (end - start) / 60000);
+                bucket.putDouble("exerciseMinutes", minutes[0]);
+                break;
+            }
+            case "Sleep":
+            case "SleepSession": {
+                long[] minutes = {0};
+                generator.forEachSleepSession(from, to, (start, end, unused) -> minutes[0] += (end - start) / 60000);
+                bucket.putDouble("sleepMinutes", minutes[0]);
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private ZonedDateTime truncateToPeriod(ZonedDateTime time, String period) {
+        switch (period) {
+            case "hour":
+                return time.truncatedTo(ChronoUnit.HOURS);
+            case "week":
+                return time.truncatedTo(ChronoUnit.DAYS).with(DayOfWeek.MONDAY);
+            case "month":
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            default:
+                return time.truncatedTo(ChronoUnit.DAYS);
+        }
+    }
+
+    private ZonedDateTime nextPeriod(ZonedDateTime time, String period) {
+        switch (period) {
+            case "hour":
+                return time.plusHours(1);
+            case "week":
+                return time.plusWeeks(1);
+            case "month":
+                return time.plusMonths(1);
+            default:
+                return time.plusDays(1);
         }
     }
 
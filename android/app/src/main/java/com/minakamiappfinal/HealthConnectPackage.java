@@ -1,25 +1,43 @@
 package com.minakamiappfinal;
 
-import com.facebook.react.ReactPackage;
+import com.facebook.react.TurboReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.uimanager.ViewManager;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
 
-public class HealthConnectPackage implements ReactPackage {
+/**
+ * Registers the mock HealthConnectModule lazily. It stays a legacy bridge module in both
+ * architectures since it isn't part of the codegen spec.
+ */
+public class HealthConnectPackage extends TurboReactPackage {
+    private static final String MODULE_NAME = "HealthConnectModule";
 
     @Override
-    public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        List<NativeModule> modules = new ArrayList<>();
-        modules.add(new HealthConnectModule(reactContext));
-        return modules;
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (MODULE_NAME.equals(name)) {
+            return new HealthConnectModule(reactContext);
+        }
+        return null;
     }
 
     @Override
-    public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+            moduleInfos.put(MODULE_NAME, new ReactModuleInfo(
+                    MODULE_NAME,
+                    HealthConnectModule.class.getName(),
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    false // isTurboModule
+            ));
+            return moduleInfos;
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,116 @@
+package com.minakamiappfinal
+
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.records.*
+import androidx.health.connect.client.request.ReadRecordsRequest
+import androidx.health.connect.client.time.TimeRangeFilter
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
+import java.time.Instant
+import kotlin.reflect.KClass
+
+/**
+ * Paged Health Connect reader shared by the native health code.
+ * Every read walks the ReadRecordsRequest page token, so long ranges are never cut off after the first page.
+ * Each page request goes through HealthReadScheduler under the caller's priority.
+ */
+class HealthConnectReader(
+    private val client: HealthConnectClient,
+    private val metrics: NativeMetrics = NativeMetrics.getInstance(),
+    private val scheduler: HealthReadScheduler = HealthReadScheduler.getInstance()
+) {
+
+    data class ReadSummary(val records: Int, val pages: Int)
+
+    companion object {
+        const val DEFAULT_PAGE_SIZE = 1000
+        const val MAX_PAGE_SIZE = 5000
+        const val PROVIDER_METHOD = "healthConnect.readRecords"
+
+        /**
+         * Maps the record type names used on the JS side to Health Connect record classes
+         */
+        fun recordClassFor(recordType: String): KClass<out Record>? {
+            return when (recordType) {
+                "Steps" -> StepsRecord::class
+                "HeartRate" -> HeartRateRecord::class
+                "Exercise", "ExerciseSession" -> ExerciseSessionRecord::class
+                "Distance" -> DistanceRecord::class
+                "Calories", "ActiveCaloriesBurned" -> ActiveCaloriesBurnedRecord::class
+                "TotalCaloriesBurned" -> TotalCaloriesBurnedRecord::class
+                "Sleep", "SleepSession" -> SleepSessionRecord::class
+                else -> null
+            }
+        }
+
+        /**
+         * Accepts both ISO-8601 strings and epoch millis, the two formats JS callers send today
+         */
+        fun parseInstant(map: ReadableMap, key: String): Instant {
+            if (!map.hasKey(key) || map.isNull(key)) {
+                throw IllegalArgumentException("$key required")
+            }
+            return when (map.getType(key)) {
+                ReadableType.Number -> Instant.ofEpochMilli(map.getDouble(key).toLong())
+                ReadableType.String -> Instant.parse(map.getString(key))
+                else -> throw IllegalArgumentException("$key must be an ISO string or epoch millis")
+            }
+        }
+
+        fun parseTimeRange(timeRangeFilter: ReadableMap): TimeRangeFilter {
+            return TimeRangeFilter.between(
+                parseInstant(timeRangeFilter, "startTime"),
+                parseInstant(timeRangeFilter, "endTime")
+            )
+        }
+    }
+
+    /**
+     * Reads one page at a time and hands it to [onPage]; only the current page is held in memory.
+     * Every provider request is timed under NativeMetrics "healthConnect.readRecords", phase = record class.
+     */
+    suspend fun <T : Record> readPages(
+        recordClass: KClass<T>,
+        filter: TimeRangeFilter,
+        pageSize: Int = DEFAULT_PAGE_SIZE,
+        priority: HealthReadScheduler.Priority = HealthReadScheduler.Priority.INTERACTIVE,
+        onPage: suspend (records: List<T>, pageIndex: Int) -> Unit
+    ): ReadSummary {
+        var pageToken: String? = null
+        var pages = 0
+        var total = 0
+
+        do {
+            val request = ReadRecordsRequest(
+                recordType = recordClass,
+                timeRangeFilter = filter,
+                pageSize = pageSize.coerceIn(1, MAX_PAGE_SIZE),
+                pageToken = pageToken
+            )
+            val response = scheduler.run(priority) {
+                val requestStart = System.nanoTime()
+                client.readRecords(request).also {
+                    metrics.recordLatency(PROVIDER_METHOD, recordClass.java.simpleName, System.nanoTime() - requestStart)
+                }
+            }
+            metrics.increment(NativeMetrics.COUNTER_PAGES_FETCHED, 1)
+            metrics.increment(NativeMetrics.COUNTER_RECORDS_READ, response.records.size.toLong())
+            onPage(response.records, pages)
+            pages++
+            total += response.records.size
+            pageToken = response.pageToken
+        } while (!pageToken.isNullOrEmpty())
+
+        return ReadSummary(total, pages)
+    }
+
+    suspend fun <T : Record> readAll(
+        recordClass: KClass<T>,
+        filter: TimeRangeFilter,
+        priority: HealthReadScheduler.Priority = HealthReadScheduler.Priority.INTERACTIVE
+    ): List<T> {
+        val records = ArrayList<T>()
+        readPages(recordClass, filter, priority = priority) { page, _ -> records.addAll(page) }
+        return records
+    }
+}
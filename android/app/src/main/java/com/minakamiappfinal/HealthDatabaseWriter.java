@@ -0,0 +1,624 @@
+package com.minakamiappfinal;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import org.json.JSONObject;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Native writer for the app database (the same minakami.db file react-native-sqlite-2 opens from filesDir).
+ * Rows are written in batched transactions through compiled statements, so bulk imports never
+ * have to pass through the bridge or the JS heap.
+ */
+public class HealthDatabaseWriter {
+    private static final String TAG = "HealthDatabaseWriter";
+    public static final String DATABASE_NAME = "minakami.db";
+    public static final String SOURCE_HEALTH_CONNECT = "health_connect";
+    private static final int BATCH_SIZE = 500;
+
+    private static HealthDatabaseWriter instance;
+
+    private final File databaseFile;
+    private final HealthStateSnapshot stateSnapshot;
+    private SQLiteDatabase database;
+    private boolean locationGeohashReady;
+    private boolean activityRecordIdsReady;
+
+    /**
+     * One row of the activities table as created in DatabaseMigrations.js
+     */
+    public static class ActivityRow {
+        public String recordId;
+        public String type;
+        public long startTime;
+        public long endTime;
+        public Long duration;
+        public String details;
+        public String metadata;
+        public int calories;
+        public double distance;
+        public String sportType;
+        public Integer heartRateAvg;
+        public Integer heartRateMax;
+    }
+
+    /**
+     * One row of the locations table as created in DatabaseMigrations.js
+     */
+    public static class LocationRow {
+        public double latitude;
+        public double longitude;
+        public long timestamp;
+        public float accuracy;
+    }
+
+    /**
+     * Columns of locations rows for spatial queries
+     */
+    public static class LocationColumns {
+        public int size;
+        public long[] ids;
+        public double[] latitudes;
+        public double[] longitudes;
+        public long[] timestamps;
+        public String[] geohashes;
+        public String[] names;
+
+        LocationColumns(int capacity) {
+            capacity = Math.max(capacity, 16);
+            ids = new long[capacity];
+            latitudes = new double[capacity];
+            longitudes = new double[capacity];
+            timestamps = new long[capacity];
+            geohashes = new String[capacity];
+            names = new String[capacity];
+        }
+
+        void add(Cursor cursor) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                timestamps = Arrays.copyOf(timestamps, capacity);
+                geohashes = Arrays.copyOf(geohashes, capacity);
+                names = Arrays.copyOf(names, capacity);
+            }
+            ids[size] = cursor.getLong(0);
+            latitudes[size] = cursor.getDouble(1);
+            longitudes[size] = cursor.getDouble(2);
+            timestamps[size] = cursor.getLong(3);
+            geohashes[size] = cursor.isNull(4) ? null : cursor.getString(4);
+            names[size] = cursor.isNull(5) ? null : cursor.getString(5);
+            size++;
+        }
+    }
+
+    public static class IngestResult {
+        public int inserted;
+        public int deleted;
+        public final Set<String> dateKeys = new TreeSet<>();
+
+        public void add(IngestResult other) {
+            inserted += other.inserted;
+            deleted += other.deleted;
+            dateKeys.addAll(other.dateKeys);
+        }
+    }
+
+    public static synchronized HealthDatabaseWriter getInstance(Context context) {
+        if (instance == null) {
+            instance = new HealthDatabaseWriter(
+                    new File(context.getApplicationContext().getFilesDir(), DATABASE_NAME),
+                    HealthStateSnapshot.getInstance(context));
+        }
+        return instance;
+    }
+
+    private HealthDatabaseWriter(File databaseFile, HealthStateSnapshot stateSnapshot) {
+        this.databaseFile = databaseFile;
+        this.stateSnapshot = stateSnapshot;
+    }
+
+    private synchronized SQLiteDatabase getDatabase() {
+        if (database == null || !database.isOpen()) {
+            database = SQLiteDatabase.openOrCreateDatabase(databaseFile, null);
+        }
+        return database;
+    }
+
+    /**
+     * Inserts imported rows, replacing earlier imports of the same record so re-running an import is
+     * idempotent. Rows are keyed on their Health Connect record id, so records of different data origins
+     * over the same span (a watch and the phone both counting steps) are all kept; rows without an id fall
+     * back to source, type and time span. Returns the row count and the affected local date keys.
+     */
+    public synchronized IngestResult insertActivities(List<ActivityRow> rows, String source, ZoneId zone) {
+        IngestResult result = new IngestResult();
+        if (rows.isEmpty()) {
+            return result;
+        }
+
+        SQLiteDatabase db = getDatabase();
+        ensureActivityRecordIds(db);
+        SQLiteStatement delete = db.compileStatement(
+            "DELETE FROM activities WHERE record_id IS NULL AND source = ? AND type = ? AND start_time = ? AND end_time = ?");
+        // The unique index on record_id turns a re-import of the same record into a replace
+        SQLiteStatement insert = db.compileStatement(
+            "INSERT OR REPLACE INTO activities (type, start_time, end_time, duration, details, source, metadata, " +
+            "calories, distance, sport_type, heart_rate_avg, heart_rate_max, record_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+        try {
+            for (int batchStart = 0; batchStart < rows.size(); batchStart += BATCH_SIZE) {
+                int batchEnd = Math.min(batchStart + BATCH_SIZE, rows.size());
+                db.beginTransaction();
+                try {
+                    for (int i = batchStart; i < batchEnd; i++) {
+                        ActivityRow row = rows.get(i);
+
+                        if (row.recordId == null) {
+                            delete.clearBindings();
+                            delete.bindString(1, source);
+                            delete.bindString(2, row.type);
+                            delete.bindLong(3, row.startTime);
+                            delete.bindLong(4, row.endTime);
+                            delete.executeUpdateDelete();
+                        }
+
+                        insert.clearBindings();
+                        insert.bindString(1, row.type);
+                        insert.bindLong(2, row.startTime);
+                        insert.bindLong(3, row.endTime);
+                        bindNullableLong(insert, 4, row.duration);
+                        bindNullableString(insert, 5, row.details);
+                        insert.bindString(6, source);
+                        insert.bindString(7, row.metadata != null ? row.metadata : "{}");
+                        insert.bindLong(8, row.calories);
+                        insert.bindDouble(9, row.distance);
+                        bindNullableString(insert, 10, row.sportType);
+                        bindNullableLong(insert, 11, row.heartRateAvg != null ? row.heartRateAvg.longValue() : null);
+                        bindNullableLong(insert, 12, row.heartRateMax != null ? row.heartRateMax.longValue() : null);
+                        bindNullableString(insert, 13, row.recordId);
+                        insert.executeInsert();
+
+                        result.inserted++;
+                        result.dateKeys.add(dateKey(row.startTime, zone));
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            delete.close();
+            insert.close();
+        }
+
+        Log.d(TAG, "Inserted " + result.inserted + " activity rows across " + result.dateKeys.size() + " days");
+        return result;
+    }
+
+    /**
+     * Deletes the rows of records deleted in Health Connect; returns the row count and the affected local date keys
+     */
+    public synchronized IngestResult deleteActivities(List<String> recordIds, ZoneId zone) {
+        IngestResult result = new IngestResult();
+        if (recordIds.isEmpty()) {
+            return result;
+        }
+
+        SQLiteDatabase db = getDatabase();
+        ensureActivityRecordIds(db);
+        SQLiteStatement delete = db.compileStatement("DELETE FROM activities WHERE record_id = ?");
+        try {
+            for (int batchStart = 0; batchStart < recordIds.size(); batchStart += BATCH_SIZE) {
+                int batchEnd = Math.min(batchStart + BATCH_SIZE, recordIds.size());
+                db.beginTransaction();
+                try {
+                    for (int i = batchStart; i < batchEnd; i++) {
+                        String recordId = recordIds.get(i);
+                        try (Cursor cursor = db.rawQuery(
+                                "SELECT start_time FROM activities WHERE record_id = ?", new String[]{recordId})) {
+                            if (!cursor.moveToNext()) {
+                                continue;
+                            }
+                            result.dateKeys.add(dateKey(cursor.getLong(0), zone));
+                        }
+                        delete.bindString(1, recordId);
+                        result.deleted += delete.executeUpdateDelete();
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+            }
+        } finally {
+            delete.close();
+        }
+
+        Log.d(TAG, "Deleted " + result.deleted + " activity rows across " + result.dateKeys.size() + " days");
+        return result;
+    }
+
+    /**
+     * Once per process: adds the record_id column and its unique index if the JS migrations have not run
+     * yet, then copies the id out of the metadata of Health Connect rows imported before the column existed.
+     * Two old rows of the same record collapse into one.
+     */
+    private void ensureActivityRecordIds(SQLiteDatabase db) {
+        if (activityRecordIdsReady) {
+            return;
+        }
+        boolean hasColumn = false;
+        try (Cursor cursor = db.rawQuery("PRAGMA table_info(activities)", null)) {
+            while (cursor.moveToNext()) {
+                hasColumn |= "record_id".equals(cursor.getString(1));
+            }
+        }
+        if (!hasColumn) {
+            db.execSQL("ALTER TABLE activities ADD COLUMN record_id TEXT");
+        }
+        db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_activities_record_id ON activities(record_id)");
+
+        SQLiteStatement update = db.compileStatement("UPDATE OR REPLACE activities SET record_id = ? WHERE id = ?");
+        int keyed = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                int scanned = 0;
+                db.beginTransaction();
+                try (Cursor cursor = db.rawQuery(
+                        "SELECT id, metadata FROM activities WHERE record_id IS NULL AND source = ? AND id > ? " +
+                        "ORDER BY id LIMIT " + BATCH_SIZE,
+                        new String[]{SOURCE_HEALTH_CONNECT, String.valueOf(lastId)})) {
+                    while (cursor.moveToNext()) {
+                        lastId = cursor.getLong(0);
+                        scanned++;
+                        String recordId = jsonString(cursor.getString(1), "recordId");
+                        if (recordId != null) {
+                            update.bindString(1, recordId);
+                            update.bindLong(2, lastId);
+                            update.executeUpdateDelete();
+                            keyed++;
+                        }
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                if (scanned < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } finally {
+            update.close();
+        }
+        if (keyed > 0) {
+            Log.d(TAG, "Added record ids to " + keyed + " activity rows");
+        }
+        activityRecordIdsReady = true;
+    }
+
+    /**
+     * Appends collected location fixes in one transaction; returns the row count
+     */
+    public synchronized int insertLocations(List<LocationRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        SQLiteDatabase db = getDatabase();
+        if (!ensureLocationGeohashes(db)) {
+            throw new IllegalStateException("The locations table has not been created yet");
+        }
+        SQLiteStatement insert = db.compileStatement(
+            "INSERT INTO locations (latitude, longitude, timestamp, accuracy, visit_count, last_visited, geohash) " +
+            "VALUES (?, ?, ?, ?, 1, ?, ?)");
+        int inserted = 0;
+        db.beginTransaction();
+        try {
+            for (LocationRow row : rows) {
+                insert.clearBindings();
+                insert.bindDouble(1, row.latitude);
+                insert.bindDouble(2, row.longitude);
+                insert.bindLong(3, row.timestamp);
+                insert.bindDouble(4, row.accuracy);
+                insert.bindLong(5, row.timestamp);
+                insert.bindString(6, Geohash.encode(row.latitude, row.longitude, Geohash.STORED_PRECISION));
+                insert.executeInsert();
+                inserted++;
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+        return inserted;
+    }
+
+    /**
+     * Locations rows in [start, end), in time order
+     */
+    public synchronized LocationColumns loadLocations(long start, long end) {
+        SQLiteDatabase db = getDatabase();
+        if (!ensureLocationGeohashes(db)) {
+            return new LocationColumns(0);
+        }
+        try (Cursor cursor = db.rawQuery(
+                "SELECT id, latitude, longitude, timestamp, geohash, name FROM locations " +
+                "WHERE timestamp >= ? AND timestamp < ? ORDER BY timestamp",
+                new String[]{String.valueOf(start), String.valueOf(end)})) {
+            LocationColumns columns = new LocationColumns(cursor.getCount());
+            while (cursor.moveToNext()) {
+                columns.add(cursor);
+            }
+            return columns;
+        }
+    }
+
+    /**
+     * Locations rows within [radiusMeters] of a point, through range scans of the geohash index over the
+     * cells around it; unordered
+     */
+    public synchronized LocationColumns loadLocationsNear(double latitude, double longitude, double radiusMeters) {
+        SQLiteDatabase db = getDatabase();
+        if (!ensureLocationGeohashes(db)) {
+            return new LocationColumns(0);
+        }
+        int precision = Geohash.precisionForRadius(radiusMeters, latitude);
+        LocationColumns columns = new LocationColumns(16);
+        for (String cell : Geohash.neighbourhood(latitude, longitude, precision)) {
+            try (Cursor cursor = db.rawQuery(
+                    "SELECT id, latitude, longitude, timestamp, geohash, name FROM locations " +
+                    "WHERE geohash >= ? AND geohash < ?",
+                    new String[]{cell, Geohash.prefixEnd(cell)})) {
+                while (cursor.moveToNext()) {
+                    if (StayPointDetector.distanceMeters(latitude, longitude, cursor.getDouble(1), cursor.getDouble(2)) <= radiusMeters) {
+                        columns.add(cursor);
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Once per process: adds the geohash column and index if the JS migrations have not run yet, then
+     * hashes rows stored without one. Every later insert carries its geohash, from here or from
+     * LocationRepository.js, so the backfill never has to run again.
+     * False while the JS migrations have not created the locations table.
+     */
+    private boolean ensureLocationGeohashes(SQLiteDatabase db) {
+        if (locationGeohashReady) {
+            return true;
+        }
+        try (Cursor cursor = db.rawQuery(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'locations'", null)) {
+            if (!cursor.moveToNext()) {
+                return false;
+            }
+        }
+
+        boolean hasColumn = false;
+        try (Cursor cursor = db.rawQuery("PRAGMA table_info(locations)", null)) {
+            while (cursor.moveToNext()) {
+                hasColumn |= "geohash".equals(cursor.getString(1));
+            }
+        }
+        if (!hasColumn) {
+            db.execSQL("ALTER TABLE locations ADD COLUMN geohash TEXT");
+        }
+        db.execSQL("CREATE INDEX IF NOT EXISTS idx_locations_geohash ON locations(geohash)");
+
+        SQLiteStatement update = db.compileStatement("UPDATE locations SET geohash = ? WHERE id = ?");
+        int hashed = 0;
+        try {
+            while (true) {
+                int updated = 0;
+                db.beginTransaction();
+                try (Cursor cursor = db.rawQuery(
+                        "SELECT id, latitude, longitude FROM locations WHERE geohash IS NULL LIMIT " + BATCH_SIZE, null)) {
+                    while (cursor.moveToNext()) {
+                        update.bindString(1, Geohash.encode(cursor.getDouble(1), cursor.getDouble(2), Geohash.STORED_PRECISION));
+                        update.bindLong(2, cursor.getLong(0));
+                        update.executeUpdateDelete();
+                        updated++;
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                hashed += updated;
+                if (updated < BATCH_SIZE) {
+                    break;
+                }
+            }
+        } finally {
+            update.close();
+        }
+        if (hashed > 0) {
+            Log.d(TAG, "Added geohashes to " + hashed + " location rows");
+        }
+        locationGeohashReady = true;
+        return true;
+    }
+
+    /**
+     * Recomputes daily_summaries.total_steps for the given dates from step rows. Overlapping rows of
+     * different data origins are reconciled with IntervalMergeEngine first, [source] ranking highest, so a
+     * watch and the phone counting the same walk are not summed. Today's total is also stored in the state
+     * snapshot for the synchronous getters.
+     */
+    public synchronized void refreshDailyStepTotals(Set<String> dateKeys, String source, ZoneId zone) {
+        if (dateKeys.isEmpty()) {
+            return;
+        }
+
+        SQLiteDatabase db = getDatabase();
+        SQLiteStatement ensureRow = db.compileStatement("INSERT OR IGNORE INTO daily_summaries (date) VALUES (?)");
+        SQLiteStatement updateSteps = db.compileStatement("UPDATE daily_summaries SET total_steps = ? WHERE date = ?");
+
+        LocalDate today = LocalDate.now(zone);
+        db.beginTransaction();
+        try {
+            for (String dateKey : dateKeys) {
+                LocalDate date = LocalDate.parse(dateKey);
+                long dayStart = date.atStartOfDay(zone).toInstant().toEpochMilli();
+                long dayEnd = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+                IntervalMergeEngine.Result merged = IntervalMergeEngine.merge(
+                        loadIntervals("steps", dayStart, dayEnd), Collections.singletonList(source));
+                long totalSteps = Math.round(merged.mergedTotal);
+
+                ensureRow.bindString(1, dateKey);
+                ensureRow.executeInsert();
+                updateSteps.bindLong(1, totalSteps);
+                updateSteps.bindString(2, dateKey);
+                updateSteps.executeUpdateDelete();
+
+                if (date.equals(today)) {
+                    stateSnapshot.putTodayTotal(today, "steps", totalSteps);
+                }
+            }
+            db.setTransactionSuccessful();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to refresh daily step totals", e);
+        } finally {
+            db.endTransaction();
+            ensureRow.close();
+            updateSteps.close();
+        }
+    }
+
+    public static String dateKey(long epochMillis, ZoneId zone) {
+        return Instant.ofEpochMilli(epochMillis).atZone(zone).toLocalDate().toString();
+    }
+
+    /**
+     * Activities of [type] starting in [start, end) as merge input. The source key is the row's source,
+     * suffixed with the Health Connect data origin when the metadata has one, so Samsung Health and the
+     * phone's own pedometer count as different sources. Values are steps, meters or kcal depending on
+     * the type, and 0 for types that only cover time (exercise, sleep, heart rate).
+     */
+    public synchronized IntervalMergeEngine.Batch loadIntervals(String type, long start, long end) {
+        SQLiteDatabase db = getDatabase();
+        IntervalMergeEngine.Batch batch;
+        try (Cursor cursor = db.rawQuery(
+                "SELECT start_time, end_time, source, metadata, details, distance, calories FROM activities " +
+                "WHERE type = ? AND start_time >= ? AND start_time < ? ORDER BY start_time",
+                new String[]{type, String.valueOf(start), String.valueOf(end)})) {
+            batch = new IntervalMergeEngine.Batch(cursor.getCount());
+            while (cursor.moveToNext()) {
+                String source = cursor.isNull(2) ? "unknown" : cursor.getString(2);
+                String origin = jsonString(cursor.getString(3), "dataOrigin");
+                double value;
+                switch (type) {
+                    case "steps":
+                        value = jsonNumber(cursor.getString(4), "steps");
+                        break;
+                    case "distance":
+                        value = cursor.getDouble(5);
+                        break;
+                    case "calories":
+                    case "total_calories":
+                        value = cursor.getDouble(6);
+                        break;
+                    default:
+                        value = 0;
+                }
+                batch.add(origin != null ? source + ":" + origin : source, cursor.getLong(0), cursor.getLong(1), value);
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Mean of the heart_rate_avg column per local day for the [dayStarts.length - 1] days bounded by
+     * [dayStarts], NaN for days without heart rate rows. Rows count toward the day they start in.
+     */
+    public synchronized double[] loadDailyHeartRate(long[] dayStarts) {
+        int days = dayStarts.length - 1;
+        double[] sums = new double[days];
+        int[] counts = new int[days];
+        SQLiteDatabase db = getDatabase();
+        try (Cursor cursor = db.rawQuery(
+                "SELECT start_time, heart_rate_avg FROM activities " +
+                "WHERE type = 'heart_rate' AND heart_rate_avg IS NOT NULL AND start_time >= ? AND start_time < ?",
+                new String[]{String.valueOf(dayStarts[0]), String.valueOf(dayStarts[days])})) {
+            while (cursor.moveToNext()) {
+                int day = dayIndex(dayStarts, cursor.getLong(0));
+                if (day >= 0) {
+                    sums[day] += cursor.getInt(1);
+                    counts[day]++;
+                }
+            }
+        }
+        double[] means = new double[days];
+        for (int day = 0; day < days; day++) {
+            means[day] = counts[day] > 0 ? sums[day] / counts[day] : Double.NaN;
+        }
+        return means;
+    }
+
+    /**
+     * Index of the day in [dayStarts] (ascending boundaries, last one exclusive) containing [time], or -1
+     */
+    public static int dayIndex(long[] dayStarts, long time) {
+        int position = Arrays.binarySearch(dayStarts, time);
+        int day = position >= 0 ? position : -position - 2;
+        return day >= 0 && day < dayStarts.length - 1 ? day : -1;
+    }
+
+    private static String jsonString(String json, String key) {
+        if (json == null || !json.contains(key)) {
+            return null;
+        }
+        try {
+            String value = new JSONObject(json).optString(key, "");
+            return value.isEmpty() ? null : value;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static double jsonNumber(String json, String key) {
+        if (json == null || !json.contains(key)) {
+            return 0;
+        }
+        try {
+            return new JSONObject(json).optDouble(key, 0);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private static void bindNullableLong(SQLiteStatement statement, int index, Long value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, value);
+        }
+    }
+
+    private static void bindNullableString(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+}
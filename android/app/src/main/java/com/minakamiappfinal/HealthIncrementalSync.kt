@@ -0,0 +1,107 @@
+package com.minakamiappfinal
+
+import android.content.Context
+import android.util.Log
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.time.TimeRangeFilter
+import java.time.Duration
+import java.time.Instant
+
+/**
+ * Incremental ingestion shared by HealthSyncJobService and the foreground module, driven by Health Connect
+ * changes tokens (HealthChangesTracker, with tokens of its own). A run ingests every record written,
+ * updated or deleted since the last one, whatever its timestamp, so records Samsung Health or a watch
+ * syncs hours or days after they happened are still picked up.
+ * Without a usable token (first run, or a token expired after a long pause) the type is re-read over
+ * LATE_ARRIVAL_LOOKBACK before its watermark, or INITIAL_LOOKBACK on the first run.
+ * The watermark per record type is the time of its last successful run.
+ */
+class HealthIncrementalSync(
+    context: Context,
+    private val ingestor: HealthConnectIngestor,
+    private val tracker: HealthChangesTracker
+) {
+
+    companion object {
+        const val TAG = "HealthIncrementalSync"
+        const val PREFS_NAME = "health_sync_watermarks"
+        const val TOKENS_PREFS_NAME = "health_sync_changes_tokens"
+        const val KEY_LAST_RUN = "__lastRun"
+        val DEFAULT_RECORD_TYPES = listOf("Steps", "HeartRate", "ExerciseSession", "SleepSession", "Distance", "ActiveCaloriesBurned")
+        val LATE_ARRIVAL_LOOKBACK: Duration = Duration.ofDays(7)
+        val INITIAL_LOOKBACK: Duration = Duration.ofDays(1)
+
+        fun create(context: Context, client: HealthConnectClient, reader: HealthConnectReader, ingestor: HealthConnectIngestor): HealthIncrementalSync {
+            return HealthIncrementalSync(
+                context,
+                ingestor,
+                HealthChangesTracker(context, client, reader, prefsName = TOKENS_PREFS_NAME)
+            )
+        }
+
+        /**
+         * Stored watermarks without needing a Health Connect client, for the state getters
+         */
+        fun watermarks(context: Context): Map<String, Long> {
+            val prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+            return DEFAULT_RECORD_TYPES.filter { prefs.contains(it) }.associateWith { prefs.getLong(it, 0L) }
+        }
+
+        fun lastRun(context: Context): Long? {
+            val prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+            return if (prefs.contains(KEY_LAST_RUN)) prefs.getLong(KEY_LAST_RUN, 0L) else null
+        }
+    }
+
+    /**
+     * [mode] is "delta" when the changes token was used, otherwise "full" and [from, to] is the range re-read
+     */
+    data class TypeResult(
+        val recordType: String,
+        val mode: String?,
+        val from: Instant,
+        val to: Instant,
+        val inserted: Int,
+        val deleted: Int,
+        val error: String?
+    )
+
+    private val prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE)
+
+    suspend fun run(recordTypes: List<String> = DEFAULT_RECORD_TYPES, now: Instant = Instant.now()): List<TypeResult> {
+        val results = recordTypes.map { recordType ->
+            val watermark = watermark(recordType)
+            val from = if (watermark != null) {
+                Instant.ofEpochMilli(watermark).minus(LATE_ARRIVAL_LOOKBACK)
+            } else {
+                now.minus(INITIAL_LOOKBACK)
+            }
+
+            try {
+                val recordClass = HealthConnectReader.recordClassFor(recordType)
+                    ?: throw IllegalArgumentException("Unsupported record type: $recordType")
+                val changes = tracker.sync(recordType, recordClass, TimeRangeFilter.between(from, now))
+                val ingested = ingestor.ingestChanges(recordType, changes.upserted, changes.deletedIds)
+                prefs.edit().putLong(recordType, now.toEpochMilli()).apply()
+                TypeResult(recordType, changes.mode, from, now, ingested.inserted, ingested.deleted, null)
+            } catch (e: Exception) {
+                // Missing permissions surface here as SecurityException; the token and watermark stay put
+                Log.w(TAG, "Incremental sync of $recordType failed", e)
+                TypeResult(recordType, null, from, now, 0, 0, e.message ?: e.javaClass.simpleName)
+            }
+        }
+
+        prefs.edit().putLong(KEY_LAST_RUN, now.toEpochMilli()).apply()
+        Log.d(TAG, "Incremental sync: ${results.sumOf { it.inserted }} rows across ${results.size} record types")
+        return results
+    }
+
+    fun watermark(recordType: String): Long? {
+        return if (prefs.contains(recordType)) prefs.getLong(recordType, 0L) else null
+    }
+
+    fun reset() {
+        prefs.edit().clear().apply()
+        tracker.reset()
+    }
+}
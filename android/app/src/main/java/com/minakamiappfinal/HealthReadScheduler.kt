@@ -0,0 +1,205 @@
+package com.minakamiappfinal
+
+import android.os.RemoteException
+import android.util.Log
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.withTimeoutOrNull
+import java.io.IOException
+import java.util.ArrayDeque
+import java.util.EnumMap
+import kotlin.random.Random
+
+/**
+ * Gate in front of every Health Connect provider call, so long imports cannot starve UI reads
+ * or run the app into the provider's read quota.
+ *
+ * Calls run under a priority class. A token bucket caps the sustained request rate, and lower
+ * classes must leave a reserve in the bucket: a backfill stalls well before an interactive read would.
+ * At most [maxConcurrent] calls are in flight, and waiting higher classes always go first.
+ * Quota and remote failures are retried with exponential backoff and jitter; a quota failure also
+ * pauses every class and empties the bucket, since the provider throttles per app, not per call.
+ */
+class HealthReadScheduler(
+    private val capacity: Double = DEFAULT_CAPACITY,
+    private val refillPerSecond: Double = DEFAULT_REFILL_PER_SECOND,
+    private val maxConcurrent: Int = DEFAULT_MAX_CONCURRENT,
+    private val metrics: NativeMetrics = NativeMetrics.getInstance()
+) {
+
+    enum class Priority(val reserveShare: Double, val maxRetries: Int) {
+        INTERACTIVE(0.0, 2),
+        PREFETCH(0.1, 4),
+        BACKFILL(0.25, 6)
+    }
+
+    companion object {
+        const val TAG = "HealthReadScheduler"
+        const val DEFAULT_CAPACITY = 60.0
+        const val DEFAULT_REFILL_PER_SECOND = 2.0
+        const val DEFAULT_MAX_CONCURRENT = 4
+        const val BASE_BACKOFF_MS = 1_000L
+        const val MAX_BACKOFF_MS = 60_000L
+        const val SCHEDULER_METHOD = "healthConnect.scheduler"
+        const val COUNTER_RETRIES = "schedulerRetries"
+        const val COUNTER_QUOTA_PAUSES = "schedulerQuotaPauses"
+
+        // Upper bound on a single wait, so a wake-up lost to a cancelled waiter only costs a re-check
+        private const val MAX_PARK_MS = 250L
+
+        private val shared by lazy { HealthReadScheduler() }
+
+        @JvmStatic
+        fun getInstance(): HealthReadScheduler = shared
+
+        /**
+         * Maps the priority names JS callers pass ("interactive", "prefetch", "backfill")
+         */
+        fun priorityFor(name: String?, fallback: Priority = Priority.INTERACTIVE): Priority {
+            return Priority.values().firstOrNull { it.name.equals(name, ignoreCase = true) } ?: fallback
+        }
+
+        /**
+         * Quota rejections surface as RemoteException (or an IllegalStateException wrapping one)
+         * with a "quota" / "rate limit" message; plain RemoteException and IOException mean the
+         * provider process was busy or restarting and are worth another try as well.
+         */
+        fun isRetryable(error: Throwable): Boolean {
+            return isQuotaError(error) || generateSequence(error) { it.cause }.any {
+                it is RemoteException || it is IOException
+            }
+        }
+
+        fun isQuotaError(error: Throwable): Boolean {
+            return generateSequence(error) { it.cause }.any {
+                val message = it.message?.lowercase() ?: return@any false
+                message.contains("quota") || message.contains("rate limit")
+            }
+        }
+    }
+
+    private val lock = Any()
+    private val waiters = EnumMap<Priority, ArrayDeque<CompletableDeferred<Unit>>>(Priority::class.java).apply {
+        Priority.values().forEach { put(it, ArrayDeque()) }
+    }
+    private var tokens = capacity
+    private var refilledAt = System.nanoTime()
+    private var pausedUntil = 0L
+    private var inFlight = 0
+
+    /**
+     * Runs [block] once a slot and a token are available for [priority], retrying retryable failures
+     */
+    suspend fun <T> run(priority: Priority, block: suspend () -> T): T {
+        var attempt = 0
+        while (true) {
+            acquire(priority)
+            val backoffMs = try {
+                return block()
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                if (attempt >= priority.maxRetries || !isRetryable(e)) {
+                    throw e
+                }
+                val backoff = backoffMillis(attempt)
+                if (isQuotaError(e)) {
+                    pauseFor(backoff)
+                }
+                Log.w(TAG, "${priority.name} call failed (attempt ${attempt + 1}), retrying in ${backoff}ms: ${e.message}")
+                metrics.increment(COUNTER_RETRIES, 1)
+                backoff
+            } finally {
+                release()
+            }
+            attempt++
+            delay(backoffMs)
+        }
+    }
+
+    private suspend fun acquire(priority: Priority) {
+        val waitStart = System.nanoTime()
+        while (true) {
+            val waiter = CompletableDeferred<Unit>()
+            val parkMs = synchronized(lock) {
+                val now = System.nanoTime()
+                refill(now)
+                val wait = parkMillis(priority, now)
+                if (wait == 0L) {
+                    inFlight++
+                    tokens -= 1.0
+                    metrics.recordLatency(SCHEDULER_METHOD, priority.name.lowercase(), now - waitStart)
+                    return
+                }
+                waiters.getValue(priority).addLast(waiter)
+                wait
+            }
+            try {
+                withTimeoutOrNull(parkMs) { waiter.await() }
+            } finally {
+                synchronized(lock) { waiters.getValue(priority).remove(waiter) }
+            }
+        }
+    }
+
+    private fun release() {
+        synchronized(lock) {
+            inFlight--
+            wakeNext()
+        }
+    }
+
+    private fun pauseFor(backoffMs: Long) {
+        synchronized(lock) {
+            val until = System.nanoTime() + backoffMs * 1_000_000L
+            if (until - pausedUntil > 0) {
+                pausedUntil = until
+            }
+            tokens = 0.0
+        }
+        metrics.increment(COUNTER_QUOTA_PAUSES, 1)
+    }
+
+    /**
+     * 0 when [priority] may start now, otherwise how long to park before checking again.
+     * Must be called holding [lock].
+     */
+    private fun parkMillis(priority: Priority, now: Long): Long {
+        if (pausedUntil - now > 0) {
+            return ((pausedUntil - now) / 1_000_000L + 1).coerceAtMost(MAX_PARK_MS)
+        }
+        if (Priority.values().any { it.ordinal < priority.ordinal && waiters.getValue(it).isNotEmpty() }) {
+            return MAX_PARK_MS
+        }
+        if (inFlight >= maxConcurrent) {
+            return MAX_PARK_MS
+        }
+        val needed = 1.0 + capacity * priority.reserveShare
+        if (tokens < needed) {
+            return ((needed - tokens) / refillPerSecond * 1000.0).toLong().coerceIn(1L, MAX_PARK_MS)
+        }
+        return 0L
+    }
+
+    private fun refill(now: Long) {
+        val elapsedSeconds = (now - refilledAt) / 1_000_000_000.0
+        tokens = (tokens + elapsedSeconds * refillPerSecond).coerceAtMost(capacity)
+        refilledAt = now
+    }
+
+    // Must be called holding [lock]
+    private fun wakeNext() {
+        for (priority in Priority.values()) {
+            val next = waiters.getValue(priority).pollFirst() ?: continue
+            next.complete(Unit)
+            return
+        }
+    }
+
+    // Exponential backoff with equal jitter: half the step is fixed, the other half random
+    private fun backoffMillis(attempt: Int): Long {
+        val step = (BASE_BACKOFF_MS shl attempt.coerceAtMost(16)).coerceAtMost(MAX_BACKOFF_MS)
+        return step / 2 + Random.nextLong(step / 2 + 1)
+    }
+}
@@ -0,0 +1,166 @@
+package com.minakamiappfinal;
+
+import android.content.ComponentCallbacks2;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of Health Connect records per (record type, local day).
+ * Bounded by an estimate of the bytes the cached records hold: RECORD_BYTES per record plus SAMPLE_BYTES
+ * per sample of series records, so one heart rate record with thousands of samples weighs what it costs.
+ * Past days live for PAST_DAY_TTL_MS, today is revalidated after TODAY_TTL_MS because it is still being
+ * written to. MainApplication forwards onTrimMemory so the cache shrinks under memory pressure.
+ */
+public class HealthRecordCache {
+    private static final String TAG = "HealthRecordCache";
+    public static final int DEFAULT_MAX_BYTES = 24 * 1024 * 1024;
+    // A record with its metadata, instants and strings, and one series sample with its Instant
+    public static final int RECORD_BYTES = 512;
+    public static final int SAMPLE_BYTES = 64;
+    public static final long PAST_DAY_TTL_MS = 6 * 60 * 60 * 1000L;
+    public static final long TODAY_TTL_MS = 60 * 1000L;
+
+    private static HealthRecordCache instance;
+
+    private final LruCache<String, Entry> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong trims = new AtomicLong();
+
+    private static final class Entry {
+        final List<?> records;
+        final long fetchedAt;
+        final long ttlMillis;
+        final int bytes;
+
+        Entry(List<?> records, long fetchedAt, long ttlMillis, int bytes) {
+            this.records = records;
+            this.fetchedAt = fetchedAt;
+            this.ttlMillis = ttlMillis;
+            this.bytes = bytes;
+        }
+    }
+
+    public static synchronized HealthRecordCache getInstance() {
+        if (instance == null) {
+            // Never more than a sixteenth of the heap on small devices
+            long heapShare = Runtime.getRuntime().maxMemory() / 16;
+            instance = new HealthRecordCache((int) Math.min(DEFAULT_MAX_BYTES, heapShare));
+        }
+        return instance;
+    }
+
+    HealthRecordCache(int maxBytes) {
+        cache = new LruCache<String, Entry>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return entry.bytes;
+            }
+        };
+    }
+
+    /**
+     * Cached records for the day, or null when absent or past their TTL
+     */
+    public List<?> get(String recordType, LocalDate day, long nowMillis) {
+        String key = key(recordType, day);
+        Entry entry = cache.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (nowMillis - entry.fetchedAt >= entry.ttlMillis) {
+            cache.remove(key);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.records;
+    }
+
+    /**
+     * Caches the records of a day; [samples] is the number of samples they hold in total
+     * (heart rate and other series records), 0 for plain records
+     */
+    public void put(String recordType, LocalDate day, List<?> records, long samples, boolean isToday, long nowMillis) {
+        // Empty days still weigh one record so they can't pile up unbounded
+        long bytes = Math.max(1, records.size()) * (long) RECORD_BYTES + samples * SAMPLE_BYTES;
+        cache.put(key(recordType, day), new Entry(records, nowMillis, isToday ? TODAY_TTL_MS : PAST_DAY_TTL_MS,
+                (int) Math.min(Integer.MAX_VALUE, bytes)));
+    }
+
+    public void invalidate(String recordType, LocalDate day) {
+        cache.remove(key(recordType, day));
+    }
+
+    public void invalidateType(String recordType) {
+        String prefix = recordType + "|";
+        for (String key : cache.snapshot().keySet()) {
+            if (key.startsWith(prefix)) {
+                cache.remove(key);
+            }
+        }
+    }
+
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Drops everything when the process is likely to be killed, otherwise trims to a fraction of the budget
+     */
+    public void onTrimMemory(int level) {
+        int before = cache.size();
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_MODERATE || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 4);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+        trims.incrementAndGet();
+        Log.d(TAG, "Trim level " + level + ": " + before + " -> " + cache.size() + " cached bytes");
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long expirationCount() {
+        return expirations.get();
+    }
+
+    public long trimCount() {
+        return trims.get();
+    }
+
+    public int evictionCount() {
+        return cache.evictionCount();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public int maxSize() {
+        return cache.maxSize();
+    }
+
+    public int entryCount() {
+        return cache.snapshot().size();
+    }
+
+    private static String key(String recordType, LocalDate day) {
+        return recordType + "|" + day;
+    }
+}
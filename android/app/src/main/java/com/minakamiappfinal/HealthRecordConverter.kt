@@ -0,0 +1,180 @@
+package com.minakamiappfinal
+
+import androidx.health.connect.client.records.*
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.WritableArray
+import com.facebook.react.bridge.WritableMap
+import org.json.JSONObject
+import java.time.Duration
+import java.time.Instant
+
+/**
+ * Converts Health Connect records to the map shape the JS side already consumes
+ */
+object HealthRecordConverter {
+
+    fun toWritableMap(record: Record): WritableMap {
+        var result: WritableMap? = null
+        write(record, MapRecordWriter { result = it })
+        return result!!
+    }
+
+    /**
+     * Writes one record field by field; the same fields back both the map and the columnar format
+     */
+    fun write(record: Record, writer: HealthRecordWriter) {
+        val id = record.metadata.id
+        val source = HealthRecordFields.HEALTH_CONNECT_SOURCE
+        when (record) {
+            is StepsRecord -> HealthRecordFields.steps(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.count.toInt(), deviceOf(record), source
+            )
+            // Heart rate records contain samples - get the first BPM reading
+            is HeartRateRecord -> HealthRecordFields.heartRate(
+                writer, id, record.startTime.toEpochMilli(),
+                record.samples.firstOrNull()?.beatsPerMinute?.toInt() ?: 0, deviceOf(record), source
+            )
+            is ExerciseSessionRecord -> HealthRecordFields.exercise(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.exerciseType.toString(), record.title ?: "Exercise", record.notes ?: "", source
+            )
+            is DistanceRecord -> HealthRecordFields.distance(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.distance.inMeters, source
+            )
+            is ActiveCaloriesBurnedRecord -> HealthRecordFields.calories(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.energy.inKilocalories, source
+            )
+            is TotalCaloriesBurnedRecord -> HealthRecordFields.calories(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.energy.inKilocalories, source
+            )
+            is SleepSessionRecord -> HealthRecordFields.sleep(
+                writer, id, record.startTime.toEpochMilli(), record.endTime.toEpochMilli(),
+                record.title ?: "Sleep", record.notes ?: "", source
+            )
+            else -> HealthRecordFields.other(writer, id, source)
+        }
+    }
+
+    private fun deviceOf(record: Record): String =
+        record.metadata.device?.model ?: HealthRecordFields.DEFAULT_DEVICE
+
+    /**
+     * Records as a plain array, or as a columnar payload when [options] asks for format: 'columnar'.
+     * The record count and estimated payload size are added to [call] when given.
+     */
+    fun toPayload(records: List<Record>, options: ReadableMap?, call: MeasuredPromise? = null): Any {
+        call?.addRecords(records.size.toLong())
+        if (!ColumnarPayloadBuilder.isRequested(options)) {
+            return toWritableArray(records, call)
+        }
+        val columns = ColumnarPayloadBuilder()
+        for (record in records) {
+            write(record, columns)
+        }
+        call?.addPayloadBytes(columns.estimatedBytes())
+        return columns.build()
+    }
+
+    /**
+     * Steps, meters or kcal of a cumulative record, the ones that add up over time; null for other types
+     */
+    fun cumulativeValue(record: Record): Double? {
+        return when (record) {
+            is StepsRecord -> record.count.toDouble()
+            is DistanceRecord -> record.distance.inMeters
+            is ActiveCaloriesBurnedRecord -> record.energy.inKilocalories
+            is TotalCaloriesBurnedRecord -> record.energy.inKilocalories
+            else -> null
+        }
+    }
+
+    /**
+     * Feeds the values of a record to [sampler] as points: every heart rate sample, the count, meters or
+     * kcal of interval records at their start, and the length in minutes of exercise and sleep sessions.
+     * Per-origin stores keep cumulative records this way; charts sum them per bucket instead.
+     */
+    fun addPoints(record: Record, sampler: SampleSink) {
+        when (record) {
+            is HeartRateRecord -> for (sample in record.samples) {
+                sampler.add(sample.time.toEpochMilli(), sample.beatsPerMinute.toDouble())
+            }
+            is StepsRecord -> sampler.add(record.startTime.toEpochMilli(), record.count.toDouble())
+            is DistanceRecord -> sampler.add(record.startTime.toEpochMilli(), record.distance.inMeters)
+            is ActiveCaloriesBurnedRecord -> sampler.add(record.startTime.toEpochMilli(), record.energy.inKilocalories)
+            is TotalCaloriesBurnedRecord -> sampler.add(record.startTime.toEpochMilli(), record.energy.inKilocalories)
+            is ExerciseSessionRecord -> sampler.add(
+                record.startTime.toEpochMilli(),
+                Duration.between(record.startTime, record.endTime).toMinutes().toDouble()
+            )
+            is SleepSessionRecord -> sampler.add(
+                record.startTime.toEpochMilli(),
+                Duration.between(record.startTime, record.endTime).toMinutes().toDouble()
+            )
+        }
+    }
+
+    /**
+     * Maps a record to an activities table row, using the same type names and columns
+     * as HealthModule.saveRecordsToDatabase on the JS side
+     */
+    fun toActivityRow(record: Record): HealthDatabaseWriter.ActivityRow? {
+        val metadata = JSONObject().apply {
+            put("recordId", record.metadata.id)
+            put("dataOrigin", record.metadata.dataOrigin.packageName)
+            record.metadata.device?.model?.let { put("device", it) }
+        }.toString()
+
+        return when (record) {
+            is StepsRecord -> activityRow(record, "steps", record.startTime, record.endTime, metadata).apply {
+                details = JSONObject().put("steps", record.count).toString()
+            }
+            is HeartRateRecord -> activityRow(record, "heart_rate", record.startTime, record.endTime, metadata).apply {
+                if (record.samples.isNotEmpty()) {
+                    heartRateAvg = record.samples.map { it.beatsPerMinute }.average().toInt()
+                    heartRateMax = record.samples.maxOf { it.beatsPerMinute }.toInt()
+                }
+            }
+            is ExerciseSessionRecord -> activityRow(record, "exercise", record.startTime, record.endTime, metadata).apply {
+                sportType = record.exerciseType.toString()
+                details = JSONObject().put("title", record.title ?: "Exercise").toString()
+            }
+            is SleepSessionRecord -> activityRow(record, "sleep", record.startTime, record.endTime, metadata)
+            is DistanceRecord -> activityRow(record, "distance", record.startTime, record.endTime, metadata).apply {
+                distance = record.distance.inMeters
+            }
+            is ActiveCaloriesBurnedRecord -> activityRow(record, "calories", record.startTime, record.endTime, metadata).apply {
+                calories = record.energy.inKilocalories.toInt()
+            }
+            is TotalCaloriesBurnedRecord -> activityRow(record, "total_calories", record.startTime, record.endTime, metadata).apply {
+                calories = record.energy.inKilocalories.toInt()
+            }
+            else -> null
+        }
+    }
+
+    private fun activityRow(record: Record, type: String, start: Instant, end: Instant, metadata: String): HealthDatabaseWriter.ActivityRow {
+        return HealthDatabaseWriter.ActivityRow().apply {
+            recordId = record.metadata.id
+            this.type = type
+            startTime = start.toEpochMilli()
+            endTime = end.toEpochMilli()
+            duration = Duration.between(start, end).toMinutes()
+            this.metadata = metadata
+        }
+    }
+
+    fun toWritableArray(records: List<Record>, call: MeasuredPromise? = null): WritableArray {
+        val result = Arguments.createArray()
+        val writer = MapRecordWriter.into(result)
+        for (record in records) {
+            write(record, writer)
+        }
+        call?.addPayloadBytes(writer.estimatedBytes())
+        return result
+    }
+}
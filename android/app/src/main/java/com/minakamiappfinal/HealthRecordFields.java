@@ -0,0 +1,101 @@
+package com.minakamiappfinal;
+
+/**
+ * The per-record shapes the read methods hand to JS, one method per record type. HealthRecordConverter
+ * unpacks Health Connect records into these and the demo module feeds its generated steps and heart rate
+ * through them, so both modules produce the same fields in the map and the columnar format.
+ *
+ * Plain Java over primitives, so the JVM benchmarks measure this exact code.
+ * A null [source] leaves the source field out, as the demo module always has.
+ */
+public final class HealthRecordFields {
+    public static final String HEALTH_CONNECT_SOURCE = "Health Connect";
+    public static final String DEFAULT_DEVICE = "Samsung Health";
+
+    private HealthRecordFields() {
+    }
+
+    public static void steps(HealthRecordWriter writer, String recordId, long startTime, long endTime,
+                             int count, String device, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("startTime", startTime);
+        writer.putTime("endTime", endTime);
+        writer.putInt("count", count);
+        writer.putDictionaryString("device", device);
+        end(writer, source);
+    }
+
+    public static void heartRate(HealthRecordWriter writer, String recordId, long time, int beatsPerMinute,
+                                 String device, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("time", time);
+        writer.putInt("beatsPerMinute", beatsPerMinute);
+        writer.putDictionaryString("device", device);
+        end(writer, source);
+    }
+
+    public static void exercise(HealthRecordWriter writer, String recordId, long startTime, long endTime,
+                                String exerciseType, String title, String notes, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("startTime", startTime);
+        writer.putTime("endTime", endTime);
+        writer.putDictionaryString("exerciseType", exerciseType);
+        writer.putDictionaryString("title", title);
+        writer.putString("notes", notes);
+        end(writer, source);
+    }
+
+    public static void distance(HealthRecordWriter writer, String recordId, long startTime, long endTime,
+                                double distanceMeters, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("startTime", startTime);
+        writer.putTime("endTime", endTime);
+        writer.putDouble("distanceMeters", distanceMeters);
+        end(writer, source);
+    }
+
+    /**
+     * Active and total calories share one shape
+     */
+    public static void calories(HealthRecordWriter writer, String recordId, long startTime, long endTime,
+                                double calories, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("startTime", startTime);
+        writer.putTime("endTime", endTime);
+        writer.putDouble("calories", calories);
+        end(writer, source);
+    }
+
+    public static void sleep(HealthRecordWriter writer, String recordId, long startTime, long endTime,
+                             String title, String notes, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        writer.putTime("startTime", startTime);
+        writer.putTime("endTime", endTime);
+        writer.putInt("durationMinutes", (int) ((endTime - startTime) / 60_000L));
+        writer.putDictionaryString("title", title);
+        writer.putString("notes", notes);
+        end(writer, source);
+    }
+
+    /**
+     * Record types without a shape of their own still come through with their id
+     */
+    public static void other(HealthRecordWriter writer, String recordId, String source) {
+        writer.beginRecord();
+        writer.putString("recordId", recordId);
+        end(writer, source);
+    }
+
+    private static void end(HealthRecordWriter writer, String source) {
+        if (source != null) {
+            writer.putDictionaryString("source", source);
+        }
+        writer.endRecord();
+    }
+}
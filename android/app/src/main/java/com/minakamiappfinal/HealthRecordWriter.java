@@ -0,0 +1,37 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.WritableArray;
+
+/**
+ * Field-by-field sink for health records on their way to JS.
+ * MapRecordWriter produces the classic one-map-per-record shape, ColumnarPayloadBuilder the columnar one,
+ * so converters are written once for both formats.
+ */
+public interface HealthRecordWriter {
+    void beginRecord();
+
+    void putString(String key, String value);
+
+    /**
+     * For strings that repeat across records (source, device, exercise type); dictionary-encoded in columnar mode
+     */
+    void putDictionaryString(String key, String value);
+
+    /**
+     * Epoch millis; an ISO-8601 string in map mode
+     */
+    void putTime(String key, long epochMillis);
+
+    void putInt(String key, int value);
+
+    void putDouble(String key, double value);
+
+    void putArray(String key, WritableArray value);
+
+    void endRecord();
+
+    /**
+     * Approximate JSON size of everything written so far, see PayloadSize
+     */
+    long estimatedBytes();
+}
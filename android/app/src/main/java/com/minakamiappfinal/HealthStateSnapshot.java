@@ -0,0 +1,164 @@
+package com.minakamiappfinal;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Last known cheap health state: SDK availability, granted record types and today's running totals.
+ * Persisted in SharedPreferences so the synchronous getters can answer on a cold start before
+ * any promise-based call has run. Writers are the module's availability and permission checks,
+ * the read cache and the database writer; readers are the *Sync bridge methods.
+ */
+public class HealthStateSnapshot {
+    public static final String PREFS_NAME = "health_state_snapshot";
+    public static final int STATUS_UNKNOWN = -1;
+
+    private static final String KEY_SDK_STATUS = "sdkStatus";
+    private static final String KEY_AVAILABLE = "available";
+    private static final String KEY_CHECKED_AT = "availabilityCheckedAt";
+    private static final String KEY_GRANTED = "grantedRecordTypes";
+    private static final String KEY_TODAY_DATE = "today.date";
+    private static final String KEY_TODAY_UPDATED_AT = "today.updatedAt";
+    private static final String TODAY_METRIC_PREFIX = "today.metric.";
+
+    private static HealthStateSnapshot instance;
+
+    private final SharedPreferences prefs;
+
+    public static synchronized HealthStateSnapshot getInstance(Context context) {
+        if (instance == null) {
+            instance = new HealthStateSnapshot(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private HealthStateSnapshot(Context context) {
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    public void setAvailability(int sdkStatus, boolean available) {
+        prefs.edit()
+            .putInt(KEY_SDK_STATUS, sdkStatus)
+            .putBoolean(KEY_AVAILABLE, available)
+            .putLong(KEY_CHECKED_AT, System.currentTimeMillis())
+            .apply();
+    }
+
+    public int getSdkStatus() {
+        return prefs.getInt(KEY_SDK_STATUS, STATUS_UNKNOWN);
+    }
+
+    /**
+     * Null until the first availability check has completed
+     */
+    public Boolean isAvailable() {
+        return prefs.contains(KEY_AVAILABLE) ? prefs.getBoolean(KEY_AVAILABLE, false) : null;
+    }
+
+    public synchronized void updateGrantedRecordTypes(Set<String> granted, Set<String> denied) {
+        Set<String> recordTypes = new HashSet<>(getGrantedRecordTypes());
+        recordTypes.addAll(granted);
+        recordTypes.removeAll(denied);
+        prefs.edit().putStringSet(KEY_GRANTED, recordTypes).apply();
+    }
+
+    /**
+     * Replaces the stored set with the complete list of currently granted record types
+     */
+    public synchronized void replaceGrantedRecordTypes(Set<String> granted) {
+        prefs.edit().putStringSet(KEY_GRANTED, new HashSet<>(granted)).apply();
+    }
+
+    public Set<String> getGrantedRecordTypes() {
+        Set<String> stored = prefs.getStringSet(KEY_GRANTED, null);
+        return stored == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(stored);
+    }
+
+    /**
+     * Records a running total for today; totals from an earlier day are dropped on the first write of a new day
+     */
+    public synchronized void putTodayTotal(LocalDate day, String metric, double value) {
+        SharedPreferences.Editor editor = prefs.edit();
+        if (!day.toString().equals(prefs.getString(KEY_TODAY_DATE, null))) {
+            for (String key : prefs.getAll().keySet()) {
+                if (key.startsWith(TODAY_METRIC_PREFIX)) {
+                    editor.remove(key);
+                }
+            }
+            editor.putString(KEY_TODAY_DATE, day.toString());
+        }
+        editor.putLong(TODAY_METRIC_PREFIX + metric, Double.doubleToRawLongBits(value));
+        editor.putLong(KEY_TODAY_UPDATED_AT, System.currentTimeMillis());
+        editor.apply();
+    }
+
+    /**
+     * Today's totals by metric, empty when the stored totals belong to another day
+     */
+    public Map<String, Double> getTodayTotals(LocalDate today) {
+        Map<String, Double> totals = new HashMap<>();
+        if (!today.toString().equals(prefs.getString(KEY_TODAY_DATE, null))) {
+            return totals;
+        }
+        for (Map.Entry<String, ?> entry : prefs.getAll().entrySet()) {
+            if (entry.getKey().startsWith(TODAY_METRIC_PREFIX) && entry.getValue() instanceof Long) {
+                totals.put(entry.getKey().substring(TODAY_METRIC_PREFIX.length()),
+                    Double.longBitsToDouble((Long) entry.getValue()));
+            }
+        }
+        return totals;
+    }
+
+    public WritableMap availabilityToMap() {
+        WritableMap availability = Arguments.createMap();
+        Boolean available = isAvailable();
+        if (available == null) {
+            availability.putNull("available");
+        } else {
+            availability.putBoolean("available", available);
+        }
+        availability.putInt("sdkStatus", getSdkStatus());
+        if (prefs.contains(KEY_CHECKED_AT)) {
+            availability.putDouble("checkedAt", prefs.getLong(KEY_CHECKED_AT, 0L));
+        } else {
+            availability.putNull("checkedAt");
+        }
+        return availability;
+    }
+
+    public WritableArray grantedRecordTypesToArray() {
+        WritableArray recordTypes = Arguments.createArray();
+        for (String recordType : getGrantedRecordTypes()) {
+            recordTypes.pushString(recordType);
+        }
+        return recordTypes;
+    }
+
+    /**
+     * { date, updatedAt, steps?, distanceMeters?, activeCalories? } or null when nothing is known for today
+     */
+    public WritableMap todayTotalsToMap(LocalDate today) {
+        Map<String, Double> totals = getTodayTotals(today);
+        if (totals.isEmpty()) {
+            return null;
+        }
+        WritableMap map = Arguments.createMap();
+        map.putString("date", today.toString());
+        map.putDouble("updatedAt", prefs.getLong(KEY_TODAY_UPDATED_AT, 0L));
+        for (Map.Entry<String, Double> total : totals.entrySet()) {
+            map.putDouble(total.getKey(), total.getValue());
+        }
+        return map;
+    }
+}
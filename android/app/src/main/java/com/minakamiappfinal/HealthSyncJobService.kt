@@ -0,0 +1,140 @@
+package com.minakamiappfinal
+
+import android.app.job.JobInfo
+import android.app.job.JobParameters
+import android.app.job.JobScheduler
+import android.app.job.JobService
+import android.content.ComponentName
+import android.content.Context
+import android.util.Log
+import androidx.health.connect.client.HealthConnectClient
+import androidx.health.connect.client.HealthConnectFeatures
+import androidx.health.connect.client.feature.ExperimentalFeatureAvailabilityApi
+import androidx.health.connect.client.permission.HealthPermission
+import kotlinx.coroutines.*
+import java.util.concurrent.TimeUnit
+
+/**
+ * Periodic background pull of new Health Connect data into the app database, without starting
+ * the JS runtime. Runs HealthIncrementalSync through the same reader and ingestor the module uses,
+ * so the first foreground open of the day only has to ingest what changed since the last run.
+ * Health Connect only serves reads from the background with READ_HEALTH_DATA_IN_BACKGROUND granted,
+ * so the job is only scheduled, and only runs, while it is.
+ */
+class HealthSyncJobService : JobService() {
+
+    companion object {
+        const val TAG = "HealthSyncJobService"
+        const val JOB_ID = 41_001
+        val PERIOD_MILLIS: Long = TimeUnit.HOURS.toMillis(1)
+        val FLEX_MILLIS: Long = TimeUnit.MINUTES.toMillis(15)
+
+        /**
+         * True when this Health Connect version can serve reads to a background app at all
+         */
+        @JvmStatic
+        @OptIn(ExperimentalFeatureAvailabilityApi::class)
+        fun isBackgroundReadAvailable(client: HealthConnectClient): Boolean {
+            return client.features.getFeatureStatus(HealthConnectFeatures.FEATURE_READ_HEALTH_DATA_IN_BACKGROUND) ==
+                HealthConnectFeatures.FEATURE_STATUS_AVAILABLE
+        }
+
+        /**
+         * True when background reads are available and the user granted them
+         */
+        suspend fun canReadInBackground(client: HealthConnectClient): Boolean {
+            return isBackgroundReadAvailable(client) &&
+                HealthPermission.PERMISSION_READ_HEALTH_DATA_IN_BACKGROUND in client.permissionController.getGrantedPermissions()
+        }
+
+        /**
+         * Schedules the hourly job unless it is already pending. It only runs while the device is
+         * charging with a healthy battery, which in practice means overnight. Without the background
+         * read permission every read would fail, so the job is cancelled instead. Blocks on the
+         * permission check; call it off the main thread.
+         */
+        @JvmStatic
+        fun schedule(context: Context) {
+            val scheduler = context.getSystemService(JobScheduler::class.java) ?: return
+            val client = HealthConnectClientProvider.get(context)
+            val permitted = try {
+                client != null && runBlocking { canReadInBackground(client) }
+            } catch (e: Exception) {
+                Log.w(TAG, "Background read permission check failed", e)
+                false
+            }
+            if (!permitted) {
+                scheduler.cancel(JOB_ID)
+                Log.d(TAG, "Background health sync not scheduled: background reads not granted")
+                return
+            }
+            if (scheduler.getPendingJob(JOB_ID) != null) {
+                return
+            }
+
+            val job = JobInfo.Builder(JOB_ID, ComponentName(context, HealthSyncJobService::class.java))
+                .setPeriodic(PERIOD_MILLIS, FLEX_MILLIS)
+                .setRequiresCharging(true)
+                .setRequiresBatteryNotLow(true)
+                .setPersisted(true)
+                .build()
+
+            val result = scheduler.schedule(job)
+            Log.d(TAG, if (result == JobScheduler.RESULT_SUCCESS) "Background health sync scheduled" else "Failed to schedule background health sync")
+        }
+
+        @JvmStatic
+        fun cancel(context: Context) {
+            context.getSystemService(JobScheduler::class.java)?.cancel(JOB_ID)
+        }
+    }
+
+    private val scope = CoroutineScope(Dispatchers.IO + SupervisorJob())
+    private var running: Job? = null
+
+    override fun onStartJob(params: JobParameters): Boolean {
+        if (HealthConnectClient.getSdkStatus(applicationContext, RealHealthConnectModule.HEALTH_CONNECT_PACKAGE) != HealthConnectClient.SDK_AVAILABLE) {
+            Log.w(TAG, "Health Connect unavailable, skipping background sync")
+            return false
+        }
+
+        running = scope.launch {
+            var reschedule = false
+            try {
+                val client = HealthConnectClient.getOrCreate(applicationContext)
+                if (!canReadInBackground(client)) {
+                    // Revoked since the job was scheduled; the next app start cancels it
+                    Log.w(TAG, "Background reads not granted, skipping background sync")
+                    jobFinished(params, false)
+                    return@launch
+                }
+                val reader = HealthConnectReader(client)
+                val ingestor = HealthConnectIngestor(
+                    reader,
+                    HealthDatabaseWriter.getInstance(applicationContext),
+                    TimeSeriesStore.getInstance(applicationContext)
+                )
+                val results = HealthIncrementalSync.create(applicationContext, client, reader, ingestor).run()
+                Log.d(TAG, "Background sync finished: ${results.count { it.error == null }}/${results.size} record types")
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                Log.e(TAG, "Background sync failed", e)
+                reschedule = true
+            }
+            jobFinished(params, reschedule)
+        }
+        return true
+    }
+
+    override fun onStopJob(params: JobParameters): Boolean {
+        // Constraints no longer met; the watermark only moves on success, so retry later
+        running?.cancel()
+        return true
+    }
+
+    override fun onDestroy() {
+        scope.cancel()
+        super.onDestroy()
+    }
+}
@@ -0,0 +1,154 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Arrays;
+
+/**
+ * Heart rate samples flattened across records into parallel primitive arrays.
+ * Holds no object per sample, so a day of 1 Hz watch data costs two arrays instead of tens of
+ * thousands of maps, and can be reduced to fixed time buckets before it crosses the bridge.
+ */
+public class HeartRateSeries {
+    private static final int INITIAL_CAPACITY = 1024;
+    // Epoch millis fit in 47 bits until the year 6400, leaving 16 bits for the BPM in a sort key
+    private static final int BPM_BITS = 16;
+    private static final long BPM_MASK = (1L << BPM_BITS) - 1;
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private int[] bpm = new int[INITIAL_CAPACITY];
+    private int size = 0;
+    private boolean sorted = true;
+
+    public void add(long timeMillis, int beatsPerMinute) {
+        if (size == times.length) {
+            times = Arrays.copyOf(times, size * 2);
+            bpm = Arrays.copyOf(bpm, size * 2);
+        }
+        if (size > 0 && timeMillis < times[size - 1]) {
+            sorted = false;
+        }
+        times[size] = timeMillis;
+        bpm[size] = beatsPerMinute;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Records from several sources can overlap; samples are ordered by time before export
+     */
+    public void sortByTime() {
+        if (sorted) {
+            return;
+        }
+        long[] keys = new long[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = (times[i] << BPM_BITS) | (bpm[i] & BPM_MASK);
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            times[i] = keys[i] >>> BPM_BITS;
+            bpm[i] = (int) (keys[i] & BPM_MASK);
+        }
+        sorted = true;
+    }
+
+    /**
+     * Every sample as { length, times: [ms], bpm: [...], summary }
+     */
+    public WritableMap toSamplesPayload() {
+        sortByTime();
+        WritableArray timeArray = Arguments.createArray();
+        WritableArray bpmArray = Arguments.createArray();
+        for (int i = 0; i < size; i++) {
+            timeArray.pushDouble(times[i]);
+            bpmArray.pushInt(bpm[i]);
+        }
+
+        WritableMap payload = Arguments.createMap();
+        payload.putInt("length", size);
+        payload.putArray("times", timeArray);
+        payload.putArray("bpm", bpmArray);
+        payload.putMap("summary", summary());
+        return payload;
+    }
+
+    /**
+     * Samples reduced to fixed buckets aligned to [originMillis]; empty buckets are left out.
+     * Shape: { length, bucketMillis, times: [bucket start], average, min, max, count, summary }
+     */
+    public WritableMap toBucketPayload(long originMillis, long bucketMillis) {
+        sortByTime();
+        WritableArray bucketTimes = Arguments.createArray();
+        WritableArray averages = Arguments.createArray();
+        WritableArray minimums = Arguments.createArray();
+        WritableArray maximums = Arguments.createArray();
+        WritableArray counts = Arguments.createArray();
+
+        int buckets = 0;
+        int i = 0;
+        while (i < size) {
+            long bucket = Math.floorDiv(times[i] - originMillis, bucketMillis);
+            long sum = 0;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            int count = 0;
+            while (i < size && Math.floorDiv(times[i] - originMillis, bucketMillis) == bucket) {
+                sum += bpm[i];
+                min = Math.min(min, bpm[i]);
+                max = Math.max(max, bpm[i]);
+                count++;
+                i++;
+            }
+
+            bucketTimes.pushDouble(originMillis + bucket * bucketMillis);
+            averages.pushDouble((double) sum / count);
+            minimums.pushInt(min);
+            maximums.pushInt(max);
+            counts.pushInt(count);
+            buckets++;
+        }
+
+        WritableMap payload = Arguments.createMap();
+        payload.putInt("length", buckets);
+        payload.putDouble("bucketMillis", bucketMillis);
+        payload.putArray("times", bucketTimes);
+        payload.putArray("average", averages);
+        payload.putArray("min", minimums);
+        payload.putArray("max", maximums);
+        payload.putArray("count", counts);
+        payload.putMap("summary", summary());
+        return payload;
+    }
+
+    private WritableMap summary() {
+        WritableMap summary = Arguments.createMap();
+        summary.putInt("count", size);
+        if (size == 0) {
+            summary.putNull("average");
+            summary.putNull("min");
+            summary.putNull("max");
+            return summary;
+        }
+
+        long sum = 0;
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            sum += bpm[i];
+            min = Math.min(min, bpm[i]);
+            max = Math.max(max, bpm[i]);
+        }
+        summary.putDouble("average", (double) sum / size);
+        summary.putInt("min", min);
+        summary.putInt("max", max);
+        summary.putDouble("startTime", times[0]);
+        summary.putDouble("endTime", times[size - 1]);
+        return summary;
+    }
+}
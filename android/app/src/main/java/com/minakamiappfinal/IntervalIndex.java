@@ -0,0 +1,338 @@
+package com.minakamiappfinal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static index over a day's or week's events (location visits, calls, app sessions, workouts, sleep, ...)
+ * for the time-window questions the correlation rules ask.
+ *
+ * Events are sorted by start. A max-end segment tree over that order answers "which events overlap
+ * [start, end)" in O(log n + m), and per-type position lists answer "which events of type T start within
+ * dt after t" with two binary searches. Indexes are immutable after {@link #build}, so they can be queried
+ * from any thread.
+ */
+public final class IntervalIndex {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final int[] types;
+    // Original input position of each sorted event, so results refer to the caller's indexes
+    private final int[] inputIndex;
+    private final String[] typeNames;
+    private final Map<String, Integer> typeIds;
+    // Sorted positions of the events of each type, ascending (so also ascending by start)
+    private final int[][] positionsByType;
+    private final long[] maxEnd;
+    private final int leaves;
+
+    private IntervalIndex(long[] starts, long[] ends, int[] types, int[] inputIndex, String[] typeNames) {
+        this.starts = starts;
+        this.ends = ends;
+        this.types = types;
+        this.inputIndex = inputIndex;
+        this.typeNames = typeNames;
+        this.typeIds = new HashMap<>();
+        for (int t = 0; t < typeNames.length; t++) {
+            typeIds.put(typeNames[t], t);
+        }
+
+        int n = starts.length;
+        int[] counts = new int[typeNames.length];
+        for (int type : types) {
+            counts[type]++;
+        }
+        positionsByType = new int[typeNames.length][];
+        for (int t = 0; t < typeNames.length; t++) {
+            positionsByType[t] = new int[counts[t]];
+        }
+        int[] fill = new int[typeNames.length];
+        for (int p = 0; p < n; p++) {
+            positionsByType[types[p]][fill[types[p]]++] = p;
+        }
+
+        int size = 1;
+        while (size < n) {
+            size <<= 1;
+        }
+        leaves = size;
+        maxEnd = new long[2 * size];
+        Arrays.fill(maxEnd, Long.MIN_VALUE);
+        for (int p = 0; p < n; p++) {
+            maxEnd[size + p] = ends[p];
+        }
+        for (int node = size - 1; node >= 1; node--) {
+            maxEnd[node] = Math.max(maxEnd[2 * node], maxEnd[2 * node + 1]);
+        }
+    }
+
+    /**
+     * Builds an index over parallel columns; point events have end == start
+     */
+    public static IntervalIndex build(long[] starts, long[] ends, String[] typeNames) {
+        int n = starts.length;
+        List<String> names = new ArrayList<>();
+        Map<String, Integer> ids = new HashMap<>();
+        int[] rawTypes = new int[n];
+        for (int i = 0; i < n; i++) {
+            Integer id = ids.get(typeNames[i]);
+            if (id == null) {
+                id = names.size();
+                names.add(typeNames[i]);
+                ids.put(typeNames[i], id);
+            }
+            rawTypes[i] = id;
+        }
+
+        // Sort input positions by start (ties by input order) through packed keys where the span allows it
+        int[] order = sortedOrder(starts);
+        long[] sortedStarts = new long[n];
+        long[] sortedEnds = new long[n];
+        int[] sortedTypes = new int[n];
+        for (int p = 0; p < n; p++) {
+            int i = order[p];
+            sortedStarts[p] = starts[i];
+            sortedEnds[p] = Math.max(ends[i], starts[i]);
+            sortedTypes[p] = rawTypes[i];
+        }
+        return new IntervalIndex(sortedStarts, sortedEnds, sortedTypes, order, names.toArray(new String[0]));
+    }
+
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Input indexes of events overlapping [from, to), ordered by start. Point events count when from <= t < to.
+     */
+    public int[] overlapping(long from, long to, String type) {
+        int typeId = typeFilter(type);
+        if (typeId == -2) {
+            return new int[0];
+        }
+        IntList out = new IntList();
+        int limit = lowerBound(starts, 0, starts.length, to);
+        if (limit > 0) {
+            collectOverlapping(1, 0, leaves, limit, from, typeId, out);
+        }
+        // Point events starting at [from, to) have end == start and are missed by the strict end > from test
+        int point = lowerBound(starts, 0, limit, from);
+        for (int p = point; p < limit; p++) {
+            if (ends[p] == starts[p] && ends[p] == from && (typeId < 0 || types[p] == typeId)) {
+                out.add(p);
+            }
+        }
+        Arrays.sort(out.values, 0, out.size);
+        return toInputIndexes(out);
+    }
+
+    /**
+     * Input indexes of events of [type] (any type when null) starting in (time, time + within], ordered by start
+     */
+    public int[] following(long time, long within, String type) {
+        int typeId = typeFilter(type);
+        if (typeId == -2) {
+            return new int[0];
+        }
+        IntList out = new IntList();
+        if (typeId < 0) {
+            int from = upperBound(starts, 0, starts.length, time);
+            int to = upperBound(starts, from, starts.length, time + within);
+            for (int p = from; p < to; p++) {
+                out.add(p);
+            }
+        } else {
+            int[] positions = positionsByType[typeId];
+            int from = firstPositionStartingAfter(positions, time);
+            for (int k = from; k < positions.length && starts[positions[k]] <= time + within; k++) {
+                out.add(positions[k]);
+            }
+        }
+        return toInputIndexes(out);
+    }
+
+    /**
+     * Chains matching [sequence] the way the correlation rules define them: anchored at every event of the
+     * first type, each next step is the first later event of the next type starting at most [window] after
+     * the previous step. Returns one input-index array per complete chain.
+     */
+    public List<int[]> matchSequences(String[] sequence, long window) {
+        List<int[]> chains = new ArrayList<>();
+        if (sequence.length == 0) {
+            return chains;
+        }
+        int[] typeIdsInSequence = new int[sequence.length];
+        for (int k = 0; k < sequence.length; k++) {
+            Integer id = typeIds.get(sequence[k]);
+            if (id == null) {
+                return chains;
+            }
+            typeIdsInSequence[k] = id;
+        }
+
+        for (int anchor : positionsByType[typeIdsInSequence[0]]) {
+            int[] chain = new int[sequence.length];
+            chain[0] = anchor;
+            int current = anchor;
+            boolean complete = true;
+            for (int k = 1; k < sequence.length; k++) {
+                int[] positions = positionsByType[typeIdsInSequence[k]];
+                int next = firstPositionAfter(positions, current);
+                if (next >= positions.length || starts[positions[next]] > starts[current] + window) {
+                    complete = false;
+                    break;
+                }
+                current = positions[next];
+                chain[k] = current;
+            }
+            if (complete) {
+                for (int k = 0; k < chain.length; k++) {
+                    chain[k] = inputIndex[chain[k]];
+                }
+                chains.add(chain);
+            }
+        }
+        return chains;
+    }
+
+    // -1 = any type, -2 = a type the index has never seen
+    private int typeFilter(String type) {
+        if (type == null) {
+            return -1;
+        }
+        Integer id = typeIds.get(type);
+        return id != null ? id : -2;
+    }
+
+    private void collectOverlapping(int node, int nodeFrom, int nodeTo, int limit, long from, int typeId, IntList out) {
+        if (nodeFrom >= limit || maxEnd[node] <= from) {
+            return;
+        }
+        if (nodeTo - nodeFrom == 1) {
+            if (typeId < 0 || types[nodeFrom] == typeId) {
+                out.add(nodeFrom);
+            }
+            return;
+        }
+        int middle = (nodeFrom + nodeTo) >>> 1;
+        collectOverlapping(2 * node, nodeFrom, middle, limit, from, typeId, out);
+        collectOverlapping(2 * node + 1, middle, nodeTo, limit, from, typeId, out);
+    }
+
+    private int[] toInputIndexes(IntList positions) {
+        int[] result = new int[positions.size];
+        for (int k = 0; k < positions.size; k++) {
+            result[k] = inputIndex[positions.values[k]];
+        }
+        return result;
+    }
+
+    // First k with starts[positions[k]] > time
+    private int firstPositionStartingAfter(int[] positions, long time) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (starts[positions[middle]] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    // First k with positions[k] > position
+    private static int firstPositionAfter(int[] positions, int position) {
+        int low = 0;
+        int high = positions.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (positions[middle] <= position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(long[] values, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(long[] values, int from, int to, long key) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] <= key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static int[] sortedOrder(long[] starts) {
+        int n = starts.length;
+        int[] order = new int[n];
+        if (n == 0) {
+            return order;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long start : starts) {
+            min = Math.min(min, start);
+            max = Math.max(max, start);
+        }
+        int indexBits = 64 - Long.numberOfLeadingZeros(Math.max(1, n - 1));
+        if (max - min >= 0 && (64 - Long.numberOfLeadingZeros(max - min)) + indexBits <= 62) {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = ((starts[i] - min) << indexBits) | i;
+            }
+            Arrays.sort(keys);
+            long mask = (1L << indexBits) - 1;
+            for (int p = 0; p < n; p++) {
+                order[p] = (int) (keys[p] & mask);
+            }
+        } else {
+            Integer[] boxed = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (a, b) -> starts[a] != starts[b] ? Long.compare(starts[a], starts[b]) : Integer.compare(a, b));
+            for (int p = 0; p < n; p++) {
+                order[p] = boxed[p];
+            }
+        }
+        return order;
+    }
+
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
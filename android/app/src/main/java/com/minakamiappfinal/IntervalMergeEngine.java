@@ -0,0 +1,349 @@
+package com.minakamiappfinal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sweep-line merge of overlapping interval records (steps, distance, exercise, ...) from several data origins
+ * into one non-overlapping timeline.
+ *
+ * Wherever records overlap, the record whose source ranks highest in the priority list wins that stretch
+ * of time; the others are suppressed there. Cumulative values are attributed pro rata to the time a record
+ * wins, so a 10 minute, 1000 step record that wins 4 minutes contributes 400 steps. Adjacent stretches won
+ * by the same record are joined, so the output has at most one segment per boundary change.
+ *
+ * Everything runs over primitive arrays: record boundaries are packed into long keys and sorted with
+ * Arrays.sort, and the active set is an int heap with lazy deletion, so a merge is O(n log n) with no boxing.
+ */
+public final class IntervalMergeEngine {
+
+    private IntervalMergeEngine() {
+    }
+
+    /**
+     * Columnar input. Each record carries the id of its source; source names are interned in the order seen.
+     */
+    public static final class Batch {
+        long[] starts;
+        long[] ends;
+        double[] values;
+        int[] sources;
+        int size;
+        final List<String> sourceNames = new ArrayList<>();
+        private final Map<String, Integer> sourceIds = new HashMap<>();
+
+        public Batch() {
+            this(256);
+        }
+
+        public Batch(int capacity) {
+            int initial = Math.max(capacity, 16);
+            starts = new long[initial];
+            ends = new long[initial];
+            values = new double[initial];
+            sources = new int[initial];
+        }
+
+        public int sourceId(String source) {
+            Integer id = sourceIds.get(source);
+            if (id == null) {
+                id = sourceNames.size();
+                sourceNames.add(source);
+                sourceIds.put(source, id);
+            }
+            return id;
+        }
+
+        public void add(String source, long start, long end, double value) {
+            add(sourceId(source), start, end, value);
+        }
+
+        public void add(int sourceId, long start, long end, double value) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                values = Arrays.copyOf(values, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            values[size] = value;
+            sources[size] = sourceId;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Merged timeline plus per-source attribution, indexed like {@link #sourceNames}
+     */
+    public static final class Result {
+        public final String[] sourceNames;
+        public long[] starts;
+        public long[] ends;
+        public double[] values;
+        public int[] sources;
+        public int size;
+
+        public final double[] keptBySource;
+        public final double[] suppressedBySource;
+        public final long[] durationBySource;
+        public final int[] recordsBySource;
+        public double rawTotal;
+        public double mergedTotal;
+        public int skippedRecords;
+
+        Result(String[] sourceNames, int capacity) {
+            this.sourceNames = sourceNames;
+            int initial = Math.max(capacity, 16);
+            starts = new long[initial];
+            ends = new long[initial];
+            values = new double[initial];
+            sources = new int[initial];
+            keptBySource = new double[sourceNames.length];
+            suppressedBySource = new double[sourceNames.length];
+            durationBySource = new long[sourceNames.length];
+            recordsBySource = new int[sourceNames.length];
+        }
+
+        void append(long start, long end, double value, int source) {
+            if (size == starts.length) {
+                int capacity = size * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                values = Arrays.copyOf(values, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            values[size] = value;
+            sources[size] = source;
+            size++;
+        }
+    }
+
+    /**
+     * Merges [batch] with [priority] listing sources best first. A priority entry matches a source name
+     * exactly or as its prefix before ':' (so "health_connect" covers "health_connect:com.sec.android.app.shealth").
+     * Unlisted sources rank below every listed one, in the order they were first seen.
+     */
+    public static Result merge(Batch batch, List<String> priority) {
+        int n = batch.size;
+        String[] names = batch.sourceNames.toArray(new String[0]);
+        int[] rankOfSource = rankSources(names, priority);
+        Result result = new Result(names, n);
+
+        // Only records with a positive length take part; instantaneous ones cannot cover time
+        int[] live = new int[n];
+        int liveCount = 0;
+        long minTime = Long.MAX_VALUE;
+        long maxTime = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            result.rawTotal += batch.values[i];
+            result.recordsBySource[batch.sources[i]]++;
+            if (batch.ends[i] > batch.starts[i]) {
+                live[liveCount++] = i;
+                minTime = Math.min(minTime, batch.starts[i]);
+                maxTime = Math.max(maxTime, batch.ends[i]);
+            } else {
+                result.skippedRecords++;
+                result.suppressedBySource[batch.sources[i]] += batch.values[i];
+            }
+        }
+        if (liveCount == 0) {
+            return result;
+        }
+
+        long[] startKeys = new long[liveCount];
+        long[] endKeys = new long[liveCount];
+        int indexBits = 64 - Long.numberOfLeadingZeros(Math.max(1, n - 1));
+        boolean packed = (64 - Long.numberOfLeadingZeros(maxTime - minTime)) + indexBits <= 62;
+        if (packed) {
+            for (int k = 0; k < liveCount; k++) {
+                int i = live[k];
+                startKeys[k] = ((batch.starts[i] - minTime) << indexBits) | i;
+                endKeys[k] = ((batch.ends[i] - minTime) << indexBits) | i;
+            }
+            Arrays.sort(startKeys);
+            Arrays.sort(endKeys);
+        } else {
+            sortByTime(live, liveCount, batch.starts, startKeys);
+            sortByTime(live, liveCount, batch.ends, endKeys);
+        }
+        long indexMask = (1L << indexBits) - 1;
+
+        double[] attributed = new double[n];
+        boolean[] ended = new boolean[n];
+        int[] heap = new int[liveCount];
+        int heapSize = 0;
+
+        int nextStart = 0;
+        int nextEnd = 0;
+        long previous = Long.MIN_VALUE;
+        int lastWinner = -1;
+        while (nextEnd < liveCount) {
+            int startRecord = nextStart < liveCount ? recordOf(startKeys[nextStart], packed, indexMask) : -1;
+            int endRecord = recordOf(endKeys[nextEnd], packed, indexMask);
+            long time = startRecord >= 0
+                    ? Math.min(batch.starts[startRecord], batch.ends[endRecord])
+                    : batch.ends[endRecord];
+
+            // Drop records that ended from the top of the heap, then give [previous, time) to the winner
+            while (heapSize > 0 && ended[heap[0]]) {
+                heapSize = pop(heap, heapSize, batch.sources, rankOfSource);
+            }
+            if (heapSize > 0 && time > previous) {
+                int winner = heap[0];
+                double share = batch.values[winner] * (time - previous)
+                        / (double) (batch.ends[winner] - batch.starts[winner]);
+                attributed[winner] += share;
+                int source = batch.sources[winner];
+                result.durationBySource[source] += time - previous;
+                if (winner == lastWinner && result.ends[result.size - 1] == previous) {
+                    result.ends[result.size - 1] = time;
+                    result.values[result.size - 1] += share;
+                } else {
+                    result.append(previous, time, share, source);
+                }
+                lastWinner = winner;
+            }
+
+            while (nextEnd < liveCount && batch.ends[recordOf(endKeys[nextEnd], packed, indexMask)] == time) {
+                ended[recordOf(endKeys[nextEnd], packed, indexMask)] = true;
+                nextEnd++;
+            }
+            while (nextStart < liveCount && batch.starts[recordOf(startKeys[nextStart], packed, indexMask)] == time) {
+                heapSize = push(heap, heapSize, recordOf(startKeys[nextStart], packed, indexMask), batch.sources, rankOfSource);
+                nextStart++;
+            }
+            previous = time;
+        }
+
+        for (int k = 0; k < liveCount; k++) {
+            int i = live[k];
+            int source = batch.sources[i];
+            result.keptBySource[source] += attributed[i];
+            result.suppressedBySource[source] += batch.values[i] - attributed[i];
+            result.mergedTotal += attributed[i];
+        }
+        return result;
+    }
+
+    /**
+     * Totals of the merged timeline per bucket, for the [boundaries.length - 1] buckets bounded by
+     * [boundaries] (ascending, last one exclusive). A segment crossing a boundary is split pro rata to
+     * the time on each side, like the merge itself splits records.
+     */
+    public static double[] bucketTotals(Result merged, long[] boundaries) {
+        int buckets = boundaries.length - 1;
+        double[] totals = new double[Math.max(0, buckets)];
+        if (buckets <= 0) {
+            return totals;
+        }
+        for (int i = 0; i < merged.size; i++) {
+            long start = Math.max(merged.starts[i], boundaries[0]);
+            long end = Math.min(merged.ends[i], boundaries[buckets]);
+            if (end <= start) {
+                continue;
+            }
+            double perMilli = merged.values[i] / (merged.ends[i] - merged.starts[i]);
+            int position = Arrays.binarySearch(boundaries, start);
+            int bucket = position >= 0 ? position : -position - 2;
+            while (start < end) {
+                long bucketEnd = Math.min(end, boundaries[bucket + 1]);
+                totals[bucket] += perMilli * (bucketEnd - start);
+                start = bucketEnd;
+                bucket++;
+            }
+        }
+        return totals;
+    }
+
+    private static int[] rankSources(String[] names, List<String> priority) {
+        int[] ranks = new int[names.length];
+        for (int s = 0; s < names.length; s++) {
+            String name = names[s];
+            int colon = name.indexOf(':');
+            int rank = priority.indexOf(name);
+            if (rank < 0 && colon > 0) {
+                rank = priority.indexOf(name.substring(0, colon));
+            }
+            ranks[s] = rank >= 0 ? rank : priority.size() + s;
+        }
+        return ranks;
+    }
+
+    private static int recordOf(long key, boolean packed, long indexMask) {
+        return (int) (packed ? key & indexMask : key);
+    }
+
+    /**
+     * Fallback for time spans too wide to pack next to the record index: keys are plain record indexes
+     * ordered by time, which costs boxing but only for inputs spanning centuries of milliseconds.
+     */
+    private static void sortByTime(int[] live, int liveCount, long[] times, long[] out) {
+        Integer[] order = new Integer[liveCount];
+        for (int k = 0; k < liveCount; k++) {
+            order[k] = live[k];
+        }
+        Arrays.sort(order, (a, b) -> times[a] != times[b] ? Long.compare(times[a], times[b]) : Integer.compare(a, b));
+        for (int k = 0; k < liveCount; k++) {
+            out[k] = order[k];
+        }
+    }
+
+    // Heap order: better source rank first, then the earlier record, so ties resolve deterministically
+    private static boolean before(int a, int b, int[] sources, int[] rankOfSource) {
+        int rankA = rankOfSource[sources[a]];
+        int rankB = rankOfSource[sources[b]];
+        return rankA != rankB ? rankA < rankB : a < b;
+    }
+
+    private static int push(int[] heap, int size, int record, int[] sources, int[] rankOfSource) {
+        int i = size;
+        heap[i] = record;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(heap[i], heap[parent], sources, rankOfSource)) {
+                break;
+            }
+            int swap = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = swap;
+            i = parent;
+        }
+        return size + 1;
+    }
+
+    private static int pop(int[] heap, int size, int[] sources, int[] rankOfSource) {
+        int last = size - 1;
+        heap[0] = heap[last];
+        int i = 0;
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= last) {
+                break;
+            }
+            int best = left;
+            int right = left + 1;
+            if (right < last && before(heap[right], heap[left], sources, rankOfSource)) {
+                best = right;
+            }
+            if (!before(heap[best], heap[i], sources, rankOfSource)) {
+                break;
+            }
+            int swap = heap[i];
+            heap[i] = heap[best];
+            heap[best] = swap;
+            i = best;
+        }
+        return last;
+    }
+}
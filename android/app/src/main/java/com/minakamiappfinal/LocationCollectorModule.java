@@ -0,0 +1,303 @@
+package com.minakamiappfinal;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.location.LocationListener;
+import android.location.LocationManager;
+import android.location.LocationRequest;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Native location tracking: fixes are requested with a long max update delay so the location provider
+ * batches them, filtered and fed to a StayPointDetector on a background thread, and written to the
+ * locations table in batched transactions. The interval adapts: frequent while moving, sparse during
+ * a stay. JS only hears about visit boundaries (LocationVisit events), never individual fixes.
+ *
+ * Uses the platform fused provider (Android 12+) or the network/GPS provider; batching needs Android 12.
+ */
+public class LocationCollectorModule extends ReactContextBaseJavaModule implements LocationListener, StayPointDetector.Listener {
+    public static final String NAME = "LocationCollectorModule";
+    public static final String EVENT_LOCATION_VISIT = "LocationVisit";
+    private static final String TAG = "LocationCollectorModule";
+
+    private static final int DEFAULT_MOVING_INTERVAL_SECONDS = 30;
+    private static final int DEFAULT_STATIONARY_INTERVAL_SECONDS = 300;
+    // The provider may hold fixes back for this many intervals and deliver them together
+    private static final int BATCH_INTERVALS = 6;
+    private static final float MOVING_MIN_DISTANCE_METERS = 10;
+    // Pending rows are written once this many have collected, or at a visit boundary or stop
+    private static final int FLUSH_ROWS = 20;
+    private static final long FLUSH_MILLIS = 10 * 60 * 1000;
+
+    private final NativeMetrics metrics = NativeMetrics.getInstance();
+    private final List<HealthDatabaseWriter.LocationRow> pending = new ArrayList<>();
+    private LocationManager locationManager;
+    private HandlerThread locationThread;
+    private Handler handler;
+    private StayPointDetector detector;
+    private String provider;
+    private long movingIntervalMillis;
+    private long stationaryIntervalMillis;
+    private long currentIntervalMillis;
+    private long fixesReceived;
+    private long fixesDropped;
+    private long rowsWritten;
+
+    public LocationCollectorModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Starts collection. options: { movingIntervalSeconds = 30, stationaryIntervalSeconds = 300,
+     * radiusMeters = 100, minStayMinutes = 5 }. Resolves with { provider, batching }.
+     */
+    @ReactMethod
+    public synchronized void start(ReadableMap options, Promise promise) {
+        MeasuredPromise call = metrics.track("locationCollector.start", promise);
+        Context context = getReactApplicationContext();
+        if (context.checkSelfPermission(Manifest.permission.ACCESS_FINE_LOCATION) != PackageManager.PERMISSION_GRANTED
+                && context.checkSelfPermission(Manifest.permission.ACCESS_COARSE_LOCATION) != PackageManager.PERMISSION_GRANTED) {
+            call.reject("PERMISSION_DENIED", "Location permission not granted");
+            return;
+        }
+        LocationManager manager = (LocationManager) context.getSystemService(Context.LOCATION_SERVICE);
+        String chosen = manager != null ? chooseProvider(manager) : null;
+        if (chosen == null) {
+            call.reject("LOCATION_UNAVAILABLE", "No enabled location provider");
+            return;
+        }
+
+        stopUpdates();
+        movingIntervalMillis = intOption(options, "movingIntervalSeconds", DEFAULT_MOVING_INTERVAL_SECONDS) * 1000L;
+        stationaryIntervalMillis = intOption(options, "stationaryIntervalSeconds", DEFAULT_STATIONARY_INTERVAL_SECONDS) * 1000L;
+        double radius = options != null && options.hasKey("radiusMeters")
+                ? options.getDouble("radiusMeters")
+                : StayPointDetector.DEFAULT_RADIUS_METERS;
+        long minStay = options != null && options.hasKey("minStayMinutes")
+                ? (long) (options.getDouble("minStayMinutes") * 60 * 1000)
+                : StayPointDetector.DEFAULT_MIN_STAY_MILLIS;
+        detector = new StayPointDetector(radius, minStay, StayPointDetector.DEFAULT_MAX_ACCURACY_METERS, this);
+        locationManager = manager;
+        provider = chosen;
+        locationThread = new HandlerThread("location-collector");
+        locationThread.start();
+        handler = new Handler(locationThread.getLooper());
+
+        try {
+            requestUpdates(movingIntervalMillis);
+        } catch (SecurityException e) {
+            stopUpdates();
+            call.reject("PERMISSION_DENIED", e.getMessage());
+            return;
+        }
+
+        WritableMap result = Arguments.createMap();
+        result.putString("provider", provider);
+        result.putBoolean("batching", Build.VERSION.SDK_INT >= Build.VERSION_CODES.S);
+        call.resolve(result);
+    }
+
+    @ReactMethod
+    public synchronized void stop(Promise promise) {
+        MeasuredPromise call = metrics.track("locationCollector.stop", promise);
+        stopUpdates();
+        call.resolve(true);
+    }
+
+    /**
+     * { running, provider, intervalSeconds, fixesReceived, fixesDropped, rowsWritten, currentVisit }
+     */
+    @ReactMethod
+    public synchronized void getStatus(Promise promise) {
+        MeasuredPromise call = metrics.track("locationCollector.getStatus", promise);
+        WritableMap result = Arguments.createMap();
+        result.putBoolean("running", locationManager != null);
+        result.putString("provider", provider);
+        result.putDouble("intervalSeconds", currentIntervalMillis / 1000.0);
+        result.putDouble("fixesReceived", fixesReceived);
+        result.putDouble("fixesDropped", fixesDropped);
+        result.putDouble("rowsWritten", rowsWritten);
+        StayPointDetector.Visit visit = detector != null ? detector.currentVisit() : null;
+        if (visit != null) {
+            result.putMap("currentVisit", visitMap("arrive", visit));
+        } else {
+            result.putNull("currentVisit");
+        }
+        call.resolve(result);
+    }
+
+    // Required by NativeEventEmitter on the JS side
+    @ReactMethod
+    public void addListener(String eventName) {
+    }
+
+    @ReactMethod
+    public void removeListeners(double count) {
+    }
+
+    @Override
+    public void onLocationChanged(Location location) {
+        onLocationChanged(Collections.singletonList(location));
+    }
+
+    @Override
+    public synchronized void onLocationChanged(List<Location> locations) {
+        if (detector == null) {
+            return;
+        }
+        for (Location location : locations) {
+            fixesReceived++;
+            float accuracy = location.hasAccuracy() ? location.getAccuracy() : Float.MAX_VALUE;
+            boolean jitter = detector.isStationaryJitter(location.getLatitude(), location.getLongitude(), accuracy);
+            if (!detector.add(location.getTime(), location.getLatitude(), location.getLongitude(), accuracy) || jitter) {
+                fixesDropped++;
+                continue;
+            }
+            HealthDatabaseWriter.LocationRow row = new HealthDatabaseWriter.LocationRow();
+            row.latitude = location.getLatitude();
+            row.longitude = location.getLongitude();
+            row.timestamp = location.getTime();
+            row.accuracy = accuracy;
+            pending.add(row);
+        }
+        if (pending.size() >= FLUSH_ROWS
+                || (!pending.isEmpty() && System.currentTimeMillis() - pending.get(0).timestamp >= FLUSH_MILLIS)) {
+            flush();
+        }
+    }
+
+    @Override
+    public void onArrive(StayPointDetector.Visit visit) {
+        flush();
+        emitVisit("arrive", visit);
+        requestUpdates(stationaryIntervalMillis);
+    }
+
+    @Override
+    public void onDepart(StayPointDetector.Visit visit) {
+        flush();
+        emitVisit("depart", visit);
+        requestUpdates(movingIntervalMillis);
+    }
+
+    @Override
+    public void invalidate() {
+        synchronized (this) {
+            stopUpdates();
+        }
+        super.invalidate();
+    }
+
+    private String chooseProvider(LocationManager manager) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S && manager.hasProvider(LocationManager.FUSED_PROVIDER)
+                && manager.isProviderEnabled(LocationManager.FUSED_PROVIDER)) {
+            return LocationManager.FUSED_PROVIDER;
+        }
+        if (manager.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
+            return LocationManager.NETWORK_PROVIDER;
+        }
+        if (manager.isProviderEnabled(LocationManager.GPS_PROVIDER)) {
+            return LocationManager.GPS_PROVIDER;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("MissingPermission")
+    private void requestUpdates(long intervalMillis) {
+        if (locationManager == null || intervalMillis == currentIntervalMillis) {
+            return;
+        }
+        locationManager.removeUpdates(this);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S) {
+            LocationRequest request = new LocationRequest.Builder(intervalMillis)
+                    .setQuality(LocationRequest.QUALITY_BALANCED_POWER_ACCURACY)
+                    .setMinUpdateDistanceMeters(intervalMillis == movingIntervalMillis ? MOVING_MIN_DISTANCE_METERS : 0)
+                    .setMaxUpdateDelayMillis(intervalMillis * BATCH_INTERVALS)
+                    .build();
+            locationManager.requestLocationUpdates(provider, request, handler::post, this);
+        } else {
+            locationManager.requestLocationUpdates(provider, intervalMillis,
+                    intervalMillis == movingIntervalMillis ? MOVING_MIN_DISTANCE_METERS : 0, this, locationThread.getLooper());
+        }
+        currentIntervalMillis = intervalMillis;
+        Log.d(TAG, "Requesting " + provider + " fixes every " + intervalMillis / 1000 + " s");
+    }
+
+    private void stopUpdates() {
+        if (locationManager != null) {
+            locationManager.removeUpdates(this);
+            locationManager = null;
+        }
+        flush();
+        detector = null;
+        if (locationThread != null) {
+            locationThread.quitSafely();
+            locationThread = null;
+            handler = null;
+        }
+        currentIntervalMillis = 0;
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            rowsWritten += HealthDatabaseWriter.getInstance(getReactApplicationContext()).insertLocations(pending);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to write " + pending.size() + " locations", e);
+        }
+        pending.clear();
+    }
+
+    private void emitVisit(String type, StayPointDetector.Visit visit) {
+        Log.d(TAG, "Visit " + type + " at " + visit.latitude + "," + visit.longitude);
+        if (getReactApplicationContext().hasActiveReactInstance()) {
+            getReactApplicationContext()
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(EVENT_LOCATION_VISIT, visitMap(type, visit));
+        }
+    }
+
+    private static WritableMap visitMap(String type, StayPointDetector.Visit visit) {
+        WritableMap map = Arguments.createMap();
+        map.putString("type", type);
+        map.putDouble("latitude", visit.latitude);
+        map.putDouble("longitude", visit.longitude);
+        map.putDouble("arrivalTime", visit.arrivalTime);
+        if (visit.departureTime > 0) {
+            map.putDouble("departureTime", visit.departureTime);
+        } else {
+            map.putNull("departureTime");
+        }
+        map.putInt("fixes", visit.fixes);
+        return map;
+    }
+
+    private static int intOption(ReadableMap options, String key, int fallback) {
+        return options != null && options.hasKey(key) ? options.getInt(key) : fallback;
+    }
+}
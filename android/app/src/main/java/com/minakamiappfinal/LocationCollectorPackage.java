@@ -0,0 +1,38 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.TurboReactPackage;
+import com.facebook.react.bridge.NativeModule;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.module.model.ReactModuleInfo;
+import com.facebook.react.module.model.ReactModuleInfoProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class LocationCollectorPackage extends TurboReactPackage {
+
+    @Override
+    public NativeModule getModule(String name, ReactApplicationContext reactContext) {
+        if (LocationCollectorModule.NAME.equals(name)) {
+            return new LocationCollectorModule(reactContext);
+        }
+        return null;
+    }
+
+    @Override
+    public ReactModuleInfoProvider getReactModuleInfoProvider() {
+        return () -> {
+            Map<String, ReactModuleInfo> moduleInfos = new HashMap<>();
+            moduleInfos.put(LocationCollectorModule.NAME, new ReactModuleInfo(
+                    LocationCollectorModule.NAME,
+                    LocationCollectorModule.class.getName(),
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    false, // hasConstants
+                    false, // isCxxModule
+                    false // isTurboModule
+            ));
+            return moduleInfos;
+        };
+    }
+}
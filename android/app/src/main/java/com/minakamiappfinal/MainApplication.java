@@ -6,6 +6,7 @@ import android.app.NotificationManager;
 import android.os.Build;
 import com.facebook.react.PackageList;
 import com.facebook.react.ReactApplication;
+import com.facebook.react.ReactInstanceManager;
 import com.facebook.react.ReactNativeHost;
 import com.facebook.react.ReactPackage;
 import com.facebook.react.defaults.DefaultNewArchitectureEntryPoint;
@@ -35,6 +36,10 @@ public class MainApplication extends Application implements ReactApplication {
           } else {
             packages.add(new RealHealthConnectPackage()); // Real module for production
           }
+          packages.add(new PerformanceMetricsPackage());
+          packages.add(new HealthAnalyticsPackage());
+          packages.add(new ActivitySensorPackage());
+          packages.add(new LocationCollectorPackage());
           return packages;
         }
 
@@ -62,17 +67,43 @@ public class MainApplication extends Application implements ReactApplication {
   @Override
   public void onCreate() {
     super.onCreate();
-    SoLoader.init(this, /* native exopackage */ false);
+    StartupTrace trace = StartupTrace.getInstance();
+    trace.begin("application.onCreate");
+
+    // Independent init work goes to the startup pool first so it overlaps with SoLoader and React host creation
+    StartupOrchestrator startup = StartupOrchestrator.getInstance();
+    startup.submit("notificationChannels", this::createNotificationChannels);
+    if (!BuildConfig.DEBUG) {
+      startup.submit("healthConnect", () -> HealthConnectClientProvider.warmUp(this));
+      // Pull Health Connect data in the background so foreground syncs stay incremental
+      startup.submit("healthSyncJob", () -> HealthSyncJobService.schedule(this));
+    }
+
+    trace.measure("soLoader", () -> SoLoader.init(this, /* native exopackage */ false));
     if (BuildConfig.IS_NEW_ARCHITECTURE_ENABLED) {
       // If you opted-in for the New Architecture, we load the native entry point for this app.
-      DefaultNewArchitectureEntryPoint.load();
+      trace.measure("newArchitectureEntryPoint", () -> DefaultNewArchitectureEntryPoint.load());
     }
-    ReactNativeFlipper.initializeFlipper(this, getReactNativeHost().getReactInstanceManager());
-    
-    // Create notification channels for Android O+
-    createNotificationChannels();
+    ReactInstanceManager reactInstanceManager =
+        trace.measure("reactInstanceManager", () -> getReactNativeHost().getReactInstanceManager());
+    reactInstanceManager.addReactInstanceEventListener(context -> trace.mark("reactContextReady"));
+    ReactNativeFlipper.initializeFlipper(this, reactInstanceManager);
+
+    trace.end("application.onCreate");
   }
   
+  @Override
+  public void onTrimMemory(int level) {
+    super.onTrimMemory(level);
+    HealthRecordCache.getInstance().onTrimMemory(level);
+  }
+
+  @Override
+  public void onLowMemory() {
+    super.onLowMemory();
+    HealthRecordCache.getInstance().clear();
+  }
+
   private void createNotificationChannels() {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
       NotificationManager notificationManager = getSystemService(NotificationManager.class);
@@ -0,0 +1,82 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.time.Instant;
+
+/**
+ * Writes every record as its own map, the format the read methods have always returned
+ */
+public class MapRecordWriter implements HealthRecordWriter {
+
+    public interface Sink {
+        void add(WritableMap record);
+    }
+
+    private final Sink sink;
+    private WritableMap current;
+    private long estimatedBytes;
+
+    public MapRecordWriter(Sink sink) {
+        this.sink = sink;
+    }
+
+    public static MapRecordWriter into(WritableArray records) {
+        return new MapRecordWriter(records::pushMap);
+    }
+
+    @Override
+    public void beginRecord() {
+        current = Arguments.createMap();
+        estimatedBytes += PayloadSize.OBJECT;
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        current.putString(key, value);
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.string(value);
+    }
+
+    @Override
+    public void putDictionaryString(String key, String value) {
+        current.putString(key, value);
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.string(value);
+    }
+
+    @Override
+    public void putTime(String key, long epochMillis) {
+        current.putString(key, Instant.ofEpochMilli(epochMillis).toString());
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.ISO_TIME;
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        current.putInt(key, value);
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.NUMBER;
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        current.putDouble(key, value);
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.NUMBER;
+    }
+
+    @Override
+    public void putArray(String key, WritableArray value) {
+        estimatedBytes += PayloadSize.key(key) + PayloadSize.array(value);
+        current.putArray(key, value);
+    }
+
+    @Override
+    public void endRecord() {
+        sink.add(current);
+        current = null;
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -0,0 +1,127 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Promise decorator that times one bridge call. mark(phase) closes a phase that started at the
+ * previous mark (or at the call); settling the promise records the time since the last mark as
+ * "dispatch" and the whole call as "total", and counts rejections as errors.
+ * Marks are expected from one thread at a time (the call's coroutine), as the modules use them.
+ */
+public final class MeasuredPromise implements Promise {
+    private final NativeMetrics metrics;
+    private final NativeMetrics.MethodMetrics method;
+    private final Promise delegate;
+    private final long startNanos;
+    private long lastMarkNanos;
+    private boolean marked;
+    private boolean settled;
+
+    MeasuredPromise(NativeMetrics metrics, String method, Promise delegate) {
+        this.metrics = metrics;
+        this.method = metrics.method(method);
+        this.delegate = delegate;
+        this.startNanos = System.nanoTime();
+        this.lastMarkNanos = startNanos;
+        this.method.calls.increment();
+    }
+
+    public void mark(String phase) {
+        long now = System.nanoTime();
+        method.phase(phase).recordNanos(now - lastMarkNanos);
+        lastMarkNanos = now;
+        marked = true;
+    }
+
+    public void addRecords(long count) {
+        method.records.add(count);
+    }
+
+    public void addPayloadBytes(long bytes) {
+        method.payloadBytes.add(bytes);
+        metrics.increment(NativeMetrics.COUNTER_PAYLOAD_BYTES, bytes);
+    }
+
+    private void settle(boolean success) {
+        if (settled) {
+            return;
+        }
+        settled = true;
+        long now = System.nanoTime();
+        if (marked) {
+            method.phase(NativeMetrics.PHASE_DISPATCH).recordNanos(now - lastMarkNanos);
+        }
+        method.phase(NativeMetrics.PHASE_TOTAL).recordNanos(now - startNanos);
+        if (!success) {
+            method.errors.increment();
+        }
+    }
+
+    @Override
+    public void resolve(Object value) {
+        settle(true);
+        delegate.resolve(value);
+    }
+
+    @Override
+    public void reject(String code, String message) {
+        settle(false);
+        delegate.reject(code, message);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable) {
+        settle(false);
+        delegate.reject(code, throwable);
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable) {
+        settle(false);
+        delegate.reject(code, message, throwable);
+    }
+
+    @Override
+    public void reject(Throwable throwable) {
+        settle(false);
+        delegate.reject(throwable);
+    }
+
+    @Override
+    public void reject(Throwable throwable, WritableMap userInfo) {
+        settle(false);
+        delegate.reject(throwable, userInfo);
+    }
+
+    @Override
+    public void reject(String code, WritableMap userInfo) {
+        settle(false);
+        delegate.reject(code, userInfo);
+    }
+
+    @Override
+    public void reject(String code, Throwable throwable, WritableMap userInfo) {
+        settle(false);
+        delegate.reject(code, throwable, userInfo);
+    }
+
+    @Override
+    public void reject(String code, String message, WritableMap userInfo) {
+        settle(false);
+        delegate.reject(code, message, userInfo);
+    }
+
+    @Override
+    public void reject(String code, String message, Throwable throwable, WritableMap userInfo) {
+        settle(false);
+        delegate.reject(code, message, throwable, userInfo);
+    }
+
+    @Override
+    @Deprecated
+    public void reject(String message) {
+        settle(false);
+        delegate.reject(message);
+    }
+}
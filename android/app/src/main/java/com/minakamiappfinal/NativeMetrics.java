@@ -0,0 +1,131 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide latency histograms per (method, phase) and named counters for the native modules.
+ * Everything is lock-free on the recording path; snapshots and resets may interleave with
+ * in-flight calls, which then land in either the old or the new window.
+ *
+ * Phases used by the health modules: "provider" (Health Connect IPC or data generation),
+ * "convert" (records to bridge payload), "dispatch" (hop to the main thread until the promise
+ * settles) and "total" (bridge call to settle).
+ */
+public final class NativeMetrics {
+    public static final String PHASE_TOTAL = "total";
+    public static final String PHASE_PROVIDER = "provider";
+    public static final String PHASE_CONVERT = "convert";
+    public static final String PHASE_DISPATCH = "dispatch";
+
+    public static final String COUNTER_RECORDS_READ = "recordsRead";
+    public static final String COUNTER_PAGES_FETCHED = "pagesFetched";
+    public static final String COUNTER_PAYLOAD_BYTES = "payloadBytes";
+
+    private static final NativeMetrics INSTANCE = new NativeMetrics();
+
+    private final ConcurrentMap<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private volatile long windowStart = System.currentTimeMillis();
+
+    static final class MethodMetrics {
+        final ConcurrentMap<String, LatencyHistogram> phases = new ConcurrentHashMap<>();
+        final LongAdder calls = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder records = new LongAdder();
+        final LongAdder payloadBytes = new LongAdder();
+
+        LatencyHistogram phase(String name) {
+            LatencyHistogram histogram = phases.get(name);
+            return histogram != null ? histogram : phases.computeIfAbsent(name, key -> new LatencyHistogram());
+        }
+    }
+
+    public static NativeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private NativeMetrics() {
+    }
+
+    /**
+     * Wraps a bridge promise so settling it records the call; see MeasuredPromise
+     */
+    public MeasuredPromise track(String method, Promise promise) {
+        return new MeasuredPromise(this, method, promise);
+    }
+
+    public void recordLatency(String method, String phase, long elapsedNanos) {
+        method(method).phase(phase).recordNanos(elapsedNanos);
+    }
+
+    /**
+     * For synchronous and fire-and-forget methods: records "total" since startNanos (System.nanoTime)
+     */
+    public void recordCall(String method, long startNanos) {
+        MethodMetrics metrics = method(method);
+        metrics.calls.increment();
+        metrics.phase(PHASE_TOTAL).recordNanos(System.nanoTime() - startNanos);
+    }
+
+    public void increment(String counter, long delta) {
+        LongAdder adder = counters.get(counter);
+        if (adder == null) {
+            adder = counters.computeIfAbsent(counter, key -> new LongAdder());
+        }
+        adder.add(delta);
+    }
+
+    MethodMetrics method(String name) {
+        MethodMetrics metrics = methods.get(name);
+        return metrics != null ? metrics : methods.computeIfAbsent(name, key -> new MethodMetrics());
+    }
+
+    /**
+     * { since, durationMs, counters: { name: n }, methods: { name: { calls, errors, records,
+     * payloadBytes, phases: { phase: { count, meanMs, p50Ms, p90Ms, p99Ms, maxMs } } } } }
+     */
+    public WritableMap toWritableMap() {
+        long now = System.currentTimeMillis();
+
+        WritableMap counterMap = Arguments.createMap();
+        for (Map.Entry<String, LongAdder> counter : counters.entrySet()) {
+            counterMap.putDouble(counter.getKey(), counter.getValue().sum());
+        }
+
+        WritableMap methodMaps = Arguments.createMap();
+        for (Map.Entry<String, MethodMetrics> entry : methods.entrySet()) {
+            MethodMetrics metrics = entry.getValue();
+            WritableMap phaseMaps = Arguments.createMap();
+            for (Map.Entry<String, LatencyHistogram> phase : metrics.phases.entrySet()) {
+                phaseMaps.putMap(phase.getKey(), phase.getValue().toWritableMap());
+            }
+            WritableMap methodMap = Arguments.createMap();
+            methodMap.putDouble("calls", metrics.calls.sum());
+            methodMap.putDouble("errors", metrics.errors.sum());
+            methodMap.putDouble("records", metrics.records.sum());
+            methodMap.putDouble("payloadBytes", metrics.payloadBytes.sum());
+            methodMap.putMap("phases", phaseMaps);
+            methodMaps.putMap(entry.getKey(), methodMap);
+        }
+
+        WritableMap result = Arguments.createMap();
+        result.putDouble("since", windowStart);
+        result.putDouble("durationMs", now - windowStart);
+        result.putMap("counters", counterMap);
+        result.putMap("methods", methodMaps);
+        return result;
+    }
+
+    public void reset() {
+        methods.clear();
+        counters.clear();
+        windowStart = System.currentTimeMillis();
+    }
+}
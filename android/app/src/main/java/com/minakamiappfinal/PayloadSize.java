@@ -0,0 +1,34 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.ReadableArray;
+
+/**
+ * Rough JSON-equivalent byte sizes used by the record writers to report how much they hand to
+ * the bridge. Close enough to compare formats and spot regressions, not an exact serialized size.
+ */
+final class PayloadSize {
+    static final int NULL = 5;
+    static final int NUMBER = 8;
+    static final int EPOCH_MILLIS = 14;
+    static final int ISO_TIME = 27;
+    static final int DICTIONARY_INDEX = 2;
+    static final int OBJECT = 2;
+
+    private PayloadSize() {
+    }
+
+    static int key(String key) {
+        return key.length() + 3;
+    }
+
+    static int string(String value) {
+        return value == null ? NULL : value.length() + 3;
+    }
+
+    /**
+     * Nested arrays only carry numbers in the health payloads (heart rate samples)
+     */
+    static int array(ReadableArray value) {
+        return value == null ? NULL : OBJECT + value.size() * NUMBER;
+    }
+}
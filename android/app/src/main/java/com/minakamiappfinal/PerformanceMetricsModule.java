@@ -0,0 +1,65 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+
+/**
+ * Exposes native performance measurements to JS (src/services/performanceService.js)
+ */
+public class PerformanceMetricsModule extends ReactContextBaseJavaModule {
+    public static final String NAME = "PerformanceMetricsModule";
+
+    public PerformanceMetricsModule(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Cold-start phases recorded by StartupTrace (including phases JS marked itself), tagged with
+     * the app version so regressions can be compared per release
+     */
+    @ReactMethod
+    public void getStartupTimings(Promise promise) {
+        try {
+            WritableMap timings = StartupTrace.getInstance().toWritableMap();
+            timings.putString("appVersion", BuildConfig.VERSION_NAME);
+            timings.putInt("appVersionCode", BuildConfig.VERSION_CODE);
+            promise.resolve(timings);
+        } catch (Exception e) {
+            promise.reject("STARTUP_TIMINGS_ERROR", e.getMessage());
+        }
+    }
+
+    /**
+     * Lets JS add its own milestones (e.g. first screen rendered) to the same timeline
+     */
+    @ReactMethod
+    public void markStartupPhase(String name) {
+        StartupTrace.getInstance().mark("js." + name);
+    }
+
+    /**
+     * Per-method latency histograms and counters collected by NativeMetrics since the last reset
+     */
+    @ReactMethod
+    public void getNativeMetrics(Promise promise) {
+        try {
+            promise.resolve(NativeMetrics.getInstance().toWritableMap());
+        } catch (Exception e) {
+            promise.reject("NATIVE_METRICS_ERROR", e.getMessage());
+        }
+    }
+
+    @ReactMethod
+    public void resetNativeMetrics(Promise promise) {
+        NativeMetrics.getInstance().reset();
+        promise.resolve(true);
+    }
+}
@@ -0,0 +1,251 @@
+package com.minakamiappfinal;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds visited places in location fixes with DBSCAN run over geohash cells instead of single fixes.
+ * Fixes are first pooled into cells well under the radius (weighted by their fix count), cells are
+ * clustered by density, and every fix takes its cell's place. The work grows with the area covered,
+ * not with the number of fixes, so months of fixes at home cost about as much as a day.
+ *
+ * Fixes must be in time order; visits to a place are runs of its fixes without a gap longer than visitGapMillis.
+ */
+public class PlaceClusterer {
+    public static final int DEFAULT_MIN_POINTS = 3;
+    public static final long DEFAULT_VISIT_GAP_MILLIS = 30 * 60 * 1000;
+    private static final int NOISE = -1;
+
+    /**
+     * One entry per place, in order of first visit
+     */
+    public static final class Places {
+        public int size;
+        public double[] latitudes;
+        public double[] longitudes;
+        public String[] geohashes;
+        public int[] fixes;
+        public int[] visits;
+        public long[] firstTimes;
+        public long[] lastTimes;
+        public long[] dwellMillis;
+        public double[] radiusMeters;
+        public int noise;
+    }
+
+    private final double radiusMeters;
+    private final int minPoints;
+    private final long visitGapMillis;
+
+    public PlaceClusterer(double radiusMeters, int minPoints, long visitGapMillis) {
+        this.radiusMeters = radiusMeters;
+        this.minPoints = minPoints;
+        this.visitGapMillis = visitGapMillis;
+    }
+
+    /**
+     * [geohashes] may hold null or shorter hashes; those are computed
+     */
+    public Places cluster(double[] latitudes, double[] longitudes, long[] times, String[] geohashes, int n) {
+        double extremeLatitude = 0;
+        for (int i = 0; i < n; i++) {
+            extremeLatitude = Math.max(extremeLatitude, Math.abs(latitudes[i]));
+        }
+        // Cells no wider than half the radius pool fixes; the neighbour search uses cells as wide as the radius
+        int searchPrecision = Geohash.precisionForRadius(radiusMeters, extremeLatitude);
+        int cellPrecision = Math.min(Math.max(Geohash.precisionForRadius(radiusMeters / 2, extremeLatitude) + 1,
+                searchPrecision), Geohash.STORED_PRECISION);
+
+        // Pool fixes into cells
+        Map<String, Integer> cellIds = new HashMap<>();
+        int[] cellOf = new int[n];
+        double[] cellLatitudeSums = new double[16];
+        double[] cellLongitudeSums = new double[16];
+        int[] cellCounts = new int[16];
+        String[] cellKeys = new String[16];
+        int cells = 0;
+        for (int i = 0; i < n; i++) {
+            String hash = geohashes != null && geohashes[i] != null && geohashes[i].length() >= cellPrecision
+                    ? geohashes[i]
+                    : Geohash.encode(latitudes[i], longitudes[i], cellPrecision);
+            String key = hash.substring(0, cellPrecision);
+            Integer id = cellIds.get(key);
+            if (id == null) {
+                if (cells == cellCounts.length) {
+                    int capacity = cells * 2;
+                    cellLatitudeSums = Arrays.copyOf(cellLatitudeSums, capacity);
+                    cellLongitudeSums = Arrays.copyOf(cellLongitudeSums, capacity);
+                    cellCounts = Arrays.copyOf(cellCounts, capacity);
+                    cellKeys = Arrays.copyOf(cellKeys, capacity);
+                }
+                id = cells++;
+                cellIds.put(key, id);
+                cellKeys[id] = key;
+            }
+            cellOf[i] = id;
+            cellLatitudeSums[id] += latitudes[i];
+            cellLongitudeSums[id] += longitudes[i];
+            cellCounts[id]++;
+        }
+
+        double[] cellLatitudes = new double[cells];
+        double[] cellLongitudes = new double[cells];
+        Map<String, IntList> buckets = new HashMap<>();
+        for (int c = 0; c < cells; c++) {
+            cellLatitudes[c] = cellLatitudeSums[c] / cellCounts[c];
+            cellLongitudes[c] = cellLongitudeSums[c] / cellCounts[c];
+            buckets.computeIfAbsent(cellKeys[c].substring(0, searchPrecision), key -> new IntList()).add(c);
+        }
+
+        // DBSCAN over cells, a cell counting as many points as it pools
+        int[] labels = new int[cells];
+        int clusters = 0;
+        IntList seeds = new IntList();
+        IntList neighbours = new IntList();
+        for (int c = 0; c < cells; c++) {
+            if (labels[c] != 0) {
+                continue;
+            }
+            if (neighbours(c, cellLatitudes, cellLongitudes, cellCounts, buckets, searchPrecision, neighbours) < minPoints) {
+                labels[c] = NOISE;
+                continue;
+            }
+            int cluster = ++clusters;
+            labels[c] = cluster;
+            seeds.size = 0;
+            seeds.addAll(neighbours);
+            for (int s = 0; s < seeds.size; s++) {
+                int q = seeds.values[s];
+                if (labels[q] == NOISE) {
+                    labels[q] = cluster; // border cell
+                }
+                if (labels[q] != 0) {
+                    continue;
+                }
+                labels[q] = cluster;
+                if (neighbours(q, cellLatitudes, cellLongitudes, cellCounts, buckets, searchPrecision, neighbours) >= minPoints) {
+                    seeds.addAll(neighbours);
+                }
+            }
+        }
+
+        return summarize(latitudes, longitudes, times, n, cellOf, labels, clusters);
+    }
+
+    // Collects the cells within the radius of [cell] (itself included); returns the fixes they pool
+    private int neighbours(int cell, double[] latitudes, double[] longitudes, int[] counts,
+                           Map<String, IntList> buckets, int precision, IntList out) {
+        out.size = 0;
+        int points = 0;
+        for (String key : Geohash.neighbourhood(latitudes[cell], longitudes[cell], precision)) {
+            IntList bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            for (int k = 0; k < bucket.size; k++) {
+                int other = bucket.values[k];
+                if (StayPointDetector.distanceMeters(latitudes[cell], longitudes[cell], latitudes[other], longitudes[other]) <= radiusMeters) {
+                    out.add(other);
+                    points += counts[other];
+                }
+            }
+        }
+        return points;
+    }
+
+    private Places summarize(double[] latitudes, double[] longitudes, long[] times, int n,
+                             int[] cellOf, int[] labels, int clusters) {
+        double[] latitudeSums = new double[clusters + 1];
+        double[] longitudeSums = new double[clusters + 1];
+        int[] fixes = new int[clusters + 1];
+        int[] visits = new int[clusters + 1];
+        long[] firstTimes = new long[clusters + 1];
+        long[] lastTimes = new long[clusters + 1];
+        long[] visitStarts = new long[clusters + 1];
+        long[] dwell = new long[clusters + 1];
+        int noise = 0;
+
+        for (int i = 0; i < n; i++) {
+            int cluster = labels[cellOf[i]];
+            if (cluster == NOISE) {
+                noise++;
+                continue;
+            }
+            long time = times[i];
+            if (fixes[cluster] == 0) {
+                firstTimes[cluster] = time;
+                visitStarts[cluster] = time;
+                visits[cluster] = 1;
+            } else if (time - lastTimes[cluster] > visitGapMillis) {
+                dwell[cluster] += lastTimes[cluster] - visitStarts[cluster];
+                visitStarts[cluster] = time;
+                visits[cluster]++;
+            }
+            lastTimes[cluster] = time;
+            fixes[cluster]++;
+            latitudeSums[cluster] += latitudes[i];
+            longitudeSums[cluster] += longitudes[i];
+        }
+
+        // Clusters are numbered by their first cell, not their first fix; order them by first visit
+        Integer[] order = new Integer[clusters];
+        for (int k = 0; k < clusters; k++) {
+            order[k] = k + 1;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(firstTimes[a], firstTimes[b]));
+        int[] rank = new int[clusters + 1];
+
+        Places places = new Places();
+        places.size = clusters;
+        places.noise = noise;
+        places.latitudes = new double[clusters];
+        places.longitudes = new double[clusters];
+        places.geohashes = new String[clusters];
+        places.fixes = new int[clusters];
+        places.visits = new int[clusters];
+        places.firstTimes = new long[clusters];
+        places.lastTimes = new long[clusters];
+        places.dwellMillis = new long[clusters];
+        places.radiusMeters = new double[clusters];
+        for (int k = 0; k < clusters; k++) {
+            int cluster = order[k];
+            rank[cluster] = k;
+            places.latitudes[k] = latitudeSums[cluster] / fixes[cluster];
+            places.longitudes[k] = longitudeSums[cluster] / fixes[cluster];
+            places.geohashes[k] = Geohash.encode(places.latitudes[k], places.longitudes[k], 8);
+            places.fixes[k] = fixes[cluster];
+            places.visits[k] = visits[cluster];
+            places.firstTimes[k] = firstTimes[cluster];
+            places.lastTimes[k] = lastTimes[cluster];
+            places.dwellMillis[k] = dwell[cluster] + lastTimes[cluster] - visitStarts[cluster];
+        }
+        for (int i = 0; i < n; i++) {
+            int cluster = labels[cellOf[i]];
+            if (cluster != NOISE) {
+                int k = rank[cluster];
+                places.radiusMeters[k] = Math.max(places.radiusMeters[k], StayPointDetector.distanceMeters(
+                        places.latitudes[k], places.longitudes[k], latitudes[i], longitudes[i]));
+            }
+        }
+        return places;
+    }
+
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int k = 0; k < other.size; k++) {
+                add(other.values[k]);
+            }
+        }
+    }
+}
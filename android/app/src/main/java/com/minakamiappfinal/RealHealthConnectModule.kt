@@ -12,50 +12,90 @@ import androidx.activity.result.contract.ActivityResultContract
 import androidx.health.connect.client.HealthConnectClient
 import androidx.health.connect.client.permission.HealthPermission
 import androidx.health.connect.client.records.*
-import androidx.health.connect.client.request.ReadRecordsRequest
+import androidx.health.connect.client.time.TimeRangeFilter
 import androidx.health.connect.client.units.Energy
 import androidx.health.connect.client.units.Length
-import androidx.health.connect.client.time.TimeRangeFilter
 import com.facebook.react.bridge.*
+import com.facebook.react.modules.core.DeviceEventManagerModule
 import kotlinx.coroutines.*
 import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+import kotlin.reflect.KClass
 
 /**
  * Real Health Connect Module - Kotlin implementation with actual Health Connect API calls
  * This module provides genuine Health Connect integration without data simulation
  * Based on Samsung Health Connect official documentation
  */
-class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactContextBaseJavaModule(reactContext) {
+class RealHealthConnectModule(reactContext: ReactApplicationContext) : NativeHealthConnectSpec(reactContext) {
 
     companion object {
         const val TAG = "RealHealthConnectModule"
         const val HEALTH_CONNECT_PACKAGE = "com.google.android.apps.healthdata"
+        const val EVENT_RECORDS_CHUNK = "HealthConnectRecordsChunk"
+        const val EVENT_RECORDS_COMPLETE = "HealthConnectRecordsComplete"
+        const val EVENT_BACKFILL_PROGRESS = "HealthBackfillProgress"
+
+        // Record types whose values add up over time, so charts sum them rather than sample them
+        val CUMULATIVE_RECORD_CLASSES: Set<KClass<out Record>> = setOf(
+            StepsRecord::class,
+            DistanceRecord::class,
+            ActiveCaloriesBurnedRecord::class,
+            TotalCaloriesBurnedRecord::class
+        )
     }
 
     private val healthConnectClient: HealthConnectClient? by lazy {
-        try {
-            val status = HealthConnectClient.getSdkStatus(reactContext, HEALTH_CONNECT_PACKAGE)
-            when (status) {
-                HealthConnectClient.SDK_AVAILABLE -> {
-                    HealthConnectClient.getOrCreate(reactContext).also {
-                        Log.d(TAG, "Health Connect client initialized successfully")
-                    }
-                }
-                HealthConnectClient.SDK_UNAVAILABLE_PROVIDER_UPDATE_REQUIRED -> {
-                    Log.w(TAG, "Health Connect provider update required")
-                    null
-                }
-                else -> {
-                    Log.w(TAG, "Health Connect SDK unavailable")
-                    null
-                }
-            }
-        } catch (e: Exception) {
-            Log.e(TAG, "Failed to initialize Health Connect client", e)
+        HealthConnectClientProvider.get(reactContext)
+    }
+
+    private val healthConnectReader: HealthConnectReader? by lazy {
+        healthConnectClient?.let { HealthConnectReader(it) }
+    }
+
+    private val stateSnapshot = HealthStateSnapshot.getInstance(reactContext)
+
+    private val metrics = NativeMetrics.getInstance()
+
+    private val cachedHealthReader: CachedHealthConnectReader? by lazy {
+        healthConnectReader?.let { CachedHealthConnectReader(it, snapshot = stateSnapshot) }
+    }
+
+    private val healthConnectAggregator: HealthConnectAggregator? by lazy {
+        healthConnectClient?.let { HealthConnectAggregator(it) }
+    }
+
+    private val healthChangesTracker: HealthChangesTracker? by lazy {
+        val client = healthConnectClient
+        val reader = healthConnectReader
+        if (client != null && reader != null) HealthChangesTracker(reactContext, client, reader) else null
+    }
+
+    private val healthConnectIngestor: HealthConnectIngestor? by lazy {
+        healthConnectReader?.let {
+            HealthConnectIngestor(it, HealthDatabaseWriter.getInstance(reactContext), TimeSeriesStore.getInstance(reactContext))
+        }
+    }
+
+    private val healthIncrementalSync: HealthIncrementalSync? by lazy {
+        val client = healthConnectClient
+        val reader = healthConnectReader
+        val ingestor = healthConnectIngestor
+        if (client != null && reader != null && ingestor != null) {
+            HealthIncrementalSync.create(reactContext, client, reader, ingestor)
+        } else {
             null
         }
     }
 
+    private val healthBackfillJob: HealthBackfillJob? by lazy {
+        healthConnectIngestor?.let { HealthBackfillJob(reactContext, it) }
+    }
+
+    // Running backfills by job id, so the same plan is never ingested twice at once and can be cancelled
+    private val activeBackfills = java.util.concurrent.ConcurrentHashMap<String, Job>()
+
     private val coroutineScope = CoroutineScope(Dispatchers.IO + SupervisorJob())
     private val grantedPermissions = mutableSetOf<String>()
 
@@ -115,6 +155,18 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                     putArray("denied", deniedArray)
                 }
 
+                stateSnapshot.updateGrantedRecordTypes(
+                    grantedPermissions.mapNotNull { getRecordTypeFromPermission(it) }.toSet(),
+                    deniedPermissions.mapNotNull { getRecordTypeFromPermission(it) }.toSet()
+                )
+
+                // The background sync job can only read once this is granted
+                val backgroundRead = grantedPermissions.contains(HealthPermission.PERMISSION_READ_HEALTH_DATA_IN_BACKGROUND)
+                result.putBoolean("backgroundRead", backgroundRead)
+                if (backgroundRead) {
+                    coroutineScope.launch { HealthSyncJobService.schedule(reactApplicationContext) }
+                }
+
                 // ✅ Resolve the promise with result
                 permissionPromise?.resolve(result)
                 permissionPromise = null
@@ -131,8 +183,45 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
 
     override fun getName(): String = "RealHealthConnectModule"
 
+    override fun getTypedExportedConstants(): Map<String, Any> {
+        return mapOf(
+            "EVENT_RECORDS_CHUNK" to EVENT_RECORDS_CHUNK,
+            "EVENT_RECORDS_COMPLETE" to EVENT_RECORDS_COMPLETE,
+            "EVENT_BACKFILL_PROGRESS" to EVENT_BACKFILL_PROGRESS
+        )
+    }
+
+    /**
+     * Last known availability from the state snapshot; false until the first check has run
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    override fun isHealthConnectAvailableSync(): Boolean = timed("isHealthConnectAvailableSync") {
+        stateSnapshot.isAvailable() == true
+    }
+
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    override fun getGrantedRecordTypesSync(): WritableArray = timed("getGrantedRecordTypesSync") {
+        stateSnapshot.grantedRecordTypesToArray()
+    }
+
+    /**
+     * Everything the first dashboard frame needs in one synchronous call:
+     * { availability, grantedRecordTypes, sync: { watermarks, lastRun }, today }
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    override fun getStateSnapshotSync(): WritableMap = timed("getStateSnapshotSync") {
+        Arguments.createMap().apply {
+            putMap("availability", stateSnapshot.availabilityToMap())
+            putArray("grantedRecordTypes", stateSnapshot.grantedRecordTypesToArray())
+            putMap("sync", backgroundSyncState())
+            val today = stateSnapshot.todayTotalsToMap(LocalDate.now())
+            if (today != null) putMap("today", today) else putNull("today")
+        }
+    }
+
     @ReactMethod
-    fun isHealthConnectAvailable(promise: Promise) {
+    override fun isHealthConnectAvailable(promise: Promise) {
+        val call = metrics.track("isHealthConnectAvailable", promise)
         coroutineScope.launch {
             try {
                 Log.d(TAG, "Performing real-time Health Connect availability check...")
@@ -150,8 +239,9 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                 
                 if (!isPackageInstalled) {
                     Log.w(TAG, "Health Connect app is not installed on this device")
+                    stateSnapshot.setAvailability(HealthConnectClient.SDK_UNAVAILABLE, false)
                     withContext(Dispatchers.Main) {
-                        promise.resolve(false)
+                        call.resolve(false)
                     }
                     return@launch
                 }
@@ -180,21 +270,23 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                 }
                 
                 Log.i(TAG, "Health Connect availability check completed: $available (status: $status)")
+                stateSnapshot.setAvailability(status, available)
                 
                 withContext(Dispatchers.Main) {
-                    promise.resolve(available)
+                    call.resolve(available)
                 }
             } catch (e: Exception) {
                 Log.e(TAG, "Error checking Health Connect availability", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("AVAILABILITY_CHECK_ERROR", "Failed to check Health Connect availability: ${e.message}")
+                    call.reject("AVAILABILITY_CHECK_ERROR", "Failed to check Health Connect availability: ${e.message}")
                 }
             }
         }
     }
 
     @ReactMethod
-    fun openHealthConnectInPlayStore(promise: Promise) {
+    override fun openHealthConnectInPlayStore(promise: Promise) {
+        val call = metrics.track("openHealthConnectInPlayStore", promise)
         try {
             val uriString = "market://details?id=$HEALTH_CONNECT_PACKAGE&url=healthconnect%3A%2F%2Fonboarding"
             val intent = Intent(Intent.ACTION_VIEW).apply {
@@ -207,15 +299,16 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
             
             reactApplicationContext.startActivity(intent)
             Log.d(TAG, "Opened Health Connect in Play Store")
-            promise.resolve(true)
+            call.resolve(true)
         } catch (e: Exception) {
             Log.e(TAG, "Failed to open Health Connect in Play Store", e)
-            promise.reject("PLAY_STORE_ERROR", "Failed to open Play Store: ${e.message}")
+            call.reject("PLAY_STORE_ERROR", "Failed to open Play Store: ${e.message}")
         }
     }
 
     @ReactMethod
-    fun openHealthConnectSettings(promise: Promise) {
+    override fun openHealthConnectSettings(promise: Promise) {
+        val call = metrics.track("openHealthConnectSettings", promise)
         try {
             val intent = Intent().apply {
                 action = "android.settings.APPLICATION_DETAILS_SETTINGS"
@@ -225,21 +318,22 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
             
             reactApplicationContext.startActivity(intent)
             Log.d(TAG, "Opened Health Connect settings")
-            promise.resolve(true)
+            call.resolve(true)
         } catch (e: Exception) {
             Log.e(TAG, "Failed to open Health Connect settings", e)
-            promise.reject("SETTINGS_ERROR", "Failed to open Health Connect settings: ${e.message}")
+            call.reject("SETTINGS_ERROR", "Failed to open Health Connect settings: ${e.message}")
         }
     }
 
     @ReactMethod
-    fun checkPermissions(permissionRequests: ReadableArray, promise: Promise) {
+    override fun checkPermissions(permissionRequests: ReadableArray, promise: Promise) {
+        val call = metrics.track("checkPermissions", promise)
         coroutineScope.launch {
             try {
                 val client = healthConnectClient
                 if (client == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
@@ -262,21 +356,25 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                             putArray("granted", Arguments.createArray())
                             putArray("denied", Arguments.createArray())
                         }
-                        promise.resolve(result)
+                        call.resolve(result)
                     }
                     return@launch
                 }
 
                 // Get currently granted permissions using the correct API
+                var grantedKnown = true
                 val currentlyGranted = try {
                     client.permissionController.getGrantedPermissions()
                 } catch (e: Exception) {
                     Log.e(TAG, "Error getting granted permissions", e)
+                    grantedKnown = false
                     emptySet<String>()
                 }
                 
                 val grantedArray = Arguments.createArray()
                 val deniedArray = Arguments.createArray()
+                val grantedTypes = mutableSetOf<String>()
+                val deniedTypes = mutableSetOf<String>()
 
                 permissions.forEach { permission ->
                     val recordType = getRecordTypeFromPermission(permission.toString())
@@ -289,11 +387,17 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                         if (currentlyGranted.contains(permission)) {
                             grantedArray.pushMap(permissionMap)
                             this@RealHealthConnectModule.grantedPermissions.add(recordType)
+                            grantedTypes.add(recordType)
                         } else {
                             deniedArray.pushMap(permissionMap)
+                            deniedTypes.add(recordType)
                         }
                     }
                 }
+                // A failed lookup says nothing about the grants, so it must not clear the snapshot
+                if (grantedKnown) {
+                    stateSnapshot.updateGrantedRecordTypes(grantedTypes, deniedTypes)
+                }
 
                 val result = Arguments.createMap().apply {
                     putBoolean("success", true)
@@ -304,12 +408,12 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                 Log.d(TAG, "Permission check result: ${grantedArray.size()} granted, ${deniedArray.size()} denied")
                 
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
                 Log.e(TAG, "Error checking permissions", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("PERMISSION_CHECK_ERROR", e.message)
+                    call.reject("PERMISSION_CHECK_ERROR", e.message)
                 }
             }
         }
@@ -325,13 +429,14 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
      * After: Actually requests permissions via Health Connect UI
      */
     @ReactMethod
-    fun requestPermissions(permissionRequests: ReadableArray, promise: Promise) {
+    override fun requestPermissions(permissionRequests: ReadableArray, promise: Promise) {
+        val call = metrics.track("requestPermissions", promise)
         try {
             Log.d(TAG, "Starting REAL permission request flow...")
 
             val client = healthConnectClient
             if (client == null) {
-                promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                 return
             }
 
@@ -346,6 +451,11 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                 permissions.addAll(recordPermissions)
             }
 
+            // Lets HealthSyncJobService read while the app is in the background, where Health Connect supports it
+            if (permissions.isNotEmpty() && HealthSyncJobService.isBackgroundReadAvailable(client)) {
+                permissions.add(HealthPermission.PERMISSION_READ_HEALTH_DATA_IN_BACKGROUND)
+            }
+
             if (permissions.isEmpty()) {
                 val result = Arguments.createMap().apply {
                     putBoolean("success", false)
@@ -353,12 +463,12 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                     putArray("granted", Arguments.createArray())
                     putArray("denied", Arguments.createArray())
                 }
-                promise.resolve(result)
+                call.resolve(result)
                 return
             }
 
             // ✅ SAVE THE PROMISE - will be resolved by BroadcastReceiver
-            permissionPromise = promise
+            permissionPromise = call
 
             // ✅ LAUNCH THE PERMISSION REQUEST ACTIVITY
             val intent = Intent(reactApplicationContext, HealthConnectPermissionActivity::class.java).apply {
@@ -371,7 +481,7 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
 
         } catch (e: Exception) {
             Log.e(TAG, "Error launching permission request", e)
-            promise.reject("PERMISSION_REQUEST_ERROR", e.message)
+            call.reject("PERMISSION_REQUEST_ERROR", e.message)
         }
     }
 
@@ -382,7 +492,8 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
      * After: Uses correct Health Connect settings intent
      */
     @ReactMethod
-    fun openHealthConnectPermissions(promise: Promise) {
+    override fun openHealthConnectPermissions(promise: Promise) {
+        val call = metrics.track("openHealthConnectPermissions", promise)
         try {
             // ✅ CORRECT Health Connect settings intent
             val intent = Intent("android.health.connect.action.HEALTH_CONNECT_SETTINGS").apply {
@@ -392,7 +503,7 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
             try {
                 reactApplicationContext.startActivity(intent)
                 Log.d(TAG, "✅ Opened Health Connect settings with CORRECT intent action")
-                promise.resolve(true)
+                call.resolve(true)
             } catch (e: Exception) {
                 // Fallback to app-specific settings
                 Log.w(TAG, "Health Connect settings intent failed, trying fallback...")
@@ -403,148 +514,158 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
                 }
                 reactApplicationContext.startActivity(fallbackIntent)
                 Log.d(TAG, "Opened Health Connect app settings (fallback)")
-                promise.resolve(true)
+                call.resolve(true)
             }
         } catch (e: Exception) {
             Log.e(TAG, "Failed to open Health Connect permissions", e)
-            promise.reject("PERMISSIONS_ERROR", "Failed to open Health Connect permissions: ${e.message}")
+            call.reject("PERMISSIONS_ERROR", "Failed to open Health Connect permissions: ${e.message}")
         }
     }
 
     @ReactMethod
-    fun readStepsRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun readStepsRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readStepsRecords", promise)
         coroutineScope.launch {
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val reader = cachedHealthReader
+                if (reader == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
                 if (!grantedPermissions.contains("Steps")) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("PERMISSION_DENIED", "Steps permission not granted")
+                        call.reject("PERMISSION_DENIED", "Steps permission not granted")
                     }
                     return@launch
                 }
 
-                val startTimeStr = timeRangeFilter.getString("startTime") ?: throw IllegalArgumentException("startTime required")
-                val endTimeStr = timeRangeFilter.getString("endTime") ?: throw IllegalArgumentException("endTime required")
-                
-                val startTime = Instant.parse(startTimeStr)
-                val endTime = Instant.parse(endTimeStr)
-                
-                Log.d(TAG, "Reading steps records from $startTime to $endTime")
-
-                // Create time range filter
-                val filter = TimeRangeFilter.between(startTime, endTime)
-                
-                // Create read request for steps records - using correct API for SDK version
-                val readRequest = ReadRecordsRequest(
-                    recordType = StepsRecord::class,
-                    timeRangeFilter = filter
-                )
+                val filter = HealthConnectReader.parseTimeRange(timeRangeFilter)
+                Log.d(TAG, "Reading steps records for $filter")
 
-                // Read actual steps data from Health Connect
-                val response = client.readRecords(readRequest)
-                val records = response.records
+                // Past days come from the day cache, the rest from Health Connect following every page
+                val records = reader.read(StepsRecord::class, timeRangeFilter)
+                call.mark(NativeMetrics.PHASE_PROVIDER)
 
                 Log.d(TAG, "Retrieved ${records.size} real steps records from Health Connect")
 
-                // Convert records to React Native format
-                val result = Arguments.createArray()
-                
-                for (record in records) {
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("startTime", record.startTime.toString())
-                        putString("endTime", record.endTime.toString())
-                        putInt("count", record.count.toInt())
-                        putString("device", record.metadata.device?.model ?: "Samsung Health")
-                        putString("source", "Health Connect")
-                    }
-                    result.pushMap(recordMap)
-                }
+                val result = HealthRecordConverter.toPayload(records, timeRangeFilter, call)
+                call.mark(NativeMetrics.PHASE_CONVERT)
 
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
                 Log.e(TAG, "Error reading steps records", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("READ_ERROR", e.message)
                 }
             }
         }
     }
 
     @ReactMethod
-    fun readHeartRateRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun readHeartRateRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readHeartRateRecords", promise)
         coroutineScope.launch {
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val reader = cachedHealthReader
+                if (reader == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
                 if (!grantedPermissions.contains("HeartRate")) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("PERMISSION_DENIED", "Heart rate permission not granted")
+                        call.reject("PERMISSION_DENIED", "Heart rate permission not granted")
                     }
                     return@launch
                 }
 
-                val startTimeStr = timeRangeFilter.getString("startTime") ?: throw IllegalArgumentException("startTime required")
-                val endTimeStr = timeRangeFilter.getString("endTime") ?: throw IllegalArgumentException("endTime required")
-                
-                val startTime = Instant.parse(startTimeStr)
-                val endTime = Instant.parse(endTimeStr)
-                
-                Log.d(TAG, "Reading heart rate records from $startTime to $endTime")
-
-                // Create time range filter
-                val filter = TimeRangeFilter.between(startTime, endTime)
-                
-                // Create read request for heart rate records - using correct API for SDK version
-                val readRequest = ReadRecordsRequest(
-                    recordType = HeartRateRecord::class,
-                    timeRangeFilter = filter
-                )
+                val filter = HealthConnectReader.parseTimeRange(timeRangeFilter)
+                Log.d(TAG, "Reading heart rate records for $filter")
 
-                // Read actual heart rate data from Health Connect
-                val response = client.readRecords(readRequest)
-                val records = response.records
+                // Past days come from the day cache, the rest from Health Connect following every page
+                val records = reader.read(HeartRateRecord::class, timeRangeFilter)
+                call.mark(NativeMetrics.PHASE_PROVIDER)
 
                 Log.d(TAG, "Retrieved ${records.size} real heart rate records from Health Connect")
 
-                // Convert records to React Native format
-                val result = Arguments.createArray()
-                
-                for (record in records) {
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("time", record.startTime.toString())
-                        // Heart rate records contain samples - get the first BPM reading
-                        val bpm = record.samples.firstOrNull()?.beatsPerMinute?.toInt() ?: 0
-                        putInt("beatsPerMinute", bpm)
-                        putString("device", record.metadata.device?.model ?: "Samsung Health")
-                        putString("source", "Health Connect")
+                val result = HealthRecordConverter.toPayload(records, timeRangeFilter, call)
+                call.mark(NativeMetrics.PHASE_CONVERT)
+
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error reading heart rate records", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("READ_ERROR", e.message)
+                }
+            }
+        }
+    }
+
+    /**
+     * Every sample of every HeartRateRecord in the range, flattened into packed time/BPM arrays
+     * (readHeartRateRecords keeps only the first sample per record). With options.bucketSeconds
+     * the samples are reduced to per-bucket average/min/max/count instead. Pages are folded into
+     * the series as they arrive, so no per-sample objects are kept.
+     */
+    @ReactMethod
+    override fun readHeartRateSamples(timeRangeFilter: ReadableMap, options: ReadableMap?, promise: Promise) {
+        val call = metrics.track("readHeartRateSamples", promise)
+        coroutineScope.launch {
+            try {
+                val reader = healthConnectReader
+                if (reader == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
-                    result.pushMap(recordMap)
+                    return@launch
                 }
 
+                if (!grantedPermissions.contains("HeartRate")) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("PERMISSION_DENIED", "Heart rate permission not granted")
+                    }
+                    return@launch
+                }
+
+                val filter = HealthConnectReader.parseTimeRange(timeRangeFilter)
+                val series = HeartRateSeries()
+                val summary = reader.readPages(HeartRateRecord::class, filter) { page, _ ->
+                    for (record in page) {
+                        for (sample in record.samples) {
+                            series.add(sample.time.toEpochMilli(), sample.beatsPerMinute.toInt())
+                        }
+                    }
+                }
+
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+                call.addRecords(series.size().toLong())
+                Log.d(TAG, "Flattened ${series.size()} heart rate samples from ${summary.records} records")
+
+                val bucketSeconds = if (options != null && options.hasKey("bucketSeconds")) options.getInt("bucketSeconds") else 0
+                val result = if (bucketSeconds > 0) {
+                    val origin = HealthConnectReader.parseInstant(timeRangeFilter, "startTime").toEpochMilli()
+                    series.toBucketPayload(origin, bucketSeconds * 1000L)
+                } else {
+                    series.toSamplesPayload()
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT)
+
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
-                Log.e(TAG, "Error reading heart rate records", e)
+                Log.e(TAG, "Error reading heart rate samples", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("READ_ERROR", e.message)
                 }
             }
         }
@@ -554,224 +675,974 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
      * ✅ Read Exercise Session Records
      */
     @ReactMethod
-    fun readExerciseRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun readExerciseRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readExerciseRecords", promise)
+        readRecordsOfType(ExerciseSessionRecord::class, "exercise", timeRangeFilter, call)
+    }
+
+    /**
+     * ✅ Read Distance Records
+     */
+    @ReactMethod
+    override fun readDistanceRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readDistanceRecords", promise)
+        readRecordsOfType(DistanceRecord::class, "distance", timeRangeFilter, call)
+    }
+
+    /**
+     * ✅ Read Calories Burned Records
+     */
+    @ReactMethod
+    override fun readCaloriesRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readCaloriesRecords", promise)
+        readRecordsOfType(ActiveCaloriesBurnedRecord::class, "calories", timeRangeFilter, call)
+    }
+
+    /**
+     * ✅ Read Sleep Session Records
+     */
+    @ReactMethod
+    override fun readSleepRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+        val call = metrics.track("readSleepRecords", promise)
+        readRecordsOfType(SleepSessionRecord::class, "sleep", timeRangeFilter, call)
+    }
+
+    /**
+     * Streaming read: walks the Health Connect page token and emits every page as a
+     * HealthConnectRecordsChunk event, followed by a HealthConnectRecordsComplete event with totals.
+     * Only one page is held in memory at a time, however long the range is.
+     * options.priority ("interactive", "prefetch" or "backfill") sets the scheduler class of the page reads.
+     * The promise resolves with the same totals as the completion event.
+     */
+    @ReactMethod
+    override fun readRecordsStream(recordType: String, timeRangeFilter: ReadableMap, options: ReadableMap?, promise: Promise) {
+        val call = metrics.track("readRecordsStream", promise)
+        val streamId = if (options != null && options.hasKey("streamId")) {
+            options.getString("streamId") ?: java.util.UUID.randomUUID().toString()
+        } else {
+            java.util.UUID.randomUUID().toString()
+        }
+        val pageSize = if (options != null && options.hasKey("pageSize")) {
+            options.getInt("pageSize")
+        } else {
+            HealthConnectReader.DEFAULT_PAGE_SIZE
+        }
+        val priority = HealthReadScheduler.priorityFor(
+            if (options != null && options.hasKey("priority")) options.getString("priority") else null
+        )
+
         coroutineScope.launch {
+            val startedAt = System.currentTimeMillis()
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val reader = healthConnectReader
+                if (reader == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
-                val startTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("startTime").toLong())
-                val endTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("endTime").toLong())
-                val filter = TimeRangeFilter.between(startTime, endTime)
+                val recordClass = HealthConnectReader.recordClassFor(recordType)
+                if (recordClass == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("INVALID_RECORD_TYPE", "Unsupported record type: $recordType")
+                    }
+                    return@launch
+                }
 
-                val readRequest = ReadRecordsRequest(
-                    recordType = ExerciseSessionRecord::class,
-                    timeRangeFilter = filter
-                )
+                val filter = HealthConnectReader.parseTimeRange(timeRangeFilter)
+                Log.d(TAG, "Streaming $recordType records for $filter (stream $streamId, pageSize $pageSize)")
 
-                val response = client.readRecords(readRequest)
-                val records = response.records
+                val summary = reader.readPages(recordClass, filter, pageSize, priority) { page, pageIndex ->
+                    val chunk = Arguments.createMap().apply {
+                        putString("streamId", streamId)
+                        putString("recordType", recordType)
+                        putInt("page", pageIndex)
+                        putArray("records", HealthRecordConverter.toWritableArray(page, call))
+                    }
+                    sendEvent(EVENT_RECORDS_CHUNK, chunk)
+                }
 
-                Log.d(TAG, "Retrieved ${records.size} exercise records from Health Connect")
+                call.addRecords(summary.records.toLong())
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+                Log.d(TAG, "Stream $streamId finished: ${summary.records} records in ${summary.pages} pages")
 
-                val result = Arguments.createArray()
+                val durationMs = System.currentTimeMillis() - startedAt
+                sendEvent(EVENT_RECORDS_COMPLETE, streamCompletion(streamId, recordType, summary, durationMs, null))
+                withContext(Dispatchers.Main) {
+                    call.resolve(streamCompletion(streamId, recordType, summary, durationMs, null))
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error streaming $recordType records", e)
+                val durationMs = System.currentTimeMillis() - startedAt
+                sendEvent(EVENT_RECORDS_COMPLETE, streamCompletion(streamId, recordType, null, durationMs, e.message))
+                withContext(Dispatchers.Main) {
+                    call.reject("READ_ERROR", e.message)
+                }
+            }
+        }
+    }
 
-                for (record in records) {
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("startTime", record.startTime.toString())
-                        putString("endTime", record.endTime.toString())
-                        putString("exerciseType", record.exerciseType.toString())
-                        putString("title", record.title ?: "Exercise")
-                        putString("notes", record.notes ?: "")
-                        putString("source", "Health Connect")
+    /**
+     * Chart-ready series of one record type: pages are folded into a SeriesDownsampler as they arrive and
+     * only ~targetPoints points cross the bridge, however dense the range is.
+     * Cumulative types (steps, distance, calories) are summed per bucket instead of sampled: records of
+     * every data origin are reconciled with IntervalMergeEngine (options.sources, best first, e.g.
+     * 'health_connect:com.sec.android.app.shealth') and the merged timeline is totalled per local day with
+     * bucket: 'day', per bucketSeconds, or per range / targetPoints; the result then has aggregation: 'sum'.
+     * options: { targetPoints = 300, method = 'lttb' | 'minmax', priority, sources, bucket, bucketSeconds }.
+     * Rejects with PERMISSION_DENIED when the read permission of the type is not granted.
+     */
+    @ReactMethod
+    override fun readDownsampledSeries(recordType: String, timeRangeFilter: ReadableMap, options: ReadableMap?, promise: Promise) {
+        val call = metrics.track("readDownsampledSeries", promise)
+        val targetPoints = if (options != null && options.hasKey("targetPoints")) {
+            options.getInt("targetPoints")
+        } else {
+            SeriesDownsampler.DEFAULT_TARGET_POINTS
+        }
+        val method = if (options != null && options.hasKey("method")) options.getString("method") else null
+        val priority = HealthReadScheduler.priorityFor(
+            if (options != null && options.hasKey("priority")) options.getString("priority") else null
+        )
+
+        coroutineScope.launch {
+            try {
+                val reader = healthConnectReader
+                if (reader == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
-                    result.pushMap(recordMap)
+                    return@launch
                 }
 
+                val recordClass = HealthConnectReader.recordClassFor(recordType)
+                if (recordClass == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("INVALID_RECORD_TYPE", "Unsupported record type: $recordType")
+                    }
+                    return@launch
+                }
+
+                if (!isReadGranted(recordClass)) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("PERMISSION_DENIED", "$recordType permission not granted")
+                    }
+                    return@launch
+                }
+
+                val start = HealthConnectReader.parseInstant(timeRangeFilter, "startTime")
+                val end = HealthConnectReader.parseInstant(timeRangeFilter, "endTime")
+                val sampler = SeriesDownsampler(method, start.toEpochMilli(), end.toEpochMilli(), targetPoints)
+                val cumulative = recordClass in CUMULATIVE_RECORD_CLASSES
+                val intervals = IntervalMergeEngine.Batch()
+                val summary = reader.readPages(
+                    recordClass,
+                    TimeRangeFilter.between(start, end),
+                    HealthConnectReader.MAX_PAGE_SIZE,
+                    priority
+                ) { page, _ ->
+                    for (record in page) {
+                        val value = if (cumulative) HealthRecordConverter.cumulativeValue(record) else null
+                        if (value != null && record is IntervalRecord) {
+                            intervals.add(
+                                HealthDatabaseWriter.SOURCE_HEALTH_CONNECT + ":" + record.metadata.dataOrigin.packageName,
+                                record.startTime.toEpochMilli(),
+                                record.endTime.toEpochMilli(),
+                                value
+                            )
+                        } else {
+                            HealthRecordConverter.addPoints(record, sampler)
+                        }
+                    }
+                }
+                call.addRecords(summary.records.toLong())
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                if (cumulative && intervals.size() > 0) {
+                    val merged = IntervalMergeEngine.merge(intervals, stringList(options, "sources"))
+                    val boundaries = chartBuckets(start.toEpochMilli(), end.toEpochMilli(), options, targetPoints)
+                    val totals = IntervalMergeEngine.bucketTotals(merged, boundaries)
+                    for (bucket in totals.indices) {
+                        sampler.add(maxOf(boundaries[bucket], start.toEpochMilli()), totals[bucket])
+                    }
+                }
+                val result = sampler.toPayload()
+                if (cumulative) {
+                    result.putString("aggregation", "sum")
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT)
+                Log.d(TAG, "Downsampled ${sampler.rawCount()} $recordType points from ${summary.records} records to ${result.getInt("length")}")
+
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
-                Log.e(TAG, "Error reading exercise records", e)
+                Log.e(TAG, "Error downsampling $recordType records", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("READ_ERROR", e.message)
                 }
             }
         }
     }
 
     /**
-     * ✅ Read Distance Records
+     * Bucket boundaries over [start, end) for summed chart series, the last one being [end]: local days
+     * for bucket: 'day', otherwise bucketSeconds or range / targetPoints rounded up to whole minutes,
+     * never more than SeriesDownsampler.MAX_TARGET_POINTS buckets
+     */
+    private fun chartBuckets(start: Long, end: Long, options: ReadableMap?, targetPoints: Int): LongArray {
+        val boundaries = ArrayList<Long>()
+        if (options != null && options.hasKey("bucket") && options.getString("bucket") == "day") {
+            val zone = ZoneId.systemDefault()
+            var day = Instant.ofEpochMilli(start).atZone(zone).toLocalDate()
+            var dayStart = day.atStartOfDay(zone).toInstant().toEpochMilli()
+            while (dayStart < end) {
+                boundaries.add(dayStart)
+                day = day.plusDays(1)
+                dayStart = day.atStartOfDay(zone).toInstant().toEpochMilli()
+            }
+        } else {
+            val span = maxOf(1L, end - start)
+            val requested = if (options != null && options.hasKey("bucketSeconds")) {
+                (options.getDouble("bucketSeconds") * 1000).toLong()
+            } else {
+                (span + targetPoints - 1) / maxOf(1, targetPoints)
+            }
+            val minute = 60_000L
+            val fewest = (span + SeriesDownsampler.MAX_TARGET_POINTS - 1) / SeriesDownsampler.MAX_TARGET_POINTS
+            val bucketMillis = (maxOf(requested, fewest, minute) + minute - 1) / minute * minute
+            var bucketStart = start
+            while (bucketStart < end) {
+                boundaries.add(bucketStart)
+                bucketStart += bucketMillis
+            }
+        }
+        boundaries.add(end)
+        return boundaries.toLongArray()
+    }
+
+    private fun stringList(options: ReadableMap?, key: String): List<String> {
+        if (options == null || !options.hasKey(key) || options.isNull(key)) {
+            return emptyList()
+        }
+        val array = options.getArray(key) ?: return emptyList()
+        return (0 until array.size()).mapNotNull { array.getString(it) }
+    }
+
+    /**
+     * Range query on the on-device time-series store (samples kept by imports, see HealthConnectIngestor),
+     * without touching Health Connect or its read quota.
+     * options: { bucketSeconds } for count/average/min/max buckets, { targetPoints, method } for a chart
+     * series (the default, 300 points), or { raw: true } for every sample. Samples are kept per data
+     * origin; { origin } picks one, otherwise the origin with the most samples in the range is used.
      */
     @ReactMethod
-    fun readDistanceRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun queryTimeSeries(series: String, timeRange: ReadableMap, options: ReadableMap?, promise: Promise) {
+        val call = metrics.track("queryTimeSeries", promise)
         coroutineScope.launch {
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val store = TimeSeriesStore.getInstance(reactContext)
+                val start = HealthConnectReader.parseInstant(timeRange, "startTime").toEpochMilli()
+                val end = HealthConnectReader.parseInstant(timeRange, "endTime").toEpochMilli()
+                val origin = if (options != null && options.hasKey("origin")) options.getString("origin") else null
+                val storedSeries = store.resolveSeries(series, origin, start, end) ?: series
+
+                val result = when {
+                    options != null && options.hasKey("bucketSeconds") -> {
+                        val aggregate = store.aggregate(storedSeries, start, end, options.getDouble("bucketSeconds").toLong() * 1000)
+                        call.mark(NativeMetrics.PHASE_PROVIDER)
+                        aggregate.toPayload()
+                    }
+                    options != null && options.hasKey("raw") && options.getBoolean("raw") -> {
+                        val samples = TimeSeriesStore.Samples()
+                        call.addRecords(store.scan(storedSeries, start, end, samples))
+                        call.mark(NativeMetrics.PHASE_PROVIDER)
+                        samples.toPayload()
+                    }
+                    else -> {
+                        val targetPoints = if (options != null && options.hasKey("targetPoints")) {
+                            options.getInt("targetPoints")
+                        } else {
+                            SeriesDownsampler.DEFAULT_TARGET_POINTS
+                        }
+                        val method = if (options != null && options.hasKey("method")) options.getString("method") else null
+                        val sampler = SeriesDownsampler(method, start, end, targetPoints)
+                        call.addRecords(store.scan(storedSeries, start, end, sampler))
+                        call.mark(NativeMetrics.PHASE_PROVIDER)
+                        sampler.toPayload()
+                    }
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT)
+
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error querying time series $series", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("TIME_SERIES_ERROR", e.message)
+                }
+            }
+        }
+    }
+
+    /**
+     * Size of the time-series store: { [series]: { segments, bytes, samples } }
+     */
+    @ReactMethod
+    override fun getTimeSeriesStats(promise: Promise) {
+        val call = metrics.track("getTimeSeriesStats", promise)
+        coroutineScope.launch {
+            try {
+                val result = Arguments.createMap()
+                for ((series, totals) in TimeSeriesStore.getInstance(reactContext).stats()) {
+                    result.putMap(series, Arguments.createMap().apply {
+                        putDouble("segments", totals[0].toDouble())
+                        putDouble("bytes", totals[1].toDouble())
+                        putDouble("samples", totals[2].toDouble())
+                    })
+                }
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error reading time series stats", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("TIME_SERIES_ERROR", e.message)
+                }
+            }
+        }
+    }
+
+    /**
+     * Day-bucketed (or hour/week/month) totals for several record types in a single call,
+     * computed by Health Connect's grouped aggregate queries instead of summing raw records in JS.
+     */
+    @ReactMethod
+    override fun aggregateByPeriod(recordTypes: ReadableArray, range: ReadableMap, period: String, zoneId: String?, promise: Promise) {
+        val call = metrics.track("aggregateByPeriod", promise)
+        coroutineScope.launch {
+            try {
+                val aggregator = healthConnectAggregator
+                if (aggregator == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
-                val startTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("startTime").toLong())
-                val endTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("endTime").toLong())
-                val filter = TimeRangeFilter.between(startTime, endTime)
+                if (period !in HealthConnectAggregator.SUPPORTED_PERIODS) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("INVALID_PERIOD", "Unsupported period: $period")
+                    }
+                    return@launch
+                }
 
-                val readRequest = ReadRecordsRequest(
-                    recordType = DistanceRecord::class,
-                    timeRangeFilter = filter
-                )
+                val types = (0 until recordTypes.size()).mapNotNull { recordTypes.getString(it) }
+                val zone = if (zoneId.isNullOrEmpty()) ZoneId.systemDefault() else ZoneId.of(zoneId)
+                val start = HealthConnectReader.parseInstant(range, "startTime")
+                val end = HealthConnectReader.parseInstant(range, "endTime")
 
-                val response = client.readRecords(readRequest)
-                val records = response.records
+                val buckets = aggregator.aggregateByPeriod(types, start, end, period, zone)
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+                Log.d(TAG, "Aggregated ${types.size} record types into ${buckets.size()} $period buckets")
 
-                Log.d(TAG, "Retrieved ${records.size} distance records from Health Connect")
+                val result = Arguments.createMap().apply {
+                    putString("period", period)
+                    putString("zoneId", zone.id)
+                    putArray("buckets", buckets)
+                }
 
-                val result = Arguments.createArray()
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error aggregating records", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("AGGREGATE_ERROR", e.message)
+                }
+            }
+        }
+    }
 
-                for (record in records) {
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("startTime", record.startTime.toString())
-                        putString("endTime", record.endTime.toString())
-                        putDouble("distanceMeters", record.distance.inMeters)
-                        putString("source", "Health Connect")
+    /**
+     * Reads several record types in one bridge call. The reads fan out concurrently inside a single
+     * coroutine scope and resolve once as { results: { type: [...] }, errors: { type: message } },
+     * so one failing type doesn't fail the whole batch. Types without a granted read permission are not
+     * read and report "PERMISSION_DENIED: ..." in errors. format: 'columnar' in [timeRange] applies to every type.
+     */
+    @ReactMethod
+    override fun readRecordsBatch(types: ReadableArray, timeRange: ReadableMap, promise: Promise) {
+        val call = metrics.track("readRecordsBatch", promise)
+        coroutineScope.launch {
+            try {
+                val reader = cachedHealthReader
+                if (reader == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
-                    result.pushMap(recordMap)
+                    return@launch
+                }
+
+                val recordTypes = (0 until types.size()).mapNotNull { types.getString(it) }.distinct()
+
+                val outcomes = supervisorScope {
+                    recordTypes.map { recordType ->
+                        recordType to async {
+                            val recordClass = HealthConnectReader.recordClassFor(recordType)
+                                ?: throw IllegalArgumentException("Unsupported record type: $recordType")
+                            if (!isReadGranted(recordClass)) {
+                                throw SecurityException("PERMISSION_DENIED: $recordType permission not granted")
+                            }
+                            reader.read(recordClass, timeRange)
+                        }
+                    }.map { (recordType, deferred) ->
+                        recordType to runCatching { deferred.await() }
+                    }
+                }
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                val results = Arguments.createMap()
+                val errors = Arguments.createMap()
+                for ((recordType, outcome) in outcomes) {
+                    outcome.fold(
+                        onSuccess = { records ->
+                            val payload = HealthRecordConverter.toPayload(records, timeRange, call)
+                            if (payload is WritableMap) {
+                                results.putMap(recordType, payload)
+                            } else {
+                                results.putArray(recordType, payload as WritableArray)
+                            }
+                        },
+                        onFailure = { e ->
+                            Log.e(TAG, "Error reading $recordType in batch", e)
+                            errors.putString(recordType, e.message ?: e.javaClass.simpleName)
+                        }
+                    )
+                }
+
+                call.mark(NativeMetrics.PHASE_CONVERT)
+                Log.d(TAG, "Batch read of ${recordTypes.size} record types finished")
+
+                val result = Arguments.createMap().apply {
+                    putMap("results", results)
+                    putMap("errors", errors)
                 }
 
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
-                Log.e(TAG, "Error reading distance records", e)
+                Log.e(TAG, "Error reading record batch", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("READ_ERROR", e.message)
                 }
             }
         }
     }
 
     /**
-     * ✅ Read Calories Burned Records
+     * Delta sync per record type using persisted changes tokens.
+     * Each type resolves as { mode: "delta" | "full", upserted: [...], deletedIds: [...] };
+     * "full" means there was no usable token and [timeRange] was re-read instead.
      */
     @ReactMethod
-    fun readCaloriesRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun syncChanges(types: ReadableArray, timeRange: ReadableMap, promise: Promise) {
+        val call = metrics.track("syncChanges", promise)
         coroutineScope.launch {
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val tracker = healthChangesTracker
+                if (tracker == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
-                val startTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("startTime").toLong())
-                val endTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("endTime").toLong())
-                val filter = TimeRangeFilter.between(startTime, endTime)
+                val fallbackFilter = HealthConnectReader.parseTimeRange(timeRange)
+                val recordTypes = (0 until types.size()).mapNotNull { types.getString(it) }.distinct()
+
+                val outcomes = supervisorScope {
+                    recordTypes.map { recordType ->
+                        recordType to async {
+                            val recordClass = HealthConnectReader.recordClassFor(recordType)
+                                ?: throw IllegalArgumentException("Unsupported record type: $recordType")
+                            tracker.sync(recordType, recordClass, fallbackFilter).also { sync ->
+                                if (sync.upserted.isNotEmpty() || sync.deletedIds.isNotEmpty()) {
+                                    cachedHealthReader?.invalidate(recordClass)
+                                }
+                            }
+                        }
+                    }.map { (recordType, deferred) ->
+                        recordType to runCatching { deferred.await() }
+                    }
+                }
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                val results = Arguments.createMap()
+                val errors = Arguments.createMap()
+                for ((recordType, outcome) in outcomes) {
+                    outcome.fold(
+                        onSuccess = { sync ->
+                            results.putMap(recordType, Arguments.createMap().apply {
+                                putString("mode", sync.mode)
+                                if (sync.reason != null) {
+                                    putString("reason", sync.reason)
+                                }
+                                call.addRecords(sync.upserted.size.toLong())
+                                putArray("upserted", HealthRecordConverter.toWritableArray(sync.upserted, call))
+                                putArray("deletedIds", Arguments.fromList(sync.deletedIds))
+                            })
+                        },
+                        onFailure = { e ->
+                            Log.e(TAG, "Error syncing changes for $recordType", e)
+                            errors.putString(recordType, e.message ?: e.javaClass.simpleName)
+                        }
+                    )
+                }
+                call.mark(NativeMetrics.PHASE_CONVERT)
 
-                val readRequest = ReadRecordsRequest(
-                    recordType = ActiveCaloriesBurnedRecord::class,
-                    timeRangeFilter = filter
-                )
+                val result = Arguments.createMap().apply {
+                    putMap("results", results)
+                    putMap("errors", errors)
+                }
 
-                val response = client.readRecords(readRequest)
-                val records = response.records
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error syncing changes", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("SYNC_ERROR", e.message)
+                }
+            }
+        }
+    }
 
-                Log.d(TAG, "Retrieved ${records.size} calories records from Health Connect")
+    /**
+     * Forgets stored changes tokens so the next syncChanges does a full re-read
+     */
+    @ReactMethod
+    override fun resetChangesTokens(recordType: String?, promise: Promise) {
+        val call = metrics.track("resetChangesTokens", promise)
+        try {
+            val tracker = healthChangesTracker
+            if (tracker == null) {
+                call.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                return
+            }
+            tracker.reset(recordType)
+            call.resolve(true)
+        } catch (e: Exception) {
+            Log.e(TAG, "Error resetting changes tokens", e)
+            call.reject("SYNC_ERROR", e.message)
+        }
+    }
 
-                val result = Arguments.createArray()
+    /**
+     * Reads the given record types and writes them straight into the app database in batched
+     * transactions. JS only gets counts and the affected date keys back.
+     */
+    @ReactMethod
+    override fun ingestRecords(types: ReadableArray, timeRange: ReadableMap, promise: Promise) {
+        val call = metrics.track("ingestRecords", promise)
+        coroutineScope.launch {
+            try {
+                val ingestor = healthConnectIngestor
+                if (ingestor == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                    }
+                    return@launch
+                }
 
-                for (record in records) {
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("startTime", record.startTime.toString())
-                        putString("endTime", record.endTime.toString())
-                        putDouble("calories", record.energy.inKilocalories)
-                        putString("source", "Health Connect")
+                val filter = HealthConnectReader.parseTimeRange(timeRange)
+                val recordTypes = (0 until types.size()).mapNotNull { types.getString(it) }.distinct()
+
+                val counts = Arguments.createMap()
+                val errors = Arguments.createMap()
+                val total = HealthDatabaseWriter.IngestResult()
+
+                for (recordType in recordTypes) {
+                    try {
+                        val ingested = ingestor.ingest(recordType, filter)
+                        counts.putInt(recordType, ingested.inserted)
+                        total.add(ingested)
+                    } catch (e: Exception) {
+                        Log.e(TAG, "Error ingesting $recordType records", e)
+                        errors.putString(recordType, e.message ?: e.javaClass.simpleName)
                     }
-                    result.pushMap(recordMap)
+                }
+                call.addRecords(total.inserted.toLong())
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                val result = Arguments.createMap().apply {
+                    putInt("inserted", total.inserted)
+                    putMap("counts", counts)
+                    putArray("dateKeys", Arguments.fromList(total.dateKeys.toList()))
+                    putMap("errors", errors)
                 }
 
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
-                Log.e(TAG, "Error reading calories records", e)
+                Log.e(TAG, "Error ingesting records", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("INGEST_ERROR", e.message)
                 }
             }
         }
     }
 
     /**
-     * ✅ Read Sleep Session Records
+     * Checkpointed import of a long range: see HealthBackfillJob. Emits a HealthBackfillProgress event
+     * after every finished window and resolves with the job totals once every window is done or failed.
+     * The range is widened to whole local days, so starting the same types over the same days again resumes
+     * from the last checkpoint. Pending backfills the new one covers are cancelled and their checkpoints dropped.
+     * options: { windowDays?: number, parallelism?: number }
+     */
+    @ReactMethod
+    override fun startBackfill(types: ReadableArray, timeRange: ReadableMap, options: ReadableMap?, promise: Promise) {
+        val call = metrics.track("startBackfill", promise)
+        val job = healthBackfillJob
+        if (job == null) {
+            call.reject("CLIENT_ERROR", "Health Connect client not initialized")
+            return
+        }
+
+        val plan = try {
+            job.plan(
+                (0 until types.size()).mapNotNull { types.getString(it) },
+                HealthConnectReader.parseInstant(timeRange, "startTime"),
+                HealthConnectReader.parseInstant(timeRange, "endTime"),
+                if (options != null && options.hasKey("windowDays")) options.getInt("windowDays") else HealthBackfillJob.DEFAULT_WINDOW_DAYS,
+                if (options != null && options.hasKey("parallelism")) options.getInt("parallelism") else HealthBackfillJob.DEFAULT_PARALLELISM
+            )
+        } catch (e: Exception) {
+            call.reject("INVALID_ARGUMENT", e.message)
+            return
+        }
+        for (superseded in job.superseded(plan)) {
+            Log.d(TAG, "Backfill ${plan.jobId} supersedes ${superseded.jobId}")
+            activeBackfills.remove(superseded.jobId)?.cancel()
+            job.discard(superseded.jobId)
+        }
+        runBackfill(job, plan, call)
+    }
+
+    /**
+     * Continues a backfill left unfinished by an earlier run, using the plan stored with its checkpoint
+     */
+    @ReactMethod
+    override fun resumeBackfill(jobId: String, promise: Promise) {
+        val call = metrics.track("resumeBackfill", promise)
+        val job = healthBackfillJob
+        if (job == null) {
+            call.reject("CLIENT_ERROR", "Health Connect client not initialized")
+            return
+        }
+
+        val plan = job.pendingPlan(jobId)
+        if (plan == null) {
+            call.reject("BACKFILL_NOT_FOUND", "No unfinished backfill $jobId")
+            return
+        }
+        runBackfill(job, plan, call)
+    }
+
+    /**
+     * Stops a running backfill; its checkpoints stay, so it can be resumed later
+     */
+    @ReactMethod
+    override fun cancelBackfill(jobId: String, promise: Promise) {
+        val call = metrics.track("cancelBackfill", promise)
+        val running = activeBackfills.remove(jobId)
+        running?.cancel()
+        call.resolve(running != null)
+    }
+
+    /**
+     * Cancels a backfill if it is running and drops its checkpoints, so it no longer shows up as pending.
+     * Resolves false when there was nothing to discard.
+     */
+    @ReactMethod
+    override fun discardBackfill(jobId: String, promise: Promise) {
+        val call = metrics.track("discardBackfill", promise)
+        val running = activeBackfills.remove(jobId)
+        running?.cancel()
+        val discarded = healthBackfillJob?.discard(jobId) ?: false
+        call.resolve(discarded || running != null)
+    }
+
+    /**
+     * Unfinished backfills with their plan and how many windows are already checkpointed
      */
     @ReactMethod
-    fun readSleepRecords(timeRangeFilter: ReadableMap, promise: Promise) {
+    override fun getPendingBackfills(promise: Promise) {
+        val call = metrics.track("getPendingBackfills", promise)
+        val job = healthBackfillJob
+        val pending = Arguments.createArray()
+        job?.pending()?.forEach { (plan, windowsDone) ->
+            pending.pushMap(Arguments.createMap().apply {
+                putString("jobId", plan.jobId)
+                putArray("types", Arguments.fromList(plan.recordTypes))
+                putString("startTime", plan.start.toString())
+                putString("endTime", plan.end.toString())
+                putInt("windowDays", plan.windowDays)
+                putInt("windowsDone", windowsDone)
+                putInt("windowsTotal", job.windows(plan).size * plan.recordTypes.size)
+                putBoolean("running", activeBackfills.containsKey(plan.jobId))
+            })
+        }
+        call.resolve(pending)
+    }
+
+    private fun runBackfill(job: HealthBackfillJob, plan: HealthBackfillJob.Plan, call: MeasuredPromise) {
+        val running = coroutineScope.launch(start = CoroutineStart.LAZY) {
+            try {
+                val result = job.run(plan) { progress -> sendEvent(EVENT_BACKFILL_PROGRESS, backfillProgress(progress)) }
+                call.addRecords(result.inserted.toLong())
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                val errors = Arguments.createMap()
+                result.errors.forEach { (recordType, message) -> errors.putString(recordType, message) }
+                val map = Arguments.createMap().apply {
+                    putString("jobId", result.jobId)
+                    putBoolean("completed", result.completed)
+                    putBoolean("resumed", result.resumed)
+                    putInt("windowsDone", result.windowsDone)
+                    putInt("windowsTotal", result.windowsTotal)
+                    putInt("inserted", result.inserted)
+                    putArray("dateKeys", Arguments.fromList(result.dateKeys.toList()))
+                    putMap("errors", errors)
+                }
+
+                withContext(Dispatchers.Main) {
+                    call.resolve(map)
+                }
+            } catch (e: CancellationException) {
+                withContext(NonCancellable + Dispatchers.Main) {
+                    call.reject("BACKFILL_CANCELLED", "Backfill ${plan.jobId} was cancelled")
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error running backfill ${plan.jobId}", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("BACKFILL_ERROR", e.message)
+                }
+            } finally {
+                activeBackfills.remove(plan.jobId, coroutineContext.job)
+            }
+        }
+        if (activeBackfills.putIfAbsent(plan.jobId, running) != null) {
+            running.cancel()
+            call.reject("BACKFILL_RUNNING", "Backfill ${plan.jobId} is already running")
+            return
+        }
+        running.start()
+    }
+
+    private fun backfillProgress(progress: HealthBackfillJob.Progress): WritableMap {
+        return Arguments.createMap().apply {
+            putString("jobId", progress.jobId)
+            putString("recordType", progress.recordType)
+            putString("windowStart", progress.window.start.toString())
+            putString("windowEnd", progress.window.end.toString())
+            putInt("windowsDone", progress.windowsDone)
+            putInt("windowsTotal", progress.windowsTotal)
+            putInt("inserted", progress.inserted)
+            putDouble("recordsPerSecond", progress.recordsPerSecond)
+            val eta = progress.etaSeconds
+            if (eta != null) {
+                putDouble("etaSeconds", eta)
+            } else {
+                putNull("etaSeconds")
+            }
+        }
+    }
+
+    /**
+     * Foreground counterpart of HealthSyncJobService: ingests each type from its watermark to now.
+     * Resolves { inserted, types: { type: { from, to, inserted, error? } } }.
+     */
+    @ReactMethod
+    override fun syncIncremental(types: ReadableArray?, promise: Promise) {
+        val call = metrics.track("syncIncremental", promise)
         coroutineScope.launch {
             try {
-                val client = healthConnectClient
-                if (client == null) {
+                val sync = healthIncrementalSync
+                if (sync == null) {
                     withContext(Dispatchers.Main) {
-                        promise.reject("CLIENT_ERROR", "Health Connect client not initialized")
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
                     return@launch
                 }
 
-                val startTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("startTime").toLong())
-                val endTime = Instant.ofEpochMilli(timeRangeFilter.getDouble("endTime").toLong())
-                val filter = TimeRangeFilter.between(startTime, endTime)
+                val recordTypes = types?.let { array -> (0 until array.size()).mapNotNull { array.getString(it) }.distinct() }
+                    ?: HealthIncrementalSync.DEFAULT_RECORD_TYPES
+                val results = sync.run(recordTypes)
+                call.addRecords(results.sumOf { it.inserted }.toLong())
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                val typeMaps = Arguments.createMap()
+                for (typeResult in results) {
+                    typeMaps.putMap(typeResult.recordType, Arguments.createMap().apply {
+                        typeResult.mode?.let { putString("mode", it) }
+                        putString("from", typeResult.from.toString())
+                        putString("to", typeResult.to.toString())
+                        putInt("inserted", typeResult.inserted)
+                        putInt("deleted", typeResult.deleted)
+                        typeResult.error?.let { putString("error", it) }
+                    })
+                }
+                val result = Arguments.createMap().apply {
+                    putInt("inserted", results.sumOf { it.inserted })
+                    putMap("types", typeMaps)
+                }
 
-                val readRequest = ReadRecordsRequest(
-                    recordType = SleepSessionRecord::class,
-                    timeRangeFilter = filter
-                )
+                withContext(Dispatchers.Main) {
+                    call.resolve(result)
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Error in incremental sync", e)
+                withContext(Dispatchers.Main) {
+                    call.reject("SYNC_ERROR", e.message)
+                }
+            }
+        }
+    }
 
-                val response = client.readRecords(readRequest)
-                val records = response.records
+    /**
+     * Watermarks (epoch millis) per record type and the time of the last background or foreground run
+     */
+    @ReactMethod
+    override fun getBackgroundSyncState(promise: Promise) {
+        val call = metrics.track("getBackgroundSyncState", promise)
+        call.resolve(backgroundSyncState())
+    }
 
-                Log.d(TAG, "Retrieved ${records.size} sleep records from Health Connect")
+    /**
+     * Counters of the (record type, day) read cache; size and maxSize are estimated bytes
+     */
+    @ReactMethod
+    override fun getCacheStats(promise: Promise) {
+        val call = metrics.track("getCacheStats", promise)
+        val cache = HealthRecordCache.getInstance()
+        val stats = Arguments.createMap().apply {
+            putDouble("hits", cache.hitCount().toDouble())
+            putDouble("misses", cache.missCount().toDouble())
+            putDouble("expirations", cache.expirationCount().toDouble())
+            putInt("evictions", cache.evictionCount())
+            putDouble("trims", cache.trimCount().toDouble())
+            putInt("entries", cache.entryCount())
+            putInt("size", cache.size())
+            putInt("maxSize", cache.maxSize())
+        }
+        call.resolve(stats)
+    }
 
-                val result = Arguments.createArray()
+    @ReactMethod
+    override fun clearCache(promise: Promise) {
+        val call = metrics.track("clearCache", promise)
+        HealthRecordCache.getInstance().clear()
+        call.resolve(true)
+    }
+
+    // Required by NativeEventEmitter on the JS side
+    @ReactMethod
+    override fun addListener(eventName: String) {
+    }
 
-                for (record in records) {
-                    val durationMinutes = java.time.Duration.between(record.startTime, record.endTime).toMinutes()
+    @ReactMethod
+    override fun removeListeners(count: Double) {
+    }
 
-                    val recordMap = Arguments.createMap().apply {
-                        putString("recordId", record.metadata.id)
-                        putString("startTime", record.startTime.toString())
-                        putString("endTime", record.endTime.toString())
-                        putInt("durationMinutes", durationMinutes.toInt())
-                        putString("title", record.title ?: "Sleep")
-                        putString("notes", record.notes ?: "")
-                        putString("source", "Health Connect")
+    private fun <T : Record> readRecordsOfType(
+        recordClass: KClass<T>,
+        label: String,
+        timeRangeFilter: ReadableMap,
+        call: MeasuredPromise
+    ) {
+        coroutineScope.launch {
+            try {
+                val reader = cachedHealthReader
+                if (reader == null) {
+                    withContext(Dispatchers.Main) {
+                        call.reject("CLIENT_ERROR", "Health Connect client not initialized")
                     }
-                    result.pushMap(recordMap)
+                    return@launch
                 }
 
+                val records = reader.read(recordClass, timeRangeFilter)
+                call.mark(NativeMetrics.PHASE_PROVIDER)
+
+                Log.d(TAG, "Retrieved ${records.size} $label records from Health Connect")
+
+                val result = HealthRecordConverter.toPayload(records, timeRangeFilter, call)
+                call.mark(NativeMetrics.PHASE_CONVERT)
+
                 withContext(Dispatchers.Main) {
-                    promise.resolve(result)
+                    call.resolve(result)
                 }
             } catch (e: Exception) {
-                Log.e(TAG, "Error reading sleep records", e)
+                Log.e(TAG, "Error reading $label records", e)
                 withContext(Dispatchers.Main) {
-                    promise.reject("READ_ERROR", e.message)
+                    call.reject("READ_ERROR", e.message)
                 }
             }
         }
     }
 
+    /**
+     * Times a synchronous method under NativeMetrics "total"
+     */
+    private inline fun <T> timed(method: String, block: () -> T): T {
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            metrics.recordCall(method, start)
+        }
+    }
+
+    private fun backgroundSyncState(): WritableMap {
+        val watermarks = Arguments.createMap()
+        for ((recordType, watermark) in HealthIncrementalSync.watermarks(reactApplicationContext)) {
+            watermarks.putDouble(recordType, watermark.toDouble())
+        }
+        return Arguments.createMap().apply {
+            putMap("watermarks", watermarks)
+            HealthIncrementalSync.lastRun(reactApplicationContext)?.let { putDouble("lastRun", it.toDouble()) } ?: putNull("lastRun")
+        }
+    }
+
+    private fun streamCompletion(
+        streamId: String,
+        recordType: String,
+        summary: HealthConnectReader.ReadSummary?,
+        durationMs: Long,
+        error: String?
+    ): WritableMap {
+        return Arguments.createMap().apply {
+            putString("streamId", streamId)
+            putString("recordType", recordType)
+            putBoolean("success", error == null)
+            putInt("totalRecords", summary?.records ?: 0)
+            putInt("pages", summary?.pages ?: 0)
+            putDouble("durationMs", durationMs.toDouble())
+            if (error != null) {
+                putString("error", error)
+            }
+        }
+    }
+
+    private fun sendEvent(eventName: String, params: WritableMap) {
+        reactApplicationContext
+            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter::class.java)
+            .emit(eventName, params)
+    }
+
     // ✅ COMPLETE Helper methods with ALL record types
     private fun getPermissionsForRecordType(recordType: String): Set<String> {
         return when (recordType) {
@@ -794,23 +1665,16 @@ class RealHealthConnectModule(reactContext: ReactApplicationContext) : ReactCont
     }
 
     private fun getRecordTypeFromPermission(permission: String): String? {
-        return when {
-            permission.contains("StepsRecord") -> "Steps"
-            permission.contains("HeartRateRecord") -> "HeartRate"
-            permission.contains("ExerciseSessionRecord") -> "Exercise"
-            permission.contains("DistanceRecord") -> "Distance"
-            permission.contains("ActiveCaloriesBurnedRecord") -> "ActiveCaloriesBurned"
-            permission.contains("TotalCaloriesBurnedRecord") -> "TotalCaloriesBurned"
-            permission.contains("SleepSessionRecord") -> "Sleep"
-            permission.contains("WeightRecord") -> "Weight"
-            permission.contains("HeightRecord") -> "Height"
-            permission.contains("BloodPressureRecord") -> "BloodPressure"
-            permission.contains("OxygenSaturationRecord") -> "OxygenSaturation"
-            else -> {
-                Log.w(TAG, "Unknown permission string: $permission")
-                null
-            }
-        }
+        return HealthConnectClientProvider.recordTypeForPermission(permission)
+    }
+
+    /**
+     * The grantedPermissions check of readStepsRecords / readHeartRateRecords, by record class so aliases
+     * such as "SleepSession" and "Sleep" resolve to the same granted type
+     */
+    private fun isReadGranted(recordClass: KClass<out Record>): Boolean {
+        val grantedType = getRecordTypeFromPermission(HealthPermission.getReadPermission(recordClass))
+        return grantedType != null && grantedPermissions.contains(grantedType)
     }
 
     override fun onCatalystInstanceDestroy() {
@@ -1,16 +1,33 @@
 package com.minakamiappfinal
 
-import com.facebook.react.ReactPackage
+import com.facebook.react.TurboReactPackage
 import com.facebook.react.bridge.NativeModule
 import com.facebook.react.bridge.ReactApplicationContext
-import com.facebook.react.uimanager.ViewManager
+import com.facebook.react.module.model.ReactModuleInfo
+import com.facebook.react.module.model.ReactModuleInfoProvider
 
-class RealHealthConnectPackage : ReactPackage {
-    override fun createNativeModules(reactContext: ReactApplicationContext): List<NativeModule> {
-        return listOf(RealHealthConnectModule(reactContext))
+/**
+ * Registers RealHealthConnectModule lazily: the module (and its Health Connect client) is only
+ * created when JS first touches it, and it is a TurboModule when the new architecture is enabled.
+ */
+class RealHealthConnectPackage : TurboReactPackage() {
+    override fun getModule(name: String, reactContext: ReactApplicationContext): NativeModule? {
+        return if (name == NativeHealthConnectSpec.NAME) RealHealthConnectModule(reactContext) else null
     }
 
-    override fun createViewManagers(reactContext: ReactApplicationContext): List<ViewManager<*, *>> {
-        return emptyList()
+    override fun getReactModuleInfoProvider(): ReactModuleInfoProvider {
+        return ReactModuleInfoProvider {
+            mapOf(
+                NativeHealthConnectSpec.NAME to ReactModuleInfo(
+                    NativeHealthConnectSpec.NAME,
+                    RealHealthConnectModule::class.java.name,
+                    false, // canOverrideExistingModule
+                    false, // needsEagerInit
+                    true, // hasConstants
+                    false, // isCxxModule
+                    BuildConfig.IS_NEW_ARCHITECTURE_ENABLED // isTurboModule
+                )
+            )
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.minakamiappfinal;
+
+/**
+ * Receiver of (time, value) samples, so producers (record converters, store scans) and consumers
+ * (downsamplers, aggregates, buffers) can be chained without a per-sample object
+ */
+public interface SampleSink {
+    void add(long timeMillis, double value);
+}
@@ -0,0 +1,209 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Arrays;
+
+/**
+ * Reduces a time series of any density to a chart-sized one while the records stream past.
+ *
+ * Points are folded into a fixed grid of time buckets over the requested range, keeping only the
+ * minimum and maximum point of each bucket, so memory and output size depend on the target point
+ * count rather than on the number of samples. "minmax" exports those extremes directly (two points per
+ * bucket, so spikes always survive); "lttb" uses a grid twice as fine and runs
+ * Largest-Triangle-Three-Buckets over the extremes, which keeps the visual shape with one point per slot.
+ */
+public class SeriesDownsampler implements SampleSink {
+    public static final String METHOD_LTTB = "lttb";
+    public static final String METHOD_MIN_MAX = "minmax";
+    public static final int DEFAULT_TARGET_POINTS = 300;
+    public static final int MAX_TARGET_POINTS = 5000;
+
+    private final String method;
+    private final int targetPoints;
+    private final long origin;
+    private final long bucketMillis;
+    private final int buckets;
+
+    private final long[] minTimes;
+    private final double[] minValues;
+    private final long[] maxTimes;
+    private final double[] maxValues;
+    private final int[] counts;
+
+    private long rawCount;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private long firstTime = Long.MAX_VALUE;
+    private long lastTime = Long.MIN_VALUE;
+
+    public SeriesDownsampler(String method, long startMillis, long endMillis, int targetPoints) {
+        this.method = METHOD_MIN_MAX.equals(method) ? METHOD_MIN_MAX : METHOD_LTTB;
+        this.targetPoints = Math.max(3, Math.min(targetPoints, MAX_TARGET_POINTS));
+        // Min/max emits up to two points per bucket; LTTB picks from twice as many buckets as it returns
+        this.buckets = METHOD_MIN_MAX.equals(this.method) ? Math.max(1, this.targetPoints / 2) : this.targetPoints * 2;
+        this.origin = startMillis;
+        long span = Math.max(1, endMillis - startMillis);
+        this.bucketMillis = Math.max(1, (span + buckets - 1) / buckets);
+
+        minTimes = new long[buckets];
+        minValues = new double[buckets];
+        maxTimes = new long[buckets];
+        maxValues = new double[buckets];
+        counts = new int[buckets];
+    }
+
+    /**
+     * Adds one point; points outside the range or without a value are ignored, order does not matter
+     */
+    public void add(long timeMillis, double value) {
+        if (Double.isNaN(value) || timeMillis < origin) {
+            return;
+        }
+        long bucketIndex = (timeMillis - origin) / bucketMillis;
+        if (bucketIndex >= buckets) {
+            return;
+        }
+        int bucket = (int) bucketIndex;
+        if (counts[bucket] == 0 || value < minValues[bucket]) {
+            minTimes[bucket] = timeMillis;
+            minValues[bucket] = value;
+        }
+        if (counts[bucket] == 0 || value > maxValues[bucket]) {
+            maxTimes[bucket] = timeMillis;
+            maxValues[bucket] = value;
+        }
+        counts[bucket]++;
+
+        rawCount++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        firstTime = Math.min(firstTime, timeMillis);
+        lastTime = Math.max(lastTime, timeMillis);
+    }
+
+    public long rawCount() {
+        return rawCount;
+    }
+
+    /**
+     * { length, method, rawCount, times: [ms], values: [...], summary: { count, average, min, max, startTime, endTime } }
+     */
+    public WritableMap toPayload() {
+        // Bucket extremes in time order; a bucket whose min and max are the same point contributes it once
+        long[] times = new long[buckets * 2];
+        double[] values = new double[buckets * 2];
+        int size = 0;
+        for (int b = 0; b < buckets; b++) {
+            if (counts[b] == 0) {
+                continue;
+            }
+            boolean minFirst = minTimes[b] <= maxTimes[b];
+            times[size] = minFirst ? minTimes[b] : maxTimes[b];
+            values[size] = minFirst ? minValues[b] : maxValues[b];
+            size++;
+            if (minTimes[b] != maxTimes[b] || minValues[b] != maxValues[b]) {
+                times[size] = minFirst ? maxTimes[b] : minTimes[b];
+                values[size] = minFirst ? maxValues[b] : minValues[b];
+                size++;
+            }
+        }
+
+        int[] selected = METHOD_LTTB.equals(method) ? lttb(times, values, size, targetPoints) : null;
+        int length = selected != null ? selected.length : size;
+        WritableArray timeArray = Arguments.createArray();
+        WritableArray valueArray = Arguments.createArray();
+        for (int k = 0; k < length; k++) {
+            int i = selected != null ? selected[k] : k;
+            timeArray.pushDouble(times[i]);
+            valueArray.pushDouble(values[i]);
+        }
+
+        WritableMap payload = Arguments.createMap();
+        payload.putInt("length", length);
+        payload.putString("method", method);
+        payload.putDouble("rawCount", rawCount);
+        payload.putDouble("bucketMillis", bucketMillis);
+        payload.putArray("times", timeArray);
+        payload.putArray("values", valueArray);
+        payload.putMap("summary", summary());
+        return payload;
+    }
+
+    /**
+     * Largest-Triangle-Three-Buckets over the first [size] points (sorted by time): keeps the first and last
+     * point and, from each of [threshold] - 2 equal slices in between, the point spanning the largest
+     * triangle with the previously kept point and the average of the next slice. Returns the kept indexes.
+     */
+    static int[] lttb(long[] times, double[] values, int size, int threshold) {
+        if (threshold >= size || threshold < 3) {
+            int[] all = new int[size];
+            for (int i = 0; i < size; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] selected = new int[threshold];
+        int count = 0;
+        double every = (double) (size - 2) / (threshold - 2);
+        int kept = 0;
+        selected[count++] = kept;
+        // Times relative to the first point keep the triangle areas well inside double precision
+        long base = times[0];
+
+        for (int slice = 0; slice < threshold - 2; slice++) {
+            int nextFrom = (int) Math.floor((slice + 1) * every) + 1;
+            int nextTo = Math.min((int) Math.floor((slice + 2) * every) + 1, size);
+            double averageTime = 0;
+            double averageValue = 0;
+            for (int i = nextFrom; i < nextTo; i++) {
+                averageTime += times[i] - base;
+                averageValue += values[i];
+            }
+            int nextCount = Math.max(nextTo - nextFrom, 1);
+            averageTime /= nextCount;
+            averageValue /= nextCount;
+
+            int from = (int) Math.floor(slice * every) + 1;
+            int to = (int) Math.floor((slice + 1) * every) + 1;
+            double keptTime = times[kept] - base;
+            double keptValue = values[kept];
+            double largestArea = -1;
+            int best = from;
+            for (int i = from; i < to; i++) {
+                double area = Math.abs((keptTime - averageTime) * (values[i] - keptValue)
+                        - (keptTime - (times[i] - base)) * (averageValue - keptValue));
+                if (area > largestArea) {
+                    largestArea = area;
+                    best = i;
+                }
+            }
+            selected[count++] = best;
+            kept = best;
+        }
+        selected[count++] = size - 1;
+        return Arrays.copyOf(selected, count);
+    }
+
+    private WritableMap summary() {
+        WritableMap summary = Arguments.createMap();
+        summary.putDouble("count", rawCount);
+        if (rawCount == 0) {
+            summary.putNull("average");
+            summary.putNull("min");
+            summary.putNull("max");
+            return summary;
+        }
+        summary.putDouble("average", sum / rawCount);
+        summary.putDouble("min", min);
+        summary.putDouble("max", max);
+        summary.putDouble("startTime", firstTime);
+        summary.putDouble("endTime", lastTime);
+        return summary;
+    }
+}
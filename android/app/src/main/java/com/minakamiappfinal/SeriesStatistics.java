@@ -0,0 +1,202 @@
+package com.minakamiappfinal;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass statistics over evenly spaced double[] series (e.g. one value per day), where NaN marks
+ * a missing sample. Rolling moments use Welford updates with removal, so each series is walked once and
+ * numerically stable regardless of its magnitude; correlations use streaming co-moments per lag.
+ */
+public final class SeriesStatistics {
+
+    private SeriesStatistics() {
+    }
+
+    /**
+     * Rolling mean/variance over the trailing [window] samples plus the z-score of every sample against
+     * the window before it (NaN until [minSamples] earlier samples exist or when that window has no spread)
+     */
+    public static final class Rolling {
+        public final double[] mean;
+        public final double[] variance;
+        public final double[] zScore;
+
+        Rolling(int length) {
+            mean = new double[length];
+            variance = new double[length];
+            zScore = new double[length];
+        }
+
+        /**
+         * Indexes whose |z| reaches [threshold]
+         */
+        public int[] anomalies(double threshold) {
+            int[] found = new int[zScore.length];
+            int count = 0;
+            for (int i = 0; i < zScore.length; i++) {
+                if (Math.abs(zScore[i]) >= threshold) {
+                    found[count++] = i;
+                }
+            }
+            return Arrays.copyOf(found, count);
+        }
+    }
+
+    /**
+     * Correlation of x[t] with y[t + lag] over the pairs where both are present
+     */
+    public static final class Correlation {
+        public final int lag;
+        public final int pairs;
+        public final double pearson;
+        public final double spearman;
+
+        Correlation(int lag, int pairs, double pearson, double spearman) {
+            this.lag = lag;
+            this.pairs = pairs;
+            this.pearson = pearson;
+            this.spearman = spearman;
+        }
+    }
+
+    public static Rolling rolling(double[] series, int window, int minSamples) {
+        int length = series.length;
+        int span = Math.max(window, 1);
+        Rolling result = new Rolling(length);
+
+        int count = 0;
+        double mean = 0;
+        double m2 = 0;
+        for (int i = 0; i < length; i++) {
+            double x = series[i];
+
+            // Score against the window that ends just before this sample
+            if (!Double.isNaN(x) && count >= Math.max(minSamples, 2)) {
+                double sd = Math.sqrt(Math.max(m2, 0) / (count - 1));
+                result.zScore[i] = sd > 0 ? (x - mean) / sd : Double.NaN;
+            } else {
+                result.zScore[i] = Double.NaN;
+            }
+
+            if (!Double.isNaN(x)) {
+                count++;
+                double delta = x - mean;
+                mean += delta / count;
+                m2 += delta * (x - mean);
+            }
+            int leaving = i - span;
+            if (leaving >= 0 && !Double.isNaN(series[leaving])) {
+                double old = series[leaving];
+                count--;
+                if (count == 0) {
+                    mean = 0;
+                    m2 = 0;
+                } else {
+                    double delta = old - mean;
+                    mean -= delta / count;
+                    m2 -= delta * (old - mean);
+                }
+            }
+
+            result.mean[i] = count > 0 ? mean : Double.NaN;
+            result.variance[i] = count > 1 ? Math.max(m2, 0) / (count - 1) : Double.NaN;
+        }
+        return result;
+    }
+
+    /**
+     * Pearson and Spearman correlations of x against y for every lag in [minLag, maxLag].
+     * A positive lag pairs x with later y (e.g. last night's sleep with today's steps).
+     */
+    public static Correlation[] laggedCorrelations(double[] x, double[] y, int minLag, int maxLag) {
+        Correlation[] results = new Correlation[Math.max(maxLag - minLag + 1, 0)];
+        double[] pairedX = new double[Math.min(x.length, y.length)];
+        double[] pairedY = new double[pairedX.length];
+
+        for (int lag = minLag; lag <= maxLag; lag++) {
+            int pairs = 0;
+            int from = Math.max(0, -lag);
+            int to = Math.min(x.length, y.length - lag);
+            for (int t = from; t < to; t++) {
+                double a = x[t];
+                double b = y[t + lag];
+                if (!Double.isNaN(a) && !Double.isNaN(b)) {
+                    pairedX[pairs] = a;
+                    pairedY[pairs] = b;
+                    pairs++;
+                }
+            }
+            double pearson = pearson(pairedX, pairedY, pairs);
+            double spearman = pairs > 1
+                    ? pearson(ranks(pairedX, pairs), ranks(pairedY, pairs), pairs)
+                    : Double.NaN;
+            results[lag - minLag] = new Correlation(lag, pairs, pearson, spearman);
+        }
+        return results;
+    }
+
+    /**
+     * Streaming co-moment Pearson coefficient over the first [n] pairs; NaN when either side has no spread
+     */
+    static double pearson(double[] x, double[] y, int n) {
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double meanX = 0;
+        double meanY = 0;
+        double m2X = 0;
+        double m2Y = 0;
+        double coMoment = 0;
+        for (int i = 0; i < n; i++) {
+            int count = i + 1;
+            double deltaX = x[i] - meanX;
+            meanX += deltaX / count;
+            double deltaY = y[i] - meanY;
+            meanY += deltaY / count;
+            m2X += deltaX * (x[i] - meanX);
+            m2Y += deltaY * (y[i] - meanY);
+            coMoment += deltaX * (y[i] - meanY);
+        }
+        if (m2X <= 0 || m2Y <= 0) {
+            return Double.NaN;
+        }
+        return Math.max(-1, Math.min(1, coMoment / Math.sqrt(m2X * m2Y)));
+    }
+
+    /**
+     * 1-based ranks of the first [n] values, ties sharing their average rank
+     */
+    static double[] ranks(double[] values, int n) {
+        double[] sorted = Arrays.copyOf(values, n);
+        Arrays.sort(sorted);
+        // Average rank of every run of equal values, stored at the run's first sorted position
+        double[] runRank = new double[n];
+        for (int low = 0; low < n; ) {
+            int high = low + 1;
+            while (high < n && sorted[high] == sorted[low]) {
+                high++;
+            }
+            runRank[low] = (low + high + 1) / 2.0;
+            low = high;
+        }
+        double[] result = new double[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = runRank[lowerBound(sorted, values[i])];
+        }
+        return result;
+    }
+
+    private static int lowerBound(double[] sorted, double key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,57 @@
+package com.minakamiappfinal;
+
+import android.util.Log;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent cold-start work on a small background pool so it overlaps with SoLoader and
+ * React host creation on the main thread. Every task is recorded as a StartupTrace phase under
+ * its name; failures are logged and never reach the caller.
+ */
+public final class StartupOrchestrator {
+    private static final String TAG = "StartupOrchestrator";
+    private static final int THREAD_COUNT = 2;
+
+    private static StartupOrchestrator instance;
+
+    private final ExecutorService executor;
+    private final Map<String, Future<?>> tasks = new LinkedHashMap<>();
+
+    public static synchronized StartupOrchestrator getInstance() {
+        if (instance == null) {
+            instance = new StartupOrchestrator();
+        }
+        return instance;
+    }
+
+    private StartupOrchestrator() {
+        AtomicInteger threadNumber = new AtomicInteger(1);
+        executor = Executors.newFixedThreadPool(THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a task once per process; submitting a name that is already queued is a no-op
+     */
+    public synchronized void submit(String name, Runnable task) {
+        if (tasks.containsKey(name)) {
+            return;
+        }
+        tasks.put(name, executor.submit(() -> {
+            try {
+                StartupTrace.getInstance().measure(name, task);
+            } catch (Exception e) {
+                Log.e(TAG, "Startup task " + name + " failed", e);
+            }
+        }));
+    }
+}
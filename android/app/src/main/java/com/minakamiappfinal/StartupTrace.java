@@ -0,0 +1,117 @@
+package com.minakamiappfinal;
+
+import android.os.Process;
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Named cold-start phase timings, measured on the elapsedRealtime clock relative to process start.
+ * Phases may be recorded from any thread; a phase name is recorded once per process, so re-running
+ * the same code later (a JS reload, a new activity) doesn't overwrite the cold-start numbers.
+ */
+public final class StartupTrace {
+    private static final StartupTrace INSTANCE = new StartupTrace();
+
+    private final long processStartElapsed = Process.getStartElapsedRealtime();
+    private final long processStartWallClock = System.currentTimeMillis() - (SystemClock.elapsedRealtime() - processStartElapsed);
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private static final class Phase {
+        final String name;
+        final String thread;
+        final long start;
+        long end = -1;
+
+        Phase(String name, String thread, long start) {
+            this.name = name;
+            this.thread = thread;
+            this.start = start;
+        }
+    }
+
+    public static StartupTrace getInstance() {
+        return INSTANCE;
+    }
+
+    private StartupTrace() {
+    }
+
+    public synchronized void begin(String name) {
+        if (!phases.containsKey(name)) {
+            phases.put(name, new Phase(name, Thread.currentThread().getName(), SystemClock.elapsedRealtime()));
+        }
+    }
+
+    public synchronized void end(String name) {
+        Phase phase = phases.get(name);
+        if (phase != null && phase.end < 0) {
+            phase.end = SystemClock.elapsedRealtime();
+        }
+    }
+
+    /**
+     * Zero-length phase marking a point in time, e.g. "reactContextReady"
+     */
+    public synchronized void mark(String name) {
+        begin(name);
+        end(name);
+    }
+
+    public void measure(String name, Runnable work) {
+        begin(name);
+        try {
+            work.run();
+        } finally {
+            end(name);
+        }
+    }
+
+    public <T> T measure(String name, Supplier<T> work) {
+        begin(name);
+        try {
+            return work.get();
+        } finally {
+            end(name);
+        }
+    }
+
+    /**
+     * { processStart (epoch millis), phases: [{ name, thread, startMs, endMs, durationMs }] } with
+     * start/end in millis since process start; unfinished phases have null endMs/durationMs
+     */
+    public synchronized WritableMap toWritableMap() {
+        List<Phase> ordered = new ArrayList<>(phases.values());
+        ordered.sort((a, b) -> Long.compare(a.start, b.start));
+
+        WritableArray phaseArray = Arguments.createArray();
+        for (Phase phase : ordered) {
+            WritableMap map = Arguments.createMap();
+            map.putString("name", phase.name);
+            map.putString("thread", phase.thread);
+            map.putDouble("startMs", phase.start - processStartElapsed);
+            if (phase.end >= 0) {
+                map.putDouble("endMs", phase.end - processStartElapsed);
+                map.putDouble("durationMs", phase.end - phase.start);
+            } else {
+                map.putNull("endMs");
+                map.putNull("durationMs");
+            }
+            phaseArray.pushMap(map);
+        }
+
+        WritableMap result = Arguments.createMap();
+        result.putDouble("processStart", processStartWallClock);
+        result.putDouble("uptimeMs", SystemClock.elapsedRealtime() - processStartElapsed);
+        result.putArray("phases", phaseArray);
+        return result;
+    }
+}
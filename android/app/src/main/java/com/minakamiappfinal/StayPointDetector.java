@@ -0,0 +1,143 @@
+package com.minakamiappfinal;
+
+/**
+ * Incremental stay-point detection over a stream of location fixes (after Li et al., "Mining user
+ * similarity based on location history"): a stay is a run of fixes that remain within a radius of
+ * their running centre for at least a minimum duration. Arrival is reported as soon as a run reaches
+ * that duration, departure at the first fix outside the radius, so a visit is known while it lasts.
+ *
+ * Fixes are filtered first: a fix that is too inaccurate, or that would need an impossible speed from
+ * the last accepted one, is dropped as jitter. State is O(1); not thread-safe.
+ */
+public class StayPointDetector {
+    public static final double DEFAULT_RADIUS_METERS = 100;
+    public static final long DEFAULT_MIN_STAY_MILLIS = 5 * 60 * 1000;
+    public static final double DEFAULT_MAX_ACCURACY_METERS = 150;
+    private static final double MAX_SPEED_METERS_PER_SECOND = 70;
+    private static final double EARTH_RADIUS_METERS = 6371e3;
+
+    public interface Listener {
+        void onArrive(Visit visit);
+
+        void onDepart(Visit visit);
+    }
+
+    /**
+     * A stay point: the mean position of its fixes and when it started and ended (0 while ongoing)
+     */
+    public static final class Visit {
+        public double latitude;
+        public double longitude;
+        public long arrivalTime;
+        public long departureTime;
+        public int fixes;
+    }
+
+    private final double radiusMeters;
+    private final long minStayMillis;
+    private final double maxAccuracyMeters;
+    private final Listener listener;
+
+    // Last accepted fix
+    private boolean hasLast;
+    private double lastLatitude;
+    private double lastLongitude;
+    private long lastTime;
+
+    // Current run of nearby fixes
+    private int runFixes;
+    private double runLatitudeSum;
+    private double runLongitudeSum;
+    private long runStart;
+    private long runEnd;
+    private Visit visit;
+
+    public StayPointDetector(double radiusMeters, long minStayMillis, double maxAccuracyMeters, Listener listener) {
+        this.radiusMeters = radiusMeters;
+        this.minStayMillis = minStayMillis;
+        this.maxAccuracyMeters = maxAccuracyMeters;
+        this.listener = listener;
+    }
+
+    /**
+     * The visit in progress, or null while moving
+     */
+    public Visit currentVisit() {
+        return visit;
+    }
+
+    /**
+     * Feeds one fix; returns false when it was dropped as jitter. Fixes must arrive in time order.
+     */
+    public boolean add(long timeMillis, double latitude, double longitude, float accuracyMeters) {
+        if (accuracyMeters > maxAccuracyMeters || (hasLast && timeMillis <= lastTime)) {
+            return false;
+        }
+        if (hasLast) {
+            double speed = distanceMeters(lastLatitude, lastLongitude, latitude, longitude)
+                    / ((timeMillis - lastTime) / 1000.0);
+            if (speed > MAX_SPEED_METERS_PER_SECOND) {
+                return false;
+            }
+        }
+        hasLast = true;
+        lastLatitude = latitude;
+        lastLongitude = longitude;
+        lastTime = timeMillis;
+
+        if (runFixes > 0 && distanceMeters(runLatitudeSum / runFixes, runLongitudeSum / runFixes, latitude, longitude) > radiusMeters) {
+            if (visit != null) {
+                visit.departureTime = runEnd;
+                Visit departed = visit;
+                visit = null;
+                listener.onDepart(departed);
+            }
+            runFixes = 0;
+            runLatitudeSum = 0;
+            runLongitudeSum = 0;
+        }
+
+        if (runFixes == 0) {
+            runStart = timeMillis;
+        }
+        runFixes++;
+        runLatitudeSum += latitude;
+        runLongitudeSum += longitude;
+        runEnd = timeMillis;
+
+        if (visit != null) {
+            visit.latitude = runLatitudeSum / runFixes;
+            visit.longitude = runLongitudeSum / runFixes;
+            visit.fixes = runFixes;
+        } else if (runEnd - runStart >= minStayMillis) {
+            visit = new Visit();
+            visit.latitude = runLatitudeSum / runFixes;
+            visit.longitude = runLongitudeSum / runFixes;
+            visit.arrivalTime = runStart;
+            visit.fixes = runFixes;
+            listener.onArrive(visit);
+        }
+        return true;
+    }
+
+    /**
+     * True when a fix is within the jitter radius of the current stay, so storing it adds nothing
+     */
+    public boolean isStationaryJitter(double latitude, double longitude, float accuracyMeters) {
+        return visit != null && distanceMeters(visit.latitude, visit.longitude, latitude, longitude)
+                <= Math.max(accuracyMeters, radiusMeters / 2);
+    }
+
+    /**
+     * Great-circle distance (haversine)
+     */
+    public static double distanceMeters(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double phi1 = Math.toRadians(latitude1);
+        double phi2 = Math.toRadians(latitude2);
+        double deltaPhi = Math.toRadians(latitude2 - latitude1);
+        double deltaLambda = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaPhi / 2) * Math.sin(deltaPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(deltaLambda / 2) * Math.sin(deltaLambda / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,339 @@
+package com.minakamiappfinal;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/**
+ * Deterministic synthetic health data for the demo HealthConnectModule.
+ *
+ * Every value is derived from (seed, time slot) with a stateless hash, so any sub-range reproduces
+ * exactly the same data and a year of dense samples can be walked lazily through the visitor
+ * callbacks without materializing it. Plain JVM code, so it also runs in JVM tests and benchmarks.
+ */
+public final class SyntheticHealthDataGenerator {
+
+    // Health Connect SleepSessionRecord stage codes
+    public static final int STAGE_AWAKE = 1;
+    public static final int STAGE_LIGHT = 4;
+    public static final int STAGE_DEEP = 5;
+    public static final int STAGE_REM = 6;
+
+    public static final String[] EXERCISE_TYPES = {"RUNNING", "WALKING", "CYCLING", "SWIMMING", "YOGA", "STRENGTH_TRAINING"};
+
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 86_400_000L;
+
+    private static final long STREAM_STEPS = 0x5157L;
+    private static final long STREAM_HEART_RATE = 0x4852L;
+    private static final long STREAM_SLEEP = 0x534CL;
+    private static final long STREAM_EXERCISE = 0x4558L;
+    private static final long STREAM_DAY = 0x4441L;
+
+    public static final class Config {
+        public long seed = 20240101L;
+        /** Size of one steps record; 86400 keeps the old one-record-per-day demo shape */
+        public int stepBucketSeconds = 86_400;
+        /** Heart rate samples are spaced randomly between these bounds */
+        public int heartRateMinIntervalSeconds = 3_600;
+        public int heartRateMaxIntervalSeconds = 3_600;
+        public boolean sleepStages = false;
+        public double exerciseProbability = 0.3;
+        public ZoneId zone = ZoneId.systemDefault();
+
+        /** Production-scale density: per-minute steps, 1-5 s heart rate and staged sleep */
+        public static Config highDensity(long seed) {
+            Config config = new Config();
+            config.seed = seed;
+            config.stepBucketSeconds = 60;
+            config.heartRateMinIntervalSeconds = 1;
+            config.heartRateMaxIntervalSeconds = 5;
+            config.sleepStages = true;
+            return config;
+        }
+    }
+
+    public interface StepsVisitor {
+        void visit(long startMillis, long endMillis, int count);
+    }
+
+    public interface HeartRateVisitor {
+        void visit(long timeMillis, int beatsPerMinute);
+    }
+
+    public interface IntervalVisitor {
+        void visit(long startMillis, long endMillis, int kind);
+    }
+
+    private final Config config;
+
+    public SyntheticHealthDataGenerator(Config config) {
+        if (config.stepBucketSeconds < 60) {
+            throw new IllegalArgumentException("stepBucketSeconds must be at least 60");
+        }
+        if (config.heartRateMinIntervalSeconds < 1 || config.heartRateMaxIntervalSeconds < config.heartRateMinIntervalSeconds) {
+            throw new IllegalArgumentException("invalid heart rate interval bounds");
+        }
+        this.config = config;
+    }
+
+    public Config getConfig() {
+        return config;
+    }
+
+    // ---- Steps ----
+
+    /**
+     * Visits steps buckets of stepBucketSeconds overlapping [start, end).
+     * Day-sized buckets are aligned to local midnight, smaller ones to the epoch.
+     * Returns the total step count visited.
+     */
+    public long forEachSteps(long start, long end, StepsVisitor visitor) {
+        long bucket = config.stepBucketSeconds * 1000L;
+        long bucketStart = bucket >= DAY ? startOfLocalDay(start) : Math.floorDiv(start, bucket) * bucket;
+        long total = 0;
+
+        while (bucketStart < end) {
+            long bucketEnd = bucket >= DAY ? startOfLocalDay(bucketStart + DAY + 3_600_000L) : bucketStart + bucket;
+            int count = 0;
+            for (long minute = bucketStart; minute < bucketEnd; minute += MINUTE) {
+                count += stepsInMinute(minute);
+            }
+            if (count > 0) {
+                visitor.visit(bucketStart, bucketEnd, count);
+                total += count;
+            }
+            bucketStart = bucketEnd;
+        }
+        return total;
+    }
+
+    /**
+     * Exact step total for [start, end), independent of the bucket size
+     */
+    public long totalSteps(long start, long end) {
+        long total = 0;
+        for (long minute = Math.floorDiv(start, MINUTE) * MINUTE; minute < end; minute += MINUTE) {
+            total += stepsInMinute(minute);
+        }
+        return total;
+    }
+
+    /**
+     * Steps for the minute starting at [minuteStart]: zero while asleep, otherwise driven by a
+     * diurnal activity curve plus exercise sessions
+     */
+    public int stepsInMinute(long minuteStart) {
+        if (isAsleep(minuteStart)) {
+            return 0;
+        }
+        long slot = Math.floorDiv(minuteStart, MINUTE);
+        double u = unit(hash(STREAM_STEPS, slot, 0));
+        int exercise = exerciseTypeAt(minuteStart);
+        if (exercise == 0 || exercise == 1) {
+            return 120 + (int) (u * 50);
+        }
+        if (exercise >= 0) {
+            return (int) (u * 10);
+        }
+
+        // Roughly a third of the activity level is spent actually walking
+        double intensity = activityLevel(minuteStart) * 0.35;
+        if (u < intensity) {
+            return 60 + (int) (unit(hash(STREAM_STEPS, slot, 1)) * 60);
+        }
+        return u < intensity + 0.1 ? (int) (unit(hash(STREAM_STEPS, slot, 2)) * 12) : 0;
+    }
+
+    // ---- Heart rate ----
+
+    /**
+     * Visits heart rate samples in [start, end). Samples are generated per fixed block, so a
+     * sub-range sees exactly the samples the full range would. Returns the number of samples visited.
+     */
+    public long forEachHeartRate(long start, long end, HeartRateVisitor visitor) {
+        long block = Math.max(60, config.heartRateMaxIntervalSeconds) * 1000L;
+        long minGap = config.heartRateMinIntervalSeconds * 1000L;
+        long gapSpread = (config.heartRateMaxIntervalSeconds - config.heartRateMinIntervalSeconds) * 1000L;
+        long visited = 0;
+
+        for (long blockStart = Math.floorDiv(start, block) * block; blockStart < end; blockStart += block) {
+            long blockIndex = Math.floorDiv(blockStart, block);
+            long state = hash(STREAM_HEART_RATE, blockIndex, 0);
+            long time = blockStart;
+            long blockEnd = blockStart + block;
+
+            while (time < blockEnd && time < end) {
+                state += 0x9E3779B97F4A7C15L;
+                if (time >= start) {
+                    visitor.visit(time, heartRateAt(time, unit(mix64(state))));
+                    visited++;
+                }
+                state += 0x9E3779B97F4A7C15L;
+                time += minGap + (gapSpread > 0 ? (long) (unit(mix64(state)) * (gapSpread + 1000)) / 1000 * 1000 : 0);
+            }
+        }
+        return visited;
+    }
+
+    private int heartRateAt(long time, double noise) {
+        double jitter = (noise - 0.5) * 8;
+        if (isAsleep(time)) {
+            return (int) Math.round(52 + jitter * 0.6);
+        }
+        int exercise = exerciseTypeAt(time);
+        if (exercise >= 0) {
+            return (int) Math.round((exercise == 4 ? 95 : 135) + jitter * 3);
+        }
+        return (int) Math.round(60 + activityLevel(time) * 30 + jitter);
+    }
+
+    // ---- Sleep ----
+
+    /**
+     * Visits sleep sessions starting in [start, end); kind is unused (0)
+     */
+    public void forEachSleepSession(long start, long end, IntervalVisitor visitor) {
+        for (LocalDate night = localDate(start).minusDays(1); !night.isAfter(localDate(end)); night = night.plusDays(1)) {
+            long[] session = sleepSession(night);
+            if (session[0] >= start && session[0] < end) {
+                visitor.visit(session[0], session[1], 0);
+            }
+        }
+    }
+
+    /**
+     * Visits the stages of every sleep session starting in [start, end) in order; kind is the stage code.
+     * Cycles run roughly 90 minutes with more deep sleep early and more REM late in the night.
+     */
+    public void forEachSleepStage(long start, long end, IntervalVisitor visitor) {
+        for (LocalDate night = localDate(start).minusDays(1); !night.isAfter(localDate(end)); night = night.plusDays(1)) {
+            long[] session = sleepSession(night);
+            if (session[0] < start || session[0] >= end) {
+                continue;
+            }
+
+            long state = hash(STREAM_SLEEP, night.toEpochDay(), 1);
+            long time = session[0];
+            int cycle = 0;
+            while (time < session[1]) {
+                double depth = Math.max(0.1, 1.0 - cycle * 0.25);
+                long[] durations = {
+                    (long) ((20 + 15 * unit(mix64(state += 0x9E3779B97F4A7C15L))) * MINUTE),
+                    (long) ((10 + 40 * depth * unit(mix64(state += 0x9E3779B97F4A7C15L))) * MINUTE),
+                    (long) ((10 + 10 * unit(mix64(state += 0x9E3779B97F4A7C15L))) * MINUTE),
+                    (long) ((10 + 15 * cycle * unit(mix64(state += 0x9E3779B97F4A7C15L))) * MINUTE)
+                };
+                int[] stages = {STAGE_LIGHT, STAGE_DEEP, STAGE_LIGHT, STAGE_REM};
+                for (int i = 0; i < stages.length && time < session[1]; i++) {
+                    long stageEnd = Math.min(session[1], time + durations[i]);
+                    visitor.visit(time, stageEnd, stages[i]);
+                    time = stageEnd;
+                }
+                if (time < session[1] && unit(mix64(state += 0x9E3779B97F4A7C15L)) < 0.35) {
+                    long awakeEnd = Math.min(session[1], time + (2 + (long) (4 * unit(mix64(state)))) * MINUTE);
+                    visitor.visit(time, awakeEnd, STAGE_AWAKE);
+                    time = awakeEnd;
+                }
+                cycle++;
+            }
+        }
+    }
+
+    /**
+     * The night starting on [night]: bedtime between 22:30 and 00:00, 6.5 to 8.5 hours long
+     */
+    private long[] sleepSession(LocalDate night) {
+        long day = night.toEpochDay();
+        long bedtime = night.atTime(22, 30).atZone(config.zone).toInstant().toEpochMilli()
+            + (long) (unit(hash(STREAM_SLEEP, day, 0)) * 90) * MINUTE;
+        long duration = (390 + (long) (unit(hash(STREAM_SLEEP, day, 2)) * 120)) * MINUTE;
+        return new long[]{bedtime, bedtime + duration};
+    }
+
+    public boolean isAsleep(long time) {
+        LocalDate date = localDate(time);
+        long[] tonight = sleepSession(date);
+        if (time >= tonight[0] && time < tonight[1]) {
+            return true;
+        }
+        long[] lastNight = sleepSession(date.minusDays(1));
+        return time >= lastNight[0] && time < lastNight[1];
+    }
+
+    // ---- Exercise ----
+
+    /**
+     * Visits exercise sessions starting in [start, end); kind indexes EXERCISE_TYPES
+     */
+    public void forEachExercise(long start, long end, IntervalVisitor visitor) {
+        for (LocalDate day = localDate(start); !day.isAfter(localDate(end)); day = day.plusDays(1)) {
+            long[] session = exerciseSession(day);
+            if (session != null && session[0] >= start && session[0] < end) {
+                visitor.visit(session[0], session[1], (int) session[2]);
+            }
+        }
+    }
+
+    private long[] exerciseSession(LocalDate day) {
+        long epochDay = day.toEpochDay();
+        if (unit(hash(STREAM_EXERCISE, epochDay, 0)) >= config.exerciseProbability) {
+            return null;
+        }
+        long sessionStart = day.atTime(6, 30).atZone(config.zone).toInstant().toEpochMilli()
+            + (long) (unit(hash(STREAM_EXERCISE, epochDay, 1)) * 12.5 * 60) * MINUTE;
+        long duration = (30 + (long) (unit(hash(STREAM_EXERCISE, epochDay, 2)) * 60)) * MINUTE;
+        long type = (long) (unit(hash(STREAM_EXERCISE, epochDay, 3)) * EXERCISE_TYPES.length);
+        return new long[]{sessionStart, sessionStart + duration, type};
+    }
+
+    private int exerciseTypeAt(long time) {
+        long[] session = exerciseSession(localDate(time));
+        return session != null && time >= session[0] && time < session[1] ? (int) session[2] : -1;
+    }
+
+    // ---- Shared helpers ----
+
+    /**
+     * Diurnal activity curve in [0, 1]: morning commute, lunch and evening peaks, scaled per day
+     */
+    private double activityLevel(long time) {
+        ZonedDateTime local = Instant.ofEpochMilli(time).atZone(config.zone);
+        double hour = local.getHour() + local.getMinute() / 60.0;
+        double dayFactor = 0.7 + 0.6 * unit(hash(STREAM_DAY, local.toLocalDate().toEpochDay(), 0));
+        double level = 0.08
+            + 0.55 * bump(hour, 8.3, 0.6)
+            + 0.40 * bump(hour, 12.5, 0.7)
+            + 0.60 * bump(hour, 18.0, 1.2);
+        return Math.min(1.0, level * dayFactor);
+    }
+
+    private static double bump(double x, double mean, double width) {
+        double d = (x - mean) / width;
+        return Math.exp(-0.5 * d * d);
+    }
+
+    private LocalDate localDate(long time) {
+        return Instant.ofEpochMilli(time).atZone(config.zone).toLocalDate();
+    }
+
+    private long startOfLocalDay(long time) {
+        return localDate(time).atStartOfDay(config.zone).toInstant().toEpochMilli();
+    }
+
+    private long hash(long stream, long slot, long salt) {
+        return mix64(config.seed * 0x9E3779B97F4A7C15L + stream * 0xC2B2AE3D27D4EB4FL + slot * 0x165667B19E3779F9L + salt);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double unit(long bits) {
+        return (bits >>> 11) * 0x1.0p-53;
+    }
+}
@@ -0,0 +1,249 @@
+package com.minakamiappfinal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Block format of the time-series store, after Facebook's Gorilla: timestamps as delta-of-delta in
+ * variable-width buckets (a steady 1 Hz stream costs one bit per sample) and values as the XOR with the
+ * previous value, storing only the meaningful bits (a repeated value costs one bit, a heart rate that
+ * moves by one BPM a handful).
+ *
+ * A block is a fixed header followed by the bit stream:
+ * magic, count, payload bytes, first/last time, min, max and sum. The header lets scans skip blocks
+ * outside a range and lets aggregates use whole blocks without decoding them.
+ */
+final class TimeSeriesCodec {
+    static final int BLOCK_MAGIC = 0x54534231; // "TSB1"
+    static final int HEADER_BYTES = 52;
+    static final int MAX_BLOCK_SAMPLES = 4096;
+
+    static final int OFFSET_COUNT = 4;
+    static final int OFFSET_PAYLOAD = 8;
+    static final int OFFSET_FIRST_TIME = 12;
+    static final int OFFSET_LAST_TIME = 20;
+    static final int OFFSET_MIN = 28;
+    static final int OFFSET_MAX = 36;
+    static final int OFFSET_SUM = 44;
+
+    private TimeSeriesCodec() {
+    }
+
+    /**
+     * Encodes samples [from, from + count) of time-sorted arrays into one block, header included
+     */
+    static byte[] encodeBlock(long[] times, double[] values, int from, int count) {
+        BitWriter bits = new BitWriter(count * 2 + 16);
+        long previousTime = times[from];
+        long previousDelta = 0;
+        long previousValue = 0;
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+
+        for (int i = from; i < from + count; i++) {
+            long delta = times[i] - previousTime;
+            writeDeltaOfDelta(bits, delta - previousDelta);
+            previousDelta = delta;
+            previousTime = times[i];
+
+            long value = Double.doubleToRawLongBits(values[i]);
+            if (i == from) {
+                bits.write(value, 64);
+            } else {
+                long xor = value ^ previousValue;
+                if (xor == 0) {
+                    bits.write(0, 1);
+                } else {
+                    int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                    int trailing = Long.numberOfTrailingZeros(xor);
+                    if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                        // Fits in the previous window of meaningful bits
+                        bits.write(0b10, 2);
+                        bits.write(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+                    } else {
+                        int meaningful = 64 - leading - trailing;
+                        bits.write(0b11, 2);
+                        bits.write(leading, 5);
+                        bits.write(meaningful - 1, 6);
+                        bits.write(xor >>> trailing, meaningful);
+                        previousLeading = leading;
+                        previousTrailing = trailing;
+                    }
+                }
+            }
+            previousValue = value;
+
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+            sum += values[i];
+        }
+
+        byte[] payload = bits.toByteArray();
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        block.putInt(BLOCK_MAGIC);
+        block.putInt(count);
+        block.putInt(payload.length);
+        block.putLong(times[from]);
+        block.putLong(times[from + count - 1]);
+        block.putDouble(min);
+        block.putDouble(max);
+        block.putDouble(sum);
+        block.put(payload);
+        return block.array();
+    }
+
+    // Zigzag-encoded delta-of-delta in 1, 9, 12, 16, 37 or 69 bits
+    private static void writeDeltaOfDelta(BitWriter bits, long deltaOfDelta) {
+        if (deltaOfDelta == 0) {
+            bits.write(0, 1);
+            return;
+        }
+        long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+        if (zigzag >>> 7 == 0) {
+            bits.write(0b10, 2);
+            bits.write(zigzag, 7);
+        } else if (zigzag >>> 9 == 0) {
+            bits.write(0b110, 3);
+            bits.write(zigzag, 9);
+        } else if (zigzag >>> 12 == 0) {
+            bits.write(0b1110, 4);
+            bits.write(zigzag, 12);
+        } else if (zigzag >>> 32 == 0) {
+            bits.write(0b11110, 5);
+            bits.write(zigzag, 32);
+        } else {
+            bits.write(0b11111, 5);
+            bits.write(zigzag, 64);
+        }
+    }
+
+    /**
+     * Reusable cursor over one block of a (memory-mapped) buffer; decoding allocates nothing per sample
+     */
+    static final class BlockReader {
+        private ByteBuffer buffer;
+        private long bitPosition;
+        private int remaining;
+        private boolean first;
+        private long previousDelta;
+        private long previousValue;
+        private int leading;
+        private int trailing;
+
+        long time;
+        double value;
+
+        void reset(ByteBuffer buffer, int blockOffset) {
+            this.buffer = buffer;
+            this.remaining = buffer.getInt(blockOffset + OFFSET_COUNT);
+            this.time = buffer.getLong(blockOffset + OFFSET_FIRST_TIME);
+            this.bitPosition = (long) (blockOffset + HEADER_BYTES) * 8;
+            this.first = true;
+            this.previousDelta = 0;
+            this.previousValue = 0;
+            this.leading = 0;
+            this.trailing = 0;
+        }
+
+        boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+
+            previousDelta += readDeltaOfDelta();
+            time += previousDelta;
+
+            if (first) {
+                previousValue = read(64);
+                first = false;
+            } else if (read(1) != 0) {
+                if (read(1) != 0) {
+                    leading = (int) read(5);
+                    int meaningful = (int) read(6) + 1;
+                    trailing = 64 - leading - meaningful;
+                }
+                previousValue ^= read(64 - leading - trailing) << trailing;
+            }
+            value = Double.longBitsToDouble(previousValue);
+            return true;
+        }
+
+        private long readDeltaOfDelta() {
+            if (read(1) == 0) {
+                return 0;
+            }
+            int width;
+            if (read(1) == 0) {
+                width = 7;
+            } else if (read(1) == 0) {
+                width = 9;
+            } else if (read(1) == 0) {
+                width = 12;
+            } else {
+                width = read(1) == 0 ? 32 : 64;
+            }
+            long zigzag = read(width);
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        private long read(int count) {
+            long result = 0;
+            while (count > 0) {
+                int bitInByte = (int) (bitPosition & 7);
+                int available = 8 - bitInByte;
+                int take = Math.min(available, count);
+                int current = buffer.get((int) (bitPosition >>> 3)) & 0xFF;
+                result = (result << take) | ((current >>> (available - take)) & ((1 << take) - 1));
+                bitPosition += take;
+                count -= take;
+            }
+            return result;
+        }
+    }
+
+    private static final class BitWriter {
+        private byte[] bytes;
+        private int size;
+        private int current;
+        private int bitsInCurrent;
+
+        BitWriter(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        // Writes the low [count] bits of [value], most significant first
+        void write(long value, int count) {
+            while (count > 0) {
+                int free = 8 - bitsInCurrent;
+                int take = Math.min(free, count);
+                int chunk = (int) ((value >>> (count - take)) & ((1 << take) - 1));
+                current |= chunk << (free - take);
+                bitsInCurrent += take;
+                count -= take;
+                if (bitsInCurrent == 8) {
+                    flushByte();
+                }
+            }
+        }
+
+        byte[] toByteArray() {
+            if (bitsInCurrent > 0) {
+                flushByte();
+            }
+            return Arrays.copyOf(bytes, size);
+        }
+
+        private void flushByte() {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, size * 2);
+            }
+            bytes[size++] = (byte) current;
+            current = 0;
+            bitsInCurrent = 0;
+        }
+    }
+}
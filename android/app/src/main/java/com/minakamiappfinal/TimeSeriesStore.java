@@ -0,0 +1,719 @@
+package com.minakamiappfinal;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only store for dense samples (every heart rate sample, minute-level steps) that would bloat
+ * the activities table. Each series has one segment file per UTC day under filesDir/timeseries/<series>/,
+ * made of independently compressed blocks (see TimeSeriesCodec). Reads map the segment files and decode
+ * straight into a SampleSink, so a range scan allocates nothing per sample.
+ *
+ * Appends are idempotent: a sample whose timestamp is already stored is dropped, so re-importing a range
+ * adds nothing. New samples that land inside the span of a block on disk (a late watch sync filling a
+ * gap) are merged into that block, which is rewritten; samples between blocks go into new blocks.
+ */
+public class TimeSeriesStore {
+    private static final String TAG = "TimeSeriesStore";
+    public static final String DIRECTORY = "timeseries";
+    public static final String SERIES_HEART_RATE = "heart_rate";
+    public static final String SERIES_STEPS = "steps";
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int MAX_OPEN_SEGMENTS = 256;
+    private static final int MAX_BUCKETS = 100_000;
+    private static final int MAX_SERIES_LENGTH = 128;
+    private static final String ORIGIN_SEPARATOR = "__";
+    private static final Pattern SERIES_NAME = Pattern.compile("[a-z0-9_]{1,128}");
+
+    private static TimeSeriesStore instance;
+
+    private final File root;
+    // Block indexes of recently used segment files, keyed by path; the eldest is dropped past MAX_OPEN_SEGMENTS
+    private final Map<String, Segment> segments = new LinkedHashMap<String, Segment>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Segment> eldest) {
+            return size() > MAX_OPEN_SEGMENTS;
+        }
+    };
+    private final TimeSeriesCodec.BlockReader reader = new TimeSeriesCodec.BlockReader();
+
+    public static synchronized TimeSeriesStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new TimeSeriesStore(new File(context.getApplicationContext().getFilesDir(), DIRECTORY));
+        }
+        return instance;
+    }
+
+    TimeSeriesStore(File root) {
+        this.root = root;
+    }
+
+    /**
+     * Series that dense samples of a Health Connect record type go to, or null for session-like types
+     */
+    public static String seriesFor(String recordType) {
+        switch (recordType) {
+            case "HeartRate":
+                return SERIES_HEART_RATE;
+            case "Steps":
+                return SERIES_STEPS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Growable sample buffer for appends
+     */
+    public static final class Samples implements SampleSink {
+        long[] times;
+        double[] values;
+        int size;
+
+        public Samples() {
+            this(256);
+        }
+
+        public Samples(int capacity) {
+            times = new long[Math.max(capacity, 16)];
+            values = new double[times.length];
+        }
+
+        @Override
+        public void add(long timeMillis, double value) {
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            times[size] = timeMillis;
+            values[size] = value;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+
+        /**
+         * { length, times, values }
+         */
+        public WritableMap toPayload() {
+            WritableArray timeArray = Arguments.createArray();
+            WritableArray valueArray = Arguments.createArray();
+            for (int i = 0; i < size; i++) {
+                timeArray.pushDouble(times[i]);
+                valueArray.pushDouble(values[i]);
+            }
+            WritableMap payload = Arguments.createMap();
+            payload.putInt("length", size);
+            payload.putArray("times", timeArray);
+            payload.putArray("values", valueArray);
+            return payload;
+        }
+    }
+
+    /**
+     * Fixed buckets of count/sum/min/max from [start], bucketMillis wide; empty buckets have count 0
+     */
+    public static final class Aggregate implements SampleSink {
+        public final long start;
+        public final long end;
+        public final long bucketMillis;
+        public final int[] counts;
+        public final double[] sums;
+        public final double[] mins;
+        public final double[] maxs;
+
+        Aggregate(long start, long end, long bucketMillis) {
+            long buckets = (end - start + bucketMillis - 1) / bucketMillis;
+            if (buckets > MAX_BUCKETS) {
+                throw new IllegalArgumentException("Too many buckets: " + buckets);
+            }
+            this.start = start;
+            this.end = end;
+            this.bucketMillis = bucketMillis;
+            counts = new int[(int) buckets];
+            sums = new double[counts.length];
+            mins = new double[counts.length];
+            maxs = new double[counts.length];
+        }
+
+        @Override
+        public void add(long timeMillis, double value) {
+            if (timeMillis < start || timeMillis >= end) {
+                return;
+            }
+            addStats((int) ((timeMillis - start) / bucketMillis), 1, value, value, value);
+        }
+
+        void addStats(int bucket, int count, double sum, double min, double max) {
+            if (counts[bucket] == 0 || min < mins[bucket]) {
+                mins[bucket] = min;
+            }
+            if (counts[bucket] == 0 || max > maxs[bucket]) {
+                maxs[bucket] = max;
+            }
+            counts[bucket] += count;
+            sums[bucket] += sum;
+        }
+
+        /**
+         * Non-empty buckets as columns: { length, bucketMillis, times (bucket starts), counts, averages, mins, maxs }
+         */
+        public WritableMap toPayload() {
+            WritableArray timeArray = Arguments.createArray();
+            WritableArray countArray = Arguments.createArray();
+            WritableArray averageArray = Arguments.createArray();
+            WritableArray minArray = Arguments.createArray();
+            WritableArray maxArray = Arguments.createArray();
+            int length = 0;
+            for (int b = 0; b < counts.length; b++) {
+                if (counts[b] == 0) {
+                    continue;
+                }
+                timeArray.pushDouble(start + b * bucketMillis);
+                countArray.pushInt(counts[b]);
+                averageArray.pushDouble(sums[b] / counts[b]);
+                minArray.pushDouble(mins[b]);
+                maxArray.pushDouble(maxs[b]);
+                length++;
+            }
+            WritableMap payload = Arguments.createMap();
+            payload.putInt("length", length);
+            payload.putDouble("bucketMillis", bucketMillis);
+            payload.putArray("times", timeArray);
+            payload.putArray("counts", countArray);
+            payload.putArray("averages", averageArray);
+            payload.putArray("mins", minArray);
+            payload.putArray("maxs", maxArray);
+            return payload;
+        }
+    }
+
+    /**
+     * Stores the samples of [series]; returns how many were new
+     */
+    public synchronized int append(String series, Samples samples) throws IOException {
+        int n = samples.size;
+        if (n == 0) {
+            return 0;
+        }
+        File directory = seriesDirectory(series);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create " + directory);
+        }
+
+        int[] order = IntervalIndex.sortedOrder(Arrays.copyOf(samples.times, n));
+        long[] keptTimes = new long[n];
+        double[] keptValues = new double[n];
+        int written = 0;
+
+        int position = 0;
+        while (position < n) {
+            long day = Math.floorDiv(samples.times[order[position]], DAY_MILLIS);
+            Segment segment = segment(directory, day);
+            int kept = 0;
+            long previous = Long.MIN_VALUE;
+            while (position < n && Math.floorDiv(samples.times[order[position]], DAY_MILLIS) == day) {
+                int i = order[position++];
+                long time = samples.times[i];
+                if (time == previous || Double.isNaN(samples.values[i])) {
+                    continue;
+                }
+                keptTimes[kept] = time;
+                keptValues[kept] = samples.values[i];
+                kept++;
+                previous = time;
+            }
+            if (kept > 0) {
+                written += segment.write(keptTimes, keptValues, kept, reader);
+            }
+        }
+        return written;
+    }
+
+    /**
+     * The series that [origin]'s samples of [series] are kept in. Each data origin (the app that wrote the
+     * records) gets its own series, so a watch and a phone counting the same steps are never added up, and
+     * a late sync of one origin cannot collide with another's samples.
+     */
+    public static String originSeries(String series, String origin) {
+        if (origin == null || origin.isEmpty()) {
+            return series;
+        }
+        String suffix = ORIGIN_SEPARATOR + origin.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "_");
+        return series + suffix.substring(0, Math.min(suffix.length(), MAX_SERIES_LENGTH - series.length()));
+    }
+
+    /**
+     * Resolves a query for [series] to a stored series. A base name ("steps") stands for its per-origin
+     * series: [origin] picks one, otherwise the origin with the most samples in [start, end), the way
+     * Health Connect keeps one source per day instead of summing sources. Returns null when nothing is stored.
+     */
+    public synchronized String resolveSeries(String series, String origin, long start, long end) throws IOException {
+        if (origin != null) {
+            return originSeries(series, origin);
+        }
+        if (series.contains(ORIGIN_SEPARATOR)) {
+            return series;
+        }
+        String best = null;
+        long bestCount = -1;
+        for (String candidate : originsOf(series)) {
+            long count = countInRange(seriesDirectory(candidate), start, end);
+            if (count > bestCount) {
+                best = candidate;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Stored series of [series]: one per data origin, plus the base series itself if samples were
+     * stored before origins were kept apart
+     */
+    public synchronized List<String> originsOf(String series) {
+        List<String> names = new ArrayList<>();
+        seriesDirectory(series);
+        String[] children = root.list();
+        if (children == null) {
+            return names;
+        }
+        Arrays.sort(children);
+        for (String child : children) {
+            if ((child.equals(series) || child.startsWith(series + ORIGIN_SEPARATOR)) && new File(root, child).isDirectory()) {
+                names.add(child);
+            }
+        }
+        return names;
+    }
+
+    // Sample count of the blocks overlapping [start, end), from the headers alone
+    private long countInRange(File directory, long start, long end) throws IOException {
+        long total = 0;
+        long lastDay = Math.floorDiv(end - 1, DAY_MILLIS);
+        for (long day = Math.floorDiv(start, DAY_MILLIS); day <= lastDay; day++) {
+            if (!new File(directory, day + ".seg").exists()) {
+                continue;
+            }
+            Segment segment = segment(directory, day);
+            for (int b = 0; b < segment.blocks; b++) {
+                if (segment.lastTimes[b] >= start && segment.firstTimes[b] < end) {
+                    total += segment.counts[b];
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Feeds every sample of [series] in [start, end) to [sink] in time order; returns the sample count
+     */
+    public synchronized long scan(String series, long start, long end, SampleSink sink) throws IOException {
+        return visit(series, start, end, sink, null);
+    }
+
+    /**
+     * Buckets [start, end) of [series]; blocks lying inside one bucket are taken from their headers undecoded
+     */
+    public synchronized Aggregate aggregate(String series, long start, long end, long bucketMillis) throws IOException {
+        Aggregate aggregate = new Aggregate(start, end, Math.max(1, bucketMillis));
+        visit(series, start, end, aggregate, aggregate);
+        return aggregate;
+    }
+
+    /**
+     * Per series: { segments, bytes, samples }
+     */
+    public synchronized Map<String, long[]> stats() throws IOException {
+        Map<String, long[]> stats = new LinkedHashMap<>();
+        File[] directories = root.listFiles(File::isDirectory);
+        if (directories == null) {
+            return stats;
+        }
+        Arrays.sort(directories);
+        for (File directory : directories) {
+            long[] totals = new long[3];
+            File[] files = directory.listFiles((dir, name) -> name.endsWith(".seg"));
+            if (files != null) {
+                for (File file : files) {
+                    Segment segment = segment(directory, Long.parseLong(file.getName().replace(".seg", "")));
+                    totals[0]++;
+                    totals[1] += segment.validLength;
+                    for (int b = 0; b < segment.blocks; b++) {
+                        totals[2] += segment.counts[b];
+                    }
+                }
+            }
+            stats.put(directory.getName(), totals);
+        }
+        return stats;
+    }
+
+    private long visit(String series, long start, long end, SampleSink sink, Aggregate headers) throws IOException {
+        File directory = seriesDirectory(series);
+        if (!directory.isDirectory() || end <= start) {
+            return 0;
+        }
+        long visited = 0;
+        long lastDay = Math.floorDiv(end - 1, DAY_MILLIS);
+        for (long day = Math.floorDiv(start, DAY_MILLIS); day <= lastDay; day++) {
+            if (!new File(directory, day + ".seg").exists()) {
+                continue;
+            }
+            Segment segment = segment(directory, day);
+            if (segment.blocks == 0) {
+                continue;
+            }
+            ByteBuffer buffer = segment.map();
+            for (int b : segment.orderByTime()) {
+                long first = segment.firstTimes[b];
+                long last = segment.lastTimes[b];
+                if (last < start || first >= end) {
+                    continue;
+                }
+                if (headers != null && first >= start && last < end
+                        && (first - start) / headers.bucketMillis == (last - start) / headers.bucketMillis) {
+                    headers.addStats((int) ((first - start) / headers.bucketMillis),
+                            segment.counts[b], segment.sums[b], segment.mins[b], segment.maxs[b]);
+                    visited += segment.counts[b];
+                    continue;
+                }
+                reader.reset(buffer, (int) segment.offsets[b]);
+                while (reader.next()) {
+                    if (reader.time >= end) {
+                        break;
+                    }
+                    if (reader.time >= start) {
+                        sink.add(reader.time, reader.value);
+                        visited++;
+                    }
+                }
+            }
+        }
+        return visited;
+    }
+
+    private File seriesDirectory(String series) {
+        if (series == null || !SERIES_NAME.matcher(series).matches()) {
+            throw new IllegalArgumentException("Invalid series name: " + series);
+        }
+        return new File(root, series);
+    }
+
+    private Segment segment(File directory, long day) throws IOException {
+        File file = new File(directory, day + ".seg");
+        Segment segment = segments.get(file.getPath());
+        if (segment == null) {
+            segment = new Segment(file);
+            segments.put(file.getPath(), segment);
+        }
+        return segment;
+    }
+
+    /**
+     * One day file: the headers of its blocks, loaded once and extended on append.
+     * Blocks never overlap in time, but they need not be in time order on disk.
+     */
+    private static final class Segment {
+        final File file;
+        long validLength;
+        int blocks;
+        long[] offsets = new long[8];
+        long[] firstTimes = new long[8];
+        long[] lastTimes = new long[8];
+        int[] counts = new int[8];
+        double[] mins = new double[8];
+        double[] maxs = new double[8];
+        double[] sums = new double[8];
+        private int[] order;
+        private MappedByteBuffer mapped;
+
+        Segment(File file) throws IOException {
+            this.file = file;
+            if (file.exists()) {
+                load();
+            }
+        }
+
+        private void load() throws IOException {
+            long length = file.length();
+            ByteBuffer buffer = map(length);
+            long offset = 0;
+            while (offset + TimeSeriesCodec.HEADER_BYTES <= length) {
+                int at = (int) offset;
+                if (buffer.getInt(at) != TimeSeriesCodec.BLOCK_MAGIC) {
+                    break;
+                }
+                long end = offset + TimeSeriesCodec.HEADER_BYTES + buffer.getInt(at + TimeSeriesCodec.OFFSET_PAYLOAD);
+                if (end > length) {
+                    break;
+                }
+                addBlock(offset, buffer.getLong(at + TimeSeriesCodec.OFFSET_FIRST_TIME),
+                        buffer.getLong(at + TimeSeriesCodec.OFFSET_LAST_TIME),
+                        buffer.getInt(at + TimeSeriesCodec.OFFSET_COUNT),
+                        buffer.getDouble(at + TimeSeriesCodec.OFFSET_MIN),
+                        buffer.getDouble(at + TimeSeriesCodec.OFFSET_MAX),
+                        buffer.getDouble(at + TimeSeriesCodec.OFFSET_SUM));
+                offset = end;
+            }
+            validLength = offset;
+            if (validLength < length) {
+                // A block cut off by process death; the next append truncates it
+                Log.w(TAG, "Ignoring " + (length - validLength) + " trailing bytes of " + file);
+            }
+        }
+
+        ByteBuffer map() throws IOException {
+            if (mapped == null) {
+                mapped = map(validLength);
+            }
+            return mapped;
+        }
+
+        private MappedByteBuffer map(long length) throws IOException {
+            try (RandomAccessFile access = new RandomAccessFile(file, "r")) {
+                return access.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, length);
+            }
+        }
+
+        /**
+         * Stores sorted, distinct samples; returns how many were new. Samples inside a block's span are
+         * merged into it (a stored timestamp wins), the rest are appended as new blocks.
+         */
+        int write(long[] times, double[] values, int count, TimeSeriesCodec.BlockReader reader) throws IOException {
+            int[] byTime = orderByTime();
+            long[] sortedFirstTimes = new long[blocks];
+            for (int k = 0; k < blocks; k++) {
+                sortedFirstTimes[k] = firstTimes[byTime[k]];
+            }
+
+            // Split the samples into those inside a stored block and the rest
+            int[] coveringBlock = new int[count];
+            long[] freeTimes = new long[count];
+            double[] freeValues = new double[count];
+            int free = 0;
+            boolean anyCovered = false;
+            for (int i = 0; i < count; i++) {
+                int slot = slotAtOrBefore(sortedFirstTimes, times[i]);
+                int b = slot >= 0 && times[i] <= lastTimes[byTime[slot]] ? byTime[slot] : -1;
+                coveringBlock[i] = b;
+                if (b < 0) {
+                    freeTimes[free] = times[i];
+                    freeValues[free] = values[i];
+                    free++;
+                } else {
+                    anyCovered = true;
+                }
+            }
+
+            int merged = anyCovered ? rewrite(times, values, count, coveringBlock, reader) : 0;
+            if (free > 0) {
+                append(freeTimes, freeValues, free);
+            }
+            return merged + free;
+        }
+
+        /**
+         * Merges the samples inside stored blocks into those blocks and rewrites the file through a
+         * temporary copy; untouched blocks are copied as they are. Returns how many samples were new.
+         */
+        private int rewrite(long[] times, double[] values, int count, int[] coveringBlock,
+                            TimeSeriesCodec.BlockReader reader) throws IOException {
+            ByteBuffer buffer = map();
+            long[][] mergedTimes = new long[blocks][];
+            double[][] mergedValues = new double[blocks][];
+            int[] mergedCounts = new int[blocks];
+            int added = 0;
+
+            int i = 0;
+            while (i < count) {
+                int b = coveringBlock[i];
+                if (b < 0) {
+                    i++;
+                    continue;
+                }
+                int to = i;
+                while (to < count && coveringBlock[to] == b) {
+                    to++;
+                }
+                long[] blockTimes = new long[counts[b] + to - i];
+                double[] blockValues = new double[blockTimes.length];
+                int size = 0;
+                int next = i;
+                reader.reset(buffer, (int) offsets[b]);
+                boolean more = reader.next();
+                while (more || next < to) {
+                    if (more && (next == to || reader.time <= times[next])) {
+                        if (next < to && reader.time == times[next]) {
+                            next++; // already stored
+                        }
+                        blockTimes[size] = reader.time;
+                        blockValues[size] = reader.value;
+                        more = reader.next();
+                    } else {
+                        blockTimes[size] = times[next];
+                        blockValues[size] = values[next];
+                        next++;
+                        added++;
+                    }
+                    size++;
+                }
+                if (size > counts[b]) {
+                    mergedTimes[b] = blockTimes;
+                    mergedValues[b] = blockValues;
+                    mergedCounts[b] = size;
+                }
+                i = to;
+            }
+            if (added == 0) {
+                return 0;
+            }
+
+            File temporary = new File(file.getPath() + ".tmp");
+            try (RandomAccessFile access = new RandomAccessFile(temporary, "rw")) {
+                FileChannel channel = access.getChannel();
+                channel.truncate(0);
+                for (int b = 0; b < blocks; b++) {
+                    if (mergedTimes[b] == null) {
+                        int length = TimeSeriesCodec.HEADER_BYTES + buffer.getInt((int) offsets[b] + TimeSeriesCodec.OFFSET_PAYLOAD);
+                        ByteBuffer block = buffer.duplicate();
+                        block.limit((int) offsets[b] + length).position((int) offsets[b]);
+                        writeFully(channel, block);
+                        continue;
+                    }
+                    for (int from = 0; from < mergedCounts[b]; from += TimeSeriesCodec.MAX_BLOCK_SAMPLES) {
+                        int size = Math.min(TimeSeriesCodec.MAX_BLOCK_SAMPLES, mergedCounts[b] - from);
+                        writeFully(channel, ByteBuffer.wrap(TimeSeriesCodec.encodeBlock(mergedTimes[b], mergedValues[b], from, size)));
+                    }
+                }
+                channel.force(false);
+            }
+            if (!temporary.renameTo(file)) {
+                temporary.delete();
+                throw new IOException("Cannot replace " + file);
+            }
+
+            blocks = 0;
+            validLength = 0;
+            mapped = null;
+            order = null;
+            load();
+            return added;
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        // Position in [sortedFirstTimes] of the last block starting at or before [time], or -1
+        private static int slotAtOrBefore(long[] sortedFirstTimes, long time) {
+            int position = Arrays.binarySearch(sortedFirstTimes, time);
+            return position >= 0 ? position : -position - 2;
+        }
+
+        int[] orderByTime() {
+            if (order == null) {
+                order = IntervalIndex.sortedOrder(Arrays.copyOf(firstTimes, blocks));
+            }
+            return order;
+        }
+
+        /**
+         * Writes sorted samples as new blocks. A block is cut wherever an existing block lies between two
+         * samples, so blocks stay disjoint in time.
+         */
+        void append(long[] times, double[] values, int count) throws IOException {
+            int[] byTime = orderByTime();
+            long[] sortedFirstTimes = new long[blocks];
+            for (int k = 0; k < blocks; k++) {
+                sortedFirstTimes[k] = firstTimes[byTime[k]];
+            }
+
+            try (RandomAccessFile access = new RandomAccessFile(file, "rw")) {
+                FileChannel channel = access.getChannel();
+                channel.truncate(validLength);
+                channel.position(validLength);
+
+                int from = 0;
+                while (from < count) {
+                    int slot = slotOf(sortedFirstTimes, times[from]);
+                    int to = from + 1;
+                    while (to < count && to - from < TimeSeriesCodec.MAX_BLOCK_SAMPLES
+                            && slotOf(sortedFirstTimes, times[to]) == slot) {
+                        to++;
+                    }
+                    byte[] block = TimeSeriesCodec.encodeBlock(times, values, from, to - from);
+                    writeFully(channel, ByteBuffer.wrap(block));
+                    double min = Double.POSITIVE_INFINITY;
+                    double max = Double.NEGATIVE_INFINITY;
+                    double sum = 0;
+                    for (int i = from; i < to; i++) {
+                        min = Math.min(min, values[i]);
+                        max = Math.max(max, values[i]);
+                        sum += values[i];
+                    }
+                    addBlock(validLength, times[from], times[to - 1], to - from, min, max, sum);
+                    validLength += block.length;
+                    from = to;
+                }
+                // On disk before the caller checkpoints the range as imported
+                channel.force(false);
+            }
+            mapped = null;
+            order = null;
+        }
+
+        // Number of existing blocks starting before [time]
+        private static int slotOf(long[] sortedFirstTimes, long time) {
+            int position = Arrays.binarySearch(sortedFirstTimes, time);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        private void addBlock(long offset, long first, long last, int count, double min, double max, double sum) {
+            if (blocks == offsets.length) {
+                int capacity = blocks * 2;
+                offsets = Arrays.copyOf(offsets, capacity);
+                firstTimes = Arrays.copyOf(firstTimes, capacity);
+                lastTimes = Arrays.copyOf(lastTimes, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                mins = Arrays.copyOf(mins, capacity);
+                maxs = Arrays.copyOf(maxs, capacity);
+                sums = Arrays.copyOf(sums, capacity);
+            }
+            offsets[blocks] = offset;
+            firstTimes[blocks] = first;
+            lastTimes[blocks] = last;
+            counts[blocks] = count;
+            mins[blocks] = min;
+            maxs[blocks] = max;
+            sums[blocks] = sum;
+            blocks++;
+        }
+    }
+}
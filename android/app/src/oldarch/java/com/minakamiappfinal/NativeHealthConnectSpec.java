@@ -0,0 +1,112 @@
+package com.minakamiappfinal;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Old architecture stand-in for the spec codegen generates from src/specs/NativeHealthConnect.ts.
+ * Keeps the same class name and method signatures so RealHealthConnectModule compiles unchanged
+ * in both builds; it is only on the source path when newArchEnabled is false.
+ * Keep it in sync with the TypeScript spec.
+ */
+public abstract class NativeHealthConnectSpec extends ReactContextBaseJavaModule {
+    public static final String NAME = "RealHealthConnectModule";
+
+    public NativeHealthConnectSpec(ReactApplicationContext reactContext) {
+        super(reactContext);
+    }
+
+    @Override
+    public @Nonnull String getName() {
+        return NAME;
+    }
+
+    protected abstract Map<String, Object> getTypedExportedConstants();
+
+    @Override
+    public final @Nullable Map<String, Object> getConstants() {
+        return getTypedExportedConstants();
+    }
+
+    public abstract boolean isHealthConnectAvailableSync();
+
+    public abstract WritableArray getGrantedRecordTypesSync();
+
+    public abstract WritableMap getStateSnapshotSync();
+
+    public abstract void isHealthConnectAvailable(Promise promise);
+
+    public abstract void openHealthConnectInPlayStore(Promise promise);
+
+    public abstract void openHealthConnectSettings(Promise promise);
+
+    public abstract void checkPermissions(ReadableArray permissionRequests, Promise promise);
+
+    public abstract void requestPermissions(ReadableArray permissionRequests, Promise promise);
+
+    public abstract void openHealthConnectPermissions(Promise promise);
+
+    public abstract void readStepsRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readHeartRateRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readHeartRateSamples(ReadableMap timeRangeFilter, @Nullable ReadableMap options, Promise promise);
+
+    public abstract void readExerciseRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readDistanceRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readCaloriesRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readSleepRecords(ReadableMap timeRangeFilter, Promise promise);
+
+    public abstract void readRecordsStream(String recordType, ReadableMap timeRangeFilter, @Nullable ReadableMap options, Promise promise);
+
+    public abstract void readDownsampledSeries(String recordType, ReadableMap timeRangeFilter, @Nullable ReadableMap options, Promise promise);
+
+    public abstract void queryTimeSeries(String series, ReadableMap timeRange, @Nullable ReadableMap options, Promise promise);
+
+    public abstract void getTimeSeriesStats(Promise promise);
+
+    public abstract void readRecordsBatch(ReadableArray types, ReadableMap timeRange, Promise promise);
+
+    public abstract void aggregateByPeriod(ReadableArray recordTypes, ReadableMap range, String period, @Nullable String zoneId, Promise promise);
+
+    public abstract void syncChanges(ReadableArray types, ReadableMap timeRange, Promise promise);
+
+    public abstract void resetChangesTokens(@Nullable String recordType, Promise promise);
+
+    public abstract void ingestRecords(ReadableArray types, ReadableMap timeRange, Promise promise);
+
+    public abstract void startBackfill(ReadableArray types, ReadableMap timeRange, @Nullable ReadableMap options, Promise promise);
+
+    public abstract void resumeBackfill(String jobId, Promise promise);
+
+    public abstract void cancelBackfill(String jobId, Promise promise);
+
+    public abstract void discardBackfill(String jobId, Promise promise);
+
+    public abstract void getPendingBackfills(Promise promise);
+
+    public abstract void syncIncremental(@Nullable ReadableArray types, Promise promise);
+
+    public abstract void getBackgroundSyncState(Promise promise);
+
+    public abstract void getCacheStats(Promise promise);
+
+    public abstract void clearCache(Promise promise);
+
+    public abstract void addListener(String eventName);
+
+    public abstract void removeListeners(double count);
+}
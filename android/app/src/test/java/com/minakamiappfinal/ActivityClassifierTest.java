@@ -0,0 +1,77 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ActivityClassifierTest {
+    private static final long T0 = 1_700_000_000_000L;
+    private static final int HZ = 50;
+
+    private final List<ActivityClassifier.Transition> transitions = new ArrayList<>();
+    private final ActivityClassifier classifier =
+            new ActivityClassifier(ActivityClassifier.DEFAULT_WINDOW_MILLIS, transitions::add);
+
+    // [seconds] of 50 Hz samples from [from]: the magnitude swings by [amplitude] at [gaitHz], with a step per swing
+    private long feed(long from, int seconds, double amplitude, double gaitHz, boolean steps) {
+        long time = from;
+        double nextStep = 0;
+        for (int k = 0; k < seconds * HZ; k++) {
+            double t = k / (double) HZ;
+            float z = (float) (9.81 + amplitude * Math.sin(2 * Math.PI * gaitHz * t));
+            classifier.addAcceleration(time, 0, 0, z);
+            if (steps && t >= nextStep) {
+                classifier.addStep(time);
+                nextStep += 1 / gaitHz;
+            }
+            time += 1000 / HZ;
+        }
+        return time;
+    }
+
+    @Test
+    public void reportsStillThenWalkingOnceConfirmed() {
+        long time = feed(T0, 10, 0, 0, false);
+        // The first conclusive window replaces "unknown" right away
+        assertEquals(1, transitions.size());
+        assertEquals(ActivityClassifier.STILL, transitions.get(0).activity);
+        assertEquals(ActivityClassifier.UNKNOWN, transitions.get(0).previous);
+        assertEquals(T0, transitions.get(0).startTime);
+
+        long walkStart = time;
+        feed(time, 6, 2, 2, true);
+        assertEquals(1, transitions.size());
+        feed(walkStart + 6000, 10, 2, 2, true);
+        classifier.flush();
+
+        assertEquals(2, transitions.size());
+        ActivityClassifier.Transition walking = transitions.get(1);
+        assertEquals(ActivityClassifier.WALKING, walking.activity);
+        assertEquals(ActivityClassifier.STILL, walking.previous);
+        assertEquals(ActivityClassifier.WALKING, classifier.activity());
+        // A window starts at the first sample after the still period, within one sample period of it
+        assertEquals(walkStart, walking.startTime, 1000.0 / HZ);
+    }
+
+    @Test
+    public void classifiesFeatures() {
+        assertEquals(ActivityClassifier.STILL, ActivityClassifier.classify(features(0.05, 0, 0)));
+        assertEquals(ActivityClassifier.VEHICLE, ActivityClassifier.classify(features(0.8, 0.3, 0)));
+        assertEquals(ActivityClassifier.WALKING, ActivityClassifier.classify(features(2, 1.8, 110)));
+        assertEquals(ActivityClassifier.WALKING, ActivityClassifier.classify(features(1.5, 1.8, 0)));
+        assertEquals(ActivityClassifier.RUNNING, ActivityClassifier.classify(features(6, 2.8, 165)));
+        assertEquals(ActivityClassifier.UNKNOWN, ActivityClassifier.classify(features(2.5, 0.2, 0)));
+    }
+
+    private static ActivityClassifier.Features features(double deviation, double hz, double cadence) {
+        ActivityClassifier.Features features = new ActivityClassifier.Features();
+        features.samples = 250;
+        features.deviation = deviation;
+        features.oscillationHz = hz;
+        features.cadence = cadence;
+        return features;
+    }
+}
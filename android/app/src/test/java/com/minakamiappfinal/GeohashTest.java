@@ -0,0 +1,100 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GeohashTest {
+
+    @Test
+    public void encodesKnownHashes() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("ezs42", Geohash.encode(42.605, -5.603, 5));
+    }
+
+    @Test
+    public void longerHashesRefineShorterOnes() {
+        String hash = Geohash.encode(52.3676, 4.9041, Geohash.STORED_PRECISION);
+        for (int precision = 1; precision < Geohash.STORED_PRECISION; precision++) {
+            assertEquals(hash.substring(0, precision), Geohash.encode(52.3676, 4.9041, precision));
+        }
+    }
+
+    /**
+     * Cell bounds decoded from a hash contain the point it was encoded from
+     */
+    @Test
+    public void decodedCellContainsThePoint() {
+        Random random = new Random(4);
+        for (int k = 0; k < 1000; k++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            int precision = 1 + random.nextInt(Geohash.STORED_PRECISION);
+            double[] cell = decode(Geohash.encode(latitude, longitude, precision));
+            double[] size = Geohash.cellSize(precision);
+            assertEquals(size[0], cell[1] - cell[0], 1e-9);
+            assertEquals(size[1], cell[3] - cell[2], 1e-9);
+            assertTrue(latitude >= cell[0] && latitude < cell[1] + 1e-12);
+            assertTrue(longitude >= cell[2] && longitude < cell[3] + 1e-12);
+        }
+    }
+
+    // { min latitude, max latitude, min longitude, max longitude }
+    private static double[] decode(String hash) {
+        String base32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+        double[] cell = {-90, 90, -180, 180};
+        boolean evenBit = true;
+        for (char c : hash.toCharArray()) {
+            int index = base32.indexOf(c);
+            for (int bit = 4; bit >= 0; bit--) {
+                int offset = evenBit ? 2 : 0;
+                double middle = (cell[offset] + cell[offset + 1]) / 2;
+                if (((index >> bit) & 1) == 1) {
+                    cell[offset] = middle;
+                } else {
+                    cell[offset + 1] = middle;
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return cell;
+    }
+
+    /**
+     * The proximity query contract: every point within the radius hashes into the neighbourhood
+     */
+    @Test
+    public void neighbourhoodCoversTheRadius() {
+        Random random = new Random(8);
+        for (double radius : new double[]{20, 100, 500, 5000}) {
+            for (int k = 0; k < 200; k++) {
+                double latitude = random.nextDouble() * 120 - 60;
+                double longitude = random.nextDouble() * 360 - 180;
+                int precision = Geohash.precisionForRadius(radius, latitude);
+                Set<String> cells = Geohash.neighbourhood(latitude, longitude, precision);
+
+                double bearing = random.nextDouble() * 2 * Math.PI;
+                double distance = random.nextDouble() * radius;
+                double otherLatitude = latitude + Math.cos(bearing) * distance / 110_574;
+                double otherLongitude = longitude + Math.sin(bearing) * distance / (111_320 * Math.cos(Math.toRadians(latitude)));
+                if (otherLongitude >= 180) {
+                    otherLongitude -= 360;
+                } else if (otherLongitude < -180) {
+                    otherLongitude += 360;
+                }
+                assertTrue(cells.contains(Geohash.encode(otherLatitude, otherLongitude, precision)));
+            }
+        }
+    }
+
+    @Test
+    public void prefixEndBoundsTheRange() {
+        String end = Geohash.prefixEnd("u173");
+        assertTrue("u173zzzzz".compareTo(end) < 0);
+        assertTrue("u174".compareTo(end) > 0);
+    }
+}
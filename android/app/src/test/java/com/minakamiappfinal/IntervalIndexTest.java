@@ -0,0 +1,97 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class IntervalIndexTest {
+    private static final String[] TYPES = {"visit", "call", "workout"};
+
+    private static int[] sortedByStart(List<Integer> indexes, long[] starts) {
+        // Ties keep input order, like the index
+        indexes.sort((a, b) -> starts[a] != starts[b] ? Long.compare(starts[a], starts[b]) : Integer.compare(a, b));
+        return indexes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void overlappingMatchesBruteForce() {
+        Random random = new Random(5);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = random.nextInt(300);
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            String[] types = new String[n];
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(10_000);
+                // A quarter are point events
+                ends[i] = random.nextInt(4) == 0 ? starts[i] : starts[i] + 1 + random.nextInt(800);
+                types[i] = TYPES[random.nextInt(TYPES.length)];
+            }
+            IntervalIndex index = IntervalIndex.build(starts, ends, types);
+
+            for (int query = 0; query < 50; query++) {
+                long from = random.nextInt(10_500) - 200;
+                long to = from + random.nextInt(1000);
+                String type = random.nextBoolean() ? null : TYPES[random.nextInt(TYPES.length)];
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < n; i++) {
+                    boolean overlaps = starts[i] == ends[i]
+                            ? from <= starts[i] && starts[i] < to
+                            : starts[i] < to && ends[i] > from;
+                    if (overlaps && (type == null || type.equals(types[i]))) {
+                        expected.add(i);
+                    }
+                }
+                assertArrayEquals(sortedByStart(expected, starts), index.overlapping(from, to, type));
+            }
+        }
+    }
+
+    @Test
+    public void followingMatchesBruteForce() {
+        Random random = new Random(9);
+        int n = 500;
+        long[] starts = new long[n];
+        long[] ends = new long[n];
+        String[] types = new String[n];
+        for (int i = 0; i < n; i++) {
+            starts[i] = random.nextInt(50_000);
+            ends[i] = starts[i] + random.nextInt(500);
+            types[i] = TYPES[random.nextInt(TYPES.length)];
+        }
+        IntervalIndex index = IntervalIndex.build(starts, ends, types);
+
+        for (int query = 0; query < 200; query++) {
+            long time = random.nextInt(50_000);
+            long within = random.nextInt(3000);
+            String type = random.nextBoolean() ? null : TYPES[random.nextInt(TYPES.length)];
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (starts[i] > time && starts[i] <= time + within && (type == null || type.equals(types[i]))) {
+                    expected.add(i);
+                }
+            }
+            assertArrayEquals(sortedByStart(expected, starts), index.following(time, within, type));
+        }
+    }
+
+    @Test
+    public void sequencesChainTheFirstLaterEventWithinTheWindow() {
+        long[] starts = {0, 100, 150, 1000, 5000, 5100};
+        long[] ends = {50, 120, 160, 1100, 5050, 5200};
+        String[] types = {"visit", "call", "call", "workout", "visit", "call"};
+        IntervalIndex index = IntervalIndex.build(starts, ends, types);
+
+        List<int[]> chains = index.matchSequences(new String[]{"visit", "call", "workout"}, 1000);
+
+        // The second visit has a call but no workout within the window
+        assertEquals(1, chains.size());
+        assertArrayEquals(new int[]{0, 1, 3}, chains.get(0));
+        assertEquals(0, index.overlapping(0, 100, "sleep").length);
+    }
+}
@@ -0,0 +1,136 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IntervalMergeEngineTest {
+
+    @Test
+    public void higherPrioritySourceWinsTheOverlap() {
+        IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch();
+        batch.add("phone", 0, 600_000, 1000);
+        batch.add("watch", 240_000, 360_000, 300);
+
+        IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, Arrays.asList("watch", "phone"));
+
+        assertEquals(3, result.size);
+        assertEquals(240_000, result.ends[0]);
+        assertEquals("watch", result.sourceNames[result.sources[1]]);
+        assertEquals(400, result.values[0], 1e-9);
+        assertEquals(300, result.values[1], 1e-9);
+        assertEquals(1100, result.mergedTotal, 1e-9);
+        assertEquals(1300, result.rawTotal, 1e-9);
+        assertEquals(200, result.suppressedBySource[0], 1e-9);
+    }
+
+    @Test
+    public void priorityMatchesTheSourcePrefix() {
+        IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch();
+        batch.add("manual", 0, 1000, 10);
+        batch.add("health_connect:com.sec.android.app.shealth", 0, 1000, 20);
+
+        IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, Collections.singletonList("health_connect"));
+
+        assertEquals(1, result.size);
+        assertEquals(20, result.mergedTotal, 1e-9);
+        assertEquals(1, result.sources[0]);
+    }
+
+    @Test
+    public void instantaneousRecordsAreSkipped() {
+        IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch();
+        batch.add("phone", 500, 500, 7);
+        IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, Collections.emptyList());
+        assertEquals(0, result.size);
+        assertEquals(1, result.skippedRecords);
+        assertEquals(7, result.suppressedBySource[0], 1e-9);
+    }
+
+    /**
+     * Every time unit goes to the best active record (rank, then input order), which gets value / length for it
+     */
+    @Test
+    public void matchesBruteForceOverUnitSteps() {
+        Random random = new Random(11);
+        String[] sources = {"a", "b:x", "c", "b:y"};
+        List<String> priority = Arrays.asList("c", "b");
+        int[] rank = {2, 1, 0, 1}; // "a" is unlisted and ranks last
+        for (int trial = 0; trial < 50; trial++) {
+            int n = 1 + random.nextInt(40);
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            double[] values = new double[n];
+            int[] sourceOf = new int[n];
+            IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch(4);
+            for (int i = 0; i < n; i++) {
+                starts[i] = random.nextInt(200);
+                ends[i] = starts[i] + random.nextInt(60);
+                values[i] = random.nextInt(500);
+                sourceOf[i] = random.nextInt(sources.length);
+                batch.add(sources[sourceOf[i]], starts[i], ends[i], values[i]);
+            }
+            IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, priority);
+
+            double[] expectedBySource = new double[sources.length];
+            long[] durationBySource = new long[sources.length];
+            double expectedTotal = 0;
+            for (long t = 0; t < 260; t++) {
+                int winner = -1;
+                for (int i = 0; i < n; i++) {
+                    if (starts[i] <= t && t < ends[i]
+                            && (winner < 0 || rank[sourceOf[i]] < rank[sourceOf[winner]])) {
+                        winner = i;
+                    }
+                }
+                if (winner >= 0) {
+                    double share = values[winner] / (ends[winner] - starts[winner]);
+                    expectedBySource[sourceOf[winner]] += share;
+                    durationBySource[sourceOf[winner]]++;
+                    expectedTotal += share;
+                }
+            }
+
+            assertEquals(expectedTotal, result.mergedTotal, 1e-6);
+            for (int s = 0; s < sources.length; s++) {
+                int id = Arrays.asList(result.sourceNames).indexOf(sources[s]);
+                assertEquals(expectedBySource[s], id < 0 ? 0 : result.keptBySource[id], 1e-6);
+                assertEquals(durationBySource[s], id < 0 ? 0 : result.durationBySource[id]);
+            }
+            // Segments are ordered, disjoint and carry the whole merged total
+            double segmentTotal = 0;
+            for (int k = 0; k < result.size; k++) {
+                if (k > 0) {
+                    assertTrue(result.starts[k] >= result.ends[k - 1]);
+                }
+                segmentTotal += result.values[k];
+            }
+            assertEquals(result.mergedTotal, segmentTotal, 1e-6);
+        }
+    }
+
+    @Test
+    public void bucketTotalsSplitSegmentsAcrossBoundaries() {
+        IntervalMergeEngine.Batch batch = new IntervalMergeEngine.Batch();
+        // The phone counts an hour, the watch the same half hour in minute buckets
+        batch.add("phone", 0, 3_600_000, 3600);
+        for (long minute = 0; minute < 30; minute++) {
+            batch.add("watch", minute * 60_000, (minute + 1) * 60_000, 70);
+        }
+
+        IntervalMergeEngine.Result result = IntervalMergeEngine.merge(batch, Arrays.asList("watch", "phone"));
+        double[] totals = IntervalMergeEngine.bucketTotals(result, new long[]{0, 1_200_000, 2_700_000, 7_200_000});
+
+        assertEquals(3, totals.length);
+        assertEquals(20 * 70, totals[0], 1e-6);
+        assertEquals(10 * 70 + 900, totals[1], 1e-6);
+        assertEquals(900, totals[2], 1e-6);
+        assertEquals(result.mergedTotal, totals[0] + totals[1] + totals[2], 1e-6);
+    }
+}
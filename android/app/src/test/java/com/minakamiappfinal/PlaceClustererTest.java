@@ -0,0 +1,83 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PlaceClustererTest {
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    public void findsPlacesVisitsAndNoise() {
+        double[][] places = {{52.3702, 4.8952}, {52.0907, 5.1214}};
+        Random random = new Random(6);
+        int n = 0;
+        double[] latitudes = new double[400];
+        double[] longitudes = new double[400];
+        long[] times = new long[400];
+        long time = 1_700_000_000_000L;
+
+        // Home, work, home again after a long gap, with a few isolated fixes on the road in between
+        int[] sequence = {0, 1, 0};
+        for (int visit = 0; visit < sequence.length; visit++) {
+            double[] place = places[sequence[visit]];
+            for (int k = 0; k < 100; k++) {
+                latitudes[n] = place[0] + random.nextGaussian() * 0.0002;
+                longitudes[n] = place[1] + random.nextGaussian() * 0.0002;
+                times[n++] = time;
+                time += MINUTE;
+            }
+            for (int k = 0; k < 3; k++) {
+                latitudes[n] = 52.2 + visit * 0.01 + k * 0.03;
+                longitudes[n] = 5.0 + k * 0.03;
+                times[n++] = time;
+                time += 20 * MINUTE;
+            }
+        }
+
+        PlaceClusterer.Places found = new PlaceClusterer(100, PlaceClusterer.DEFAULT_MIN_POINTS,
+                PlaceClusterer.DEFAULT_VISIT_GAP_MILLIS).cluster(latitudes, longitudes, times, null, n);
+
+        assertEquals(2, found.size);
+        assertEquals(9, found.noise);
+        assertEquals(200, found.fixes[0]);
+        assertEquals(2, found.visits[0]);
+        assertEquals(100, found.fixes[1]);
+        assertEquals(1, found.visits[1]);
+        assertEquals(times[0], found.firstTimes[0]);
+        assertEquals(2 * 99 * MINUTE, found.dwellMillis[0]);
+        assertTrue(StayPointDetector.distanceMeters(found.latitudes[0], found.longitudes[0], places[0][0], places[0][1]) < 20);
+        assertTrue(StayPointDetector.distanceMeters(found.latitudes[1], found.longitudes[1], places[1][0], places[1][1]) < 20);
+        assertTrue(found.radiusMeters[0] < 100);
+        assertEquals(found.geohashes[0], Geohash.encode(found.latitudes[0], found.longitudes[0], 8));
+    }
+
+    @Test
+    public void precomputedGeohashesGiveTheSameResult() {
+        Random random = new Random(12);
+        int n = 300;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        long[] times = new long[n];
+        String[] geohashes = new String[n];
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = 48.8566 + (i % 3) * 0.01 + random.nextGaussian() * 0.0001;
+            longitudes[i] = 2.3522 + random.nextGaussian() * 0.0001;
+            times[i] = i * MINUTE;
+            geohashes[i] = i % 2 == 0 ? Geohash.encode(latitudes[i], longitudes[i], Geohash.STORED_PRECISION) : null;
+        }
+        PlaceClusterer clusterer = new PlaceClusterer(50, 3, PlaceClusterer.DEFAULT_VISIT_GAP_MILLIS);
+        PlaceClusterer.Places plain = clusterer.cluster(latitudes, longitudes, times, null, n);
+        PlaceClusterer.Places hashed = clusterer.cluster(latitudes, longitudes, times, geohashes, n);
+
+        assertEquals(3, plain.size);
+        assertEquals(plain.size, hashed.size);
+        for (int k = 0; k < plain.size; k++) {
+            assertEquals(plain.fixes[k], hashed.fixes[k]);
+            assertEquals(plain.latitudes[k], hashed.latitudes[k], 1e-12);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SeriesDownsamplerTest {
+
+    @Test
+    public void lttbKeepsTheEndsAndTheSpike() {
+        int size = 1000;
+        long[] times = new long[size];
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = 1_700_000_000_000L + i * 1000L;
+            values[i] = 70 + Math.sin(i / 30.0);
+        }
+        values[537] = 180;
+
+        int[] kept = SeriesDownsampler.lttb(times, values, size, 50);
+
+        assertEquals(50, kept.length);
+        assertEquals(0, kept[0]);
+        assertEquals(size - 1, kept[kept.length - 1]);
+        boolean spike = false;
+        for (int k = 0; k < kept.length; k++) {
+            if (k > 0) {
+                assertTrue(kept[k] > kept[k - 1]);
+            }
+            spike |= kept[k] == 537;
+        }
+        assertTrue(spike);
+    }
+
+    @Test
+    public void lttbReturnsEverythingBelowTheThreshold() {
+        assertArrayEquals(new int[]{0, 1, 2}, SeriesDownsampler.lttb(new long[]{1, 2, 3}, new double[]{1, 2, 3}, 3, 10));
+    }
+
+    @Test
+    public void addIgnoresPointsOutsideTheRangeAndMissingValues() {
+        SeriesDownsampler downsampler = new SeriesDownsampler(SeriesDownsampler.METHOD_MIN_MAX, 1000, 2000, 10);
+        downsampler.add(999, 1);
+        downsampler.add(2000, 1);
+        downsampler.add(1500, Double.NaN);
+        downsampler.add(1000, 1);
+        downsampler.add(1999, 2);
+        assertEquals(2, downsampler.rawCount());
+    }
+}
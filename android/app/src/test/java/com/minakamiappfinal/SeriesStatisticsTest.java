@@ -0,0 +1,107 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SeriesStatisticsTest {
+
+    @Test
+    public void rollingMatchesRecomputedWindows() {
+        Random random = new Random(1);
+        double[] series = new double[400];
+        for (int i = 0; i < series.length; i++) {
+            // Large offset: naive sum-of-squares updates lose the variance here, Welford does not
+            series[i] = random.nextInt(10) == 0 ? Double.NaN : 1e7 + random.nextGaussian() * 50;
+        }
+        int window = 14;
+        int minSamples = 5;
+        SeriesStatistics.Rolling rolling = SeriesStatistics.rolling(series, window, minSamples);
+
+        for (int i = 0; i < series.length; i++) {
+            double[] current = moments(series, i - window + 1, i);
+            assertSame("mean " + i, current[1] > 0 ? current[0] : Double.NaN, rolling.mean[i], 1e-6);
+            assertSame("variance " + i, current[1] > 1 ? current[2] : Double.NaN, rolling.variance[i], 1e-4);
+
+            double[] before = moments(series, i - window, i - 1);
+            double expectedZ = Double.NaN;
+            if (!Double.isNaN(series[i]) && before[1] >= minSamples && before[2] > 0) {
+                expectedZ = (series[i] - before[0]) / Math.sqrt(before[2]);
+            }
+            assertSame("z " + i, expectedZ, rolling.zScore[i], 1e-6);
+        }
+    }
+
+    // { mean, count, sample variance } of the non-NaN values in [from, to]
+    private static double[] moments(double[] series, int from, int to) {
+        double sum = 0;
+        int count = 0;
+        for (int i = Math.max(from, 0); i <= to; i++) {
+            if (!Double.isNaN(series[i])) {
+                sum += series[i];
+                count++;
+            }
+        }
+        double mean = count > 0 ? sum / count : 0;
+        double squares = 0;
+        for (int i = Math.max(from, 0); i <= to; i++) {
+            if (!Double.isNaN(series[i])) {
+                squares += (series[i] - mean) * (series[i] - mean);
+            }
+        }
+        return new double[]{mean, count, count > 1 ? squares / (count - 1) : 0};
+    }
+
+    private static void assertSame(String message, double expected, double actual, double delta) {
+        if (Double.isNaN(expected)) {
+            assertTrue(message + ": expected NaN, got " + actual, Double.isNaN(actual));
+        } else {
+            assertEquals(message, expected, actual, delta);
+        }
+    }
+
+    @Test
+    public void anomaliesFlagOutliers() {
+        double[] series = new double[30];
+        for (int i = 0; i < series.length; i++) {
+            series[i] = 8000 + (i % 3) * 100;
+        }
+        series[20] = 20000;
+        SeriesStatistics.Rolling rolling = SeriesStatistics.rolling(series, 7, 5);
+        assertArrayEquals(new int[]{20}, rolling.anomalies(3));
+    }
+
+    @Test
+    public void laggedCorrelationsFindTheLag() {
+        Random random = new Random(2);
+        double[] x = new double[60];
+        double[] y = new double[60];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = random.nextDouble();
+        }
+        for (int i = 1; i < y.length; i++) {
+            // y follows x one day later, through a monotonic but non-linear map
+            y[i] = Math.exp(3 * x[i - 1]);
+        }
+        y[0] = Double.NaN;
+
+        SeriesStatistics.Correlation[] correlations = SeriesStatistics.laggedCorrelations(x, y, -2, 2);
+
+        assertEquals(5, correlations.length);
+        SeriesStatistics.Correlation atOne = correlations[3];
+        assertEquals(1, atOne.lag);
+        assertEquals(59, atOne.pairs);
+        assertEquals(1.0, atOne.spearman, 1e-12);
+        assertTrue(atOne.pearson > 0.9 && atOne.pearson < 1);
+        assertTrue(Math.abs(correlations[2].spearman) < 0.5);
+    }
+
+    @Test
+    public void ranksShareTies() {
+        assertArrayEquals(new double[]{1.5, 1.5, 4, 3}, SeriesStatistics.ranks(new double[]{2, 2, 9, 5}, 4), 0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StayPointDetectorTest {
+    private static final long MINUTE = 60_000L;
+
+    private final List<StayPointDetector.Visit> arrivals = new ArrayList<>();
+    private final List<StayPointDetector.Visit> departures = new ArrayList<>();
+
+    private StayPointDetector detector() {
+        return new StayPointDetector(StayPointDetector.DEFAULT_RADIUS_METERS, StayPointDetector.DEFAULT_MIN_STAY_MILLIS,
+                StayPointDetector.DEFAULT_MAX_ACCURACY_METERS, new StayPointDetector.Listener() {
+                    @Override
+                    public void onArrive(StayPointDetector.Visit visit) {
+                        arrivals.add(visit);
+                    }
+
+                    @Override
+                    public void onDepart(StayPointDetector.Visit visit) {
+                        departures.add(visit);
+                    }
+                });
+    }
+
+    @Test
+    public void reportsArrivalOnceTheStayIsLongEnoughAndDepartureWhenLeaving() {
+        StayPointDetector detector = detector();
+        long time = 1_700_000_000_000L;
+        for (int k = 0; k < 5; k++) {
+            assertTrue(detector.add(time + k * MINUTE, 52.37 + (k % 2) * 0.0001, 4.89, 10));
+        }
+        assertTrue(arrivals.isEmpty());
+        detector.add(time + 5 * MINUTE, 52.37, 4.89, 10);
+        assertEquals(1, arrivals.size());
+        assertEquals(time, arrivals.get(0).arrivalTime);
+        assertEquals(6, detector.currentVisit().fixes);
+        assertTrue(detector.isStationaryJitter(52.3701, 4.89, 10));
+
+        // About 1.1 km away ten minutes later: walking pace, so a real move
+        assertTrue(detector.add(time + 15 * MINUTE, 52.38, 4.89, 10));
+        assertEquals(1, departures.size());
+        assertEquals(time + 5 * MINUTE, departures.get(0).departureTime);
+        assertNull(detector.currentVisit());
+    }
+
+    @Test
+    public void dropsInaccurateAndImpossibleFixes() {
+        StayPointDetector detector = detector();
+        long time = 1_700_000_000_000L;
+        assertTrue(detector.add(time, 52.37, 4.89, 10));
+        assertFalse(detector.add(time + MINUTE, 52.37, 4.89, 500));
+        // 100 km in a minute
+        assertFalse(detector.add(time + 2 * MINUTE, 53.27, 4.89, 10));
+        assertFalse(detector.add(time, 52.37, 4.89, 10));
+        assertTrue(detector.add(time + 3 * MINUTE, 52.37, 4.89, 10));
+    }
+
+    @Test
+    public void distanceIsHaversine() {
+        // One degree of latitude along a meridian
+        assertEquals(111_195, StayPointDetector.distanceMeters(0, 0, 1, 0), 1);
+        assertEquals(0, StayPointDetector.distanceMeters(52.37, 4.89, 52.37, 4.89), 0);
+    }
+}
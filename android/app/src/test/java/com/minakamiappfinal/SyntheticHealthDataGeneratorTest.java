@@ -0,0 +1,169 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SyntheticHealthDataGeneratorTest {
+    private static final ZoneId ZONE = ZoneId.of("Europe/Amsterdam");
+    private static final long MINUTE = 60_000L;
+    private static final long DAY = 86_400_000L;
+    private static final long START = LocalDate.of(2024, 3, 4).atStartOfDay(ZONE).toInstant().toEpochMilli();
+
+    private static SyntheticHealthDataGenerator generator(long seed) {
+        SyntheticHealthDataGenerator.Config config = SyntheticHealthDataGenerator.Config.highDensity(seed);
+        config.zone = ZONE;
+        return new SyntheticHealthDataGenerator(config);
+    }
+
+    private static long[] heartRate(SyntheticHealthDataGenerator generator, long start, long end) {
+        List<Long> samples = new ArrayList<>();
+        generator.forEachHeartRate(start, end, (time, bpm) -> {
+            samples.add(time);
+            samples.add((long) bpm);
+        });
+        long[] flat = new long[samples.size()];
+        for (int i = 0; i < flat.length; i++) {
+            flat[i] = samples.get(i);
+        }
+        return flat;
+    }
+
+    private static long[] steps(SyntheticHealthDataGenerator generator, long start, long end) {
+        List<Long> buckets = new ArrayList<>();
+        generator.forEachSteps(start, end, (bucketStart, bucketEnd, count) -> {
+            buckets.add(bucketStart);
+            buckets.add(bucketEnd);
+            buckets.add((long) count);
+        });
+        long[] flat = new long[buckets.size()];
+        for (int i = 0; i < flat.length; i++) {
+            flat[i] = buckets.get(i);
+        }
+        return flat;
+    }
+
+    @Test
+    public void sameSeedGivesTheSameData() {
+        long end = START + DAY;
+        assertArrayEquals(heartRate(generator(7), START, end), heartRate(generator(7), START, end));
+        assertArrayEquals(steps(generator(7), START, end), steps(generator(7), START, end));
+        assertFalse(Arrays.equals(heartRate(generator(7), START, end), heartRate(generator(8), START, end)));
+    }
+
+    @Test
+    public void heartRateSubRangesJoinUpToTheFullRange() {
+        SyntheticHealthDataGenerator generator = generator(42);
+        long a = START + 13 * MINUTE + 7_000;
+        long b = a + 5 * 3_600_000L + 17 * MINUTE + 2_500;
+        long c = b + 9 * 3_600_000L;
+
+        long[] whole = heartRate(generator, a, c);
+        long[] first = heartRate(generator, a, b);
+        long[] second = heartRate(generator, b, c);
+        long[] joined = new long[first.length + second.length];
+        System.arraycopy(first, 0, joined, 0, first.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+
+        assertTrue(whole.length > 0);
+        assertArrayEquals(whole, joined);
+        for (int i = 0; i < whole.length; i += 2) {
+            assertTrue(whole[i] >= a && whole[i] < c);
+            if (i > 0) {
+                long gap = whole[i] - whole[i - 2];
+                // High density spaces samples 1 to 5 seconds apart, across block boundaries too
+                assertTrue(gap > 0 && gap <= 5_000);
+            }
+        }
+    }
+
+    @Test
+    public void heartRateCountMatchesTheVisitedSamples() {
+        SyntheticHealthDataGenerator generator = generator(3);
+        int[] visited = {0};
+        long count = generator.forEachHeartRate(START, START + 6 * 3_600_000L, (time, bpm) -> {
+            assertTrue(bpm > 30 && bpm < 200);
+            visited[0]++;
+        });
+        assertEquals(visited[0], count);
+    }
+
+    @Test
+    public void totalStepsEqualsTheSumOfTheBuckets() {
+        SyntheticHealthDataGenerator generator = generator(11);
+        long end = START + 3 * DAY;
+
+        long[] sum = {0};
+        long returned = generator.forEachSteps(START, end, (bucketStart, bucketEnd, count) -> {
+            assertEquals(MINUTE, bucketEnd - bucketStart);
+            sum[0] += count;
+        });
+
+        assertTrue(sum[0] > 0);
+        assertEquals(sum[0], returned);
+        assertEquals(generator.totalSteps(START, end), sum[0]);
+    }
+
+    @Test
+    public void totalStepsDoesNotDependOnTheBucketSize() {
+        SyntheticHealthDataGenerator.Config config = SyntheticHealthDataGenerator.Config.highDensity(11);
+        config.zone = ZONE;
+        config.stepBucketSeconds = 900;
+        SyntheticHealthDataGenerator quarterHours = new SyntheticHealthDataGenerator(config);
+        long end = START + 2 * DAY;
+
+        long[] sum = {0};
+        quarterHours.forEachSteps(START, end, (bucketStart, bucketEnd, count) -> sum[0] += count);
+
+        assertEquals(generator(11).totalSteps(START, end), sum[0]);
+    }
+
+    @Test
+    public void noStepsWhileAsleep() {
+        SyntheticHealthDataGenerator generator = generator(5);
+        generator.forEachSleepSession(START, START + 7 * DAY, (start, end, kind) -> {
+            assertEquals(0, generator.totalSteps(start, end));
+            assertTrue(generator.isAsleep(start));
+            assertFalse(generator.isAsleep(end));
+        });
+    }
+
+    @Test
+    public void sleepStagesCoverEachSessionWithoutGaps() {
+        SyntheticHealthDataGenerator generator = generator(9);
+        List<long[]> sessions = new ArrayList<>();
+        generator.forEachSleepSession(START, START + 5 * DAY, (start, end, kind) -> sessions.add(new long[]{start, end}));
+        List<long[]> stages = new ArrayList<>();
+        generator.forEachSleepStage(START, START + 5 * DAY, (start, end, kind) -> stages.add(new long[]{start, end, kind}));
+
+        assertEquals(5, sessions.size());
+        int stage = 0;
+        for (long[] session : sessions) {
+            long time = session[0];
+            while (stage < stages.size() && stages.get(stage)[0] < session[1]) {
+                assertEquals(time, stages.get(stage)[0]);
+                assertTrue(stages.get(stage)[1] > time);
+                time = stages.get(stage)[1];
+                stage++;
+            }
+            assertEquals(session[1], time);
+        }
+        assertEquals(stages.size(), stage);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsStepBucketsBelowAMinute() {
+        SyntheticHealthDataGenerator.Config config = new SyntheticHealthDataGenerator.Config();
+        config.stepBucketSeconds = 30;
+        new SyntheticHealthDataGenerator(config);
+    }
+}
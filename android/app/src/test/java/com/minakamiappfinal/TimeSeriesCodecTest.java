@@ -0,0 +1,107 @@
+package com.minakamiappfinal;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TimeSeriesCodecTest {
+
+    private static void assertRoundTrip(long[] times, double[] values, int from, int count) {
+        byte[] block = TimeSeriesCodec.encodeBlock(times, values, from, count);
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        assertEquals(TimeSeriesCodec.BLOCK_MAGIC, buffer.getInt(0));
+        assertEquals(count, buffer.getInt(TimeSeriesCodec.OFFSET_COUNT));
+        assertEquals(times[from], buffer.getLong(TimeSeriesCodec.OFFSET_FIRST_TIME));
+        assertEquals(times[from + count - 1], buffer.getLong(TimeSeriesCodec.OFFSET_LAST_TIME));
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double sum = 0;
+        TimeSeriesCodec.BlockReader reader = new TimeSeriesCodec.BlockReader();
+        reader.reset(buffer, 0);
+        for (int i = from; i < from + count; i++) {
+            assertTrue("sample " + i + " missing", reader.next());
+            assertEquals("time " + i, times[i], reader.time);
+            // Values are stored bit for bit
+            assertEquals("value " + i, Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(reader.value));
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+            sum += values[i];
+        }
+        assertFalse(reader.next());
+        assertEquals(min, buffer.getDouble(TimeSeriesCodec.OFFSET_MIN), 0);
+        assertEquals(max, buffer.getDouble(TimeSeriesCodec.OFFSET_MAX), 0);
+        assertEquals(sum, buffer.getDouble(TimeSeriesCodec.OFFSET_SUM), 1e-9 * Math.abs(sum));
+    }
+
+    @Test
+    public void steadyStreamRoundTrips() {
+        int n = TimeSeriesCodec.MAX_BLOCK_SAMPLES;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            times[i] = 1_700_000_000_000L + i * 1000L;
+            values[i] = 72;
+        }
+        assertRoundTrip(times, values, 0, n);
+    }
+
+    @Test
+    public void irregularTimesAndValuesRoundTrip() {
+        Random random = new Random(7);
+        int n = 3000;
+        long[] times = new long[n];
+        double[] values = new double[n];
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < n; i++) {
+            // Every delta-of-delta width: repeats, small jitter, minutes, days and beyond 32 bits
+            switch (random.nextInt(6)) {
+                case 0:
+                    time += 1000;
+                    break;
+                case 1:
+                    time += 1 + random.nextInt(100);
+                    break;
+                case 2:
+                    time += random.nextInt(4000);
+                    break;
+                case 3:
+                    time += random.nextInt(600_000);
+                    break;
+                case 4:
+                    time += 86_400_000L * (1 + random.nextInt(3));
+                    break;
+                default:
+                    time += 1L << 33;
+                    break;
+            }
+            times[i] = time;
+            switch (random.nextInt(4)) {
+                case 0:
+                    values[i] = i > 0 ? values[i - 1] : 0;
+                    break;
+                case 1:
+                    values[i] = 60 + random.nextInt(100);
+                    break;
+                case 2:
+                    values[i] = random.nextGaussian() * 1e6;
+                    break;
+                default:
+                    values[i] = -random.nextDouble();
+                    break;
+            }
+        }
+        assertRoundTrip(times, values, 0, n);
+        assertRoundTrip(times, values, 1234, 500);
+    }
+
+    @Test
+    public void singleSampleRoundTrips() {
+        assertRoundTrip(new long[]{42L}, new double[]{3.5}, 0, 1);
+    }
+}
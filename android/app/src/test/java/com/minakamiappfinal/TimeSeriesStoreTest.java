@@ -0,0 +1,139 @@
+package com.minakamiappfinal;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class TimeSeriesStoreTest {
+    private static final long T0 = 1_700_000_000_000L;
+
+    private File root;
+
+    @Before
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("series").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        deleteAll(root);
+    }
+
+    private static void deleteAll(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                deleteAll(child);
+            }
+        }
+        file.delete();
+    }
+
+    private static void assertStored(TimeSeriesStore store, String series, TreeMap<Long, Double> expected) throws IOException {
+        List<long[]> mismatches = new ArrayList<>();
+        Iterator<Map.Entry<Long, Double>> truth = expected.entrySet().iterator();
+        long scanned = store.scan(series, expected.firstKey(), expected.lastKey() + 1, (time, value) -> {
+            Map.Entry<Long, Double> next = truth.next();
+            if (next.getKey() != time || next.getValue() != value) {
+                mismatches.add(new long[]{time, next.getKey()});
+            }
+        });
+        assertEquals(expected.size(), scanned);
+        assertFalse(truth.hasNext());
+        assertEquals(0, mismatches.size());
+    }
+
+    @Test
+    public void lateSamplesAreMergedIntoStoredBlocks() throws IOException {
+        TimeSeriesStore store = new TimeSeriesStore(root);
+        Random random = new Random(3);
+        int n = 40_000;
+        TreeMap<Long, Double> expected = new TreeMap<>();
+        TimeSeriesStore.Samples samples = new TimeSeriesStore.Samples();
+        for (int i = 0; i < n; i += 2) {
+            samples.add(T0 + i * 5000L, 60 + random.nextInt(60));
+            expected.put(T0 + i * 5000L, samples.values[samples.size() - 1]);
+        }
+        assertEquals(n / 2, store.append("heart_rate", samples));
+
+        // Later syncs fill the gaps inside blocks already on disk; stored samples keep their value
+        for (int round = 0; round < 5; round++) {
+            samples.clear();
+            int added = 0;
+            for (int k = 0; k < 3000; k++) {
+                long time = T0 + random.nextInt(n) * 5000L;
+                if (expected.containsKey(time)) {
+                    samples.add(time, 999);
+                } else {
+                    double value = 60 + random.nextInt(60);
+                    expected.put(time, value);
+                    samples.add(time, value);
+                    added++;
+                }
+            }
+            // Repeats of a stored time, or of a time earlier in the batch, keep the first value
+            assertEquals(added, store.append("heart_rate", samples));
+        }
+
+        assertStored(store, "heart_rate", expected);
+        assertStored(new TimeSeriesStore(root), "heart_rate", expected);
+        assertEquals(0, new TimeSeriesStore(root).append("heart_rate", samples));
+    }
+
+    @Test
+    public void aggregateMatchesScan() throws IOException {
+        TimeSeriesStore store = new TimeSeriesStore(root);
+        TimeSeriesStore.Samples samples = new TimeSeriesStore.Samples();
+        double total = 0;
+        for (int i = 0; i < 20_000; i++) {
+            samples.add(T0 + i * 3000L, i % 17);
+            total += i % 17;
+        }
+        store.append("steps", samples);
+
+        TimeSeriesStore.Aggregate aggregate = store.aggregate("steps", T0, T0 + 20_000 * 3000L, 3_600_000L);
+        long count = 0;
+        double sum = 0;
+        for (int b = 0; b < aggregate.counts.length; b++) {
+            count += aggregate.counts[b];
+            sum += aggregate.sums[b];
+        }
+        assertEquals(20_000, count);
+        assertEquals(total, sum, 1e-6);
+    }
+
+    @Test
+    public void originsAreStoredApartAndResolvedByCount() throws IOException {
+        TimeSeriesStore store = new TimeSeriesStore(root);
+        String watch = TimeSeriesStore.originSeries("steps", "com.sec.android.app.shealth");
+        String phone = TimeSeriesStore.originSeries("steps", "com.google.android.apps.fitness");
+        assertEquals("steps__com_sec_android_app_shealth", watch);
+
+        TimeSeriesStore.Samples samples = new TimeSeriesStore.Samples();
+        samples.add(T0, 100);
+        store.append(phone, samples);
+        samples.clear();
+        samples.add(T0, 50);
+        samples.add(T0 + 60_000, 50);
+        store.append(watch, samples);
+
+        assertEquals(2, store.originsOf("steps").size());
+        assertEquals(watch, store.resolveSeries("steps", null, T0, T0 + 86_400_000L));
+        assertEquals(phone, store.resolveSeries("steps", "com.google.android.apps.fitness", T0, T0 + 86_400_000L));
+        assertNull(store.resolveSeries("heart_rate", null, T0, T0 + 86_400_000L));
+    }
+}
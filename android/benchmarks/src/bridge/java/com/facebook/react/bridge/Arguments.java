@@ -0,0 +1,15 @@
+package com.facebook.react.bridge;
+
+/**
+ * Host-JVM stand-in for React Native's Arguments. The real one allocates native-backed containers that
+ * need the bridge's shared library; these keep the per-record allocation pattern of the pure-Java ones.
+ */
+public class Arguments {
+    public static WritableMap createMap() {
+        return new JavaOnlyMap();
+    }
+
+    public static WritableArray createArray() {
+        return new JavaOnlyArray();
+    }
+}
@@ -0,0 +1,45 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+
+/**
+ * Same ArrayList layout as React Native's pure-Java JavaOnlyArray, numbers stored as doubles
+ */
+public class JavaOnlyArray implements WritableArray {
+    private final ArrayList<Object> values = new ArrayList<>();
+
+    @Override
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public void pushNull() {
+        values.add(null);
+    }
+
+    @Override
+    public void pushString(String value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushInt(int value) {
+        values.add((double) value);
+    }
+
+    @Override
+    public void pushDouble(double value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushArray(ReadableArray value) {
+        values.add(value);
+    }
+
+    @Override
+    public void pushMap(ReadableMap value) {
+        values.add(value);
+    }
+}
@@ -0,0 +1,50 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+
+/**
+ * Same HashMap layout as React Native's pure-Java JavaOnlyMap, numbers stored as doubles
+ */
+public class JavaOnlyMap implements WritableMap {
+    private final HashMap<String, Object> values = new HashMap<>();
+
+    @Override
+    public boolean hasKey(String name) {
+        return values.containsKey(name);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return values.get(name) == null;
+    }
+
+    @Override
+    public String getString(String name) {
+        return (String) values.get(name);
+    }
+
+    @Override
+    public void putString(String key, String value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putInt(String key, int value) {
+        values.put(key, (double) value);
+    }
+
+    @Override
+    public void putDouble(String key, double value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putArray(String key, ReadableArray value) {
+        values.put(key, value);
+    }
+
+    @Override
+    public void putMap(String key, ReadableMap value) {
+        values.put(key, value);
+    }
+}
@@ -0,0 +1,8 @@
+package com.facebook.react.bridge;
+
+/**
+ * Host-JVM subset of the React Native interface, just what the benchmarked app classes call
+ */
+public interface ReadableArray {
+    int size();
+}
@@ -0,0 +1,12 @@
+package com.facebook.react.bridge;
+
+/**
+ * Host-JVM subset of the React Native interface, just what the benchmarked app classes call
+ */
+public interface ReadableMap {
+    boolean hasKey(String name);
+
+    boolean isNull(String name);
+
+    String getString(String name);
+}
@@ -0,0 +1,18 @@
+package com.facebook.react.bridge;
+
+/**
+ * Host-JVM subset of the React Native interface, just what the benchmarked app classes call
+ */
+public interface WritableArray extends ReadableArray {
+    void pushNull();
+
+    void pushString(String value);
+
+    void pushInt(int value);
+
+    void pushDouble(double value);
+
+    void pushArray(ReadableArray value);
+
+    void pushMap(ReadableMap value);
+}
@@ -0,0 +1,16 @@
+package com.facebook.react.bridge;
+
+/**
+ * Host-JVM subset of the React Native interface, just what the benchmarked app classes call
+ */
+public interface WritableMap extends ReadableMap {
+    void putString(String key, String value);
+
+    void putInt(String key, int value);
+
+    void putDouble(String key, double value);
+
+    void putArray(String key, ReadableArray value);
+
+    void putMap(String key, ReadableMap value);
+}
@@ -0,0 +1,130 @@
+package com.minakamiappfinal.benchmarks;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.minakamiappfinal.ColumnarPayloadBuilder;
+import com.minakamiappfinal.HealthRecordFields;
+import com.minakamiappfinal.MapRecordWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Cost of turning records into bridge payloads with the app's own HealthRecordFields shapes and
+ * MapRecordWriter / ColumnarPayloadBuilder, as the read methods of HealthConnectModule and
+ * RealHealthConnectModule (via HealthRecordConverter) run them. Each invocation converts the whole
+ * record set, so ops/s times size gives records/s.
+ * <p>
+ * Bridge containers are the host stand-ins from src/bridge: JavaOnlyMap and JavaOnlyArray are a plain
+ * HashMap and ArrayList that store ints as doubles. These numbers measure building those collections,
+ * not React Native's JNI-backed WritableNativeMap/WritableNativeArray, so they compare the payload
+ * shapes against each other but do not give the on-device cost of a bridge payload.
+ */
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecordConversionBenchmark {
+    private static final int STREAM_PAGE_SIZE = 1000;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private SampleData steps;
+    private SampleData heartRate;
+    private String[] recordIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        steps = SampleData.steps(size);
+        heartRate = SampleData.heartRate(size);
+        // Health Connect records arrive with their metadata id already built
+        recordIds = new String[size];
+        for (int i = 0; i < size; i++) {
+            recordIds[i] = "00000000-0000-0000-0000-" + steps.starts[i];
+        }
+    }
+
+    /**
+     * Mock module shape: generateStepsRecords
+     */
+    @Benchmark
+    public WritableArray mockStepsToPayload() {
+        WritableArray records = Arguments.createArray();
+        MapRecordWriter writer = MapRecordWriter.into(records);
+        for (int i = 0; i < size; i++) {
+            HealthRecordFields.steps(writer, "steps_" + steps.starts[i], steps.starts[i], steps.ends[i],
+                    steps.values[i], "demo_device", null);
+        }
+        return records;
+    }
+
+    /**
+     * Real module shape: HealthRecordConverter.write for StepsRecord
+     */
+    @Benchmark
+    public WritableArray realStepsToPayload() {
+        WritableArray records = Arguments.createArray();
+        MapRecordWriter writer = MapRecordWriter.into(records);
+        for (int i = 0; i < size; i++) {
+            HealthRecordFields.steps(writer, recordIds[i], steps.starts[i], steps.ends[i], steps.values[i],
+                    HealthRecordFields.DEFAULT_DEVICE, HealthRecordFields.HEALTH_CONNECT_SOURCE);
+        }
+        return records;
+    }
+
+    /**
+     * Mock module shape: generateHeartRateRecords, one map per sample
+     */
+    @Benchmark
+    public WritableArray mockHeartRateToPayload() {
+        WritableArray records = Arguments.createArray();
+        MapRecordWriter writer = MapRecordWriter.into(records);
+        for (int i = 0; i < size; i++) {
+            HealthRecordFields.heartRate(writer, "hr_" + heartRate.starts[i], heartRate.starts[i],
+                    heartRate.values[i], "demo_device", null);
+        }
+        return records;
+    }
+
+    /**
+     * Same real steps records in the columnar format: epoch millis instead of ISO strings and
+     * dictionary-encoded device and source, build() included
+     */
+    @Benchmark
+    public WritableMap realStepsToColumnar() {
+        ColumnarPayloadBuilder columns = new ColumnarPayloadBuilder();
+        for (int i = 0; i < size; i++) {
+            HealthRecordFields.steps(columns, recordIds[i], steps.starts[i], steps.ends[i], steps.values[i],
+                    HealthRecordFields.DEFAULT_DEVICE, HealthRecordFields.HEALTH_CONNECT_SOURCE);
+        }
+        return columns.build();
+    }
+
+    /**
+     * readRecordsStream shape: records grouped into fixed-size pages, each handed off as a chunk
+     */
+    @Benchmark
+    public void streamStepsInPages(Blackhole blackhole) {
+        WritableArray[] page = {Arguments.createArray()};
+        MapRecordWriter writer = new MapRecordWriter(record -> {
+            page[0].pushMap(record);
+            if (page[0].size() >= STREAM_PAGE_SIZE) {
+                WritableMap chunk = Arguments.createMap();
+                chunk.putArray("records", page[0]);
+                blackhole.consume(chunk);
+                page[0] = Arguments.createArray();
+            }
+        });
+        for (int i = 0; i < size; i++) {
+            HealthRecordFields.steps(writer, "steps_" + steps.starts[i], steps.starts[i], steps.ends[i],
+                    steps.values[i], "demo_device", null);
+        }
+        blackhole.consume(page[0]);
+    }
+}
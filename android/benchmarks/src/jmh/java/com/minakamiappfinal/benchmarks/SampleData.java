@@ -0,0 +1,68 @@
+package com.minakamiappfinal.benchmarks;
+
+import com.minakamiappfinal.SyntheticHealthDataGenerator;
+
+/**
+ * Fixed record sets for the benchmarks, generated once per trial from the same seed the mock module uses
+ */
+final class SampleData {
+    static final long RANGE_START = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+    static final long SEED = 20240101L;
+    private static final long DAY = 86_400_000L;
+
+    final long[] starts;
+    final long[] ends;
+    final int[] values;
+
+    private SampleData(int size) {
+        starts = new long[size];
+        ends = new long[size];
+        values = new int[size];
+    }
+
+    static SyntheticHealthDataGenerator highDensityGenerator() {
+        SyntheticHealthDataGenerator.Config config = SyntheticHealthDataGenerator.Config.highDensity(SEED);
+        return new SyntheticHealthDataGenerator(config);
+    }
+
+    /**
+     * One-minute step buckets, the high-density shape of readStepsRecords. Minutes without steps produce
+     * no record, so the range grows a day at a time until [size] records exist.
+     */
+    static SampleData steps(int size) {
+        SampleData data = new SampleData(size);
+        int[] index = {0};
+        SyntheticHealthDataGenerator generator = highDensityGenerator();
+        for (long from = RANGE_START; index[0] < size; from += DAY) {
+            generator.forEachSteps(from, from + DAY, (start, end, count) -> {
+                if (index[0] < size) {
+                    data.starts[index[0]] = start;
+                    data.ends[index[0]] = end;
+                    data.values[index[0]] = count;
+                    index[0]++;
+                }
+            });
+        }
+        return data;
+    }
+
+    /**
+     * Heart rate samples at 1-5 s intervals; the range grows a day at a time until [size] samples exist
+     */
+    static SampleData heartRate(int size) {
+        SampleData data = new SampleData(size);
+        int[] index = {0};
+        SyntheticHealthDataGenerator generator = highDensityGenerator();
+        for (long from = RANGE_START; index[0] < size; from += DAY) {
+            generator.forEachHeartRate(from, from + DAY, (time, bpm) -> {
+                if (index[0] < size) {
+                    data.starts[index[0]] = time;
+                    data.ends[index[0]] = time;
+                    data.values[index[0]] = bpm;
+                    index[0]++;
+                }
+            });
+        }
+        return data;
+    }
+}
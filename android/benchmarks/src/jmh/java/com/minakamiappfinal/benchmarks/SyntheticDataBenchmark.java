@@ -0,0 +1,52 @@
+package com.minakamiappfinal.benchmarks;
+
+import com.minakamiappfinal.SyntheticHealthDataGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Raw generation cost of the mock data source, without any payload building.
+ * Ranges are sized so each invocation visits roughly `size` records.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class SyntheticDataBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private SyntheticHealthDataGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        generator = SampleData.highDensityGenerator();
+    }
+
+    @Benchmark
+    public void generateSteps(Blackhole blackhole) {
+        generator.forEachSteps(SampleData.RANGE_START, SampleData.RANGE_START + size * 60_000L,
+            (start, end, count) -> blackhole.consume(count));
+    }
+
+    @Benchmark
+    public void generateHeartRate(Blackhole blackhole) {
+        // Samples average one every 3 s at high density
+        generator.forEachHeartRate(SampleData.RANGE_START, SampleData.RANGE_START + size * 3_000L,
+            (time, bpm) -> blackhole.consume(bpm));
+    }
+
+    /**
+     * Summing step buckets the way the mock aggregateByPeriod does, over `size` minutes
+     */
+    @Benchmark
+    public long totalSteps() {
+        return generator.totalSteps(SampleData.RANGE_START, SampleData.RANGE_START + size * 60_000L);
+    }
+}
@@ -0,0 +1,76 @@
+package com.minakamiappfinal.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Timestamp handling on the bridge boundary: Instant.parse on incoming time ranges and
+ * Instant.toString on every outgoing record, against the epoch-millis form HealthConnectReader.parseInstant also accepts
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+public class TimeRangeParsingBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private long[] epochMillis;
+    private double[] bridgeNumbers;
+    private String[] isoStrings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SampleData data = SampleData.heartRate(size);
+        epochMillis = data.starts;
+        bridgeNumbers = new double[size];
+        isoStrings = new String[size];
+        for (int i = 0; i < size; i++) {
+            bridgeNumbers[i] = epochMillis[i];
+            isoStrings[i] = Instant.ofEpochMilli(epochMillis[i]).toString();
+        }
+    }
+
+    @Benchmark
+    public void instantParse(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Instant.parse(isoStrings[i]).toEpochMilli());
+        }
+    }
+
+    @Benchmark
+    public void instantToString(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Instant.ofEpochMilli(epochMillis[i]).toString());
+        }
+    }
+
+    /**
+     * Numbers arrive from JS as doubles; this is the whole cost of the epoch-millis path
+     */
+    @Benchmark
+    public void epochMillisFromBridgeNumber(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Instant.ofEpochMilli((long) bridgeNumbers[i]).toEpochMilli());
+        }
+    }
+
+    /**
+     * Local date keys as computed per row by HealthDatabaseWriter.dateKey
+     */
+    @Benchmark
+    public void localDateKey(Blackhole blackhole) {
+        ZoneId zone = ZoneId.of("Europe/Amsterdam");
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(Instant.ofEpochMilli(epochMillis[i]).atZone(zone).toLocalDate().toString());
+        }
+    }
+}
@@ -1,9 +1,114 @@
 // src/components/TrendsComponent.js
-import React from 'react';
+import React, { useEffect, useMemo, useState } from 'react';
 import { View, Text, StyleSheet, Dimensions } from 'react-native';
 import Icon from 'react-native-vector-icons/Ionicons';
+import healthDataService from '../services/healthDataService';
+
+const SEGMENT_THICKNESS = 1.5;
+
+// Compacte lijngrafiek voor een native uitgedunde reeks ({ times, values }, zie getChartSeries).
+// Elk lijnstuk tussen twee punten is één gedraaide View; de breedte komt uit de gemeten layout.
+export const SeriesChart = ({ series, color = '#E91E63', height = 80 }) => {
+  const [chartWidth, setChartWidth] = useState(0);
+
+  const segments = useMemo(() => {
+    if (!series || series.length < 2 || !chartWidth) return [];
+
+    const { times, values } = series;
+    const firstTime = times[0];
+    const timeSpan = times[times.length - 1] - firstTime || 1;
+    let minValue = values[0];
+    let maxValue = values[0];
+    for (let i = 1; i < values.length; i++) {
+      if (values[i] < minValue) minValue = values[i];
+      if (values[i] > maxValue) maxValue = values[i];
+    }
+    const range = maxValue - minValue || 1;
+
+    // Eén pixel marge zodat de lijndikte niet wordt afgesneden
+    const xAt = i => 1 + ((times[i] - firstTime) / timeSpan) * (chartWidth - 2);
+    const yAt = i => 1 + (1 - (values[i] - minValue) / range) * (height - 2);
+
+    const result = new Array(values.length - 1);
+    for (let i = 1; i < values.length; i++) {
+      const x1 = xAt(i - 1);
+      const y1 = yAt(i - 1);
+      const dx = xAt(i) - x1;
+      const dy = yAt(i) - y1;
+      const length = Math.sqrt(dx * dx + dy * dy);
+      // Een View draait om zijn midden: plaats het midden van het lijnstuk halverwege de twee punten
+      result[i - 1] = {
+        left: x1 + dx / 2 - length / 2,
+        top: y1 + dy / 2 - SEGMENT_THICKNESS / 2,
+        width: length,
+        angle: Math.atan2(dy, dx)
+      };
+    }
+    return result;
+  }, [series, height, chartWidth]);
+
+  if (!series || !series.length) {
+    return (
+      <View style={styles.chartPlaceholder}>
+        <Text style={styles.chartPlaceholderText}>Geen data beschikbaar</Text>
+      </View>
+    );
+  }
+
+  return (
+    <View
+      style={[styles.seriesChart, { height }]}
+      pointerEvents="none"
+      onLayout={event => setChartWidth(event.nativeEvent.layout.width)}
+    >
+      {segments.map((segment, index) => (
+        <View
+          key={index}
+          style={[
+            styles.seriesSegment,
+            {
+              left: segment.left,
+              top: segment.top,
+              width: segment.width,
+              backgroundColor: color,
+              transform: [{ rotate: `${segment.angle}rad` }]
+            }
+          ]}
+        />
+      ))}
+    </View>
+  );
+};
 
 const TrendsComponent = ({ trends }) => {
+  const [stepsSeries, setStepsSeries] = useState(null);
+  const daysInPeriod = trends?.daysInPeriod;
+
+  // Stappen per dag natively opgeteld over alle bronnen (horloge en telefoon niet dubbel geteld);
+  // zonder native reeks (mock) blijven de dagtotalen uit trends.stepsPerDay
+  useEffect(() => {
+    if (!daysInPeriod) return undefined;
+    let cancelled = false;
+    const endDate = new Date();
+    const startDate = new Date(endDate);
+    startDate.setHours(0, 0, 0, 0);
+    startDate.setDate(startDate.getDate() - (daysInPeriod - 1));
+    healthDataService
+      .getChartSeries('Steps', startDate, endDate, {
+        bucket: 'day',
+        targetPoints: daysInPeriod
+      })
+      .then(series => {
+        if (!cancelled) setStepsSeries(series);
+      })
+      .catch(() => {
+        if (!cancelled) setStepsSeries(null);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [daysInPeriod]);
+
   if (!trends) {
     return (
       <View style={styles.noDataContainer}>
@@ -41,19 +146,19 @@ const TrendsComponent = ({ trends }) => {
 
   // Bepaal labels voor grafieken
   const days = ['Zo', 'Ma', 'Di', 'Wo', 'Do', 'Vr', 'Za'];
-  const labels = trends.stepsPerDay.map(item => {
-    const date = new Date(item.date);
-    return days[date.getDay()];
-  });
+  const dayLabel = time => days[new Date(time).getDay()];
+  const labels = trends.stepsPerDay.map(item => dayLabel(item.date));
 
-  // Bereid steps data voor voor de grafiek
-  const stepsData = trends.stepsPerDay.map(item => item.steps);
+  // Stappen per dag: de native dagsommen als die er zijn, anders de dagtotalen uit trends
+  const hasStepsSeries = stepsSeries?.aggregation === 'sum' && stepsSeries.length > 0;
+  const stepsLabels = hasStepsSeries ? stepsSeries.times.map(dayLabel) : labels;
+  const stepsData = hasStepsSeries ? stepsSeries.values : trends.stepsPerDay.map(item => item.steps);
 
   // Bereid activeTime data voor voor de grafiek (omzetten naar minuten)
   const activeTimeData = trends.activeTimePerDay.map(item => item.activeTime / (1000 * 60));
 
   // Custom Chart Component - Simple en stabiel
-  const SimpleLineChart = ({ data, title, unit = '' }) => {
+  const SimpleLineChart = ({ data, labels: barLabels = labels, title, unit = '' }) => {
     if (!data || data.length === 0) {
       return (
         <View style={styles.chartPlaceholder}>
@@ -90,7 +195,7 @@ const TrendsComponent = ({ trends }) => {
                   ]} 
                 />
                 <Text style={styles.barLabel}>
-                  {labels[index]}
+                  {barLabels[index]}
                 </Text>
                 <Text style={styles.barValue}>
                   {Math.round(value)}{unit}
@@ -139,7 +244,7 @@ const TrendsComponent = ({ trends }) => {
       {/* Stappen grafiek */}
       <View style={styles.chartContainer}>
         <Text style={styles.chartTitle}>Stappen (laatste {trends.daysInPeriod} dagen)</Text>
-        <SimpleLineChart data={stepsData} title="Stappen" />
+        <SimpleLineChart data={stepsData} labels={stepsLabels} title="Stappen" />
       </View>
 
       {/* Actieve tijd grafiek */}
@@ -327,6 +432,17 @@ const styles = StyleSheet.create({
     color: '#2C3E50',
     fontWeight: '600',
   },
+  seriesChart: {
+    position: 'relative',
+    alignSelf: 'stretch',
+    marginVertical: 8,
+    overflow: 'hidden',
+  },
+  seriesSegment: {
+    position: 'absolute',
+    height: SEGMENT_THICKNESS,
+    borderRadius: SEGMENT_THICKNESS / 2,
+  },
 });
 
 export default TrendsComponent;
\ No newline at end of file
@@ -31,7 +31,8 @@ class DatabaseMigrations {
           strava_id TEXT,
           heart_rate_avg INTEGER,
           heart_rate_max INTEGER,
-          elevation_gain REAL DEFAULT 0
+          elevation_gain REAL DEFAULT 0,
+          record_id TEXT
         )`);
 
           tx.executeSql(`CREATE TABLE IF NOT EXISTS locations (
@@ -42,7 +43,8 @@ class DatabaseMigrations {
           accuracy REAL,
           name TEXT,
           visit_count INTEGER DEFAULT 1,
-          last_visited INTEGER
+          last_visited INTEGER,
+          geohash TEXT
         )`);
 
           tx.executeSql(`CREATE TABLE IF NOT EXISTS call_logs (
@@ -138,6 +140,14 @@ class DatabaseMigrations {
             () => {}
           );
 
+          // Health Connect record id of natively imported rows (rows from before this column are keyed natively)
+          tx.executeSql(
+            `ALTER TABLE activities ADD COLUMN record_id TEXT`,
+            [],
+            () => {},
+            () => {}
+          );
+
           // Migration 2: Add missing columns to locations table
           tx.executeSql(
             `ALTER TABLE locations ADD COLUMN visit_count INTEGER DEFAULT 1`,
@@ -153,6 +163,14 @@ class DatabaseMigrations {
             () => {}
           );
 
+          // Geohash of each fix for proximity queries (rows from before this column are hashed natively)
+          tx.executeSql(
+            `ALTER TABLE locations ADD COLUMN geohash TEXT`,
+            [],
+            () => {},
+            () => {}
+          );
+
           // Migration 3: Add missing columns to call_logs table
           tx.executeSql(
             `ALTER TABLE call_logs ADD COLUMN is_analyzed BOOLEAN DEFAULT 0`,
@@ -189,10 +207,12 @@ class DatabaseMigrations {
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_activities_type ON activities(type)`);
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_activities_source ON activities(source)`);
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_activities_strava_id ON activities(strava_id)`);
+          tx.executeSql(`CREATE UNIQUE INDEX IF NOT EXISTS idx_activities_record_id ON activities(record_id)`);
 
           // Indexes for locations table
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_locations_timestamp ON locations(timestamp)`);
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_locations_coords ON locations(latitude, longitude)`);
+          tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_locations_geohash ON locations(geohash)`);
 
           // Indexes for call_logs table
           tx.executeSql(`CREATE INDEX IF NOT EXISTS idx_call_logs_date ON call_logs(call_date)`);
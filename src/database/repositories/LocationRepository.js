@@ -1,5 +1,6 @@
 import databaseConnection from '../core/DatabaseConnection';
 import performanceService from '../../services/performanceService';
+import { encodeGeohash } from '../../utils/geohash';
 
 /**
  * Repository for location-related database operations
@@ -15,8 +16,8 @@ class LocationRepository {
 
     try {
       const result = await this.connection.run(
-        `INSERT INTO locations (latitude, longitude, timestamp, accuracy, name, visit_count, last_visited) 
-         VALUES (?, ?, ?, ?, ?, ?, ?)`,
+        `INSERT INTO locations (latitude, longitude, timestamp, accuracy, name, visit_count, last_visited, geohash) 
+         VALUES (?, ?, ?, ?, ?, ?, ?, ?)`,
         [
           location.latitude,
           location.longitude,
@@ -25,6 +26,7 @@ class LocationRepository {
           location.name,
           location.visit_count || 1,
           location.last_visited || location.timestamp,
+          encodeGeohash(location.latitude, location.longitude),
         ],
       );
 
@@ -38,6 +38,8 @@ const DataImportScreen = ({ navigation }) => {
     profile: null
   });
   const [showStravaAuth, setShowStravaAuth] = useState(false);
+  const [backfillProgress, setBackfillProgress] = useState(null);
+  const [pendingBackfill, setPendingBackfill] = useState(null);
 
   useEffect(() => {
     loadAvailableSources();
@@ -60,6 +62,7 @@ const DataImportScreen = ({ navigation }) => {
       });
 
       setHealthDataAvailability(healthDataSources);
+      await loadPendingBackfill();
 
 
       // Check Strava availability
@@ -79,6 +82,56 @@ const DataImportScreen = ({ navigation }) => {
     }
   };
 
+  // An import interrupted by the app being closed can continue from its last checkpoint
+  const loadPendingBackfill = async () => {
+    try {
+      const pending = await healthDataService.getPendingHealthBackfills();
+      setPendingBackfill(pending.find(job => !job.running) || null);
+    } catch (error) {
+      console.error('Error loading pending health imports:', error);
+    }
+  };
+
+  const formatEta = (seconds) => {
+    if (seconds == null) return 'berekenen...';
+    if (seconds < 60) return `${Math.ceil(seconds)} sec`;
+    if (seconds < 3600) return `${Math.ceil(seconds / 60)} min`;
+    return `${(seconds / 3600).toFixed(1)} uur`;
+  };
+
+  const resumePendingBackfill = async () => {
+    if (!pendingBackfill) return;
+
+    try {
+      setIsImporting(true);
+      const result = await healthDataService.resumeHealthBackfill(pendingBackfill.jobId, setBackfillProgress);
+      if (result.completed) {
+        Alert.alert('Import Voltooid', `${result.imported} health data items geïmporteerd.`);
+      } else {
+        Alert.alert('Import Onvolledig', `${result.imported} items geïmporteerd. ${result.errors.join('\n')}`);
+      }
+    } catch (error) {
+      console.error('Health import resume error:', error);
+      Alert.alert('Import Fout', 'Er is een fout opgetreden bij het hervatten van de import');
+    } finally {
+      setBackfillProgress(null);
+      setIsImporting(false);
+      await loadPendingBackfill();
+    }
+  };
+
+  const discardPendingBackfill = async () => {
+    if (!pendingBackfill) return;
+
+    try {
+      await healthDataService.discardHealthBackfill(pendingBackfill.jobId);
+    } catch (error) {
+      console.error('Health import discard error:', error);
+    } finally {
+      await loadPendingBackfill();
+    }
+  };
+
   // Legacy import function - now redirects to health platform import
   const importHealthData = async (daysBack = 30) => {
     await importHealthPlatformData(daysBack, ['all']);
@@ -100,7 +153,9 @@ const DataImportScreen = ({ navigation }) => {
       const endDate = Date.now();
       const startDate = endDate - (daysBack * 24 * 60 * 60 * 1000);
       
-      const result = await healthDataService.importHealthData(startDate, endDate, dataTypes);
+      const result = await healthDataService.importHealthData(startDate, endDate, dataTypes, {
+        onProgress: setBackfillProgress
+      });
       
       setImportStatus(prev => ({
         ...prev,
@@ -143,7 +198,9 @@ const DataImportScreen = ({ navigation }) => {
       console.error('Health platform import error:', error);
       Alert.alert('Import Fout', 'Er is een fout opgetreden bij het importeren van health data');
     } finally {
+      setBackfillProgress(null);
       setIsImporting(false);
+      await loadPendingBackfill();
     }
   };
 
@@ -157,6 +214,11 @@ const DataImportScreen = ({ navigation }) => {
     await importHealthPlatformData(30, ['all']);
   };
 
+  // Import the last year from health platform; runs as a resumable native backfill
+  const importHealthPlatformLastYear = async () => {
+    await importHealthPlatformData(365, ['all']);
+  };
+
   // Import specific data types
   const importSpecificHealthData = async (dataTypes) => {
     await importHealthPlatformData(30, dataTypes);
@@ -399,6 +461,14 @@ const DataImportScreen = ({ navigation }) => {
                   size="small"
                   style={styles.smallButton}
                 />
+                <Button
+                  title="Jaar"
+                  onPress={importHealthPlatformLastYear}
+                  disabled={!healthDataAvailability.hasHealthAccess || isImporting}
+                  size="small"
+                  variant="outlined"
+                  style={styles.smallButton}
+                />
               </View>
             </View>
             
@@ -455,6 +525,37 @@ const DataImportScreen = ({ navigation }) => {
               </View>
             )}
             
+            {backfillProgress && (
+              <View style={[styles.statusRow, { backgroundColor: theme.colors.background.secondary }]}>
+                <Icon name="sync-outline" size={16} color={Colors.primary[500]} />
+                <Typography variant="caption" color="text.secondary" style={styles.statusText}>
+                  {`${backfillProgress.windowsDone}/${backfillProgress.windowsTotal} periodes · ${backfillProgress.inserted} items · ${Math.round(backfillProgress.recordsPerSecond)}/sec · nog ${formatEta(backfillProgress.etaSeconds)}`}
+                </Typography>
+              </View>
+            )}
+
+            {pendingBackfill && !isImporting && (
+              <View style={[styles.statusRow, { backgroundColor: theme.colors.background.secondary }]}>
+                <Icon name="pause-circle-outline" size={16} color={Colors.warning[500]} />
+                <Typography variant="caption" color="text.secondary" style={styles.statusText}>
+                  {`Onderbroken import: ${pendingBackfill.windowsDone}/${pendingBackfill.windowsTotal} periodes klaar`}
+                </Typography>
+                <Button
+                  title="Hervatten"
+                  onPress={resumePendingBackfill}
+                  disabled={!healthDataAvailability.hasHealthAccess}
+                  size="small"
+                  variant="text"
+                />
+                <Button
+                  title="Verwijderen"
+                  onPress={discardPendingBackfill}
+                  size="small"
+                  variant="text"
+                />
+              </View>
+            )}
+
             {importStatus.healthcare && (
               <View style={[styles.statusRow, { backgroundColor: theme.colors.background.secondary }]}>
                 <Icon 
@@ -15,7 +15,7 @@ import { useAppContext } from '../utils/appContext';
 import { formatHours } from '../utils/formatters';
 
 // Components
-import TrendsComponent from '../components/trendsComponent';
+import TrendsComponent, { SeriesChart } from '../components/trendsComponent';
 import ActivityList from '../components/activityList';
 import databaseService from '../services/database';
 import errorHandler from '../services/errorLogger';
@@ -45,6 +45,7 @@ const StatsScreen = () => {
     heartRate: { avg: 0, min: 0, max: 0 },
     sleep: { hours: 0, quality: 'Good' }
   });
+  const [heartRateSeries, setHeartRateSeries] = useState(null);
   const [digitalWellnessStats, setDigitalWellnessStats] = useState({
     screenTime: 0,
     pickups: 0,
@@ -177,6 +178,13 @@ const StatsScreen = () => {
         }
       }
       
+      // Hartslag als native uitgedunde reeks: ongeveer één punt per drie pixels over de bridge, ongeacht de periode
+      const heartRateChart = await healthDataService.getChartSeries('HeartRate', startDate, endDate, {
+        targetPoints: Math.round(width / 3)
+      });
+      setHeartRateSeries(heartRateChart);
+      const heartRateSummary = heartRateChart?.summary?.count ? heartRateChart.summary : null;
+
       // Alleen mock data in development/emulator - NOOIT in productie
       if (!hasRealData && __DEV__) {
         // Development fallback - alleen in emulator
@@ -203,7 +211,9 @@ const StatsScreen = () => {
           calories: hasRealData && totalSteps > 0 ? Math.round(totalSteps * 0.04) : 0,
           activeMinutes: hasRealData && workoutsResult.length > 0 ? workoutsResult.length * 30 : 0,
           workouts: hasRealData ? workoutsResult : [],
-          heartRate: { avg: 0, min: 0, max: 0 }, // Real heart rate would come from health sensors
+          heartRate: heartRateSummary
+            ? { avg: Math.round(heartRateSummary.average), min: heartRateSummary.min, max: heartRateSummary.max }
+            : { avg: 0, min: 0, max: 0 },
           sleep: { hours: 0, quality: 'Unknown' }, // Real sleep data would come from health sensors
           hasRealData: hasRealData,
           isDemoData: false
@@ -533,6 +543,9 @@ const StatsScreen = () => {
             <Text style={styles.healthMetricValue}>{healthStats.activeMinutes}min</Text>
           </View>
         </View>
+        {heartRateSeries?.length > 0 && (
+          <SeriesChart series={heartRateSeries} />
+        )}
       </View>
     </View>
   );
@@ -35,9 +35,30 @@ import errorHandler from '../errorLogger';
 import { getHealthContextForDate, createHealthAIContext } from '../../utils/healthNarrativeIntegration';
 import performanceService from '../performanceService';
 import { format, utcToZonedTime, zonedTimeToUtc } from 'date-fns-tz';
+import { NativeModules } from 'react-native';
+import { mergeIntervals } from '../../utils/intervalMerge';
 
 // Timezone configuration
 const USER_TIMEZONE = Intl.DateTimeFormat().resolvedOptions().timeZone || 'Europe/Amsterdam';
+// Source ranking for overlapping activity intervals, best first. Health Connect rows are keyed
+// "health_connect:<data origin>", so Samsung Health (watch + phone) beats other origins such as the phone pedometer.
+const ACTIVITY_SOURCE_PRIORITY = [
+  'health_connect:com.sec.android.app.shealth',
+  'health_connect',
+  'strava',
+  'manual'
+];
+// Below this many events the JS rule scan is cheaper than a round trip to the native interval index
+const NATIVE_CORRELATION_MIN_EVENTS = 200;
+// Daily series for the native multi-week correlation view and the relationships it checks (x against y, lag 0..1)
+const HEALTH_SERIES_TYPES = ['sleep', 'steps', 'exercise', 'heart_rate'];
+const HEALTH_SERIES_PAIRS = [
+  ['sleep', 'steps'],
+  ['sleep', 'heart_rate'],
+  ['steps', 'heart_rate'],
+  ['exercise', 'heart_rate'],
+  ['exercise', 'sleep']
+];
 const CACHE_TTL = {
   DAILY: 3600000, // 1 hour
   WEEKLY: 7200000, // 2 hours
@@ -193,7 +214,9 @@ class DataAnalysisService {
         health_activity: this.correlateHealthWithActivity(dailyData.healthData, dailyData.activities),
         social_location: this.correlateSocialWithLocation(dailyData.callLogs, dailyData.locations),
         app_usage_patterns: this.analyzeAppUsagePatterns(dailyData.appUsage),
-        temporal_patterns: this.analyzeTemporalPatterns(dailyData)
+        temporal_patterns: this.analyzeTemporalPatterns(dailyData),
+        // Rolling statistics and lagged correlations of the last four weeks, computed natively
+        health_trends: await this.analyzeHealthCorrelations(dailyData.date)
       };
 
       performanceService?.endTracking?.(start);
@@ -205,14 +228,78 @@ class DataAnalysisService {
     }
   }
 
+  /**
+   * Multi-week health correlations computed natively by HealthAnalyticsModule over one value per day
+   * read straight from the database: rolling mean/variance, z-score anomalies and lagged Pearson/Spearman
+   * correlations (lag 1 pairs a day with the next one, e.g. last night's sleep with today's steps).
+   * Resolves { length, series, correlations } or null when the native module is unavailable.
+   */
+  async analyzeHealthCorrelations(endDate, days = 28, options = {}) {
+    const analytics = NativeModules.HealthAnalyticsModule;
+    if (!analytics?.analyzeDailySeries) {
+      return null;
+    }
+
+    const { types = HEALTH_SERIES_TYPES, ...seriesOptions } = options;
+    const endString = formatDateToYYYYMMDD(this.getUserDate(endDate));
+    const cacheKey = `health_correlations_${endString}_${days}_${types.join(',')}`;
+    if (this.cache.has(cacheKey)) {
+      return this.cache.get(cacheKey);
+    }
+
+    const start = performanceService?.startTracking?.('dataAnalysis.analyzeHealthCorrelations');
+    try {
+      const startTime = new Date(endString + 'T00:00:00').getTime() - (days - 1) * 24 * 60 * 60 * 1000;
+      const result = await analytics.analyzeDailySeries(types, startTime, days, {
+        pairs: HEALTH_SERIES_PAIRS.filter(([x, y]) => types.includes(x) && types.includes(y)),
+        priority: ACTIVITY_SOURCE_PRIORITY,
+        ...seriesOptions
+      });
+
+      this.cache.set(cacheKey, result);
+      setTimeout(() => this.cache.delete(cacheKey), CACHE_TTL.DAILY);
+      performanceService?.endTracking?.(start);
+      return result;
+    } catch (error) {
+      performanceService?.endTracking?.(start, error);
+      errorHandler.logError('Native health correlation analysis failed', error);
+      return null;
+    }
+  }
+
+  /**
+   * Locations within [window] ms of [time], from locations sorted by timestamp; a binary search finds
+   * the first one, so joining n events against m locations costs O(n log m) instead of O(n * m)
+   */
+  locationsWithin(sortedLocations, time, window) {
+    let low = 0;
+    let high = sortedLocations.length;
+    while (low < high) {
+      const middle = (low + high) >> 1;
+      if (sortedLocations[middle].timestamp <= time - window) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+
+    const nearby = [];
+    for (let i = low; i < sortedLocations.length && sortedLocations[i].timestamp < time + window; i++) {
+      nearby.push(sortedLocations[i]);
+    }
+    return nearby;
+  }
+
+  sortByTimestamp(locations) {
+    return [...locations].sort((a, b) => a.timestamp - b.timestamp);
+  }
+
   correlateActivityWithLocation(activities, locations) {
     const correlations = [];
+    const sortedLocations = this.sortByTimestamp(locations);
     
     activities.forEach(activity => {
-      const nearbyLocations = locations.filter(location => {
-        const timeDiff = Math.abs(activity.start_time - location.timestamp);
-        return timeDiff < 3600000; // Within 1 hour
-      });
+      const nearbyLocations = this.locationsWithin(sortedLocations, activity.start_time, 3600000); // Within 1 hour
 
       if (nearbyLocations.length > 0) {
         correlations.push({
@@ -251,12 +338,10 @@ class DataAnalysisService {
 
   correlateSocialWithLocation(callLogs, locations) {
     const correlations = [];
+    const sortedLocations = this.sortByTimestamp(locations);
     
     callLogs.forEach(call => {
-      const nearbyLocations = locations.filter(location => {
-        const timeDiff = Math.abs(call.call_date - location.timestamp);
-        return timeDiff < 1800000; // Within 30 minutes
-      });
+      const nearbyLocations = this.locationsWithin(sortedLocations, call.call_date, 1800000); // Within 30 minutes
 
       if (nearbyLocations.length > 0) {
         correlations.push({
@@ -949,7 +1034,9 @@ class DataFusionModule {
   }
 
   /**
-   * Merge health data from multiple sources with timezone awareness
+   * Merge health data from multiple sources with timezone awareness.
+   * Resolves { slots, totals }: the scored time slots per source, and the day's step, distance and
+   * active time totals from the interval merge (see mergeActivityTotals).
    */
   async mergeHealthData(date) {
     const userDate = this.parent.getUserDate(date);
@@ -967,7 +1054,11 @@ class DataFusionModule {
       const harmonizedData = this.harmonizeTimestamps(healthSources);
       
       // Apply confidence scoring
-      const mergedData = this.applyConfidenceScoring(harmonizedData);
+      const slots = this.applyConfidenceScoring(harmonizedData);
+
+      // Day totals with overlapping sources counted once, instead of summing the sources per slot
+      const totals = await this.mergeActivityTotals(userDate);
+      const mergedData = { slots, totals };
       
       this.parent.cache.set(cacheKey, mergedData);
       setTimeout(() => this.parent.cache.delete(cacheKey), CACHE_TTL.DAILY);
@@ -980,6 +1071,116 @@ class DataFusionModule {
     }
   }
 
+  /**
+   * Steps, distance and active minutes for a day where overlapping sources (watch and phone, Health
+   * Connect and Strava) count once, plus the raw sums and the per-source attribution of the steps
+   */
+  async mergeActivityTotals(date) {
+    const [steps, distance] = await Promise.all([
+      this.mergeActivityTimeline(date, 'steps'),
+      this.mergeActivityTimeline(date, 'distance')
+    ]);
+
+    let activeMillis = 0;
+    if (steps) {
+      for (let i = 0; i < steps.count; i++) {
+        if (steps.segments.value[i] > 0) {
+          activeMillis += steps.segments.end[i] - steps.segments.start[i];
+        }
+      }
+    }
+
+    return {
+      steps: Math.round(steps?.mergedTotal || 0),
+      distanceMeters: distance?.mergedTotal || 0,
+      activeMinutes: Math.round(activeMillis / 60000),
+      rawSteps: Math.round(steps?.rawTotal || 0),
+      rawDistanceMeters: distance?.rawTotal || 0,
+      attribution: steps?.attribution || {}
+    };
+  }
+
+  /**
+   * Non-overlapping timeline of one activity type for a day, reconciled natively by HealthAnalyticsModule,
+   * or by the JS merge when the module is missing or fails: where sources overlap only the highest ranked
+   * one counts, so steps are not double-counted.
+   * Resolves { count, segments: { start, end, value, source }, sources, attribution, rawTotal, mergedTotal },
+   * or null when the activities cannot be read.
+   */
+  async mergeActivityTimeline(date, type = 'steps', priority = ACTIVITY_SOURCE_PRIORITY) {
+    const dateString = formatDateToYYYYMMDD(this.parent.getUserDate(date));
+    const cacheKey = `activity_merge_${type}_${dateString}`;
+    if (this.parent.cache.has(cacheKey)) {
+      return this.parent.cache.get(cacheKey);
+    }
+
+    const dayStart = new Date(dateString + 'T00:00:00').getTime();
+    const dayEnd = dayStart + 24 * 60 * 60 * 1000;
+    let merged = null;
+
+    const analytics = NativeModules.HealthAnalyticsModule;
+    if (analytics?.mergeActivityIntervals) {
+      try {
+        merged = await analytics.mergeActivityIntervals(type, dayStart, dayEnd, priority);
+      } catch (error) {
+        errorHandler.logError(`Native ${type} interval merge failed`, error);
+      }
+    }
+
+    if (!merged) {
+      try {
+        merged = mergeIntervals(await this.loadActivityIntervals(type, dayStart, dayEnd), priority);
+      } catch (error) {
+        errorHandler.logError(`${type} interval merge failed`, error);
+        return null;
+      }
+    }
+
+    this.parent.cache.set(cacheKey, merged);
+    setTimeout(() => this.parent.cache.delete(cacheKey), CACHE_TTL.DAILY);
+    return merged;
+  }
+
+  /**
+   * Activities of one type starting in [start, end) as interval records for the JS merge, keyed by source
+   * and Health Connect data origin like HealthDatabaseWriter.loadIntervals
+   */
+  async loadActivityIntervals(type, start, end) {
+    const activities = await databaseService.getActivitiesForDateRange(start, end - 1);
+    return activities
+      .filter(activity => activity.type === type)
+      .map(activity => {
+        const origin = activity.metadata?.dataOrigin;
+        const source = activity.source || 'unknown';
+        return {
+          source: origin ? `${source}:${origin}` : source,
+          start: activity.start_time,
+          end: activity.end_time,
+          value: this.intervalValue(activity, type)
+        };
+      });
+  }
+
+  intervalValue(activity, type) {
+    switch (type) {
+      case 'steps': {
+        try {
+          const details = typeof activity.details === 'string' ? JSON.parse(activity.details) : activity.details;
+          return Number(details?.steps) || 0;
+        } catch (error) {
+          return 0;
+        }
+      }
+      case 'distance':
+        return activity.distance || 0;
+      case 'calories':
+      case 'total_calories':
+        return activity.calories || 0;
+      default:
+        return 0;
+    }
+  }
+
   async collectHealthSources(date) {
     const sources = {};
     
@@ -1139,6 +1340,11 @@ class CorrelationModule {
    * Detect patterns in activity data
    */
   async detectPatterns(activities, timeWindow = this.timeWindows.medium) {
+    const nativePatterns = await this.detectPatternsNatively(activities);
+    if (nativePatterns) {
+      return nativePatterns;
+    }
+
     const patterns = [];
     
     // Apply each correlation rule
@@ -1152,6 +1358,62 @@ class CorrelationModule {
     return patterns;
   }
 
+  /**
+   * Runs every correlation rule in one batch against a native interval index (HealthAnalyticsModule),
+   * instead of rescanning the event list per start event and rule. Chains are anchored at events of
+   * the rule's first type. Returns null when the module is unavailable or there are too few events
+   * to be worth the bridge round trip, so the JS rules run instead.
+   */
+  async detectPatternsNatively(activities) {
+    const analytics = NativeModules.HealthAnalyticsModule;
+    if (!analytics?.buildIntervalIndex) {
+      return null;
+    }
+
+    const events = this.extractEventsFromActivities(activities)
+      .filter(event => Number.isFinite(event.timestamp));
+    if (events.length < NATIVE_CORRELATION_MIN_EVENTS) {
+      return null;
+    }
+
+    let indexId = null;
+    try {
+      ({ indexId } = await analytics.buildIntervalIndex({
+        start: events.map(event => event.timestamp),
+        type: events.map(event => event.type)
+      }));
+      const rules = [...this.correlationRules].map(([name, rule]) => ({
+        name,
+        events: rule.events,
+        window: rule.timeWindow
+      }));
+      const chainsByRule = await analytics.matchEventSequences(indexId, rules);
+
+      const patterns = [];
+      for (const [ruleName, rule] of this.correlationRules) {
+        const chains = chainsByRule[ruleName] || [];
+        if (chains.length > 0) {
+          patterns.push({
+            rule: ruleName,
+            confidence: rule.confidence,
+            matches: chains.length,
+            events: chains.map(chain => chain.map(index => events[index])),
+            narrative_template: rule.narrative,
+            timestamp: Date.now()
+          });
+        }
+      }
+      return patterns;
+    } catch (error) {
+      errorHandler.logError('Native correlation matching failed', error);
+      return null;
+    } finally {
+      if (indexId !== null) {
+        analytics.releaseIntervalIndex(indexId);
+      }
+    }
+  }
+
   async applyCorrelationRule(ruleName, rule, activities, timeWindow) {
     const events = this.extractEventsFromActivities(activities);
     const matchingEvents = [];
@@ -14,28 +14,45 @@ import errorHandler from '../errorLogger';
 import performanceService from '../performanceService';
 import { BaseService } from '../BaseService';
 import platformDetector from '../../utils/platformDetector';
+import { COLUMNAR_FORMAT, getColumn, isColumnar, sumColumn, toRecords } from '../../utils/columnarRecords';
+import NativeHealthConnect from '../../specs/NativeHealthConnect';
 import GetLocation from 'react-native-get-location';
 import { NativeModules, NativeEventEmitter, Platform } from 'react-native';
 
-const { SensorManager, HealthConnectModule, RealHealthConnectModule } = NativeModules;
+const {
+  SensorManager,
+  ActivitySensorModule,
+  LocationCollectorModule,
+  HealthAnalyticsModule,
+  HealthConnectModule,
+  RealHealthConnectModule
+} = NativeModules;
 
 // Configuration constants
 const LOCATION_INTERVAL = 300000; // 5 minutes
 const SIGNIFICANT_DISTANCE = 100; // 100 meters
+const MAX_RECENT_VISITS = 50;
 const ACCELEROMETER_INTERVAL = 200; // 200ms
+// Native activity sensors: sample rate and how long the sensor hub may batch samples before waking the app
+const ACTIVITY_SAMPLING_HZ = 25;
+const ACTIVITY_MAX_REPORT_LATENCY = 10; // seconden
 
 // Activity tracking constants
 const SAMPLE_RATE = 5; // 5 samples per seconde (200ms)
 const DETECTION_INTERVAL = 10000; // 10 seconden
 const STEP_THRESHOLD = 10; // Drempel voor herkenning van een stap
 const ACTIVITY_DETECTION = 'activity-detection';
+// Trend charts render a few hundred points across the screen; denser series are reduced natively
+const CHART_TARGET_POINTS = 300;
+// Data origins best first when a chart sums steps, distance or calories (see DataAnalysisService)
+const CHART_SOURCE_PRIORITY = ['health_connect:com.sec.android.app.shealth', 'health_connect'];
 
-// Health Connect setup
+// Health Connect setup (the spec module resolves through TurboModuleRegistry, NativeModules on the old architecture)
 let HealthConnect;
 if (__DEV__) {
   HealthConnect = HealthConnectModule;
 } else {
-  HealthConnect = RealHealthConnectModule;
+  HealthConnect = NativeHealthConnect || RealHealthConnectModule;
 }
 
 /**
@@ -294,8 +311,12 @@ class ActivityTrackingService extends BaseService {
     return this.location.getLocations(startTimestamp, endTimestamp);
   }
 
-  async getVisitedPlaces(startTimestamp, endTimestamp) {
-    return this.location.getVisitedPlaces(startTimestamp, endTimestamp);
+  async getVisitedPlaces(startTimestamp, endTimestamp, radiusMeters) {
+    return this.location.getVisitedPlaces(startTimestamp, endTimestamp, radiusMeters);
+  }
+
+  async getNearbyLocations(latitude, longitude, radiusMeters) {
+    return this.location.getNearbyLocations(latitude, longitude, radiusMeters);
   }
 
   async getRecentLocations(limit = 10) {
@@ -440,6 +461,7 @@ class ActivityModule {
     this.isMonitoring = false;
     this.currentActivity = null;
     this.accelerometer = new RealAccelerometer();
+    this.nativeSensors = null;
     this.stepCount = 0;
     this.lastStepTime = 0;
     this.activityHistory = [];
@@ -470,7 +492,10 @@ class ActivityModule {
     
     try {
       // Stop accelerometer
-      if (this.accelerometer) {
+      if (this.nativeSensors) {
+        await ActivitySensorModule.stop();
+        this.nativeSensors = null;
+      } else if (this.accelerometer) {
         this.accelerometer.stopListening();
       }
       
@@ -493,6 +518,20 @@ class ActivityModule {
 
   async initializeAccelerometer() {
     try {
+      if (ActivitySensorModule?.start) {
+        // Classification runs natively on batched sensor data; only activity transitions reach JS
+        const eventEmitter = new NativeEventEmitter(ActivitySensorModule);
+        this.accelerometerSubscription = eventEmitter.addListener('ActivityTransition', (event) => {
+          this.handleActivityTransition(event);
+        });
+        this.nativeSensors = await ActivitySensorModule.start({
+          samplingHz: ACTIVITY_SAMPLING_HZ,
+          maxReportLatencySeconds: ACTIVITY_MAX_REPORT_LATENCY
+        });
+        errorHandler.logInfo(`Native activity sensors started (batching: ${this.nativeSensors.batching})`);
+        return;
+      }
+
       // Use the RealAccelerometer class for proper sensor handling
       this.accelerometerSubscription = this.accelerometer.addListener((data) => {
         this.handleAccelerometerData(data);
@@ -523,24 +562,53 @@ class ActivityModule {
     this.processAccelerometerData(data);
   }
 
-  async startActivity(type) {
+  /**
+   * Activity change reported by ActivitySensorModule: { activity, previous, startTime, previousSteps, features }.
+   * The previous activity ends where the new one started, with the steps the step detector counted.
+   */
+  async handleActivityTransition(event) {
+    try {
+      this.stepCount += event.previousSteps || 0;
+      if (this.currentActivity) {
+        await this.endActivity({ endTime: event.startTime, steps: event.previousSteps });
+      }
+      if (event.activity !== 'still' && event.activity !== 'unknown') {
+        await this.startActivity(event.activity, event.startTime);
+      }
+
+      this.activityHistory.push({
+        timestamp: event.startTime,
+        activity: event.activity,
+        features: event.features
+      });
+      const oneHourAgo = Date.now() - 3600000;
+      this.activityHistory = this.activityHistory.filter(item => item.timestamp > oneHourAgo);
+    } catch (error) {
+      errorHandler.logError('Failed to handle activity transition', error);
+    }
+  }
+
+  async startActivity(type, startTime = Date.now()) {
     this.currentActivity = {
       type: type,
-      start_time: Date.now(),
+      start_time: startTime,
       steps: 0,
       calories: 0,
       distance: 0
     };
   }
 
-  async endActivity() {
+  async endActivity(measured = {}) {
     if (!this.currentActivity) return;
     
-    this.currentActivity.end_time = Date.now();
+    this.currentActivity.end_time = measured.endTime || Date.now();
     this.currentActivity.duration = this.currentActivity.end_time - this.currentActivity.start_time;
     
     // Estimate metrics based on activity type and duration
     this.estimateActivityMetrics(this.currentActivity);
+    if (measured.steps != null) {
+      this.currentActivity.steps = measured.steps;
+    }
     
     // Save to database
     await this.logActivity(this.currentActivity);
@@ -854,6 +922,10 @@ class LocationModule {
     this.isTracking = false;
     this.lastLocation = null;
     this.locationTrackingInterval = null;
+    this.visitSubscription = null;
+    this.currentVisit = null;
+    this.recentVisits = [];
+    this.visitListeners = [];
   }
 
   async startLocationTracking(options = {}) {
@@ -861,11 +933,30 @@ class LocationModule {
     
     try {
       this.isTracking = true;
+
+      if (!this.parent.platformInfo) {
+        await this.parent.initializePlatform();
+      }
+
+      if (LocationCollectorModule?.start && !this.parent.platformInfo?.shouldUseMockData) {
+        // Fixes are collected, filtered and stored natively; only visit boundaries reach JS
+        const eventEmitter = new NativeEventEmitter(LocationCollectorModule);
+        this.visitSubscription = eventEmitter.addListener('LocationVisit', (visit) => {
+          this.handleVisit(visit);
+        });
+        await LocationCollectorModule.start({
+          movingIntervalSeconds: options.movingIntervalSeconds,
+          stationaryIntervalSeconds: options.stationaryIntervalSeconds,
+          radiusMeters: options.radiusMeters || SIGNIFICANT_DISTANCE
+        });
+        return;
+      }
       
       // Start periodic location updates
       this.startPeriodicLocationUpdates(options);
       
     } catch (error) {
+      this.isTracking = false;
       errorHandler.logError('Failed to start location tracking', error);
       throw error;
     }
@@ -876,6 +967,12 @@ class LocationModule {
     
     try {
       this.isTracking = false;
+
+      if (this.visitSubscription) {
+        this.visitSubscription.remove();
+        this.visitSubscription = null;
+        await LocationCollectorModule.stop();
+      }
       
       if (this.locationTrackingInterval) {
         clearInterval(this.locationTrackingInterval);
@@ -932,6 +1029,55 @@ class LocationModule {
     };
   }
 
+  /**
+   * Visit boundary from LocationCollectorModule: { type: 'arrive' | 'depart', latitude, longitude,
+   * arrivalTime, departureTime, fixes }
+   */
+  handleVisit(visit) {
+    this.lastLocation = {
+      coords: { latitude: visit.latitude, longitude: visit.longitude },
+      timestamp: visit.type === 'arrive' ? visit.arrivalTime : visit.departureTime
+    };
+
+    if (visit.type === 'arrive') {
+      this.currentVisit = visit;
+    } else {
+      this.currentVisit = null;
+      this.recentVisits.push(visit);
+      if (this.recentVisits.length > MAX_RECENT_VISITS) {
+        this.recentVisits.shift();
+      }
+    }
+
+    this.visitListeners.forEach(listener => {
+      try {
+        listener(visit);
+      } catch (error) {
+        errorHandler.logError('Visit listener failed', error);
+      }
+    });
+  }
+
+  /**
+   * Calls back on every arrival and departure; returns a subscription with remove()
+   */
+  addVisitListener(callback) {
+    this.visitListeners.push(callback);
+    return {
+      remove: () => {
+        this.visitListeners = this.visitListeners.filter(l => l !== callback);
+      }
+    };
+  }
+
+  getCurrentVisit() {
+    return this.currentVisit;
+  }
+
+  getRecentVisits() {
+    return [...this.recentVisits];
+  }
+
   getMockLocation() {
     return {
       coords: {
@@ -1026,7 +1172,41 @@ class LocationModule {
     return database.getLocationsForDateRange(startTimestamp, endTimestamp);
   }
 
-  async getVisitedPlaces(startTimestamp, endTimestamp) {
+  /**
+   * Places visited in the range, one entry per place: clustered natively over the geohash index
+   * (DBSCAN within radiusMeters) when HealthAnalyticsModule is available, grouped by rounded
+   * coordinates otherwise. visit_count counts separate visits in the native result, fixes in the fallback.
+   */
+  async getVisitedPlaces(startTimestamp, endTimestamp, radiusMeters = SIGNIFICANT_DISTANCE) {
+    if (HealthAnalyticsModule?.visitedPlaces) {
+      try {
+        const places = await HealthAnalyticsModule.visitedPlaces(
+          { startTime: startTimestamp, endTime: endTimestamp },
+          radiusMeters,
+          null
+        );
+        const result = [];
+        for (let i = 0; i < places.length; i++) {
+          result.push({
+            latitude: places.latitude[i],
+            longitude: places.longitude[i],
+            timestamp: places.firstVisit[i],
+            name: null,
+            place_id: places.geohash[i],
+            visit_count: places.visits[i],
+            first_visit: places.firstVisit[i],
+            last_visit: places.lastVisit[i],
+            fixes: places.fixes[i],
+            dwell_time: places.dwellMs[i],
+            radius: places.radius[i]
+          });
+        }
+        return result;
+      } catch (error) {
+        errorHandler.logWarn(`Native visited places failed: ${error.message}`);
+      }
+    }
+
     const locations = await this.getLocations(startTimestamp, endTimestamp);
     
     // Group by place_id or coordinates to get unique places
@@ -1052,6 +1232,31 @@ class LocationModule {
     return Array.from(places.values());
   }
 
+  /**
+   * Stored fixes within radiusMeters of a point, nearest first ({ id, latitude, longitude, timestamp, name, distance }),
+   * or the single nearest row from the bounding-box query without the native module
+   */
+  async getNearbyLocations(latitude, longitude, radiusMeters = SIGNIFICANT_DISTANCE) {
+    if (HealthAnalyticsModule?.nearby) {
+      const nearby = await HealthAnalyticsModule.nearby(latitude, longitude, radiusMeters);
+      const result = [];
+      for (let i = 0; i < nearby.length; i++) {
+        result.push({
+          id: nearby.id[i],
+          latitude: nearby.latitude[i],
+          longitude: nearby.longitude[i],
+          timestamp: nearby.timestamp[i],
+          name: nearby.name[i],
+          distance: nearby.distance[i]
+        });
+      }
+      return result;
+    }
+
+    const location = await database.findNearbyLocation(latitude, longitude, radiusMeters);
+    return location ? [location] : [];
+  }
+
   async getRecentLocations(limit = 10) {
     return database.getRecentLocations(limit);
   }
@@ -1199,6 +1404,13 @@ class HealthModule {
       // Initialize Health Connect if available
       if (Platform.OS === 'android' && this.healthConnect) {
         await this.initializeHealthConnect();
+
+        // The background job keeps its own changes tokens, so this only ingests what changed since its last run
+        if (this.healthConnect.syncIncremental) {
+          this.healthConnect.syncIncremental(null).catch(error => {
+            errorHandler.logWarn(`Incremental health sync failed: ${error.message}`);
+          });
+        }
       }
       
     } catch (error) {
@@ -1230,12 +1442,31 @@ class HealthModule {
 
   async isHealthConnectAvailable() {
     try {
-      return await this.healthConnect.isAvailable();
+      // The snapshot answers without a provider round trip once availability has been checked
+      const snapshot = this.getHealthStateSnapshot();
+      if (typeof snapshot?.availability?.available === 'boolean') {
+        return snapshot.availability.available;
+      }
+      return await this.healthConnect.isHealthConnectAvailable();
     } catch (error) {
       return false;
     }
   }
 
+  /**
+   * Last known availability, granted record types, background sync watermarks and today's
+   * totals, read synchronously from native. Null when the native module has no snapshot.
+   */
+  getHealthStateSnapshot() {
+    if (!this.healthConnect?.getStateSnapshotSync) return null;
+    try {
+      return this.healthConnect.getStateSnapshotSync();
+    } catch (error) {
+      errorHandler.logWarn('Reading the Health Connect state snapshot failed', error);
+      return null;
+    }
+  }
+
   async requestHealthPermissions(dataTypes = ['steps', 'heart_rate', 'exercise']) {
     const permissions = [];
     
@@ -1282,12 +1513,14 @@ class HealthModule {
       endOfDay.setHours(23, 59, 59, 999);
 
       // Collect data from Health Connect
-      const [steps, heartRate, exercise, sleep] = await Promise.all([
-        this.getSteps(startOfDay, endOfDay),
-        this.getHeartRate(startOfDay, endOfDay),
-        this.getExercise(startOfDay, endOfDay),
-        this.getSleep(startOfDay, endOfDay)
-      ]);
+      const [steps, heartRate, exercise, sleep] = this.healthConnect.readRecordsBatch
+        ? await this.readDayBatch(startOfDay, endOfDay)
+        : await Promise.all([
+          this.getSteps(startOfDay, endOfDay),
+          this.getHeartRate(startOfDay, endOfDay),
+          this.getExercise(startOfDay, endOfDay),
+          this.getSleep(startOfDay, endOfDay)
+        ]);
 
       const healthData = {
         date: date,
@@ -1311,6 +1544,50 @@ class HealthModule {
     }
   }
 
+  /**
+   * Steps, heart rate, exercise and sleep in a single native batch call.
+   * Requested in the columnar format, so steps and heart rate are aggregated straight
+   * from the parallel arrays; older native modules ignore the flag and return plain arrays.
+   * Types that fail natively fall back to their empty aggregate.
+   */
+  async readDayBatch(startDate, endDate) {
+    // Heart rate stats come from every sample when the native module can export them;
+    // the batch records only carry the first sample of each HeartRateRecord
+    const [{ results, errors }, heartRateSamples] = await Promise.all([
+      this.healthConnect.readRecordsBatch(
+        ['Steps', 'HeartRate', 'ExerciseSession', 'SleepSession'],
+        { startTime: startDate.toISOString(), endTime: endDate.toISOString(), format: COLUMNAR_FORMAT }
+      ),
+      this.healthConnect.readHeartRateSamples
+        ? this.getHeartRateSamples(startDate, endDate, { bucketSeconds: 3600 }).catch(error => {
+          errorHandler.logWarn(`Heart rate sample export failed: ${error.message}`);
+          return null;
+        })
+        : null
+    ]);
+
+    Object.keys(errors || {}).forEach(recordType => {
+      errorHandler.logWarn(`Batch read failed for ${recordType}: ${errors[recordType]}`);
+    });
+
+    let heartRate;
+    if (heartRateSamples?.summary?.count) {
+      const { average, min, max, count } = heartRateSamples.summary;
+      heartRate = { average: Math.round(average), min, max, count };
+    } else if (isColumnar(results.HeartRate)) {
+      heartRate = this.aggregateHeartRateColumns(results.HeartRate);
+    } else {
+      heartRate = this.aggregateHeartRate(this.formatHeartRateRecords(results.HeartRate || []));
+    }
+
+    return [
+      this.aggregateSteps(results.Steps || []),
+      heartRate,
+      this.aggregateExercise(this.formatExerciseRecords(toRecords(results.ExerciseSession))),
+      this.aggregateSleep(this.formatSleepRecords(toRecords(results.SleepSession)))
+    ];
+  }
+
   async getSteps(startDate, endDate) {
     try {
       const records = await this.healthConnect.getSteps(startDate.getTime(), endDate.getTime());
@@ -1347,7 +1624,166 @@ class HealthModule {
     }
   }
 
+  /**
+   * Every heart rate sample in the range as packed arrays: { length, times, bpm, summary }.
+   * With options.bucketSeconds the samples are reduced natively to
+   * { length, bucketMillis, times, average, min, max, count, summary } instead.
+   */
+  async getHeartRateSamples(startDate, endDate, options = {}) {
+    if (!this.healthConnect?.readHeartRateSamples) {
+      throw new Error('Heart rate sample export is not supported by this Health Connect module');
+    }
+
+    return this.healthConnect.readHeartRateSamples(
+      {
+        startTime: new Date(startDate).toISOString(),
+        endTime: new Date(endDate).toISOString()
+      },
+      options.bucketSeconds ? { bucketSeconds: options.bucketSeconds } : null
+    );
+  }
+
+  /**
+   * Chart-ready series of one record type ('HeartRate', 'Steps', ...), reduced natively to about
+   * options.targetPoints points with LTTB (default) or options.method 'minmax', so the bridge carries the
+   * same volume for a day or a year: { length, method, rawCount, times, values, summary }.
+   * Steps, distance and calories are summed per bucket over all data origins without double counting
+   * (options.bucket 'day' or options.bucketSeconds; aggregation: 'sum' in the result).
+   * Resolves null when the native module cannot downsample (the development mock).
+   */
+  async getChartSeries(recordType, startDate, endDate, options = {}) {
+    if (!this.healthConnect?.readDownsampledSeries) return null;
+
+    const start = performanceService?.startTracking?.('health.readDownsampledSeries');
+    try {
+      const series = await this.healthConnect.readDownsampledSeries(
+        recordType,
+        {
+          startTime: new Date(startDate).toISOString(),
+          endTime: new Date(endDate).toISOString()
+        },
+        {
+          targetPoints: options.targetPoints || CHART_TARGET_POINTS,
+          method: options.method || 'lttb',
+          priority: options.priority || 'interactive',
+          sources: options.sources || CHART_SOURCE_PRIORITY,
+          ...(options.bucket ? { bucket: options.bucket } : null),
+          ...(options.bucketSeconds ? { bucketSeconds: options.bucketSeconds } : null)
+        }
+      );
+      performanceService?.endTracking?.(start);
+      return series;
+    } catch (error) {
+      performanceService?.endTracking?.(start, error);
+      errorHandler.logWarn(`Downsampled ${recordType} series failed: ${error.message}`);
+      return null;
+    }
+  }
+
+  /**
+   * Samples kept on the device by imports ('heart_rate' or 'steps'), read from the native time-series store
+   * without touching Health Connect. options.bucketSeconds gives { times, counts, averages, mins, maxs } per
+   * bucket, otherwise a chart series like getChartSeries (options.targetPoints, options.method), or every
+   * sample with options.raw. Samples are kept per data origin: options.origin (a package name) picks one,
+   * otherwise the origin with the most samples in the range. Resolves null when the native module has no
+   * store (the development mock).
+   */
+  async queryStoredSeries(series, startDate, endDate, options = {}) {
+    if (!this.healthConnect?.queryTimeSeries) return null;
+
+    const start = performanceService?.startTracking?.('health.queryTimeSeries');
+    try {
+      const result = await this.healthConnect.queryTimeSeries(
+        series,
+        {
+          startTime: new Date(startDate).toISOString(),
+          endTime: new Date(endDate).toISOString()
+        },
+        {
+          ...(options.bucketSeconds
+            ? { bucketSeconds: options.bucketSeconds }
+            : options.raw
+            ? { raw: true }
+            : { targetPoints: options.targetPoints || CHART_TARGET_POINTS, method: options.method || 'lttb' }),
+          ...(options.origin ? { origin: options.origin } : {})
+        }
+      );
+      performanceService?.endTracking?.(start);
+      return result;
+    } catch (error) {
+      performanceService?.endTracking?.(start, error);
+      errorHandler.logWarn(`Stored ${series} series failed: ${error.message}`);
+      return null;
+    }
+  }
+
+  /**
+   * Segment files, bytes and samples per series of the native time-series store, or null without one
+   */
+  async getTimeSeriesStats() {
+    if (!this.healthConnect?.getTimeSeriesStats) return null;
+    return this.healthConnect.getTimeSeriesStats();
+  }
+
+  /**
+   * Hit/miss/eviction counters of the native (record type, day) read cache,
+   * or null when the native module has no cache (the development mock)
+   */
+  async getHealthCacheStats() {
+    if (!this.healthConnect?.getCacheStats) return null;
+    return this.healthConnect.getCacheStats();
+  }
+
+  /**
+   * Stream Health Connect records page by page instead of one large array.
+   * onChunk receives each page; resolves with the native completion totals.
+   * options.priority ('interactive' | 'prefetch' | 'backfill') ranks the native page reads.
+   */
+  async streamRecords(recordType, startDate, endDate, onChunk, options = {}) {
+    if (!this.healthConnect?.readRecordsStream) {
+      throw new Error('Streaming reads are not supported by this Health Connect module');
+    }
+
+    const streamId = options.streamId || `${recordType}_${Date.now()}_${Math.random().toString(36).slice(2, 8)}`;
+    const emitter = new NativeEventEmitter(this.healthConnect);
+    const subscription = emitter.addListener('HealthConnectRecordsChunk', event => {
+      if (event.streamId === streamId) {
+        onChunk(event.records, event);
+      }
+    });
+
+    try {
+      return await this.healthConnect.readRecordsStream(
+        recordType,
+        {
+          startTime: new Date(startDate).toISOString(),
+          endTime: new Date(endDate).toISOString()
+        },
+        { streamId, pageSize: options.pageSize || 1000, priority: options.priority || 'interactive' }
+      );
+    } finally {
+      subscription.remove();
+    }
+  }
+
+  /**
+   * Only what changed since the last sync, per record type.
+   * A type comes back with mode 'full' when the native changes token was missing or expired,
+   * in which case its upserted list is a complete re-read of the given range.
+   */
+  async syncHealthChanges(recordTypes, startDate, endDate) {
+    if (!this.healthConnect?.syncChanges) {
+      throw new Error('Delta sync is not supported by this Health Connect module');
+    }
+
+    return this.healthConnect.syncChanges(recordTypes, {
+      startTime: new Date(startDate).toISOString(),
+      endTime: new Date(endDate).toISOString()
+    });
+  }
+
   aggregateSteps(records) {
+    if (isColumnar(records)) return sumColumn(records, 'count');
     return records.reduce((total, record) => total + (record.count || 0), 0);
   }
 
@@ -1365,6 +1801,23 @@ class HealthModule {
     };
   }
 
+  // Same result as aggregateHeartRate(formatHeartRateRecords(records)) for a columnar payload
+  aggregateHeartRateColumns(payload) {
+    const bpmColumn = getColumn(payload, 'beatsPerMinute');
+    let sum = 0, min = Infinity, max = -Infinity, count = 0;
+    for (let i = 0; i < bpmColumn.length; i++) {
+      const bpm = bpmColumn[i];
+      if (bpm > 0 && bpm < 300) {
+        sum += bpm;
+        if (bpm < min) min = bpm;
+        if (bpm > max) max = bpm;
+        count++;
+      }
+    }
+    if (!count) return { average: 0, min: 0, max: 0, count: 0 };
+    return { average: Math.round(sum / count), min, max, count };
+  }
+
   aggregateExercise(records) {
     return records.map(record => ({
       type: record.exerciseType || 'unknown',
@@ -1413,6 +1866,14 @@ class HealthModule {
   }
 
   async getHealthDataForDateRange(startDate, endDate) {
+    if (Platform.OS === 'android' && this.healthConnect?.aggregateByPeriod) {
+      try {
+        return await this.getAggregatedHealthData(startDate, endDate);
+      } catch (error) {
+        errorHandler.logError('Aggregated health query failed, falling back to daily sync', error);
+      }
+    }
+
     const results = [];
     const currentDate = new Date(startDate);
     
@@ -1427,6 +1888,50 @@ class HealthModule {
     return results;
   }
 
+  /**
+   * One native aggregate call for the whole range instead of four raw reads per day
+   */
+  async getAggregatedHealthData(startDate, endDate) {
+    const start = performanceService?.startTracking?.('health.aggregateByPeriod');
+
+    try {
+      const rangeStart = new Date(startDate);
+      rangeStart.setHours(0, 0, 0, 0);
+      const rangeEnd = new Date(endDate);
+      rangeEnd.setHours(23, 59, 59, 999);
+
+      const result = await this.healthConnect.aggregateByPeriod(
+        ['Steps', 'HeartRate', 'ExerciseSession', 'SleepSession'],
+        { startTime: rangeStart.toISOString(), endTime: rangeEnd.toISOString() },
+        'day',
+        null
+      );
+
+      const syncedAt = Date.now();
+      const healthData = result.buckets.map(bucket => ({
+        date: new Date(bucket.startTime),
+        steps: bucket.steps || 0,
+        heart_rate: {
+          average: Math.round(bucket.heartRate?.average || 0),
+          min: bucket.heartRate?.min || 0,
+          max: bucket.heartRate?.max || 0,
+          count: bucket.heartRate?.count || 0
+        },
+        exercise: [],
+        exercise_minutes: bucket.exerciseMinutes || 0,
+        sleep: { totalMinutes: bucket.sleepMinutes || 0, sessions: [] },
+        synced_at: syncedAt,
+        source: 'HealthConnectAggregate'
+      }));
+
+      performanceService?.endTracking?.(start);
+      return healthData;
+    } catch (error) {
+      performanceService?.endTracking?.(start, error);
+      throw error;
+    }
+  }
+
   async batchSyncHealthData(dates) {
     const results = [];
     
@@ -1532,7 +2037,14 @@ class HealthModule {
     }
   }
 
-  async importHealthData(startDate, endDate, dataTypes = ['steps', 'heart_rate', 'exercise', 'sleep']) {
+  /**
+   * options.onProgress receives the native backfill progress events
+   * ({ windowsDone, windowsTotal, inserted, recordsPerSecond, etaSeconds }) when the import runs natively
+   */
+  async importHealthData(startDate, endDate, dataTypes = ['steps', 'heart_rate', 'exercise', 'sleep'], options = {}) {
+    if (dataTypes.includes('all')) {
+      dataTypes = ['steps', 'heart_rate', 'exercise', 'sleep', 'distance', 'active_calories'];
+    }
     try {
       errorHandler.logInfo(`Starting health data import for ${dataTypes.join(', ')}`);
       
@@ -1577,6 +2089,15 @@ class HealthModule {
         };
       }
       
+      // Step 5a: Native ingestion writes straight into the database without crossing the bridge;
+      // the checkpointed backfill survives the app being killed halfway through a long range
+      if (this.healthConnect.startBackfill) {
+        return await this.backfillHealthDataNatively(startDate, endDate, dataTypes, options);
+      }
+      if (this.healthConnect.ingestRecords) {
+        return await this.ingestHealthDataNatively(startDate, endDate, dataTypes);
+      }
+
       let totalImported = 0;
       const errors = [];
 
@@ -1658,6 +2179,96 @@ class HealthModule {
     }
   }
 
+  async ingestHealthDataNatively(startDate, endDate, dataTypes) {
+    const recordTypes = dataTypes.map(dataType => this.mapDataTypeToPermission(dataType).recordType);
+    const result = await this.healthConnect.ingestRecords(recordTypes, {
+      startTime: new Date(startDate).toISOString(),
+      endTime: new Date(endDate).toISOString()
+    });
+
+    const errors = Object.keys(result.errors || {}).map(recordType => `${recordType}: ${result.errors[recordType]}`);
+    errorHandler.logInfo(`Native health ingest completed: ${result.inserted} records over ${result.dateKeys.length} days`);
+
+    return {
+      success: errors.length === 0 && result.inserted > 0,
+      imported: result.inserted,
+      dateKeys: result.dateKeys,
+      errors: result.inserted === 0 && errors.length === 0
+        ? ['Geen health data gevonden in Health Connect voor de opgegeven periode. Controleer of Samsung Health data heeft gesynchroniseerd.']
+        : errors
+    };
+  }
+
+  async backfillHealthDataNatively(startDate, endDate, dataTypes, options = {}) {
+    const recordTypes = dataTypes.map(dataType => this.mapDataTypeToPermission(dataType).recordType);
+    const result = await this.runHealthBackfill(
+      () => this.healthConnect.startBackfill(
+        recordTypes,
+        {
+          startTime: new Date(startDate).toISOString(),
+          endTime: new Date(endDate).toISOString()
+        },
+        { windowDays: options.windowDays || 7, parallelism: options.parallelism || 2 }
+      ),
+      options.onProgress
+    );
+    return this.toBackfillImportResult(result);
+  }
+
+  /**
+   * Unfinished native backfills (e.g. after the app was killed mid-import), newest plan first
+   */
+  async getPendingHealthBackfills() {
+    if (!this.healthConnect?.getPendingBackfills) return [];
+    const pending = await this.healthConnect.getPendingBackfills();
+    return pending.sort((a, b) => new Date(b.endTime) - new Date(a.endTime));
+  }
+
+  async resumeHealthBackfill(jobId, onProgress) {
+    const result = await this.runHealthBackfill(() => this.healthConnect.resumeBackfill(jobId), onProgress);
+    return this.toBackfillImportResult(result);
+  }
+
+  async cancelHealthBackfill(jobId) {
+    if (!this.healthConnect?.cancelBackfill) return false;
+    return this.healthConnect.cancelBackfill(jobId);
+  }
+
+  // Drops an unfinished backfill for good instead of leaving its checkpoints to resume later
+  async discardHealthBackfill(jobId) {
+    if (!this.healthConnect?.discardBackfill) return false;
+    return this.healthConnect.discardBackfill(jobId);
+  }
+
+  async runHealthBackfill(start, onProgress) {
+    const emitter = new NativeEventEmitter(this.healthConnect);
+    const subscription = onProgress
+      ? emitter.addListener('HealthBackfillProgress', onProgress)
+      : null;
+
+    try {
+      const result = await start();
+      errorHandler.logInfo(`Native health backfill ${result.jobId}: ${result.windowsDone}/${result.windowsTotal} windows, ${result.inserted} records${result.resumed ? ' (resumed)' : ''}`);
+      return result;
+    } finally {
+      subscription?.remove();
+    }
+  }
+
+  toBackfillImportResult(result) {
+    const errors = Object.keys(result.errors || {}).map(recordType => `${recordType}: ${result.errors[recordType]}`);
+    return {
+      success: result.completed && errors.length === 0 && result.inserted > 0,
+      imported: result.inserted,
+      dateKeys: result.dateKeys,
+      jobId: result.jobId,
+      completed: result.completed,
+      errors: result.inserted === 0 && errors.length === 0
+        ? ['Geen health data gevonden in Health Connect voor de opgegeven periode. Controleer of Samsung Health data heeft gesynchroniseerd.']
+        : errors
+    };
+  }
+
   hasPermission(recordType) {
     return this.grantedPermissions?.has(recordType) || false;
   }
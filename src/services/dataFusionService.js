@@ -51,6 +51,10 @@ class LegacyDataFusionService {
     return this.dataAnalysisService.fusion.collectHealthSources(date);
   }
 
+  async mergeActivityTimeline(date, type = 'steps') {
+    return this.dataAnalysisService.fusion.mergeActivityTimeline(date, type);
+  }
+
   applyConfidenceScoring(harmonizedData) {
     return this.dataAnalysisService.fusion.applyConfidenceScoring(harmonizedData);
   }
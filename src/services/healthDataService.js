@@ -60,8 +60,24 @@ const healthDataServiceProxy = {
   },
 
   // Data import/export methods
-  async importHealthData(startDate, endDate, dataTypes = ['steps', 'heart_rate', 'exercise', 'sleep']) {
-    return ActivityTrackingService.health.importHealthData(startDate, endDate, dataTypes);
+  async importHealthData(startDate, endDate, dataTypes = ['steps', 'heart_rate', 'exercise', 'sleep'], options = {}) {
+    return ActivityTrackingService.health.importHealthData(startDate, endDate, dataTypes, options);
+  },
+
+  async getPendingHealthBackfills() {
+    return ActivityTrackingService.health.getPendingHealthBackfills();
+  },
+
+  async resumeHealthBackfill(jobId, onProgress) {
+    return ActivityTrackingService.health.resumeHealthBackfill(jobId, onProgress);
+  },
+
+  async cancelHealthBackfill(jobId) {
+    return ActivityTrackingService.health.cancelHealthBackfill(jobId);
+  },
+
+  async discardHealthBackfill(jobId) {
+    return ActivityTrackingService.health.discardHealthBackfill(jobId);
   },
 
   // Data retrieval methods
@@ -89,6 +105,18 @@ const healthDataServiceProxy = {
     return ActivityTrackingService.health.getCalories(startDate, endDate, type);
   },
 
+  async getChartSeries(recordType, startDate, endDate, options = {}) {
+    return ActivityTrackingService.health.getChartSeries(recordType, startDate, endDate, options);
+  },
+
+  async queryStoredSeries(series, startDate, endDate, options = {}) {
+    return ActivityTrackingService.health.queryStoredSeries(series, startDate, endDate, options);
+  },
+
+  async getTimeSeriesStats() {
+    return ActivityTrackingService.health.getTimeSeriesStats();
+  },
+
   // Utility methods
   hasPermission(recordType) {
     return ActivityTrackingService.health.hasPermission(recordType);
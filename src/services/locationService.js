@@ -22,8 +22,12 @@ const locationServiceProxy = {
     return ActivityTrackingService.location.getLocations(startTimestamp, endTimestamp);
   },
 
-  async getVisitedPlaces(startTimestamp, endTimestamp) {
-    return ActivityTrackingService.location.getVisitedPlaces(startTimestamp, endTimestamp);
+  async getVisitedPlaces(startTimestamp, endTimestamp, radiusMeters) {
+    return ActivityTrackingService.location.getVisitedPlaces(startTimestamp, endTimestamp, radiusMeters);
+  },
+
+  async getNearbyLocations(latitude, longitude, radiusMeters) {
+    return ActivityTrackingService.location.getNearbyLocations(latitude, longitude, radiusMeters);
   },
 
   async getRecentLocations(limit = 10) {
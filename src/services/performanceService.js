@@ -1,6 +1,9 @@
 // src/services/performanceService.js
+import { NativeModules } from 'react-native';
 import errorHandler from './errorLogger';
 
+const { PerformanceMetricsModule } = NativeModules;
+
 class PerformanceService {
   constructor() {
     this.metrics = {
@@ -309,6 +312,96 @@ class PerformanceService {
     };
   }
 
+  // Native cold-start phases ({ appVersion, processStart, uptimeMs, phases }), null when unavailable
+  async getStartupTimings() {
+    if (!PerformanceMetricsModule?.getStartupTimings) return null;
+    try {
+      return await PerformanceMetricsModule.getStartupTimings();
+    } catch (error) {
+      errorHandler.warn('Reading native startup timings failed', error);
+      return null;
+    }
+  }
+
+  // Add a JS milestone to the native startup timeline (recorded once per process)
+  markStartupPhase(name) {
+    PerformanceMetricsModule?.markStartupPhase?.(name);
+  }
+
+  // Log the startup timeline once so cold-start regressions can be compared per release
+  async reportStartupTimings() {
+    if (this.startupReported) return null;
+    this.startupReported = true;
+
+    const timings = await this.getStartupTimings();
+    if (!timings) return null;
+
+    const durations = {};
+    timings.phases.forEach(phase => {
+      durations[phase.name] = phase.durationMs === 0 ? phase.startMs : phase.durationMs;
+    });
+    await errorHandler.info('Startup timings', {
+      appVersion: timings.appVersion,
+      appVersionCode: timings.appVersionCode,
+      phases: durations
+    });
+    return timings;
+  }
+
+  // Native per-method latency histograms and counters, null when unavailable
+  async getNativeMetrics() {
+    if (!PerformanceMetricsModule?.getNativeMetrics) return null;
+    try {
+      return await PerformanceMetricsModule.getNativeMetrics();
+    } catch (error) {
+      errorHandler.warn('Reading native metrics failed', error);
+      return null;
+    }
+  }
+
+  async resetNativeMetrics() {
+    if (!PerformanceMetricsModule?.resetNativeMetrics) return false;
+    return PerformanceMetricsModule.resetNativeMetrics();
+  }
+
+  // JS stats and native phase timings in one report. For every native method the share of
+  // its mean total spent in each phase (provider, convert, dispatch) shows where the time goes.
+  async getCombinedReport(timeRange = 300000) {
+    const native = await this.getNativeMetrics();
+    const methods = {};
+
+    Object.entries(native?.methods || {}).forEach(([name, method]) => {
+      const total = method.phases.total;
+      const phases = {};
+      Object.entries(method.phases).forEach(([phase, histogram]) => {
+        phases[phase] = {
+          ...histogram,
+          share: total?.meanMs > 0 && phase !== 'total'
+            ? Math.round((histogram.meanMs * histogram.count / (total.meanMs * total.count)) * 100)
+            : null
+        };
+      });
+      methods[name] = {
+        calls: method.calls,
+        errors: method.errors,
+        records: method.records,
+        payloadBytes: method.payloadBytes,
+        phases
+      };
+    });
+
+    return {
+      generatedAt: Date.now(),
+      js: this.getStats(timeRange),
+      native: native && {
+        since: native.since,
+        durationMs: native.durationMs,
+        counters: native.counters,
+        methods
+      }
+    };
+  }
+
   // Get simple dashboard metrics
   getDashboardMetrics() {
     const stats = this.getStats(600000); // Last 10 minutes
@@ -386,6 +479,7 @@ class PerformanceService {
       }
     };
     
+    this.resetNativeMetrics().catch(() => {});
     errorHandler.info('Performance metrics reset', { timestamp: Date.now() });
   }
 }
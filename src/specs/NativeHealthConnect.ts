@@ -0,0 +1,70 @@
+import type { TurboModule } from 'react-native';
+import { TurboModuleRegistry } from 'react-native';
+
+/**
+ * Codegen spec for the Health Connect native module (RealHealthConnectModule).
+ *
+ * With the new architecture enabled this generates com.minakamiappfinal.NativeHealthConnectSpec;
+ * on the old architecture the hand-written copy in android/app/src/oldarch is used instead and
+ * TurboModuleRegistry falls back to NativeModules, so callers don't change.
+ *
+ * Record payloads stay loosely typed (Object) because their shape depends on the record type
+ * and on the optional columnar format.
+ */
+export interface Spec extends TurboModule {
+  readonly getConstants: () => {
+    EVENT_RECORDS_CHUNK: string;
+    EVENT_RECORDS_COMPLETE: string;
+    EVENT_BACKFILL_PROGRESS: string;
+  };
+
+  // Synchronous getters over the persisted state snapshot; no provider IPC involved
+  isHealthConnectAvailableSync(): boolean;
+  getGrantedRecordTypesSync(): Array<string>;
+  getStateSnapshotSync(): Object;
+
+  isHealthConnectAvailable(): Promise<boolean>;
+  openHealthConnectInPlayStore(): Promise<boolean>;
+  openHealthConnectSettings(): Promise<boolean>;
+  checkPermissions(permissionRequests: Array<Object>): Promise<Object>;
+  requestPermissions(permissionRequests: Array<Object>): Promise<Object>;
+  openHealthConnectPermissions(): Promise<boolean>;
+
+  readStepsRecords(timeRangeFilter: Object): Promise<Object>;
+  readHeartRateRecords(timeRangeFilter: Object): Promise<Object>;
+  readHeartRateSamples(timeRangeFilter: Object, options: Object | null): Promise<Object>;
+  readExerciseRecords(timeRangeFilter: Object): Promise<Object>;
+  readDistanceRecords(timeRangeFilter: Object): Promise<Object>;
+  readCaloriesRecords(timeRangeFilter: Object): Promise<Object>;
+  readSleepRecords(timeRangeFilter: Object): Promise<Object>;
+  readRecordsStream(recordType: string, timeRangeFilter: Object, options: Object | null): Promise<Object>;
+  readDownsampledSeries(recordType: string, timeRangeFilter: Object, options: Object | null): Promise<Object>;
+  queryTimeSeries(series: string, timeRange: Object, options: Object | null): Promise<Object>;
+  getTimeSeriesStats(): Promise<Object>;
+  readRecordsBatch(types: Array<string>, timeRange: Object): Promise<Object>;
+  aggregateByPeriod(
+    recordTypes: Array<string>,
+    range: Object,
+    period: string,
+    zoneId: string | null,
+  ): Promise<Object>;
+
+  syncChanges(types: Array<string>, timeRange: Object): Promise<Object>;
+  resetChangesTokens(recordType: string | null): Promise<boolean>;
+  ingestRecords(types: Array<string>, timeRange: Object): Promise<Object>;
+  startBackfill(types: Array<string>, timeRange: Object, options: Object | null): Promise<Object>;
+  resumeBackfill(jobId: string): Promise<Object>;
+  cancelBackfill(jobId: string): Promise<boolean>;
+  discardBackfill(jobId: string): Promise<boolean>;
+  getPendingBackfills(): Promise<Array<Object>>;
+  syncIncremental(types: Array<string> | null): Promise<Object>;
+  getBackgroundSyncState(): Promise<Object>;
+
+  getCacheStats(): Promise<Object>;
+  clearCache(): Promise<boolean>;
+
+  addListener(eventName: string): void;
+  removeListeners(count: number): void;
+}
+
+export default TurboModuleRegistry.get<Spec>('RealHealthConnectModule');
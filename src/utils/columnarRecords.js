@@ -0,0 +1,70 @@
+// utils/columnarRecords.js
+// Readers for the columnar Health Connect payload ({ format: 'columnar' } in the time range).
+// Times are epoch millis, dictionary columns hold indexes into payload.dictionary,
+// and fields a record didn't have are null.
+
+export const COLUMNAR_FORMAT = 'columnar';
+
+export const isColumnar = payload =>
+  !!payload && !Array.isArray(payload) && payload.format === COLUMNAR_FORMAT;
+
+// Number of records in either format
+export const recordCount = payload => {
+  if (isColumnar(payload)) return payload.length;
+  return Array.isArray(payload) ? payload.length : 0;
+};
+
+// The raw column array (numbers, strings or dictionary indexes), or an empty array
+export const getColumn = (payload, name) => payload.columns?.[name] || [];
+
+// Single decoded value; dictionary columns come back as their string
+export const getValue = (payload, name, index) => {
+  const value = getColumn(payload, name)[index];
+  if (value == null) return null;
+  return payload.dictionaryColumns.includes(name) ? payload.dictionary[value] : value;
+};
+
+// Sum of a numeric column, skipping missing values
+export const sumColumn = (payload, name) => {
+  const column = getColumn(payload, name);
+  let total = 0;
+  for (let i = 0; i < column.length; i++) {
+    if (column[i] != null) total += column[i];
+  }
+  return total;
+};
+
+// Visit every record without materialising objects; fn(index, get) where get(name) decodes one field
+export const forEachRecord = (payload, fn) => {
+  for (let i = 0; i < payload.length; i++) {
+    fn(i, name => getValue(payload, name, i));
+  }
+};
+
+// Materialise plain record objects. By default times become ISO strings so the result
+// is interchangeable with the classic array format; pass { isoTimes: false } to keep millis.
+export const toRecords = (payload, { isoTimes = true } = {}) => {
+  if (!isColumnar(payload)) return Array.isArray(payload) ? payload : [];
+
+  const names = Object.keys(payload.columns);
+  const timeColumns = new Set(payload.timeColumns);
+  const dictionaryColumns = new Set(payload.dictionaryColumns);
+  const records = new Array(payload.length);
+
+  for (let i = 0; i < payload.length; i++) {
+    const record = {};
+    for (const name of names) {
+      const value = payload.columns[name][i];
+      if (value == null) continue;
+      if (dictionaryColumns.has(name)) {
+        record[name] = payload.dictionary[value];
+      } else if (isoTimes && timeColumns.has(name)) {
+        record[name] = new Date(value).toISOString();
+      } else {
+        record[name] = value;
+      }
+    }
+    records[i] = record;
+  }
+  return records;
+};
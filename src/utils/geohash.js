@@ -0,0 +1,48 @@
+// utils/geohash.js
+// Geohash encoding matching the native Geohash class, so rows inserted from JS land in the same
+// index cells as rows written by the native location collector.
+
+const BASE32 = '0123456789bcdefghjkmnpqrstuvwxyz';
+
+// Length stored in locations.geohash (cells of about 5 x 5 m)
+export const STORED_PRECISION = 9;
+
+export const encodeGeohash = (latitude, longitude, precision = STORED_PRECISION) => {
+  let minLatitude = -90;
+  let maxLatitude = 90;
+  let minLongitude = -180;
+  let maxLongitude = 180;
+  let hash = '';
+  let evenBit = true;
+  let bit = 0;
+  let index = 0;
+
+  while (hash.length < precision) {
+    if (evenBit) {
+      const middle = (minLongitude + maxLongitude) / 2;
+      if (longitude >= middle) {
+        index = index * 2 + 1;
+        minLongitude = middle;
+      } else {
+        index = index * 2;
+        maxLongitude = middle;
+      }
+    } else {
+      const middle = (minLatitude + maxLatitude) / 2;
+      if (latitude >= middle) {
+        index = index * 2 + 1;
+        minLatitude = middle;
+      } else {
+        index = index * 2;
+        maxLatitude = middle;
+      }
+    }
+    evenBit = !evenBit;
+    if (++bit === 5) {
+      hash += BASE32[index];
+      bit = 0;
+      index = 0;
+    }
+  }
+  return hash;
+};
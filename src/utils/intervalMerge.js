@@ -0,0 +1,121 @@
+// utils/intervalMerge.js
+// JS counterpart of the native IntervalMergeEngine, used when HealthAnalyticsModule is not available.
+// Overlapping interval records from several sources become one non-overlapping timeline: wherever
+// records overlap, the record whose source ranks highest wins that stretch and its value is attributed
+// pro rata to the time it wins. The result has the same shape as the native merge.
+
+// A priority entry matches a source exactly or as its prefix before ':'; unlisted sources rank last,
+// in the order they were first seen
+const rankSources = (sourceNames, priority) =>
+  sourceNames.map((name, index) => {
+    let rank = priority.indexOf(name);
+    const colon = name.indexOf(':');
+    if (rank < 0 && colon > 0) {
+      rank = priority.indexOf(name.substring(0, colon));
+    }
+    return rank >= 0 ? rank : priority.length + index;
+  });
+
+/**
+ * records: [{ source, start, end, value }], priority: source names, best first.
+ * Returns { count, segments: { start, end, value, source }, sources, attribution, rawTotal, mergedTotal, skippedRecords }
+ * where segments.source holds indexes into sources.
+ */
+export const mergeIntervals = (records, priority = []) => {
+  const sources = [];
+  const sourceIds = new Map();
+  const recordSources = records.map(record => {
+    if (!sourceIds.has(record.source)) {
+      sourceIds.set(record.source, sources.length);
+      sources.push(record.source);
+    }
+    return sourceIds.get(record.source);
+  });
+  const rankOfSource = rankSources(sources, priority);
+
+  const attribution = {};
+  sources.forEach(source => {
+    attribution[source] = { records: 0, kept: 0, suppressed: 0, durationMs: 0 };
+  });
+
+  // Only records with a positive length take part; instantaneous ones cannot cover time
+  let rawTotal = 0;
+  let skippedRecords = 0;
+  const boundaries = [];
+  records.forEach((record, index) => {
+    const stats = attribution[sources[recordSources[index]]];
+    rawTotal += record.value;
+    stats.records++;
+    if (record.end > record.start) {
+      boundaries.push({ time: record.start, index, isStart: true });
+      boundaries.push({ time: record.end, index, isStart: false });
+    } else {
+      skippedRecords++;
+      stats.suppressed += record.value;
+    }
+  });
+  // Ends before starts at the same time, so touching records do not overlap
+  boundaries.sort((a, b) => a.time - b.time || Number(a.isStart) - Number(b.isStart));
+
+  const better = (a, b) => {
+    const rankA = rankOfSource[recordSources[a]];
+    const rankB = rankOfSource[recordSources[b]];
+    return rankA !== rankB ? rankA < rankB : a < b;
+  };
+
+  const segments = { start: [], end: [], value: [], source: [] };
+  const attributed = new Array(records.length).fill(0);
+  const active = new Set();
+  let previous = null;
+  let lastWinner = -1;
+
+  boundaries.forEach(boundary => {
+    if (active.size > 0 && boundary.time > previous) {
+      let winner = -1;
+      active.forEach(index => {
+        if (winner < 0 || better(index, winner)) winner = index;
+      });
+      const record = records[winner];
+      const share = (record.value * (boundary.time - previous)) / (record.end - record.start);
+      attributed[winner] += share;
+      attribution[sources[recordSources[winner]]].durationMs += boundary.time - previous;
+
+      const last = segments.start.length - 1;
+      if (winner === lastWinner && segments.end[last] === previous) {
+        segments.end[last] = boundary.time;
+        segments.value[last] += share;
+      } else {
+        segments.start.push(previous);
+        segments.end.push(boundary.time);
+        segments.value.push(share);
+        segments.source.push(recordSources[winner]);
+      }
+      lastWinner = winner;
+    }
+    if (boundary.isStart) {
+      active.add(boundary.index);
+    } else {
+      active.delete(boundary.index);
+    }
+    previous = boundary.time;
+  });
+
+  let mergedTotal = 0;
+  records.forEach((record, index) => {
+    if (record.end <= record.start) return;
+    const stats = attribution[sources[recordSources[index]]];
+    stats.kept += attributed[index];
+    stats.suppressed += record.value - attributed[index];
+    mergedTotal += attributed[index];
+  });
+
+  return {
+    count: segments.start.length,
+    segments,
+    sources,
+    attribution,
+    rawTotal,
+    mergedTotal,
+    skippedRecords
+  };
+};